@@ -0,0 +1,31 @@
+package com.vibe.fundsmith.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code target/benchmarks.jar}: the standard JMH command line, with the GC
+ * profiler always on so every result carries allocation rates ({@code gc.alloc.rate.norm} is
+ * bytes allocated per operation).
+ *
+ * <pre>
+ * mvn -f ../backend/pom.xml install -DskipTests
+ * mvn package
+ * java -jar target/benchmarks.jar                                  # full baseline, 1k to 10M trades
+ * java -jar target/benchmarks.jar Consolidation -p tradeCount=1000,100000 -p criteria=ALL_CRITERIA
+ * java -jar target/benchmarks.jar -rf json -rff baseline.json      # machine-readable baseline
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
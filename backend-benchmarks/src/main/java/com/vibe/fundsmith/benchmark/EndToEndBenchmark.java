@@ -0,0 +1,236 @@
+package com.vibe.fundsmith.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput and latency harness: boots the backend and the gateway in their own JVMs
+ * against a local database, drives the import pipeline and live trade submission through the
+ * gateway at fixed rates, and reports HdrHistogram latencies per endpoint and stage.
+ *
+ * Results go to {@code target/e2e}: {@code report.json} with the summary, one {@code .hgrm}
+ * percentile distribution per metric and the service logs. When a baseline report exists the run
+ * fails, with exit code 1, if any metric's p50 or p99 is more than {@code e2e.maxRegressionPercent}
+ * higher (and at least {@code e2e.minRegressionMs} ms), its throughput that much lower, or its error
+ * rate above {@code e2e.maxErrorRate}.
+ *
+ * <pre>
+ * mvn -f ../backend/pom.xml install -DskipTests
+ * mvn -f ../gateway/pom.xml package -DskipTests
+ * mvn verify -Pe2e -De2e.options="-De2e.writeBaseline=true"       # record a baseline on this machine
+ * mvn verify -Pe2e                                                 # compare against it
+ * mvn verify -Pe2e -De2e.options="-De2e.liveTradesPerSecond=20000 -De2e.uploadsPerSecond=5"
+ * mvn verify -Pe2e -De2e.options="-De2e.datasourceUrl=jdbc:postgresql://localhost:5432/fundsmith \
+ *     -De2e.datasourceUsername=fundsmith -De2e.datasourcePassword=fundsmith"
+ * </pre>
+ */
+public class EndToEndBenchmark {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final EndToEndSettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    EndToEndBenchmark(EndToEndSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new EndToEndBenchmark(EndToEndSettings.fromSystemProperties()).run());
+    }
+
+    int run() throws Exception {
+        if (settings.throughGateway() && !Files.isRegularFile(settings.gatewayJar())) {
+            throw new RuntimeException("Gateway jar not found at " + settings.gatewayJar().toAbsolutePath()
+                    + "; build it with mvn -f ../gateway/pom.xml package -DskipTests");
+        }
+        Files.createDirectories(settings.reportDirectory());
+
+        int backendPort = ServiceProcess.freePort();
+        int gatewayPort = ServiceProcess.freePort();
+        URI backendUri = URI.create("http://localhost:" + backendPort);
+        URI gatewayUri = URI.create("http://localhost:" + gatewayPort);
+        try (ServiceProcess backend = startBackend(settings, backendPort);
+             ServiceProcess gateway = settings.throughGateway() ? startGateway(gatewayPort, backendUri) : null) {
+            URI target = settings.throughGateway() ? gatewayUri : backendUri;
+            Map<String, Map<String, Number>> metrics = drive(new PipelineClient(target));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("workload", settings.workload());
+            report.put("metrics", metrics);
+            objectMapper.writeValue(settings.reportDirectory().resolve("report.json").toFile(), report);
+            print(metrics);
+
+            return check(report);
+        }
+    }
+
+    /**
+     * Starts the backend against the configured database; {@code extraArgs} are further Spring
+     * properties, e.g. {@code --journals.enabled=false}.
+     */
+    static ServiceProcess startBackend(EndToEndSettings settings, int port, String... extraArgs) throws Exception {
+        List<String> launch = new ArrayList<>(List.of(
+                "-cp", System.getProperty("java.class.path"),
+                "com.vibe.fundsmith.FundSmithApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=" + settings.datasourceUrl(),
+                "--spring.datasource.username=" + settings.datasourceUsername(),
+                "--spring.datasource.password=" + settings.datasourcePassword(),
+                "--demo.enabled=false",
+                "--cluster.node-id=e2e",
+                "--live-trades.wal.directory=" + settings.reportDirectory().resolve("wal"),
+                "--live-trades.recording.directory=" + settings.reportDirectory().resolve("recordings")));
+        if (settings.embeddedDatabase()) {
+            launch.addAll(List.of(
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.flyway.enabled=false"));
+        }
+        launch.addAll(List.of(extraArgs));
+        return ServiceProcess.start("backend", jvmArgs(settings), launch, Map.of(), settings.reportDirectory(),
+                URI.create("http://localhost:" + port + "/api/health"), startupTimeout(settings));
+    }
+
+    private ServiceProcess startGateway(int port, URI backendUri) throws Exception {
+        // Ready once it routes to the backend, not just when it listens
+        return ServiceProcess.start("gateway", List.of(),
+                List.of("-jar", settings.gatewayJar().toString(), "--server.port=" + port),
+                Map.of("BACKEND_URI", backendUri.toString()), settings.reportDirectory(),
+                URI.create("http://localhost:" + port + "/api/live-trades/pending-count"), startupTimeout(settings));
+    }
+
+    private Map<String, Map<String, Number>> drive(PipelineClient client) throws InterruptedException {
+        LatencyMetrics metrics = new LatencyMetrics();
+        ImportPipelineWorkload imports = new ImportPipelineWorkload(client, metrics, settings);
+        LiveTradeWorkload liveTrades = new LiveTradeWorkload(client, metrics, settings);
+
+        long startNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        long measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        metrics.openWindow(measureStartNanos, endNanos);
+        System.out.printf("Warming up for %ds, then measuring for %ds: %s%n",
+                settings.warmupSeconds(), settings.durationSeconds(), settings.workload());
+
+        List<Thread> threads = List.of(
+                Thread.ofPlatform().name("import-pipeline-driver").start(() -> runWorkload(imports, startNanos, endNanos)),
+                Thread.ofPlatform().name("live-trade-driver").start(() -> runWorkload(liveTrades, startNanos, endNanos)),
+                Thread.ofPlatform().name("live-trade-flusher").start(() -> liveTrades.flushUntil(endNanos, DRAIN_TIMEOUT_SECONDS)));
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        try {
+            metrics.writeDistributions(settings.reportDirectory());
+        } catch (IOException e) {
+            System.err.printf("Failed to write histograms: %s%n", e);
+        }
+        return metrics.summary();
+    }
+
+    private static void runWorkload(OpenLoopWorkload workload, long startNanos, long endNanos) {
+        try {
+            workload.run(startNanos, endNanos, DRAIN_TIMEOUT_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies the error rate limit and, if a baseline exists, the regression limits; records the
+     * run as the new baseline when asked to. Returns the process exit code.
+     */
+    private int check(Map<String, Object> report) throws Exception {
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Number>> metrics = (Map<String, Map<String, Number>>) report.get("metrics");
+        List<String> failures = new ArrayList<>();
+
+        metrics.forEach((name, values) -> {
+            long errors = values.get("errors").longValue();
+            long total = values.get("count").longValue() + errors;
+            if (total > 0 && (double) errors / total > settings.maxErrorRate()) {
+                failures.add(String.format("%s: %d of %d operations failed", name, errors, total));
+            }
+        });
+
+        if (settings.writeBaseline()) {
+            objectMapper.writeValue(settings.baseline().toFile(), report);
+            System.out.printf("Wrote baseline %s%n", settings.baseline().toAbsolutePath());
+        } else if (Files.isRegularFile(settings.baseline())) {
+            Map<String, Object> baseline = objectMapper.readValue(settings.baseline().toFile(), new TypeReference<>() {
+            });
+            if (!settings.workload().equals(objectMapper.convertValue(baseline.get("workload"),
+                    new TypeReference<Map<String, Object>>() {
+                    }))) {
+                System.out.printf("WARNING: baseline workload %s differs from this run's%n", baseline.get("workload"));
+            }
+            Map<String, Map<String, Number>> expected = objectMapper.convertValue(baseline.get("metrics"),
+                    new TypeReference<>() {
+                    });
+            expected.forEach((name, base) -> compare(name, base, metrics.get(name), failures));
+        } else {
+            System.out.printf("No baseline at %s; skipping the regression check%n", settings.baseline().toAbsolutePath());
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("End-to-end benchmark passed");
+            return 0;
+        }
+        System.out.println("End-to-end benchmark FAILED:");
+        failures.forEach(failure -> System.out.println("  " + failure));
+        return 1;
+    }
+
+    private void compare(String name, Map<String, Number> base, Map<String, Number> current, List<String> failures) {
+        if (current == null) {
+            failures.add(name + ": missing from this run");
+            return;
+        }
+        double limit = settings.maxRegressionPercent() / 100;
+        for (String percentile : List.of("p50Ms", "p99Ms")) {
+            double was = base.get(percentile).doubleValue();
+            double now = current.get(percentile).doubleValue();
+            if (now > was * (1 + limit) && now - was >= settings.minRegressionMs()) {
+                failures.add(String.format("%s: %s %.3f ms -> %.3f ms", name, percentile, was, now));
+            }
+        }
+        double was = base.get("itemsPerSecond").doubleValue();
+        double now = current.get("itemsPerSecond").doubleValue();
+        if (now < was * (1 - limit)) {
+            failures.add(String.format("%s: throughput %.1f/s -> %.1f/s", name, was, now));
+        }
+    }
+
+    private static void print(Map<String, Map<String, Number>> metrics) {
+        System.out.printf("%n%-24s %8s %7s %12s %9s %9s %9s %9s %9s%n",
+                "metric", "count", "errors", "items/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        metrics.forEach((name, values) -> System.out.printf("%-24s %8d %7d %12.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                name, values.get("count").longValue(), values.get("errors").longValue(),
+                values.get("itemsPerSecond").doubleValue(), values.get("p50Ms").doubleValue(),
+                values.get("p90Ms").doubleValue(), values.get("p99Ms").doubleValue(),
+                values.get("p999Ms").doubleValue(), values.get("maxMs").doubleValue()));
+        System.out.println();
+    }
+
+    private static List<String> jvmArgs(EndToEndSettings settings) {
+        String args = settings.backendJvmArgs().trim();
+        return args.isEmpty() ? List.of() : Arrays.asList(args.split("\\s+"));
+    }
+
+    private static Duration startupTimeout(EndToEndSettings settings) {
+        return Duration.ofSeconds(settings.startupTimeoutSeconds());
+    }
+}
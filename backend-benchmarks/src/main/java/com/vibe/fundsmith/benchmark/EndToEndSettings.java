@@ -0,0 +1,97 @@
+package com.vibe.fundsmith.benchmark;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of an {@link EndToEndBenchmark} run, read from {@code e2e.*} system properties of the
+ * harness JVM; under Maven pass them through {@code e2e.options}, e.g.
+ * {@code -De2e.options="-De2e.liveTradesPerSecond=20000"}.
+ *
+ * By default the backend runs against an in-memory H2 database; pointing {@code e2e.datasourceUrl}
+ * at a local PostgreSQL runs it against the real schema, migrated by Flyway.
+ */
+record EndToEndSettings(
+        int warmupSeconds,
+        int durationSeconds,
+        double uploadsPerSecond,
+        int tradesPerUpload,
+        int cardinality,
+        String consolidationCriteria,
+        int liveTradesPerSecond,
+        int liveBatchSize,
+        int liveProcessIntervalMs,
+        int maxInFlight,
+        boolean throughGateway,
+        Path gatewayJar,
+        String datasourceUrl,
+        String datasourceUsername,
+        String datasourcePassword,
+        String backendJvmArgs,
+        int startupTimeoutSeconds,
+        Path reportDirectory,
+        Path baseline,
+        boolean writeBaseline,
+        double maxRegressionPercent,
+        double minRegressionMs,
+        double maxErrorRate,
+        int journalWarmupUploads,
+        int journalUploads,
+        double maxJournalOverheadPercent) {
+
+    static EndToEndSettings fromSystemProperties() {
+        return new EndToEndSettings(
+                Integer.getInteger("e2e.warmupSeconds", 10),
+                Integer.getInteger("e2e.durationSeconds", 30),
+                Double.parseDouble(System.getProperty("e2e.uploadsPerSecond", "2")),
+                Integer.getInteger("e2e.tradesPerUpload", 1_000),
+                Integer.getInteger("e2e.cardinality", 100),
+                System.getProperty("e2e.consolidationCriteria", "CURRENCY_PAIR"),
+                Integer.getInteger("e2e.liveTradesPerSecond", 5_000),
+                Integer.getInteger("e2e.liveBatchSize", 100),
+                Integer.getInteger("e2e.liveProcessIntervalMs", 500),
+                Integer.getInteger("e2e.maxInFlight", 256),
+                Boolean.parseBoolean(System.getProperty("e2e.throughGateway", "true")),
+                Paths.get(System.getProperty("e2e.gatewayJar", "../gateway/target/gateway-1.0.0.jar")),
+                System.getProperty("e2e.datasourceUrl",
+                        "jdbc:h2:mem:e2e;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL"),
+                System.getProperty("e2e.datasourceUsername", "sa"),
+                System.getProperty("e2e.datasourcePassword", ""),
+                System.getProperty("e2e.backendJvmArgs", "-Xmx2g"),
+                Integer.getInteger("e2e.startupTimeoutSeconds", 120),
+                Paths.get(System.getProperty("e2e.reportDirectory", "target/e2e")),
+                Paths.get(System.getProperty("e2e.baseline", "e2e-baseline.json")),
+                Boolean.parseBoolean(System.getProperty("e2e.writeBaseline", "false")),
+                Double.parseDouble(System.getProperty("e2e.maxRegressionPercent", "20")),
+                Double.parseDouble(System.getProperty("e2e.minRegressionMs", "1")),
+                Double.parseDouble(System.getProperty("e2e.maxErrorRate", "0.001")),
+                Integer.getInteger("e2e.journalWarmupUploads", 20),
+                Integer.getInteger("e2e.journalUploads", 50),
+                Double.parseDouble(System.getProperty("e2e.maxJournalOverheadPercent", "50")));
+    }
+
+    boolean embeddedDatabase() {
+        return datasourceUrl.startsWith("jdbc:h2:");
+    }
+
+    /**
+     * The settings that shape the offered load; a baseline is only comparable when they match.
+     */
+    Map<String, Object> workload() {
+        Map<String, Object> workload = new LinkedHashMap<>();
+        workload.put("warmupSeconds", warmupSeconds);
+        workload.put("durationSeconds", durationSeconds);
+        workload.put("uploadsPerSecond", uploadsPerSecond);
+        workload.put("tradesPerUpload", tradesPerUpload);
+        workload.put("cardinality", cardinality);
+        workload.put("consolidationCriteria", consolidationCriteria);
+        workload.put("liveTradesPerSecond", liveTradesPerSecond);
+        workload.put("liveBatchSize", liveBatchSize);
+        workload.put("liveProcessIntervalMs", liveProcessIntervalMs);
+        workload.put("throughGateway", throughGateway);
+        workload.put("database", embeddedDatabase() ? "h2" : datasourceUrl);
+        return workload;
+    }
+}
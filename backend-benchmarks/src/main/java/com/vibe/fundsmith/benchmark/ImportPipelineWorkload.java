@@ -0,0 +1,89 @@
+package com.vibe.fundsmith.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the batch import pipeline at a fixed rate of uploads: upload, consolidate, generate MXML
+ * and push to Murex, one after the other for each import.
+ *
+ * Each call is timed as an endpoint ({@code import.upload} from the intended start, the others from
+ * when they were sent), and the whole pipeline as the {@code import.pipeline} stage, whose items
+ * per second are uploaded trades carried all the way through.
+ */
+final class ImportPipelineWorkload extends OpenLoopWorkload {
+
+    private static final String CSV_HEADER = "TradeId,CurrencyPair,Side,Quantity,Price,TradeDate,Counterparty,Book\n";
+    private static final String[] CURRENCY_PAIRS = {"EUR/USD", "GBP/USD", "USD/JPY", "AUD/USD", "USD/CHF"};
+
+    private final PipelineClient client;
+    private final LatencyMetrics metrics;
+    private final EndToEndSettings settings;
+    private final AtomicLong uploads = new AtomicLong();
+
+    ImportPipelineWorkload(PipelineClient client, LatencyMetrics metrics, EndToEndSettings settings) {
+        super("import-pipeline", settings.uploadsPerSecond(), settings.maxInFlight());
+        this.client = client;
+        this.metrics = metrics;
+        this.settings = settings;
+    }
+
+    @Override
+    void execute(long intendedNanos) throws Exception {
+        long upload = uploads.incrementAndGet();
+        byte[] csv = csv(upload, settings.tradesPerUpload(), settings.cardinality());
+
+        String step = "import.upload";
+        try {
+            long importId = client.upload("e2e-" + upload + ".csv", csv);
+            long end = System.nanoTime();
+            metrics.record(step, intendedNanos, intendedNanos, end, settings.tradesPerUpload());
+
+            step = "import.consolidate";
+            long start = end;
+            client.consolidate(importId, settings.consolidationCriteria());
+            end = System.nanoTime();
+            metrics.record(step, intendedNanos, start, end, settings.tradesPerUpload());
+
+            step = "import.generate-mxml";
+            start = end;
+            client.generateMxml(importId);
+            end = System.nanoTime();
+            metrics.record(step, intendedNanos, start, end, settings.tradesPerUpload());
+
+            step = "import.push-to-murex";
+            start = end;
+            client.pushToMurex(importId);
+            end = System.nanoTime();
+            metrics.record(step, intendedNanos, start, end, settings.tradesPerUpload());
+
+            metrics.record("import.pipeline", intendedNanos, intendedNanos, end, settings.tradesPerUpload());
+        } catch (Exception e) {
+            metrics.recordError(step, intendedNanos);
+            metrics.recordError("import.pipeline", intendedNanos);
+            throw e;
+        }
+    }
+
+    /**
+     * A deterministic CSV per upload, spread over {@code cardinality} consolidation keys.
+     */
+    static byte[] csv(long upload, int count, int keys) {
+        int cardinality = Math.max(1, keys);
+        SplittableRandom random = new SplittableRandom(upload);
+        StringBuilder csv = new StringBuilder(CSV_HEADER.length() + count * 72).append(CSV_HEADER);
+        for (int i = 0; i < count; i++) {
+            int key = random.nextInt(cardinality);
+            csv.append("E2E-").append(upload).append('-').append(i).append(',')
+                    .append(CURRENCY_PAIRS[key % CURRENCY_PAIRS.length]).append(',')
+                    .append(random.nextBoolean() ? "BUY" : "SELL").append(',')
+                    .append(1_000L * (1 + random.nextInt(100))).append(',')
+                    .append("1.").append(String.format("%06d", random.nextInt(1_000_000))).append(',')
+                    .append("2024-03-01").append(',')
+                    .append("CP").append(key / CURRENCY_PAIRS.length % 10).append(',')
+                    .append("BOOK").append(key / (CURRENCY_PAIRS.length * 10)).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
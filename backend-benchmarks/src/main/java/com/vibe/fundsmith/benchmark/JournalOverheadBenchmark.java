@@ -0,0 +1,91 @@
+package com.vibe.fundsmith.benchmark;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time journals add to an import: boots the backend once with journals and once without,
+ * against the same database, and uploads the same CSV files to each, one at a time, clearing
+ * the imports after each upload so that both see tables of the same size.
+ *
+ * The run fails, with exit code 1, if the median upload with journals is more than
+ * {@code e2e.maxJournalOverheadPercent} slower than without. The bound is deliberately loose, so
+ * that it catches a regression, such as journals falling back to one insert per row or checking a
+ * foreign key per row again, rather than noise.
+ *
+ * <pre>
+ * mvn -f ../backend/pom.xml install -DskipTests
+ * mvn verify -Pjournal-overhead
+ * mvn verify -Pjournal-overhead -De2e.options="-De2e.datasourceUrl=jdbc:postgresql://localhost:5432/fundsmith?reWriteBatchedInserts=true \
+ *     -De2e.datasourceUsername=fundsmith -De2e.datasourcePassword=fundsmith -De2e.tradesPerUpload=10000"
+ * </pre>
+ */
+public class JournalOverheadBenchmark {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final EndToEndSettings settings;
+
+    JournalOverheadBenchmark(EndToEndSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new JournalOverheadBenchmark(EndToEndSettings.fromSystemProperties()).run());
+    }
+
+    int run() throws Exception {
+        Files.createDirectories(settings.reportDirectory());
+        System.out.printf("Uploading %d trades, %d warm-up and %d measured uploads per configuration, database %s%n",
+                settings.tradesPerUpload(), settings.journalWarmupUploads(), settings.journalUploads(),
+                settings.embeddedDatabase() ? "h2" : settings.datasourceUrl());
+
+        Histogram without = measure("--journals.enabled=false");
+        Histogram with = measure("--journals.enabled=true");
+
+        double withMs = with.getValueAtPercentile(50) / 1000.0;
+        double withoutMs = without.getValueAtPercentile(50) / 1000.0;
+        double overheadPercent = 100 * (withMs - withoutMs) / withoutMs;
+        System.out.printf("%n%-18s %9s %9s %9s%n", "upload", "p50 ms", "p90 ms", "mean ms");
+        print("with journals", with);
+        print("without journals", without);
+        System.out.printf("Journal overhead: %+.1f%% at the median (limit %+.1f%%)%n%n",
+                overheadPercent, settings.maxJournalOverheadPercent());
+
+        if (overheadPercent > settings.maxJournalOverheadPercent()) {
+            System.out.println("Journal overhead benchmark FAILED");
+            return 1;
+        }
+        System.out.println("Journal overhead benchmark passed");
+        return 0;
+    }
+
+    private Histogram measure(String journals) throws Exception {
+        int port = ServiceProcess.freePort();
+        Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        try (ServiceProcess backend = EndToEndBenchmark.startBackend(settings, port, journals)) {
+            PipelineClient client = new PipelineClient(URI.create("http://localhost:" + port));
+            client.clearAllImports();
+            int uploads = settings.journalWarmupUploads() + settings.journalUploads();
+            for (int upload = 0; upload < uploads; upload++) {
+                byte[] csv = ImportPipelineWorkload.csv(upload, settings.tradesPerUpload(), settings.cardinality());
+                long start = System.nanoTime();
+                client.upload("journals-" + upload + ".csv", csv);
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                if (upload >= settings.journalWarmupUploads()) {
+                    histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, micros));
+                }
+                client.clearAllImports();
+            }
+        }
+        return histogram;
+    }
+
+    private static void print(String name, Histogram histogram) {
+        System.out.printf("%-18s %9.3f %9.3f %9.3f%n", name, histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0, histogram.getMean() / 1000);
+    }
+}
@@ -0,0 +1,113 @@
+package com.vibe.fundsmith.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One HdrHistogram per endpoint or stage, in microseconds, plus error and item counts.
+ *
+ * Only operations whose intended start falls inside the measurement window are recorded, so the
+ * warm-up is excluded without resetting anything while requests are in flight.
+ */
+final class LatencyMetrics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    private volatile long windowStartNanos = Long.MAX_VALUE;
+    private volatile long windowEndNanos = Long.MAX_VALUE;
+
+    void openWindow(long startNanos, long endNanos) {
+        windowEndNanos = endNanos;
+        windowStartNanos = startNanos;
+    }
+
+    boolean inWindow(long intendedNanos) {
+        return intendedNanos >= windowStartNanos && intendedNanos < windowEndNanos;
+    }
+
+    /**
+     * Records an operation that completed at {@code endNanos}, covering {@code items} trades.
+     */
+    void record(String name, long intendedNanos, long startNanos, long endNanos, long items) {
+        if (inWindow(intendedNanos)) {
+            Metric metric = metric(name);
+            metric.histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                    Math.max(0, TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos))));
+            metric.items.add(items);
+        }
+    }
+
+    void recordError(String name, long intendedNanos) {
+        if (inWindow(intendedNanos)) {
+            metric(name).errors.increment();
+        }
+    }
+
+    /**
+     * Summary per metric, sorted by name: count, errors, items per second
+     * over the window and latency percentiles in milliseconds.
+     */
+    Map<String, Map<String, Number>> summary() {
+        double windowSeconds = (windowEndNanos - windowStartNanos) / 1e9;
+        Map<String, Map<String, Number>> summary = new LinkedHashMap<>();
+        metrics.keySet().stream().sorted().forEach(name -> {
+            Metric metric = metrics.get(name);
+            Histogram histogram = metric.histogram;
+            Map<String, Number> values = new LinkedHashMap<>();
+            values.put("count", histogram.getTotalCount());
+            values.put("errors", metric.errors.sum());
+            values.put("itemsPerSecond", round(metric.items.sum() / windowSeconds));
+            values.put("meanMs", round(histogram.getMean() / 1000));
+            values.put("p50Ms", millis(histogram, 50));
+            values.put("p90Ms", millis(histogram, 90));
+            values.put("p99Ms", millis(histogram, 99));
+            values.put("p999Ms", millis(histogram, 99.9));
+            values.put("maxMs", round(histogram.getMaxValue() / 1000.0));
+            summary.put(name, values);
+        });
+        return summary;
+    }
+
+    /**
+     * Writes each histogram's full percentile distribution to {@code <name>.hgrm}, in milliseconds,
+     * in the format read by the HdrHistogram plotter.
+     */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private Metric metric(String name) {
+        return metrics.computeIfAbsent(name, key -> new Metric());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static final class Metric {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder items = new LongAdder();
+    }
+}
@@ -0,0 +1,136 @@
+package com.vibe.fundsmith.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Submits live trades in JSON batches at a fixed trade rate ({@code live.submit-batch}) and
+ * flushes them with {@code POST /api/live-trades/process} every {@code liveProcessIntervalMs}
+ * ({@code live.process}), as the backend's own grouping timer would.
+ *
+ * The {@code live.submit-to-persist} stage is timed per batch from its intended send time to the
+ * end of the flush that persisted it. The pending buffer is first in, first out, so each flush's
+ * persisted count is attributed to the oldest accepted batches still outstanding.
+ */
+final class LiveTradeWorkload extends OpenLoopWorkload {
+
+    private static final String[] CURRENCY_PAIRS = {"EUR/USD", "GBP/USD", "USD/JPY", "AUD/USD", "USD/CHF"};
+    private static final String[] COUNTERPARTIES = {"BANK_A", "BANK_B", "FUND_C", "CORP_D"};
+    private static final String[] BOOKS = {"TRADING", "HEDGE", "CLIENT"};
+
+    private final PipelineClient client;
+    private final LatencyMetrics metrics;
+    private final EndToEndSettings settings;
+    private final AtomicLong batches = new AtomicLong();
+    // Accepted batches not yet persisted: {intended send nanos, trades still pending, trades accepted}
+    private final Deque<long[]> outstanding = new ArrayDeque<>();
+    private volatile boolean submitting = true;
+
+    LiveTradeWorkload(PipelineClient client, LatencyMetrics metrics, EndToEndSettings settings) {
+        super("live-trades", (double) settings.liveTradesPerSecond() / Math.max(1, settings.liveBatchSize()),
+                settings.maxInFlight());
+        this.client = client;
+        this.metrics = metrics;
+        this.settings = settings;
+    }
+
+    @Override
+    void run(long startNanos, long endNanos, long drainTimeoutSeconds) throws InterruptedException {
+        try {
+            super.run(startNanos, endNanos, drainTimeoutSeconds);
+        } finally {
+            submitting = false;
+        }
+    }
+
+    @Override
+    void execute(long intendedNanos) throws Exception {
+        byte[] json = batch(batches.incrementAndGet());
+        try {
+            int accepted = client.submitLiveTrades(json);
+            metrics.record("live.submit-batch", intendedNanos, intendedNanos, System.nanoTime(), accepted);
+            if (accepted > 0) {
+                synchronized (outstanding) {
+                    outstanding.addLast(new long[]{intendedNanos, accepted, accepted});
+                }
+            }
+        } catch (Exception e) {
+            metrics.recordError("live.submit-batch", intendedNanos);
+            throw e;
+        }
+    }
+
+    /**
+     * Flushes on a fixed interval until {@code endNanos}, then until every submitted batch has been
+     * persisted or {@code drainTimeoutSeconds} has passed. Runs on the calling thread.
+     */
+    void flushUntil(long endNanos, long drainTimeoutSeconds) {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(settings.liveProcessIntervalMs());
+        long deadline = endNanos + TimeUnit.SECONDS.toNanos(drainTimeoutSeconds);
+        long next = System.nanoTime() + intervalNanos;
+        while (System.nanoTime() < endNanos || ((submitting || hasOutstanding()) && System.nanoTime() < deadline)) {
+            long waitNanos;
+            while ((waitNanos = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            // A timer rather than load: a slow flush delays the next one, as the grouping timer would
+            long start = System.nanoTime();
+            next = Math.max(next + intervalNanos, start);
+            try {
+                int persisted = client.processLiveTrades();
+                long end = System.nanoTime();
+                metrics.record("live.process", start, start, end, persisted);
+                attribute(persisted, end);
+            } catch (Exception e) {
+                metrics.recordError("live.process", start);
+                System.err.printf("live-trades flush failed: %s%n", e);
+            }
+        }
+    }
+
+    private void attribute(int persisted, long persistedAtNanos) {
+        synchronized (outstanding) {
+            while (persisted > 0 && !outstanding.isEmpty()) {
+                long[] batch = outstanding.peekFirst();
+                long covered = Math.min(persisted, batch[1]);
+                batch[1] -= covered;
+                persisted -= covered;
+                if (batch[1] == 0) {
+                    outstanding.removeFirst();
+                    metrics.record("live.submit-to-persist", batch[0], batch[0], persistedAtNanos, batch[2]);
+                }
+            }
+        }
+    }
+
+    private boolean hasOutstanding() {
+        synchronized (outstanding) {
+            return !outstanding.isEmpty();
+        }
+    }
+
+    private byte[] batch(long batch) {
+        int size = settings.liveBatchSize();
+        SplittableRandom random = new SplittableRandom(batch);
+        StringBuilder json = new StringBuilder(size * 160).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"tradeId\":\"E2E-L-").append(batch).append('-').append(i)
+                    .append("\",\"currencyPair\":\"").append(CURRENCY_PAIRS[random.nextInt(CURRENCY_PAIRS.length)])
+                    .append("\",\"side\":\"").append(random.nextBoolean() ? "BUY" : "SELL")
+                    .append("\",\"counterparty\":\"").append(COUNTERPARTIES[random.nextInt(COUNTERPARTIES.length)])
+                    .append("\",\"book\":\"").append(BOOKS[random.nextInt(BOOKS.length)])
+                    .append("\",\"quantity\":").append(1_000L * (1 + random.nextInt(100)))
+                    .append(",\"price\":1.").append(String.format("%06d", random.nextInt(1_000_000)))
+                    .append('}');
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.vibe.fundsmith.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues operations at a fixed rate whether or not earlier ones have completed (an open workload
+ * model), each on its own virtual thread. Operations are handed their intended start time, and
+ * latencies are measured from it, so a slow system cannot slow the load down and hide its own
+ * queueing delay (coordinated omission).
+ *
+ * At most {@code maxInFlight} operations are outstanding; when that cap is hit the schedule falls
+ * behind, which shows up as latency rather than as a lower offered rate.
+ */
+abstract class OpenLoopWorkload {
+
+    private final String name;
+    private final double operationsPerSecond;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    OpenLoopWorkload(String name, double operationsPerSecond, int maxInFlight) {
+        this.name = name;
+        this.operationsPerSecond = operationsPerSecond;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Runs one operation. Failures are the implementation's to record; anything thrown is
+     * reported and otherwise ignored.
+     */
+    abstract void execute(long intendedNanos) throws Exception;
+
+    /**
+     * Issues operations from {@code startNanos} until {@code endNanos}, then waits up to
+     * {@code drainTimeoutSeconds} for the outstanding ones.
+     */
+    void run(long startNanos, long endNanos, long drainTimeoutSeconds) throws InterruptedException {
+        if (operationsPerSecond <= 0) {
+            return;
+        }
+        long intervalNanos = (long) (1e9 / operationsPerSecond);
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(name + "-", 0).factory())) {
+            for (long i = 0; ; i++) {
+                long intendedNanos = startNanos + i * intervalNanos;
+                if (intendedNanos >= endNanos) {
+                    break;
+                }
+                long waitNanos;
+                while ((waitNanos = intendedNanos - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        execute(intendedNanos);
+                    } catch (Exception e) {
+                        System.err.printf("%s operation failed: %s%n", name, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            if (!inFlight.tryAcquire(maxInFlight, drainTimeoutSeconds, TimeUnit.SECONDS)) {
+                System.err.printf("%s: %d operations still outstanding after %ds%n",
+                        name, maxInFlight - inFlight.availablePermits(), drainTimeoutSeconds);
+                executor.shutdownNow();
+            } else {
+                inFlight.release(maxInFlight);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.vibe.fundsmith.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Blocking client for the REST endpoints the harness drives. Every call fails with a
+ * RuntimeException unless the response is 200.
+ */
+final class PipelineClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final URI baseUri;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    PipelineClient(URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Uploads a CSV file as multipart form data and returns the new import's id.
+     */
+    long upload(String filename, byte[] csv) throws IOException, InterruptedException {
+        String boundary = "e2e-" + UUID.randomUUID();
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[head.length + csv.length + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(csv, 0, body, head.length, csv.length);
+        System.arraycopy(tail, 0, body, head.length + csv.length, tail.length);
+
+        return send(post("/api/imports/upload", "multipart/form-data; boundary=" + boundary, body))
+                .path("id").asLong();
+    }
+
+    void consolidate(long importId, String criteria) throws IOException, InterruptedException {
+        send(post("/api/imports/" + importId + "/consolidate", "application/json",
+                ("{\"criteria\":\"" + criteria + "\"}").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    void generateMxml(long importId) throws IOException, InterruptedException {
+        send(post("/api/imports/" + importId + "/generate-mxml", "application/json", new byte[0]));
+    }
+
+    void pushToMurex(long importId) throws IOException, InterruptedException {
+        send(post("/api/imports/" + importId + "/push-to-murex", "application/json", new byte[0]));
+    }
+
+    /**
+     * Deletes every import with its trades, journals and MXML files.
+     */
+    void clearAllImports() throws IOException, InterruptedException {
+        send(HttpRequest.newBuilder(baseUri.resolve("/api/imports/clear-all"))
+                .timeout(REQUEST_TIMEOUT)
+                .DELETE()
+                .build());
+    }
+
+    /**
+     * Submits a JSON array of live trades and returns how many were accepted.
+     */
+    int submitLiveTrades(byte[] json) throws IOException, InterruptedException {
+        return send(post("/api/live-trades/submit-batch", "application/json", json)).path("acceptedCount").asInt();
+    }
+
+    /**
+     * Flushes pending live trades and returns how many were persisted.
+     */
+    int processLiveTrades() throws IOException, InterruptedException {
+        return send(post("/api/live-trades/process", "application/json", new byte[0]))
+                .path("originalTradeCount").asInt(0);
+    }
+
+    private HttpRequest post(String path, String contentType, byte[] body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new RuntimeException(request.uri().getPath() + " returned " + response.statusCode() + ": "
+                    + new String(response.body(), 0, Math.min(200, response.body().length), StandardCharsets.UTF_8));
+        }
+        try {
+            return response.body().length > 0 ? objectMapper.readTree(response.body()) : objectMapper.missingNode();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable response from " + request.uri().getPath(), e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.model.MXMLFile;
+import com.vibe.fundsmith.model.Trade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic benchmark inputs. {@code cardinality} is the number of distinct
+ * (currency pair, counterparty, book) combinations, spread as evenly as possible over the three
+ * fields so that every consolidation criterion sees a proportionate number of groups.
+ */
+final class BenchmarkTrades {
+
+    private static final long SEED = 42;
+    private static final String CSV_HEADER = "TradeId,CurrencyPair,Side,Quantity,Price,TradeDate,Counterparty,Book\n";
+
+    private BenchmarkTrades() {
+    }
+
+    static List<Trade> trades(int count, int cardinality) {
+        Dimensions dimensions = new Dimensions(cardinality);
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Trade> trades = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int key = random.nextInt(cardinality);
+            trades.add(Trade.builder()
+                    .tradeId("T" + i)
+                    .currencyPair(dimensions.currencyPair(key))
+                    .side(random.nextBoolean() ? Trade.TradeSide.BUY : Trade.TradeSide.SELL)
+                    .counterparty(dimensions.counterparty(key))
+                    .book(dimensions.book(key))
+                    .quantity(1_000L * (1 + random.nextInt(100)))
+                    .price(BigDecimal.valueOf(1_000_000 + random.nextInt(500_000), 6))
+                    .isOriginal(true)
+                    .build());
+        }
+        return trades;
+    }
+
+    static byte[] csv(int count, int cardinality) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER.length() + count * 64);
+        csv.append(CSV_HEADER);
+        for (Trade trade : trades(count, cardinality)) {
+            csv.append(trade.getTradeId()).append(',')
+                    .append(trade.getCurrencyPair()).append(',')
+                    .append(trade.getSide()).append(',')
+                    .append(trade.getQuantity()).append(',')
+                    .append(trade.getPrice().toPlainString()).append(',')
+                    .append("2024-03-01").append(',')
+                    .append(trade.getCounterparty()).append(',')
+                    .append(trade.getBook()).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static List<MXMLFile> mxmlFiles(TradeImportService service, int count) {
+        List<MXMLFile> files = new ArrayList<>(count);
+        long id = 1;
+        for (Trade trade : trades(count, Math.max(1, count / 10))) {
+            files.add(MXMLFile.builder()
+                    .id(id++)
+                    .filename("trade_BENCH_" + trade.getTradeId() + ".mxml")
+                    .content(service.generateMXMLContent(trade))
+                    .build());
+        }
+        return files;
+    }
+
+    /**
+     * A service instance for the pure, database-free code paths; its meters go to a throwaway registry
+     * and it does not trace.
+     */
+    static TradeImportService service() {
+        return new TradeImportService(null, null, null, null, null, null, new TradeImportMetrics(new SimpleMeterRegistry()),
+                new TradeImportTracing(Tracer.NOOP));
+    }
+
+    private static final class Dimensions {
+        private final int currencyPairs;
+        private final int counterparties;
+
+        private Dimensions(int cardinality) {
+            int perField = (int) Math.max(1, Math.round(Math.cbrt(cardinality)));
+            this.currencyPairs = perField;
+            this.counterparties = (int) Math.max(1, Math.round(Math.sqrt((double) cardinality / perField)));
+        }
+
+        private String currencyPair(int key) {
+            return "CCY" + (key % currencyPairs);
+        }
+
+        private String counterparty(int key) {
+            return "CP" + ((key / currencyPairs) % counterparties);
+        }
+
+        private String book(int key) {
+            return "BOOK" + (key / (currencyPairs * counterparties));
+        }
+    }
+}
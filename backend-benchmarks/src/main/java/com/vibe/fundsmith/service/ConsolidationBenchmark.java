@@ -0,0 +1,53 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.model.Trade;
+import com.vibe.fundsmith.model.TradeImport;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consolidation ({@link TradeImportService#consolidateTrades}) and its grouping-key construction
+ * ({@link TradeImportService#getGroupingKey}) for every criterion, over trade counts and key
+ * cardinalities. {@code groupingKeys} isolates the cost of building the keys alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx16g"})
+public class ConsolidationBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int tradeCount;
+
+    @Param({"10", "1000", "100000"})
+    private int cardinality;
+
+    @Param
+    private TradeImport.ConsolidationCriteria criteria;
+
+    private TradeImportService service;
+    private List<Trade> trades;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkTrades.service();
+        trades = BenchmarkTrades.trades(tradeCount, cardinality);
+    }
+
+    @Benchmark
+    public List<Trade> consolidateTrades() {
+        return service.consolidateTrades(trades, criteria);
+    }
+
+    @Benchmark
+    public void groupingKeys(Blackhole blackhole) {
+        for (Trade trade : trades) {
+            blackhole.consume(service.getGroupingKey(trade, criteria));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.model.Trade;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MXML document rendering for one consolidated trade ({@link TradeImportService#generateMXMLContent}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MxmlGenerationBenchmark {
+
+    private static final int TRADES = 1024; // power of two, cycled through
+
+    private TradeImportService service;
+    private List<Trade> trades;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkTrades.service();
+        trades = BenchmarkTrades.trades(TRADES, 100);
+    }
+
+    @Benchmark
+    public String generateMXMLContent() {
+        return service.generateMXMLContent(trades.get(next++ & (TRADES - 1)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.model.MXMLFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ZIP export of an import's MXML files ({@link TradeImportService#zipMxmlFiles}), excluding the
+ * database read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx8g"})
+public class MxmlZipExportBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int fileCount;
+
+    private TradeImportService service;
+    private List<MXMLFile> files;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkTrades.service();
+        files = BenchmarkTrades.mxmlFiles(service, fileCount);
+    }
+
+    @Benchmark
+    public byte[] zipMxmlFiles() throws IOException {
+        return service.zipMxmlFiles(files);
+    }
+}
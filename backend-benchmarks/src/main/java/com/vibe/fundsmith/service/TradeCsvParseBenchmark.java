@@ -0,0 +1,41 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.model.Trade;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV upload parsing ({@link TradeImportService#parseCsv}), from bytes in memory to trade entities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx16g"})
+public class TradeCsvParseBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int tradeCount;
+
+    @Param({"1000"})
+    private int cardinality;
+
+    private TradeImportService service;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkTrades.service();
+        csv = BenchmarkTrades.csv(tradeCount, cardinality);
+    }
+
+    @Benchmark
+    public List<Trade> parseCsv() throws IOException {
+        return service.parseCsv(new ByteArrayInputStream(csv));
+    }
+}
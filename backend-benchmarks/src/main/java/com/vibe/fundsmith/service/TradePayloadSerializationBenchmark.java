@@ -0,0 +1,112 @@
+package com.vibe.fundsmith.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.vibe.fundsmith.dto.TradeDto;
+import com.vibe.fundsmith.dto.TradeImportDto;
+import com.vibe.fundsmith.model.Trade;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding of a bulk trade read ({@code GET /api/imports/{id}}) as JSON and as CBOR, with the
+ * same Jackson settings as the backend, and the gzip cost on top. Payload sizes are printed at
+ * setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx4g"})
+public class TradePayloadSerializationBenchmark {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000);
+
+    @Param({"1000", "100000"})
+    private int tradeCount;
+
+    @Param({"json", "cbor"})
+    private String encoding;
+
+    private ObjectMapper mapper;
+    private TradeImportDto payload;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // as Spring Boot does
+        mapper = "cbor".equals(encoding) ? builder.factory(new CBORFactory()).build() : builder.build();
+        payload = importOf(BenchmarkTrades.trades(tradeCount, 100));
+        encoded = mapper.writeValueAsBytes(payload);
+        System.out.printf("%n%s, %d trades: %d bytes, %d gzipped%n", encoding, tradeCount, encoded.length,
+                gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(payload));
+    }
+
+    /**
+     * What a client does with the response: parse it into a tree.
+     */
+    @Benchmark
+    public JsonNode parse() throws IOException {
+        return mapper.readTree(encoded);
+    }
+
+    private static TradeImportDto importOf(List<Trade> trades) {
+        List<TradeDto> dtos = new ArrayList<>(trades.size());
+        long id = 1;
+        for (Trade trade : trades) {
+            dtos.add(TradeDto.builder()
+                    .id(id++)
+                    .tradeId(trade.getTradeId())
+                    .currencyPair(trade.getCurrencyPair())
+                    .side(trade.getSide().name())
+                    .counterparty(trade.getCounterparty())
+                    .book(trade.getBook())
+                    .quantity(trade.getQuantity())
+                    .price(trade.getPrice())
+                    .createdAt(CREATED_AT)
+                    .build());
+        }
+        return TradeImportDto.builder()
+                .id(1L)
+                .importName("benchmark.csv")
+                .status("UPLOADED")
+                .originalTradeCount(dtos.size())
+                .currentTradeCount(dtos.size())
+                .mxmlGenerated(false)
+                .pushedToMurex(false)
+                .createdAt(CREATED_AT)
+                .trades(dtos)
+                .mxmlFiles(List.of())
+                .build();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,41 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Identity of this backend node and the leases it takes on imports when several nodes share
+ * one database. The node id must be unique per node and stable across restarts.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterConfig {
+    private String nodeId = "node-1";
+    private long leaseSeconds = 60;
+    private int claimBatchSize = 100;
+
+    // Getters and setters
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public long getLeaseSeconds() {
+        return leaseSeconds;
+    }
+
+    public void setLeaseSeconds(long leaseSeconds) {
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public int getClaimBatchSize() {
+        return claimBatchSize;
+    }
+
+    public void setClaimBatchSize(int claimBatchSize) {
+        this.claimBatchSize = claimBatchSize;
+    }
+}
@@ -0,0 +1,59 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the trade-date and settlement-date journals written for each original trade and
+ * served at /api/journals.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "journals")
+public class JournalConfig {
+    private boolean enabled = true;
+    private int batchSize = 1000; // journal rows per JDBC batch
+    private int settlementDays = 2; // business days from trade date to settlement
+    private String defaultCurrency = "USD"; // for instruments that are not currency pairs
+    private int maxQueryLimit = 500; // journals per query page
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getSettlementDays() {
+        return settlementDays;
+    }
+
+    public void setSettlementDays(int settlementDays) {
+        this.settlementDays = settlementDays;
+    }
+
+    public String getDefaultCurrency() {
+        return defaultCurrency;
+    }
+
+    public void setDefaultCurrency(String defaultCurrency) {
+        this.defaultCurrency = defaultCurrency;
+    }
+
+    public int getMaxQueryLimit() {
+        return maxQueryLimit;
+    }
+
+    public void setMaxQueryLimit(int maxQueryLimit) {
+        this.maxQueryLimit = maxQueryLimit;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive flush policy for pending live trades: a flush runs as soon as {@code batchSize}
+ * trades are pending, or {@code maxDelayMs} after the oldest pending trade was accepted,
+ * whichever comes first. A single flush never drains more than {@code maxBatchSize} trades, and
+ * up to {@code maxConcurrentFlushes} flushes may be writing to the database at the same time.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "live-trades.flush")
+public class LiveTradeFlushConfig {
+    private int batchSize = 1000;
+    private long maxDelayMs = 0; // 0 = use the demo config's groupingIntervalSeconds
+    private int maxBatchSize = 10000;
+    private int maxConcurrentFlushes = 2;
+
+    // Getters and setters
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+
+    public void setMaxDelayMs(long maxDelayMs) {
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getMaxConcurrentFlushes() {
+        return maxConcurrentFlushes;
+    }
+
+    public void setMaxConcurrentFlushes(int maxConcurrentFlushes) {
+        this.maxConcurrentFlushes = maxConcurrentFlushes;
+    }
+}
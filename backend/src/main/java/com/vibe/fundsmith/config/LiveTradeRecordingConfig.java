@@ -0,0 +1,49 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for recording the accepted live trade stream and replaying it.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "live-trades.recording")
+public class LiveTradeRecordingConfig {
+    private String directory = "data/recordings";
+    private int bufferBytes = 64 * 1024;
+    private int maxReplayBatchSize = 1000;
+    private long replayDrainTimeoutMs = 60_000; // wait for the last replayed trades to be flushed
+
+    // Getters and setters
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getBufferBytes() {
+        return bufferBytes;
+    }
+
+    public void setBufferBytes(int bufferBytes) {
+        this.bufferBytes = bufferBytes;
+    }
+
+    public int getMaxReplayBatchSize() {
+        return maxReplayBatchSize;
+    }
+
+    public void setMaxReplayBatchSize(int maxReplayBatchSize) {
+        this.maxReplayBatchSize = maxReplayBatchSize;
+    }
+
+    public long getReplayDrainTimeoutMs() {
+        return replayDrainTimeoutMs;
+    }
+
+    public void setReplayDrainTimeoutMs(long replayDrainTimeoutMs) {
+        this.replayDrainTimeoutMs = replayDrainTimeoutMs;
+    }
+}
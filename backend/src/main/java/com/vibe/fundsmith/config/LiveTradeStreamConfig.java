@@ -0,0 +1,58 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the server-sent event stream of live trade and import status changes.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "live-trades.stream")
+public class LiveTradeStreamConfig {
+    private long coalesceIntervalMs = 250; // at most one delta per client per interval
+    private int maxBufferedTrades = 1000; // per client; a client that falls further behind is resynced
+    private int snapshotSize = 500; // most recent pending trades sent on connect and resync
+    private int maxSubscribers = 100;
+    private long heartbeatIntervalMs = 15_000;
+
+    // Getters and setters
+    public long getCoalesceIntervalMs() {
+        return coalesceIntervalMs;
+    }
+
+    public void setCoalesceIntervalMs(long coalesceIntervalMs) {
+        this.coalesceIntervalMs = coalesceIntervalMs;
+    }
+
+    public int getMaxBufferedTrades() {
+        return maxBufferedTrades;
+    }
+
+    public void setMaxBufferedTrades(int maxBufferedTrades) {
+        this.maxBufferedTrades = maxBufferedTrades;
+    }
+
+    public int getSnapshotSize() {
+        return snapshotSize;
+    }
+
+    public void setSnapshotSize(int snapshotSize) {
+        this.snapshotSize = snapshotSize;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public long getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs;
+    }
+
+    public void setHeartbeatIntervalMs(long heartbeatIntervalMs) {
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+}
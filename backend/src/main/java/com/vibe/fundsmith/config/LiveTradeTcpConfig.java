@@ -0,0 +1,53 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the optional binary TCP ingestion channel for live trades.
+ *
+ * The channel is unauthenticated and bypasses the gateway's rate and concurrency limits, so it
+ * listens on loopback only by default; binding it to another interface (e.g. {@code 0.0.0.0}) has
+ * to be set explicitly, on a network that only trusted producers can reach.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "live-trades.tcp")
+public class LiveTradeTcpConfig {
+    private boolean enabled = false;
+    private String bindAddress = "127.0.0.1"; // loopback only unless opened up explicitly
+    private int port = 9090; // 0 picks a free port
+    private int maxFrameBytes = 64 * 1024;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getBindAddress() {
+        return bindAddress;
+    }
+
+    public void setBindAddress(String bindAddress) {
+        this.bindAddress = bindAddress;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public int getMaxFrameBytes() {
+        return maxFrameBytes;
+    }
+
+    public void setMaxFrameBytes(int maxFrameBytes) {
+        this.maxFrameBytes = maxFrameBytes;
+    }
+}
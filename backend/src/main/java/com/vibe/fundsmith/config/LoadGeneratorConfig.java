@@ -0,0 +1,70 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Settings for the demo load generator. Instruments, prices and quantities come from
+ * {@link DemoConfig}; these control the producers and the shape of the key distribution.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "load-generator")
+public class LoadGeneratorConfig {
+    private long seed = 42;
+    private int producerThreads = 4;
+    private int batchSize = 256;
+    private double keySkew = 0.0; // Zipf exponent over instrument/counterparty/book keys, 0 = uniform
+    private List<String> counterparties = List.of("BANK_A", "BANK_B", "FUND_C", "CORP_D");
+    private List<String> books = List.of("TRADING", "HEDGE", "CLIENT");
+
+    // Getters and setters
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getProducerThreads() {
+        return producerThreads;
+    }
+
+    public void setProducerThreads(int producerThreads) {
+        this.producerThreads = producerThreads;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public double getKeySkew() {
+        return keySkew;
+    }
+
+    public void setKeySkew(double keySkew) {
+        this.keySkew = keySkew;
+    }
+
+    public List<String> getCounterparties() {
+        return counterparties;
+    }
+
+    public void setCounterparties(List<String> counterparties) {
+        this.counterparties = counterparties;
+    }
+
+    public List<String> getBooks() {
+        return books;
+    }
+
+    public void setBooks(List<String> books) {
+        this.books = books;
+    }
+}
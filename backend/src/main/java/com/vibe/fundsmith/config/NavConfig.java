@@ -0,0 +1,66 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+/**
+ * Settings for NAV calculation at /api/nav.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nav")
+public class NavConfig {
+    private Defaults defaults = new Defaults();
+    private BigDecimal feeRate = new BigDecimal("0.005"); // annual, accrued daily on the gross value
+    private int maxHistoryLimit = 500; // snapshots per history page
+
+    // Getters and setters; "default" is a keyword, so the field has another name
+    public Defaults getDefault() {
+        return defaults;
+    }
+
+    public void setDefault(Defaults defaults) {
+        this.defaults = defaults;
+    }
+
+    public BigDecimal getFeeRate() {
+        return feeRate;
+    }
+
+    public void setFeeRate(BigDecimal feeRate) {
+        this.feeRate = feeRate;
+    }
+
+    public int getMaxHistoryLimit() {
+        return maxHistoryLimit;
+    }
+
+    public void setMaxHistoryLimit(int maxHistoryLimit) {
+        this.maxHistoryLimit = maxHistoryLimit;
+    }
+
+    /**
+     * Applied to every portfolio.
+     */
+    public static class Defaults {
+        private long sharesOutstanding = 1_000_000;
+        private String currency = "USD";
+
+        public long getSharesOutstanding() {
+            return sharesOutstanding;
+        }
+
+        public void setSharesOutstanding(long sharesOutstanding) {
+            this.sharesOutstanding = sharesOutstanding;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public void setCurrency(String currency) {
+            this.currency = currency;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sizing of the bounded executor behind each live pipeline stage. The task scheduler only
+ * decides when a stage runs; the work itself runs on the stage's own executor, so a slow stage
+ * queues up (and eventually rejects) its own work without holding up the others.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "pipeline.executors")
+public class PipelineExecutorConfig {
+    // One long-running load generator producer per thread
+    private Stage demo = new Stage(4, 4, 100, RejectionPolicy.DISCARD);
+    private Stage flush = new Stage(2, 2, 10, RejectionPolicy.CALLER_RUNS);
+    // Event-driven stages: each task is one import, so none may be dropped
+    private Stage mxml = new Stage(1, 1, 1000, RejectionPolicy.CALLER_RUNS);
+    private Stage murex = new Stage(1, 1, 1000, RejectionPolicy.CALLER_RUNS);
+    // Server-sent event writes, at most one per client at a time; a dropped write is retried on the next tick
+    private Stage stream = new Stage(4, 4, 200, RejectionPolicy.DISCARD);
+
+    // Getters and setters
+    public Stage getDemo() {
+        return demo;
+    }
+
+    public void setDemo(Stage demo) {
+        this.demo = demo;
+    }
+
+    public Stage getFlush() {
+        return flush;
+    }
+
+    public void setFlush(Stage flush) {
+        this.flush = flush;
+    }
+
+    public Stage getMxml() {
+        return mxml;
+    }
+
+    public void setMxml(Stage mxml) {
+        this.mxml = mxml;
+    }
+
+    public Stage getMurex() {
+        return murex;
+    }
+
+    public void setMurex(Stage murex) {
+        this.murex = murex;
+    }
+
+    public Stage getStream() {
+        return stream;
+    }
+
+    public void setStream(Stage stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * What happens to a task when the stage's threads are busy and its queue is full.
+     */
+    public enum RejectionPolicy {
+        ABORT,          // Throw, so the caller sees the overload
+        CALLER_RUNS,    // Run on the submitting (scheduler) thread
+        DISCARD,        // Drop the new task
+        DISCARD_OLDEST  // Drop the longest-waiting task
+    }
+
+    public static class Stage {
+        private int coreSize;
+        private int maxSize;
+        private int queueCapacity;
+        private RejectionPolicy rejectionPolicy;
+
+        public Stage() {
+            this(1, 1, 10, RejectionPolicy.ABORT);
+        }
+
+        public Stage(int coreSize, int maxSize, int queueCapacity, RejectionPolicy rejectionPolicy) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+            this.rejectionPolicy = rejectionPolicy;
+        }
+
+        public int getCoreSize() {
+            return coreSize;
+        }
+
+        public void setCoreSize(int coreSize) {
+            this.coreSize = coreSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public RejectionPolicy getRejectionPolicy() {
+            return rejectionPolicy;
+        }
+
+        public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+            this.rejectionPolicy = rejectionPolicy;
+        }
+    }
+}
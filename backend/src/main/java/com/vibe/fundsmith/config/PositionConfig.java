@@ -0,0 +1,31 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the position keeping engine behind /api/positions.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "positions")
+public class PositionConfig {
+    private long snapshotIntervalMs = 5000; // folds new imports into the positions table, then reloads from it
+    private int foldBatchSize = 500; // imports folded per transaction
+
+    // Getters and setters
+    public long getSnapshotIntervalMs() {
+        return snapshotIntervalMs;
+    }
+
+    public void setSnapshotIntervalMs(long snapshotIntervalMs) {
+        this.snapshotIntervalMs = snapshotIntervalMs;
+    }
+
+    public int getFoldBatchSize() {
+        return foldBatchSize;
+    }
+
+    public void setFoldBatchSize(int foldBatchSize) {
+        this.foldBatchSize = foldBatchSize;
+    }
+}
@@ -0,0 +1,41 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the local market data: the latest price per demo instrument, moved by generated
+ * ticks in place of a market data feed. Instruments and base prices come from {@link DemoConfig}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "pricing")
+public class PricingConfig {
+    private boolean ticksEnabled = true;
+    private double ticksPerSecond = 4; // per instrument
+    private long seed = 42;
+
+    // Getters and setters
+    public boolean isTicksEnabled() {
+        return ticksEnabled;
+    }
+
+    public void setTicksEnabled(boolean ticksEnabled) {
+        this.ticksEnabled = ticksEnabled;
+    }
+
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public void setTicksPerSecond(double ticksPerSecond) {
+        this.ticksPerSecond = ticksPerSecond;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
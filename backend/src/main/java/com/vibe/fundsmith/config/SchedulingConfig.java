@@ -1,5 +1,7 @@
 package com.vibe.fundsmith.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
@@ -9,6 +11,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 public class SchedulingConfig {
     
     @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
     public TaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(5);
@@ -17,4 +20,19 @@ public class SchedulingConfig {
         scheduler.setAwaitTerminationSeconds(30);
         return scheduler;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Used when spring.threads.virtual.enabled is set. Pool threads are virtual, so a task blocked
+     * on JDBC or an HTTP call parks cheaply and the pool can be sized well beyond the core count.
+     */
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskScheduler virtualThreadTaskScheduler(VirtualThreadConfig virtualThreadConfig) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(virtualThreadConfig.getSchedulerPoolSize());
+        scheduler.setThreadFactory(Thread.ofVirtual().name("live-trade-vt-", 0).factory());
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
@@ -0,0 +1,49 @@
+package com.vibe.fundsmith.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings that apply when virtual threads are switched on with {@code spring.threads.virtual.enabled}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadConfig {
+    private int schedulerPoolSize = 64;
+    private boolean pinningMonitorEnabled = true;
+    private long pinningThresholdMs = 20;
+    private int pinningStackDepth = 8;
+
+    // Getters and setters
+    public int getSchedulerPoolSize() {
+        return schedulerPoolSize;
+    }
+
+    public void setSchedulerPoolSize(int schedulerPoolSize) {
+        this.schedulerPoolSize = schedulerPoolSize;
+    }
+
+    public boolean isPinningMonitorEnabled() {
+        return pinningMonitorEnabled;
+    }
+
+    public void setPinningMonitorEnabled(boolean pinningMonitorEnabled) {
+        this.pinningMonitorEnabled = pinningMonitorEnabled;
+    }
+
+    public long getPinningThresholdMs() {
+        return pinningThresholdMs;
+    }
+
+    public void setPinningThresholdMs(long pinningThresholdMs) {
+        this.pinningThresholdMs = pinningThresholdMs;
+    }
+
+    public int getPinningStackDepth() {
+        return pinningStackDepth;
+    }
+
+    public void setPinningStackDepth(int pinningStackDepth) {
+        this.pinningStackDepth = pinningStackDepth;
+    }
+}
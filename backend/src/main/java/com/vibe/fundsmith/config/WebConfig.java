@@ -1,6 +1,12 @@
 package com.vibe.fundsmith.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -12,6 +18,30 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+    
+    /**
+     * ETags on the hot read endpoints, so that the gateway's response cache can revalidate a
+     * stale copy and get a 304 without the body when nothing changed.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> hotReadEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true); // Tomcat does not compress responses with a strong ETag
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/imports", "/api/live-trades/pending-count", "/api/live-trades/demo-config");
+        return registration;
+    }
+
+    /**
+     * CBOR for clients that send {@code Accept: application/cbor}: the same fields as the JSON,
+     * but prices as binary decimals and numbers without their text form, for bulk trade reads.
+     * Built from Spring Boot's Jackson settings so that both encodings carry the same values.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+    
     // CORS is now handled by the API Gateway
     // @Override
     // public void addCorsMappings(CorsRegistry registry) {
@@ -0,0 +1,42 @@
+package com.vibe.fundsmith.controller;
+
+import com.vibe.fundsmith.dto.JournalDto;
+import com.vibe.fundsmith.service.JournalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/journals")
+@RequiredArgsConstructor
+@Slf4j
+public class JournalController {
+    
+    private final JournalService journalService;
+    
+    /**
+     * Journals of a trade, of a type (TRADE_DATE or SETTLEMENT_DATE), or both, newest first; pass
+     * the last id of a page as {@code beforeId} to get the next one.
+     */
+    @GetMapping
+    public ResponseEntity<List<JournalDto>> getJournals(
+            @RequestParam(required = false) String tradeId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(journalService.getJournals(tradeId, type, beforeId, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected journal query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<JournalDto> getById(@PathVariable Long id) {
+        return ResponseEntity.of(journalService.getById(id));
+    }
+}
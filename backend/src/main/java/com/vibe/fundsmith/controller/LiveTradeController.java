@@ -1,13 +1,30 @@
 package com.vibe.fundsmith.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.vibe.fundsmith.dto.DemoConfigDto;
+import com.vibe.fundsmith.dto.LiveTradeBatchResultDto;
 import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.LiveTradeSubmissionResultDto;
 import com.vibe.fundsmith.dto.TradeImportDto;
 import com.vibe.fundsmith.service.LiveTradeService;
+import com.vibe.fundsmith.service.LiveTradeStreamService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/live-trades")
@@ -15,13 +32,100 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class LiveTradeController {
     
+    // Number of NDJSON lines handed to the pending buffer at once while streaming
+    private static final int STREAM_CHUNK_SIZE = 1000;
+    
     private final LiveTradeService liveTradeService;
+    private final LiveTradeStreamService liveTradeStreamService;
+    private final ObjectMapper objectMapper;
     
+    /**
+     * Returns the accepted trade, or 400 with the same rejection result /submit-batch gives
+     * for an invalid item.
+     */
     @PostMapping("/submit")
-    public ResponseEntity<LiveTradeDto> submitLiveTrade(@RequestBody LiveTradeDto tradeDto) {
+    public ResponseEntity<?> submitLiveTrade(@RequestBody LiveTradeDto tradeDto) {
         log.info("Received live trade submission: {}", tradeDto.getTradeId());
-        LiveTradeDto result = liveTradeService.submitLiveTrade(tradeDto);
-        return ResponseEntity.ok(result);
+        try {
+            return ResponseEntity.ok(liveTradeService.submitLiveTrade(tradeDto));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected live trade {}: {}", tradeDto.getTradeId(), e.getMessage());
+            return ResponseEntity.badRequest().body(LiveTradeSubmissionResultDto.builder()
+                    .index(0)
+                    .tradeId(tradeDto.getTradeId())
+                    .accepted(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+    
+    @PostMapping(value = "/submit-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LiveTradeBatchResultDto> submitLiveTradeBatch(@RequestBody List<LiveTradeDto> trades) {
+        log.info("Received live trade batch submission: {} trades", trades.size());
+        List<LiveTradeSubmissionResultDto> results = liveTradeService.submitLiveTrades(trades);
+        return ResponseEntity.ok(toBatchResult(results));
+    }
+    
+    @PostMapping(value = "/submit-batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<LiveTradeBatchResultDto> submitLiveTradeStream(HttpServletRequest request) throws IOException {
+        ObjectReader tradeReader = objectMapper.readerFor(LiveTradeDto.class);
+        List<LiveTradeSubmissionResultDto> results = new ArrayList<>();
+        List<LiveTradeDto> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(STREAM_CHUNK_SIZE);
+        
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int index = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(tradeReader.readValue(line));
+                    chunkIndexes.add(index);
+                } catch (JsonProcessingException e) {
+                    results.add(LiveTradeSubmissionResultDto.builder()
+                            .index(index)
+                            .accepted(false)
+                            .error("Malformed JSON: " + e.getOriginalMessage())
+                            .build());
+                }
+                index++;
+                
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    submitChunk(chunk, chunkIndexes, results);
+                }
+            }
+        }
+        submitChunk(chunk, chunkIndexes, results);
+        
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        log.info("Received live trade stream submission: {} trades", results.size());
+        return ResponseEntity.ok(toBatchResult(results));
+    }
+    
+    private void submitChunk(List<LiveTradeDto> chunk, List<Integer> chunkIndexes, 
+                             List<LiveTradeSubmissionResultDto> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<LiveTradeSubmissionResultDto> chunkResults = liveTradeService.submitLiveTrades(chunk);
+        for (LiveTradeSubmissionResultDto result : chunkResults) {
+            result.setIndex(chunkIndexes.get(result.getIndex()));
+            results.add(result);
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+    
+    private LiveTradeBatchResultDto toBatchResult(List<LiveTradeSubmissionResultDto> results) {
+        int accepted = (int) results.stream().filter(LiveTradeSubmissionResultDto::isAccepted).count();
+        return LiveTradeBatchResultDto.builder()
+                .acceptedCount(accepted)
+                .rejectedCount(results.size() - accepted)
+                .results(results)
+                .build();
     }
     
     @PostMapping("/process")
@@ -43,6 +147,29 @@ public class LiveTradeController {
         return ResponseEntity.ok(trades);
     }
     
+    /**
+     * Trades that flushes set aside because they could not be booked.
+     */
+    @GetMapping("/quarantined")
+    public ResponseEntity<List<LiveTradeDto>> getQuarantinedTrades() {
+        return ResponseEntity.ok(liveTradeService.getQuarantinedTrades());
+    }
+    
+    /**
+     * Server-sent {@code delta} events with the trades accepted and flushed and the import status
+     * changes since the previous one; the first event is a resync snapshot.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLiveTrades() {
+        SseEmitter emitter = liveTradeStreamService.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // keep reverse proxies from buffering the stream
+                .body(emitter);
+    }
+    
     @GetMapping("/demo-config")
     public ResponseEntity<DemoConfigDto> getDemoConfig() {
         DemoConfigDto config = liveTradeService.getDemoConfig();
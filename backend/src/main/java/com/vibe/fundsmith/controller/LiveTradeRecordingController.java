@@ -0,0 +1,57 @@
+package com.vibe.fundsmith.controller;
+
+import com.vibe.fundsmith.dto.RecordingDto;
+import com.vibe.fundsmith.dto.ReplayReportDto;
+import com.vibe.fundsmith.service.LiveTradeRecorder;
+import com.vibe.fundsmith.service.LiveTradeReplayer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/live-trades/recordings")
+@RequiredArgsConstructor
+@Slf4j
+public class LiveTradeRecordingController {
+
+    private final LiveTradeRecorder recorder;
+    private final LiveTradeReplayer replayer;
+
+    @GetMapping
+    public ResponseEntity<List<RecordingDto>> listRecordings() {
+        return ResponseEntity.ok(recorder.listRecordings());
+    }
+
+    @PostMapping("/{name}/start")
+    public ResponseEntity<RecordingDto> startRecording(@PathVariable String name) {
+        log.info("Starting live trade recording {}", name);
+        return ResponseEntity.ok(recorder.start(name));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<RecordingDto> stopRecording() {
+        log.info("Stopping live trade recording");
+        return ResponseEntity.ok(recorder.stop());
+    }
+
+    /**
+     * Starts a replay in the background; speed 1 replays at the recorded pace, N at N times that
+     * pace and 0 as fast as possible. Poll {@code GET /replay} for the report.
+     */
+    @PostMapping("/{name}/replay")
+    public ResponseEntity<ReplayReportDto> replay(@PathVariable String name,
+                                                  @RequestParam(defaultValue = "1") double speed) {
+        replayer.replay(name, speed);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayer.getReport());
+    }
+
+    @GetMapping("/replay")
+    public ResponseEntity<ReplayReportDto> getReplayReport() {
+        ReplayReportDto report = replayer.getReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.notFound().build();
+    }
+}
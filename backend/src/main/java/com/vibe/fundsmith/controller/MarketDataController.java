@@ -0,0 +1,31 @@
+package com.vibe.fundsmith.controller;
+
+import com.vibe.fundsmith.dto.PriceDto;
+import com.vibe.fundsmith.service.PriceCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/rates")
+@RequiredArgsConstructor
+public class MarketDataController {
+
+    private final PriceCache priceCache;
+
+    /**
+     * The latest price of every priced instrument.
+     */
+    @GetMapping
+    public ResponseEntity<List<PriceDto>> getPrices() {
+        return ResponseEntity.ok(priceCache.getPrices());
+    }
+
+    @GetMapping("/{instrument}")
+    public ResponseEntity<PriceDto> getPrice(@PathVariable String instrument) {
+        return ResponseEntity.of(Optional.ofNullable(priceCache.getPrice(instrument)));
+    }
+}
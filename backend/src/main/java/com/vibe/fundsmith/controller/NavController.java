@@ -0,0 +1,55 @@
+package com.vibe.fundsmith.controller;
+
+import com.vibe.fundsmith.dto.NavCalculationRequest;
+import com.vibe.fundsmith.dto.NavSnapshotDto;
+import com.vibe.fundsmith.service.NavService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/nav")
+@RequiredArgsConstructor
+@Slf4j
+public class NavController {
+    
+    private final NavService navService;
+    
+    @PostMapping("/calculate")
+    public ResponseEntity<NavSnapshotDto> calculate(@RequestBody NavCalculationRequest request) {
+        try {
+            return ResponseEntity.ok(navService.calculate(request));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected NAV calculation: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/latest")
+    public ResponseEntity<NavSnapshotDto> getLatest(@RequestParam(required = false) String portfolioId) {
+        return ResponseEntity.of(navService.getLatest(portfolioId));
+    }
+    
+    /**
+     * Newest first; pass the last id of a page as {@code beforeId} to get the next one.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<List<NavSnapshotDto>> getHistory(
+            @RequestParam(required = false) String portfolioId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(navService.getHistory(portfolioId, startDate, endDate, beforeId, limit));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<NavSnapshotDto> getById(@PathVariable Long id) {
+        return ResponseEntity.of(navService.getById(id));
+    }
+}
@@ -0,0 +1,25 @@
+package com.vibe.fundsmith.controller;
+
+import com.vibe.fundsmith.dto.PositionDto;
+import com.vibe.fundsmith.service.PositionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/positions")
+@RequiredArgsConstructor
+public class PositionController {
+    
+    private final PositionService positionService;
+    
+    /**
+     * Positions in one portfolio (a trade book), or in all of them when none is given.
+     */
+    @GetMapping
+    public ResponseEntity<List<PositionDto>> getPositions(@RequestParam(required = false) String portfolioId) {
+        return ResponseEntity.ok(positionService.getPositions(portfolioId));
+    }
+}
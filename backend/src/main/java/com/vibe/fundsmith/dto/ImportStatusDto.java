@@ -0,0 +1,15 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportStatusDto {
+    private Long importId; // null when every import was cleared
+    private String status;
+}
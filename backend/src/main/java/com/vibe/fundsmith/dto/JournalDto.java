@@ -0,0 +1,25 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class JournalDto {
+    private Long id;
+    private String tradeId; // the trade id from the import, not the database id
+    private Long importId;
+    private String type; // TRADE_DATE or SETTLEMENT_DATE
+    private List<JournalLineDto> entries; // same as lines
+    private List<JournalLineDto> lines;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private String currency;
+    private LocalDate valueDate; // trade date or settlement date
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,16 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class JournalLineDto {
+    private String id; // journal id and line number
+    private String account;
+    private BigDecimal debit; // zero on a credit line
+    private BigDecimal credit; // zero on a debit line
+    private String currency;
+}
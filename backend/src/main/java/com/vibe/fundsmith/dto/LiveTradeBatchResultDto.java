@@ -0,0 +1,18 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveTradeBatchResultDto {
+    private int acceptedCount;
+    private int rejectedCount;
+    private List<LiveTradeSubmissionResultDto> results;
+}
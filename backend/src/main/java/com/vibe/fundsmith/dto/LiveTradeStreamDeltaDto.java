@@ -0,0 +1,26 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One coalesced update of the live trade stream. Pending trades leave the buffer oldest first,
+ * so a client applies a delta by dropping its {@code flushedCount} oldest trades and appending
+ * {@code acceptedTrades}. On {@code resync} the client replaces its list with
+ * {@code acceptedTrades}, the most recent pending trades, and reloads its imports.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveTradeStreamDeltaDto {
+    private boolean resync;
+    private List<LiveTradeDto> acceptedTrades;
+    private long flushedCount;
+    private int pendingCount;
+    private List<ImportStatusDto> importStatuses; // latest status of each import changed since the last delta
+}
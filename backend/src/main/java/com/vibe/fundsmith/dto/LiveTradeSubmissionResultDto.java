@@ -0,0 +1,17 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveTradeSubmissionResultDto {
+    private int index; // Position of the trade in the submitted batch
+    private String tradeId;
+    private boolean accepted;
+    private String error;
+}
@@ -0,0 +1,11 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class NavCalculationRequest {
+    private String portfolioId; // a trade book, or ALL (the default) for the whole fund
+    private LocalDate asOfDate; // calculation date the snapshot is filed under; defaults to today (UTC)
+}
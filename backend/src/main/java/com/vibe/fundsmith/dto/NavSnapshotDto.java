@@ -0,0 +1,27 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class NavSnapshotDto {
+    private Long id;
+    private String portfolioId;
+    private BigDecimal grossValue; // positions at their mark prices
+    private BigDecimal feeAccrual; // one day's fee on the gross value
+    private BigDecimal netValue;
+    private BigDecimal navValue; // same as netValue
+    private BigDecimal navPerShare;
+    private Long sharesOutstanding;
+    private String currency;
+    private Integer componentsCount; // positions valued
+    private LocalDate calculationDate;
+    private LocalDate asOfDate; // same as calculationDate
+    private LocalDateTime calculatedAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class PositionDto {
+    private String portfolioId; // the trades' book
+    private String currencyPair;
+    private Long quantity; // net: buys less sells
+    private BigDecimal netCost;
+    private BigDecimal averagePrice; // net cost over net quantity; null when flat
+    private BigDecimal markPrice; // latest price; null when the instrument is not priced
+    private BigDecimal marketValue; // quantity at the mark price
+    private BigDecimal unrealizedPnl; // market value less net cost
+    private Long tradeCount;
+    private LocalDateTime lastUpdated; // latest trade in the position
+}
@@ -0,0 +1,15 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+public class PriceDto {
+    private String instrument; // ISIN, as carried in trades' currencyPair
+    private BigDecimal price;
+    private Instant updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingDto {
+    private String name;
+    private LocalDateTime startedAt;
+    private long tradeCount;
+    private long durationMs;
+    private long sizeBytes;
+    private boolean active;
+}
@@ -0,0 +1,29 @@
+package com.vibe.fundsmith.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayReportDto {
+    private String recording;
+    private double speed; // 0 = as fast as possible
+    private String status; // RUNNING, COMPLETED, TIMED_OUT, FAILED
+    private long tradeCount;
+    private long sentCount;
+    private long persistedCount;
+    private long durationMs;
+    private double tradesPerSecond;
+    private double maxScheduleLagMs;
+    // Intended send time (from the recording) to flush commit
+    private double latencyP50Ms;
+    private double latencyP90Ms;
+    private double latencyP99Ms;
+    private double latencyP999Ms;
+    private double latencyMaxMs;
+    private String error;
+}
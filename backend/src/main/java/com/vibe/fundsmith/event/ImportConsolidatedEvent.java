@@ -0,0 +1,8 @@
+package com.vibe.fundsmith.event;
+
+/**
+ * Published when a trade import has been consolidated, from a live flush or a manual
+ * consolidation. Listeners should react after commit, when the consolidated trades are visible.
+ */
+public record ImportConsolidatedEvent(Long importId) {
+}
@@ -0,0 +1,12 @@
+package com.vibe.fundsmith.event;
+
+/**
+ * Published inside the transaction that deletes an import, before its trades are removed; a null
+ * {@code importId} means every import is being cleared. Listeners run in that transaction.
+ */
+public record ImportDeletingEvent(Long importId) {
+
+    public static ImportDeletingEvent all() {
+        return new ImportDeletingEvent(null);
+    }
+}
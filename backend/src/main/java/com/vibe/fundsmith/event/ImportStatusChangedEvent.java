@@ -0,0 +1,15 @@
+package com.vibe.fundsmith.event;
+
+/**
+ * Published when an import is created, changes status or is deleted. {@code status} is an
+ * {@link com.vibe.fundsmith.model.TradeImport.ImportStatus} name or {@code DELETED}; a null
+ * {@code importId} means every import was cleared.
+ */
+public record ImportStatusChangedEvent(Long importId, String status) {
+
+    public static final String DELETED = "DELETED";
+
+    public static ImportStatusChangedEvent allCleared() {
+        return new ImportStatusChangedEvent(null, DELETED);
+    }
+}
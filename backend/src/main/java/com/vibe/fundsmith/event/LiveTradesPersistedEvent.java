@@ -0,0 +1,12 @@
+package com.vibe.fundsmith.event;
+
+import com.vibe.fundsmith.dto.LiveTradeDto;
+
+import java.util.List;
+
+/**
+ * Published after a live flush has committed, with the trades it persisted and the
+ * {@link System#nanoTime()} at which the commit completed.
+ */
+public record LiveTradesPersistedEvent(List<LiveTradeDto> trades, long persistedAtNanos) {
+}
@@ -0,0 +1,7 @@
+package com.vibe.fundsmith.event;
+
+/**
+ * Published when the MXML files for a trade import have been generated.
+ */
+public record MxmlGeneratedEvent(Long importId) {
+}
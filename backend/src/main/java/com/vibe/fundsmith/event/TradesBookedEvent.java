@@ -0,0 +1,13 @@
+package com.vibe.fundsmith.event;
+
+import com.vibe.fundsmith.model.Trade;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that persists an import's original trades, from a CSV upload
+ * or a live flush. Listeners should react after commit, except those that write alongside the
+ * trades, such as the journals.
+ */
+public record TradesBookedEvent(Long importId, List<Trade> trades) {
+}
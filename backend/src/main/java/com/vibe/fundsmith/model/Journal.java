@@ -0,0 +1,94 @@
+package com.vibe.fundsmith.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A balanced two-line journal: {@code amount} debited to one account and credited to another.
+ * Type and accounts are stored as small codes; written in batches by JournalService, so this
+ * entity is only read.
+ */
+@Entity
+@Table(name = "journals")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Journal {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trade_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Trade trade;
+    
+    @Column(name = "import_id", nullable = false)
+    private Long importId;
+    
+    @Column(name = "journal_type", nullable = false)
+    private short type;
+    
+    @Column(name = "debit_account", nullable = false)
+    private short debitAccount;
+    
+    @Column(name = "credit_account", nullable = false)
+    private short creditAccount;
+    
+    @Column(name = "amount", nullable = false, precision = 28, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+    
+    @Column(name = "value_date", nullable = false)
+    private LocalDate valueDate;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public enum JournalType {
+        TRADE_DATE, SETTLEMENT_DATE;
+        
+        public short code() {
+            return (short) ordinal();
+        }
+        
+        public static JournalType of(short code) {
+            return values()[code];
+        }
+    }
+    
+    public enum Account {
+        SECURITIES("Securities"),
+        TRADES_PAYABLE("Trades Payable"),
+        TRADES_RECEIVABLE("Trades Receivable"),
+        CASH("Cash");
+        
+        private final String label;
+        
+        Account(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+        
+        public short code() {
+            return (short) ordinal();
+        }
+        
+        public static Account of(short code) {
+            return values()[code];
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.vibe.fundsmith.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+@Entity
+@Table(name = "nav_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NavSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "portfolio_id", nullable = false)
+    private String portfolioId;
+    
+    @Column(name = "calculation_date", nullable = false)
+    private LocalDate calculationDate;
+    
+    @Column(name = "gross_value", nullable = false, precision = 28, scale = 2)
+    private BigDecimal grossValue;
+    
+    @Column(name = "fee_accrual", nullable = false, precision = 28, scale = 2)
+    private BigDecimal feeAccrual;
+    
+    @Column(name = "net_value", nullable = false, precision = 28, scale = 2)
+    private BigDecimal netValue;
+    
+    @Column(name = "nav_per_share", nullable = false, precision = 28, scale = 6)
+    private BigDecimal navPerShare;
+    
+    @Column(name = "shares_outstanding", nullable = false)
+    private Long sharesOutstanding;
+    
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+    
+    @Column(name = "components_count", nullable = false)
+    private Integer componentsCount;
+    
+    @Column(name = "calculated_at", nullable = false)
+    private LocalDateTime calculatedAt;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now(ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.vibe.fundsmith.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A book's net holding in one instrument as of the imports folded into it so far. Buys add to
+ * the quantity and the cost, sells take away from both.
+ */
+@Entity
+@Table(name = "positions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_positions_book_currency_pair",
+                columnNames = {"book", "currency_pair"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Position {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "book", nullable = false)
+    private String book;
+    
+    @Column(name = "currency_pair", nullable = false, length = 20)
+    private String currencyPair;
+    
+    @Column(name = "net_quantity", nullable = false)
+    private Long netQuantity;
+    
+    @Column(name = "net_cost", nullable = false, precision = 28, scale = 6)
+    private BigDecimal netCost;
+    
+    @Column(name = "trade_count", nullable = false)
+    private Long tradeCount;
+    
+    @Column(name = "last_trade_at")
+    private LocalDateTime lastTradeAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Nodes fold imports concurrently; a lost update fails the later fold, which is retried
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -8,7 +8,6 @@ import lombok.Builder;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -69,24 +68,28 @@ public class TradeImport {
     @Column(name = "pushed_to_murex_at")
     private LocalDateTime pushedToMurexAt;
     
+    // Node currently working on this import, and until when; see TradeImportRepository#findClaimableIds,
+    // #lease and #claim
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+    
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+    
+    // When this import's original trades were added to the positions table; null until then
+    @Column(name = "positions_folded_at")
+    private LocalDateTime positionsFoldedAt;
+    
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
             createdAt = LocalDateTime.now(ZoneOffset.UTC);
         }
-        if (importName == null) {
-            importName = generateImportName();
-        }
         if (status == null) {
             status = ImportStatus.IMPORTED;
         }
     }
     
-    private String generateImportName() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH:mm");
-        return LocalDateTime.now(ZoneOffset.UTC).format(formatter);
-    }
-    
     public enum ImportStatus {
         IMPORTED,
         CONSOLIDATED,
@@ -0,0 +1,53 @@
+package com.vibe.fundsmith.repository;
+
+import com.vibe.fundsmith.model.Journal;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JournalRepository extends JpaRepository<Journal, Long> {
+    
+    /**
+     * Journals of the trades with a given trade id, optionally of one type, newest first. Served
+     * by idx_trades_trade_id and idx_journals_trade_id_type.
+     */
+    @Query("SELECT j FROM Journal j JOIN FETCH j.trade t WHERE t.tradeId = :tradeId "
+            + "AND (:type IS NULL OR j.type = :type) AND (:beforeId IS NULL OR j.id < :beforeId) "
+            + "ORDER BY j.id DESC")
+    List<Journal> findByTradeId(@Param("tradeId") String tradeId,
+                                @Param("type") Short type,
+                                @Param("beforeId") Long beforeId,
+                                Pageable page);
+    
+    /**
+     * Journals of one type, newest first, from before {@code beforeId} when given. Served by
+     * idx_journals_type_id.
+     */
+    @Query("SELECT j FROM Journal j JOIN FETCH j.trade WHERE j.type = :type "
+            + "AND (:beforeId IS NULL OR j.id < :beforeId) ORDER BY j.id DESC")
+    List<Journal> findByType(@Param("type") short type,
+                             @Param("beforeId") Long beforeId,
+                             Pageable page);
+    
+    @Query("SELECT j FROM Journal j JOIN FETCH j.trade WHERE (:beforeId IS NULL OR j.id < :beforeId) "
+            + "ORDER BY j.id DESC")
+    List<Journal> findRecent(@Param("beforeId") Long beforeId, Pageable page);
+    
+    @Query("SELECT j FROM Journal j JOIN FETCH j.trade WHERE j.id = :id")
+    Optional<Journal> findWithTradeById(@Param("id") Long id);
+    
+    @Modifying
+    @Query("DELETE FROM Journal j WHERE j.importId = :importId")
+    int deleteByImportId(@Param("importId") Long importId);
+    
+    @Modifying
+    @Query("DELETE FROM Journal j")
+    int deleteAllJournals();
+}
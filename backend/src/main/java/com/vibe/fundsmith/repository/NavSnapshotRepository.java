@@ -0,0 +1,47 @@
+package com.vibe.fundsmith.repository;
+
+import com.vibe.fundsmith.model.NavSnapshot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NavSnapshotRepository extends JpaRepository<NavSnapshot, Long> {
+    
+    Optional<NavSnapshot> findFirstByPortfolioIdOrderByCalculationDateDescIdDesc(String portfolioId);
+    
+    boolean existsByPortfolioId(String portfolioId);
+    
+    /**
+     * First page of a portfolio's snapshots between two dates, newest first. Served by
+     * idx_nav_snapshots_portfolio_date_id; the page size comes from {@code page}.
+     */
+    @Query("SELECT n FROM NavSnapshot n WHERE n.portfolioId = :portfolioId "
+            + "AND n.calculationDate BETWEEN :startDate AND :endDate "
+            + "ORDER BY n.calculationDate DESC, n.id DESC")
+    List<NavSnapshot> findHistory(@Param("portfolioId") String portfolioId,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate,
+                                  Pageable page);
+    
+    /**
+     * The page after the snapshot at ({@code beforeDate}, {@code beforeId}): a keyset page, so
+     * that deep pages cost the same as the first.
+     */
+    @Query("SELECT n FROM NavSnapshot n WHERE n.portfolioId = :portfolioId "
+            + "AND n.calculationDate BETWEEN :startDate AND :endDate "
+            + "AND (n.calculationDate < :beforeDate OR (n.calculationDate = :beforeDate AND n.id < :beforeId)) "
+            + "ORDER BY n.calculationDate DESC, n.id DESC")
+    List<NavSnapshot> findHistoryBefore(@Param("portfolioId") String portfolioId,
+                                        @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate,
+                                        @Param("beforeDate") LocalDate beforeDate,
+                                        @Param("beforeId") Long beforeId,
+                                        Pageable page);
+}
@@ -0,0 +1,13 @@
+package com.vibe.fundsmith.repository;
+
+import com.vibe.fundsmith.model.Position;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PositionRepository extends JpaRepository<Position, Long> {
+    
+    Optional<Position> findByBookAndCurrencyPair(String book, String currencyPair);
+}
@@ -2,8 +2,12 @@ package com.vibe.fundsmith.repository;
 
 import com.vibe.fundsmith.model.TradeImport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,67 @@ public interface TradeImportRepository extends JpaRepository<TradeImport, Long>
     List<TradeImport> findAllByOrderByCreatedAtDesc();
     
     boolean existsByImportName(String importName);
+    
+    /**
+     * Locks up to {@code limit} unleased (or lease-expired) imports in the given status, skipping rows
+     * another node has locked. Served by idx_trade_imports_status_id. Must be followed by
+     * {@link #lease} in the same transaction.
+     */
+    @Query(value = "SELECT id FROM trade_imports "
+            + "WHERE status = :status AND (lease_expires_at IS NULL OR lease_expires_at < :now) "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimableIds(@Param("status") String status,
+                                @Param("now") LocalDateTime now,
+                                @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE TradeImport ti SET ti.leaseOwner = :owner, ti.leaseExpiresAt = :expiresAt WHERE ti.id IN :ids")
+    int lease(@Param("ids") List<Long> ids,
+              @Param("owner") String owner,
+              @Param("expiresAt") LocalDateTime expiresAt);
+    
+    /**
+     * Claims a single import with a conditional update; returns 1 if this caller now holds the lease.
+     */
+    @Modifying
+    @Query("UPDATE TradeImport ti SET ti.leaseOwner = :owner, ti.leaseExpiresAt = :expiresAt "
+            + "WHERE ti.id = :id AND ti.status = :status "
+            + "AND (ti.leaseExpiresAt IS NULL OR ti.leaseExpiresAt < :now OR ti.leaseOwner = :owner)")
+    int claim(@Param("id") Long id,
+              @Param("status") TradeImport.ImportStatus status,
+              @Param("owner") String owner,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("now") LocalDateTime now);
+    
+    long countByStatus(TradeImport.ImportStatus status);
+    
+    /**
+     * Locks up to {@code limit} imports whose trades are not yet in the positions table, skipping
+     * rows another node has locked. Must be followed by {@link #markPositionsFolded} in the same
+     * transaction.
+     */
+    @Query(value = "SELECT id FROM trade_imports WHERE positions_folded_at IS NULL "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findUnfoldedIdsForUpdate(@Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE TradeImport ti SET ti.positionsFoldedAt = :foldedAt WHERE ti.id IN :ids")
+    int markPositionsFolded(@Param("ids") List<Long> ids, @Param("foldedAt") LocalDateTime foldedAt);
+    
+    /**
+     * Locks one import against a concurrent fold and returns whether its trades are in the
+     * positions table; empty if the import does not exist.
+     */
+    @Query(value = "SELECT positions_folded_at IS NOT NULL FROM trade_imports WHERE id = :id FOR UPDATE",
+            nativeQuery = true)
+    List<Boolean> lockPositionsFolded(@Param("id") Long id);
+    
+    @Query(value = "SELECT id FROM trade_imports FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllIds();
+    
+    /**
+     * Imports not yet folded into the positions table, or folded after {@code since}.
+     */
+    @Query("SELECT ti.id FROM TradeImport ti WHERE ti.positionsFoldedAt IS NULL OR ti.positionsFoldedAt > :since")
+    List<Long> findIdsUnfoldedOrFoldedSince(@Param("since") LocalDateTime since);
 }
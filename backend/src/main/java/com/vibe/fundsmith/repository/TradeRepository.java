@@ -2,8 +2,13 @@ package com.vibe.fundsmith.repository;
 
 import com.vibe.fundsmith.model.Trade;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +17,35 @@ public interface TradeRepository extends JpaRepository<Trade, Long> {
     List<Trade> findByTradeImportId(Long importId);
     
     void deleteByTradeImportId(Long importId);
+    
+    /**
+     * Quantity, notional, count and latest time of the original trades in the given imports, per
+     * book, instrument and side. Served by idx_trades_import_id.
+     */
+    @Query("SELECT t.book AS book, t.currencyPair AS currencyPair, t.side AS side, "
+            + "SUM(t.quantity) AS quantity, SUM(t.price * t.quantity) AS notional, "
+            + "COUNT(t) AS tradeCount, MAX(t.createdAt) AS lastTradeAt "
+            + "FROM Trade t WHERE t.tradeImport.id IN :importIds AND t.isOriginal = true "
+            + "GROUP BY t.book, t.currencyPair, t.side")
+    List<OriginalTradeTotals> sumOriginalTrades(@Param("importIds") Collection<Long> importIds);
+    
+    /**
+     * As {@link #sumOriginalTrades}, over every import not yet folded into the positions table.
+     */
+    @Query("SELECT t.book AS book, t.currencyPair AS currencyPair, t.side AS side, "
+            + "SUM(t.quantity) AS quantity, SUM(t.price * t.quantity) AS notional, "
+            + "COUNT(t) AS tradeCount, MAX(t.createdAt) AS lastTradeAt "
+            + "FROM Trade t WHERE t.tradeImport.positionsFoldedAt IS NULL AND t.isOriginal = true "
+            + "GROUP BY t.book, t.currencyPair, t.side")
+    List<OriginalTradeTotals> sumUnfoldedOriginalTrades();
+    
+    interface OriginalTradeTotals {
+        String getBook();
+        String getCurrencyPair();
+        Trade.TradeSide getSide();
+        Long getQuantity();
+        BigDecimal getNotional();
+        Long getTradeCount();
+        LocalDateTime getLastTradeAt();
+    }
 }
@@ -0,0 +1,237 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.JournalConfig;
+import com.vibe.fundsmith.dto.JournalDto;
+import com.vibe.fundsmith.dto.JournalLineDto;
+import com.vibe.fundsmith.event.ImportDeletingEvent;
+import com.vibe.fundsmith.event.TradesBookedEvent;
+import com.vibe.fundsmith.model.Journal;
+import com.vibe.fundsmith.model.Trade;
+import com.vibe.fundsmith.repository.JournalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Double-entry journals for original trades. Each booked trade gets a trade-date journal, moving
+ * the securities against a payable or receivable, and a settlement-date journal clearing that
+ * against cash. Both are derived and written in the booking's own transaction, so an import or
+ * live flush commits with its journals; consolidated trades get none.
+ *
+ * A journal is one row holding both of its lines, and the rows are inserted through JDBC batches
+ * rather than one JPA insert each, which keeps the time added to a booking small; it is recorded
+ * as the {@code trade.journals.generation} timer. The rows have no foreign key to their trade,
+ * whose check would lock every trade just booked; instead they are deleted ahead of their
+ * import's trades on {@link ImportDeletingEvent}. JournalOverheadBenchmark in backend-benchmarks
+ * bounds the overhead on an upload.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JournalService {
+
+    private static final String INSERT_JOURNAL = "INSERT INTO journals (trade_id, import_id, journal_type, "
+            + "debit_account, credit_account, amount, currency, value_date, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MONEY_SCALE = 2;
+
+    private final JournalConfig config;
+    private final JournalRepository journalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TradeImportMetrics metrics;
+
+    /**
+     * Writes the journals of newly booked trades; runs inside the booking transaction.
+     */
+    @EventListener
+    public void onTradesBooked(TradesBookedEvent event) {
+        if (!config.isEnabled() || event.trades().isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<JournalRow> rows = new ArrayList<>(event.trades().size() * 2);
+        for (Trade trade : event.trades()) {
+            addJournals(event.importId(), trade, rows);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_JOURNAL, rows, Math.max(1, config.getBatchSize()), (ps, row) -> {
+            ps.setLong(1, row.tradeId());
+            ps.setLong(2, row.importId());
+            ps.setShort(3, row.type().code());
+            ps.setShort(4, row.debit().code());
+            ps.setShort(5, row.credit().code());
+            ps.setBigDecimal(6, row.amount());
+            ps.setString(7, row.currency());
+            ps.setObject(8, row.valueDate());
+            ps.setObject(9, now);
+        });
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        metrics.recordJournals(rows.size(), elapsedNanos);
+        log.debug("Wrote {} journals for import {} in {} us", rows.size(), event.importId(), elapsedNanos / 1000);
+    }
+
+    /**
+     * Removes the journals of an import being deleted, or of every import, ahead of its trades.
+     */
+    @EventListener
+    public void onImportDeleting(ImportDeletingEvent event) {
+        int deleted = event.importId() != null
+                ? journalRepository.deleteByImportId(event.importId())
+                : journalRepository.deleteAllJournals();
+        log.debug("Deleted {} journals for import {}", deleted, event.importId() != null ? event.importId() : "(all)");
+    }
+
+    /**
+     * Journals newest first: those of the trades with {@code tradeId} when given, otherwise all,
+     * optionally of one {@code type}. The next page starts before {@code beforeId}, the last
+     * journal of the previous one.
+     *
+     * @throws IllegalArgumentException if {@code type} is not a journal type
+     */
+    @Transactional(readOnly = true)
+    public List<JournalDto> getJournals(String tradeId, String type, Long beforeId, int limit) {
+        Journal.JournalType journalType = type == null || type.isBlank() ? null : Journal.JournalType.valueOf(type);
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, config.getMaxQueryLimit())));
+
+        List<Journal> journals;
+        if (tradeId != null && !tradeId.isBlank()) {
+            journals = journalRepository.findByTradeId(tradeId, journalType != null ? journalType.code() : null,
+                    beforeId, page);
+        } else if (journalType != null) {
+            journals = journalRepository.findByType(journalType.code(), beforeId, page);
+        } else {
+            journals = journalRepository.findRecent(beforeId, page);
+        }
+        return journals.stream().map(this::toDto).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JournalDto> getById(Long id) {
+        return journalRepository.findWithTradeById(id).map(this::toDto);
+    }
+
+    private void addJournals(Long importId, Trade trade, List<JournalRow> rows) {
+        if (trade.getId() == null || !Boolean.TRUE.equals(trade.getIsOriginal())
+                || trade.getPrice() == null || trade.getQuantity() == null) {
+            return;
+        }
+        BigDecimal amount = trade.getPrice().multiply(BigDecimal.valueOf(Math.abs(trade.getQuantity())))
+                .setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+        String currency = currency(trade.getCurrencyPair());
+        LocalDate tradeDate = trade.getCreatedAt() != null
+                ? trade.getCreatedAt().toLocalDate()
+                : LocalDate.now(ZoneOffset.UTC);
+        LocalDate settlementDate = addBusinessDays(tradeDate, config.getSettlementDays());
+
+        if (trade.getSide() == Trade.TradeSide.BUY) {
+            rows.add(new JournalRow(trade.getId(), importId, Journal.JournalType.TRADE_DATE,
+                    Journal.Account.SECURITIES, Journal.Account.TRADES_PAYABLE, amount, currency, tradeDate));
+            rows.add(new JournalRow(trade.getId(), importId, Journal.JournalType.SETTLEMENT_DATE,
+                    Journal.Account.TRADES_PAYABLE, Journal.Account.CASH, amount, currency, settlementDate));
+        } else {
+            rows.add(new JournalRow(trade.getId(), importId, Journal.JournalType.TRADE_DATE,
+                    Journal.Account.TRADES_RECEIVABLE, Journal.Account.SECURITIES, amount, currency, tradeDate));
+            rows.add(new JournalRow(trade.getId(), importId, Journal.JournalType.SETTLEMENT_DATE,
+                    Journal.Account.CASH, Journal.Account.TRADES_RECEIVABLE, amount, currency, settlementDate));
+        }
+    }
+
+    /**
+     * The quote currency of a currency pair, written EUR/USD as in trade files and live trades,
+     * or EURUSD; other instruments, such as ISINs, are in the default currency.
+     */
+    String currency(String instrument) {
+        if (instrument != null) {
+            if (instrument.length() == 7 && instrument.charAt(3) == '/'
+                    && isCurrencyCode(instrument, 0) && isCurrencyCode(instrument, 4)) {
+                return instrument.substring(4);
+            }
+            if (instrument.length() == 6 && isCurrencyCode(instrument, 0) && isCurrencyCode(instrument, 3)) {
+                return instrument.substring(3);
+            }
+        }
+        return config.getDefaultCurrency();
+    }
+
+    private static boolean isCurrencyCode(String instrument, int start) {
+        for (int i = start; i < start + 3; i++) {
+            if (instrument.charAt(i) < 'A' || instrument.charAt(i) > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static LocalDate addBusinessDays(LocalDate date, int days) {
+        LocalDate result = date;
+        int added = 0;
+        while (added < days) {
+            result = result.plusDays(1);
+            if (result.getDayOfWeek() != DayOfWeek.SATURDAY && result.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                added++;
+            }
+        }
+        return result;
+    }
+
+    private JournalDto toDto(Journal journal) {
+        Trade trade = journal.getTrade();
+        Journal.Account debit = Journal.Account.of(journal.getDebitAccount());
+        Journal.Account credit = Journal.Account.of(journal.getCreditAccount());
+        BigDecimal zero = BigDecimal.ZERO.setScale(MONEY_SCALE);
+        List<JournalLineDto> lines = List.of(
+                JournalLineDto.builder()
+                        .id(journal.getId() + "-1")
+                        .account(accountName(debit, trade))
+                        .debit(journal.getAmount())
+                        .credit(zero)
+                        .currency(journal.getCurrency())
+                        .build(),
+                JournalLineDto.builder()
+                        .id(journal.getId() + "-2")
+                        .account(accountName(credit, trade))
+                        .debit(zero)
+                        .credit(journal.getAmount())
+                        .currency(journal.getCurrency())
+                        .build());
+        return JournalDto.builder()
+                .id(journal.getId())
+                .tradeId(trade.getTradeId())
+                .importId(journal.getImportId())
+                .type(Journal.JournalType.of(journal.getType()).name())
+                .entries(lines)
+                .lines(lines)
+                .totalDebits(journal.getAmount())
+                .totalCredits(journal.getAmount())
+                .currency(journal.getCurrency())
+                .valueDate(journal.getValueDate())
+                .createdAt(journal.getCreatedAt())
+                .build();
+    }
+
+    private static String accountName(Journal.Account account, Trade trade) {
+        return account == Journal.Account.SECURITIES
+                ? account.getLabel() + " - " + trade.getCurrencyPair()
+                : account.getLabel();
+    }
+
+    private record JournalRow(Long tradeId, Long importId, Journal.JournalType type, Journal.Account debit,
+                              Journal.Account credit, BigDecimal amount, String currency, LocalDate valueDate) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.LiveTradeDto;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary encoding of {@link LiveTradeDto} fields.
+ *
+ * Layout: tradeId, currencyPair, side, counterparty, book as length-prefixed UTF-8
+ * (unsigned short, 0xFFFF = null), then a presence bitmap followed by quantity (long),
+ * price (signed scale byte + unsigned length byte + unscaled two's-complement bytes) and
+ * timestamp (UTC epoch second + nano). Prices outside those field widths are rejected rather
+ * than truncated; see {@link #canEncode(BigDecimal)}.
+ */
+public final class LiveTradeBinaryCodec {
+
+    private static final int NULL_STRING = 0xFFFF;
+    private static final int MAX_STRING_BYTES = 0xFFFE;
+    private static final int MAX_UNSCALED_BYTES = 0xFF;
+
+    private static final byte HAS_QUANTITY = 1;
+    private static final byte HAS_PRICE = 1 << 1;
+    private static final byte HAS_TIMESTAMP = 1 << 2;
+
+    private LiveTradeBinaryCodec() {
+    }
+
+    /**
+     * Whether the price fits the encoding: a scale that fits a signed byte and an unscaled value
+     * of at most 255 bytes.
+     */
+    public static boolean canEncode(BigDecimal price) {
+        return price.scale() >= Byte.MIN_VALUE && price.scale() <= Byte.MAX_VALUE
+                && price.unscaledValue().bitLength() / 8 + 1 <= MAX_UNSCALED_BYTES;
+    }
+
+    /**
+     * Encodes the trade at the buffer's current position.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @throws IllegalArgumentException if a field does not fit the encoding; nothing is written
+     */
+    public static void encode(LiveTradeDto trade, ByteBuffer buffer) {
+        if (trade.getPrice() != null && !canEncode(trade.getPrice())) {
+            throw new IllegalArgumentException("Price does not fit the binary encoding: " + trade.getPrice());
+        }
+        putString(buffer, trade.getTradeId());
+        putString(buffer, trade.getCurrencyPair());
+        putString(buffer, trade.getSide());
+        putString(buffer, trade.getCounterparty());
+        putString(buffer, trade.getBook());
+
+        byte flags = 0;
+        if (trade.getQuantity() != null) flags |= HAS_QUANTITY;
+        if (trade.getPrice() != null) flags |= HAS_PRICE;
+        if (trade.getTimestamp() != null) flags |= HAS_TIMESTAMP;
+        buffer.put(flags);
+
+        if (trade.getQuantity() != null) {
+            buffer.putLong(trade.getQuantity());
+        }
+        if (trade.getPrice() != null) {
+            byte[] unscaled = trade.getPrice().unscaledValue().toByteArray();
+            buffer.put((byte) trade.getPrice().scale());
+            buffer.put((byte) unscaled.length);
+            buffer.put(unscaled);
+        }
+        if (trade.getTimestamp() != null) {
+            buffer.putLong(trade.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(trade.getTimestamp().getNano());
+        }
+    }
+
+    /**
+     * Decodes a trade starting at the buffer's current position.
+     *
+     * @throws java.nio.BufferUnderflowException if the buffer holds a truncated record
+     */
+    public static LiveTradeDto decode(ByteBuffer buffer) {
+        LiveTradeDto.LiveTradeDtoBuilder builder = LiveTradeDto.builder()
+                .tradeId(getString(buffer))
+                .currencyPair(getString(buffer))
+                .side(getString(buffer))
+                .counterparty(getString(buffer))
+                .book(getString(buffer));
+
+        byte flags = buffer.get();
+        if ((flags & HAS_QUANTITY) != 0) {
+            builder.quantity(buffer.getLong());
+        }
+        if ((flags & HAS_PRICE) != 0) {
+            int scale = buffer.get();
+            byte[] unscaled = new byte[buffer.get() & 0xFF];
+            buffer.get(unscaled);
+            builder.price(new BigDecimal(new BigInteger(unscaled), scale));
+        }
+        if ((flags & HAS_TIMESTAMP) != 0) {
+            long epochSecond = buffer.getLong();
+            int nano = buffer.getInt();
+            builder.timestamp(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        }
+        return builder.build();
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Field too long for binary encoding: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
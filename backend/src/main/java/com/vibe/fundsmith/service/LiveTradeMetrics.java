@@ -0,0 +1,70 @@
+package com.vibe.fundsmith.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer meters for the live trade pipeline.
+ */
+@Component
+public class LiveTradeMetrics {
+
+    private final MeterRegistry registry;
+    private final DistributionSummary flushSize;
+    private final Timer flushDuration;
+    private final Timer submitToPersist;
+
+    public LiveTradeMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.flushSize = DistributionSummary.builder("live.trades.flush.size")
+                .description("Trades persisted per live flush")
+                .baseUnit("trades")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.flushDuration = Timer.builder("live.trades.flush.duration")
+                .description("Time from a live flush draining the pending buffer to its commit")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.submitToPersist = Timer.builder("live.trades.submit.to.persist")
+                .description("Time from a live trade being accepted to its flush committing")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void bindPendingCount(AtomicInteger pendingCount) {
+        Gauge.builder("live.trades.pending", pendingCount, AtomicInteger::get)
+                .description("Live trades accepted but not yet flushed")
+                .register(registry);
+    }
+
+    public void recordFlushTriggered(String trigger) {
+        registry.counter("live.trades.flush.triggers", "trigger", trigger).increment();
+    }
+
+    public void recordFlush(int tradeCount, long elapsedNanos) {
+        flushSize.record(tradeCount);
+        flushDuration.record(Duration.ofNanos(elapsedNanos));
+    }
+
+    /**
+     * Counts trades a failed flush put back into the pending buffer.
+     */
+    public void recordFlushFailed(int tradeCount) {
+        registry.counter("live.trades.flush.failed").increment(tradeCount);
+    }
+
+    public void recordQuarantined(int tradeCount) {
+        registry.counter("live.trades.quarantined").increment(tradeCount);
+    }
+
+    public void recordPersisted(long acceptedAtNanos, long persistedAtNanos) {
+        submitToPersist.record(Duration.ofNanos(persistedAtNanos - acceptedAtNanos));
+    }
+}
@@ -0,0 +1,338 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.LiveTradeRecordingConfig;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.RecordingDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Records the accepted live trade stream to a file so that it can be replayed later by
+ * {@link LiveTradeReplayer}.
+ *
+ * {@link LiveTradeService} hands every accepted batch to {@link #record(List, long)}, in the order
+ * the trades enter the pending buffer; when no recording is active that is a single volatile read.
+ *
+ * File layout: a 32-byte header [int magic][int version][long start epoch ms][long trade count]
+ * [long duration ns], then one record per trade: [long ns since the previous trade][int length]
+ * [payload], where the payload is {@link LiveTradeBinaryCodec} output. Trades accepted together
+ * have a delta of 0. Trade count and duration are filled in when the recording is stopped.
+ */
+@Component
+@Slf4j
+public class LiveTradeRecorder {
+
+    static final String FILE_SUFFIX = ".ltrec";
+
+    private static final int MAGIC = 0x4C545243; // "LTRC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int RECORD_HEADER_BYTES = 12;
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9._-]{1,100}");
+
+    private final LiveTradeRecordingConfig config;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile boolean active;
+    private String name;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private long startedAtMillis;
+    private long startedAtNanos;
+    private long lastTradeNanos;
+    private long tradeCount;
+
+    public LiveTradeRecorder(LiveTradeRecordingConfig config) {
+        this.config = config;
+    }
+
+    public RecordingDto start(String recordingName) {
+        Path path = path(recordingName);
+        lock.lock();
+        try {
+            if (active) {
+                throw new RuntimeException("Recording " + name + " is already in progress");
+            }
+            Files.createDirectories(path.getParent());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            buffer = ByteBuffer.allocate(Math.max(config.getBufferBytes(), HEADER_BYTES));
+            name = recordingName;
+            startedAtMillis = System.currentTimeMillis();
+            startedAtNanos = System.nanoTime();
+            lastTradeNanos = startedAtNanos;
+            tradeCount = 0;
+
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(startedAtMillis).putLong(0).putLong(0);
+            active = true;
+            log.info("Started recording live trades to {}", path.toAbsolutePath());
+            return summary(path, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start recording " + recordingName, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public RecordingDto stop() {
+        lock.lock();
+        try {
+            if (!active) {
+                throw new RuntimeException("No recording in progress");
+            }
+            Path path = path(name);
+            close();
+            log.info("Stopped recording {}: {} trades", name, tradeCount);
+            return summary(path, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isRecording() {
+        return active;
+    }
+
+    /**
+     * Appends trades accepted together at {@code acceptedAtNanos}. An I/O failure ends the
+     * recording rather than the submission.
+     */
+    public void record(List<LiveTradeDto> trades, long acceptedAtNanos) {
+        if (!active) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (!active) {
+                return;
+            }
+            long delta = acceptedAtNanos - lastTradeNanos;
+            for (LiveTradeDto trade : trades) {
+                int length = encodeToScratch(trade);
+                if (buffer.remaining() < RECORD_HEADER_BYTES + length) {
+                    writeBuffer();
+                    if (buffer.remaining() < RECORD_HEADER_BYTES + length) {
+                        buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + length);
+                    }
+                }
+                buffer.putLong(delta).putInt(length).put(scratch.array(), 0, length);
+                delta = 0;
+                tradeCount++;
+            }
+            lastTradeNanos = acceptedAtNanos;
+        } catch (IOException e) {
+            log.error("Recording {} failed and was stopped: {}", name, e.getMessage());
+            close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<RecordingDto> listRecordings() {
+        Path directory = Paths.get(config.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<RecordingDto> recordings = new ArrayList<>();
+            for (Path path : files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX)).toList()) {
+                String fileName = path.getFileName().toString();
+                String recordingName = fileName.substring(0, fileName.length() - FILE_SUFFIX.length());
+                recordings.add(summary(path, active && recordingName.equals(name)));
+            }
+            recordings.sort(Comparator.comparing(RecordingDto::getName));
+            return recordings;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list recordings in " + directory, e);
+        }
+    }
+
+    /**
+     * Opens a finished recording for reading.
+     */
+    public Reader open(String recordingName) {
+        Path path = path(recordingName);
+        if (!Files.exists(path)) {
+            throw new RuntimeException("Recording not found: " + recordingName);
+        }
+        if (active && recordingName.equals(name)) {
+            throw new RuntimeException("Recording " + recordingName + " is still in progress");
+        }
+        try {
+            return new Reader(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open recording " + recordingName, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lock.lock();
+        try {
+            if (active) {
+                close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void close() {
+        active = false;
+        try {
+            writeBuffer();
+            ByteBuffer counts = ByteBuffer.allocate(16)
+                    .putLong(tradeCount)
+                    .putLong(lastTradeNanos - startedAtNanos)
+                    .flip();
+            channel.write(counts, 16);
+            channel.force(true);
+        } catch (IOException e) {
+            log.error("Failed to finish recording {}: {}", name, e.getMessage());
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Error closing recording {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private int encodeToScratch(LiveTradeDto trade) {
+        while (true) {
+            try {
+                scratch.clear();
+                LiveTradeBinaryCodec.encode(trade, scratch);
+                return scratch.position();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private RecordingDto summary(Path path, boolean inProgress) {
+        String fileName = path.getFileName().toString();
+        RecordingDto.RecordingDtoBuilder summary = RecordingDto.builder()
+                .name(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()))
+                .active(inProgress);
+        if (inProgress) {
+            return summary
+                    .startedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(startedAtMillis), ZoneOffset.UTC))
+                    .tradeCount(tradeCount)
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(lastTradeNanos - startedAtNanos))
+                    .build();
+        }
+        try (Reader reader = new Reader(path)) {
+            return summary
+                    .startedAt(reader.startedAt())
+                    .tradeCount(reader.tradeCount())
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(reader.durationNanos()))
+                    .sizeBytes(Files.size(path))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read recording " + path, e);
+        }
+    }
+
+    private Path path(String recordingName) {
+        if (recordingName == null || !NAME.matcher(recordingName).matches()) {
+            throw new RuntimeException("Recording names may only contain letters, digits, '.', '_' and '-'");
+        }
+        return Paths.get(config.getDirectory()).resolve(recordingName + FILE_SUFFIX);
+    }
+
+    /**
+     * Sequential reader over a recording; {@link #next()} returns null at the end.
+     */
+    public static final class Reader implements AutoCloseable {
+        private final DataInputStream input;
+        private final LocalDateTime startedAt;
+        private final long tradeCount;
+        private final long durationNanos;
+        private byte[] payload = new byte[1024];
+        private long offsetNanos;
+
+        Reader(Path path) throws IOException {
+            input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                input.close();
+                throw new IOException("Not a live trade recording: " + path);
+            }
+            startedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(input.readLong()), ZoneOffset.UTC);
+            tradeCount = input.readLong();
+            durationNanos = input.readLong();
+        }
+
+        public LocalDateTime startedAt() {
+            return startedAt;
+        }
+
+        public long tradeCount() {
+            return tradeCount;
+        }
+
+        public long durationNanos() {
+            return durationNanos;
+        }
+
+        public RecordedTrade next() throws IOException {
+            long delta;
+            try {
+                delta = input.readLong();
+            } catch (EOFException e) {
+                return null;
+            }
+            int length = input.readInt();
+            if (payload.length < length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+            }
+            input.readFully(payload, 0, length);
+            offsetNanos += delta;
+            return new RecordedTrade(offsetNanos, LiveTradeBinaryCodec.decode(ByteBuffer.wrap(payload, 0, length)));
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    /**
+     * A recorded trade and its arrival time relative to the start of the recording.
+     */
+    public record RecordedTrade(long offsetNanos, LiveTradeDto trade) {
+    }
+}
@@ -0,0 +1,243 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.LiveTradeRecordingConfig;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.LiveTradeSubmissionResultDto;
+import com.vibe.fundsmith.dto.ReplayReportDto;
+import com.vibe.fundsmith.event.LiveTradesPersistedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds a recording made by {@link LiveTradeRecorder} back through
+ * {@link LiveTradeService#submitLiveTrades(List)}, at the recorded pace scaled by {@code speed},
+ * or as fast as possible when {@code speed} is 0.
+ *
+ * Latency is measured per trade from its intended send time, i.e. its offset in the recording
+ * divided by the speed, to the commit of the flush that persisted it, so time the replayer spends
+ * behind schedule counts against the pipeline instead of being hidden. At full speed the send
+ * time is used. Latencies go to the {@code live.trades.replay.latency} timer, tagged with the
+ * recording name, and are summarised in the {@link ReplayReportDto}.
+ *
+ * Replays are meant to run with adaptive grouping enabled; otherwise the pending trades are
+ * flushed once everything has been sent.
+ */
+@Component
+@Slf4j
+public class LiveTradeReplayer {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final LiveTradeRecorder recorder;
+    private final LiveTradeService liveTradeService;
+    private final LiveTradeRecordingConfig config;
+    private final MeterRegistry registry;
+
+    private volatile Replay current;
+
+    public LiveTradeReplayer(LiveTradeRecorder recorder, LiveTradeService liveTradeService,
+                             LiveTradeRecordingConfig config, MeterRegistry registry) {
+        this.recorder = recorder;
+        this.liveTradeService = liveTradeService;
+        this.config = config;
+        this.registry = registry;
+    }
+
+    /**
+     * Starts replaying the recording on a background thread. The future completes with the final
+     * report once every replayed trade has been persisted or the drain timeout has passed.
+     */
+    public synchronized CompletableFuture<ReplayReportDto> replay(String recording, double speed) {
+        if (current != null && !current.future.isDone()) {
+            throw new RuntimeException("Replay of " + current.recording + " is still running");
+        }
+
+        LiveTradeRecorder.Reader reader = recorder.open(recording);
+        if (current != null) {
+            registry.remove(current.latency);
+        }
+        Timer latency = Timer.builder("live.trades.replay.latency")
+                .description("Time from a replayed trade's intended send time to its flush committing")
+                .tag("recording", recording)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+
+        Replay replay = new Replay(recording, Math.max(0, speed), reader.tradeCount(), latency);
+        current = replay;
+
+        Thread thread = new Thread(() -> run(replay, reader), "live-trade-replay");
+        thread.setDaemon(true);
+        thread.start();
+
+        log.info("Replaying {} ({} trades) at {}", recording, reader.tradeCount(),
+                speed > 0 ? speed + "x" : "full speed");
+        return replay.future;
+    }
+
+    /**
+     * Returns the report of the running or most recent replay, or null if there has been none.
+     */
+    public ReplayReportDto getReport() {
+        Replay replay = current;
+        return replay != null ? replay.report("RUNNING") : null;
+    }
+
+    @EventListener
+    public void onTradesPersisted(LiveTradesPersistedEvent event) {
+        Replay replay = current;
+        if (replay == null || replay.inFlight.isEmpty()) {
+            return;
+        }
+        for (LiveTradeDto trade : event.trades()) {
+            Long intendedAtNanos = replay.inFlight.remove(trade.getTradeId());
+            if (intendedAtNanos != null) {
+                replay.latency.record(event.persistedAtNanos() - intendedAtNanos, TimeUnit.NANOSECONDS);
+                replay.persisted.incrementAndGet();
+            }
+        }
+    }
+
+    private void run(Replay replay, LiveTradeRecorder.Reader reader) {
+        int maxBatchSize = Math.max(1, config.getMaxReplayBatchSize());
+        List<LiveTradeDto> batch = new ArrayList<>(maxBatchSize);
+        try (reader) {
+            replay.startedAtNanos = System.nanoTime();
+            LiveTradeRecorder.RecordedTrade next = reader.next();
+            while (next != null) {
+                long dueAtNanos = replay.intendedAtNanos(next, replay.startedAtNanos);
+                long waitNanos;
+                while ((waitNanos = dueAtNanos - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+
+                // Everything due by now goes out together
+                long now = System.nanoTime();
+                batch.clear();
+                while (next != null && batch.size() < maxBatchSize) {
+                    long intendedAtNanos = replay.speed > 0 ? replay.intendedAtNanos(next, replay.startedAtNanos) : now;
+                    if (intendedAtNanos > now) {
+                        break;
+                    }
+                    replay.maxLagNanos = Math.max(replay.maxLagNanos, now - intendedAtNanos);
+                    replay.inFlight.put(next.trade().getTradeId(), intendedAtNanos);
+                    batch.add(next.trade());
+                    next = reader.next();
+                }
+                submit(replay, batch);
+            }
+            replay.sentAtNanos = System.nanoTime();
+            drain(replay);
+        } catch (Exception e) {
+            log.error("Replay of {} failed: {}", replay.recording, e.getMessage());
+            replay.finish("FAILED", e.getMessage());
+        }
+    }
+
+    private void submit(Replay replay, List<LiveTradeDto> batch) {
+        List<LiveTradeSubmissionResultDto> results = liveTradeService.submitLiveTrades(batch);
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isAccepted()) {
+                replay.sent.incrementAndGet();
+            } else {
+                replay.inFlight.remove(batch.get(i).getTradeId());
+            }
+        }
+    }
+
+    private void drain(Replay replay) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getReplayDrainTimeoutMs());
+        while (!replay.inFlight.isEmpty() && System.nanoTime() < deadline) {
+            if (!liveTradeService.isAutoFlushEnabled() && liveTradeService.getPendingTradeCount() > 0) {
+                liveTradeService.processPendingTrades();
+            } else {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        }
+        replay.finish(replay.inFlight.isEmpty() ? "COMPLETED" : "TIMED_OUT", null);
+        log.info("Replay of {} finished: {}", replay.recording, replay.future.join());
+    }
+
+    private static final class Replay {
+        private final String recording;
+        private final double speed;
+        private final long tradeCount;
+        private final Timer latency;
+        // Trade id -> intended send time, until the trade is persisted
+        private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong persisted = new AtomicLong();
+        private final CompletableFuture<ReplayReportDto> future = new CompletableFuture<>();
+        private volatile long startedAtNanos;
+        private volatile long sentAtNanos;
+        private volatile long maxLagNanos;
+
+        private Replay(String recording, double speed, long tradeCount, Timer latency) {
+            this.recording = recording;
+            this.speed = speed;
+            this.tradeCount = tradeCount;
+            this.latency = latency;
+        }
+
+        private long intendedAtNanos(LiveTradeRecorder.RecordedTrade trade, long startedAtNanos) {
+            return speed > 0 ? startedAtNanos + (long) (trade.offsetNanos() / speed) : startedAtNanos;
+        }
+
+        private void finish(String status, String error) {
+            ReplayReportDto report = report(status);
+            report.setError(error);
+            future.complete(report);
+        }
+
+        private ReplayReportDto report(String status) {
+            if (future.isDone()) {
+                return future.join();
+            }
+            long endNanos = sentAtNanos > 0 ? sentAtNanos : System.nanoTime();
+            long elapsedNanos = startedAtNanos > 0 ? endNanos - startedAtNanos : 0;
+            HistogramSnapshot snapshot = latency.takeSnapshot();
+            ReplayReportDto report = ReplayReportDto.builder()
+                    .recording(recording)
+                    .speed(speed)
+                    .status(status)
+                    .tradeCount(tradeCount)
+                    .sentCount(sent.get())
+                    .persistedCount(persisted.get())
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .tradesPerSecond(elapsedNanos > 0 ? sent.get() * 1e9 / elapsedNanos : 0)
+                    .maxScheduleLagMs(maxLagNanos / 1e6)
+                    .latencyMaxMs(snapshot.max(TimeUnit.MILLISECONDS))
+                    .build();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                double millis = value.value(TimeUnit.MILLISECONDS);
+                if (value.percentile() == 0.5) {
+                    report.setLatencyP50Ms(millis);
+                } else if (value.percentile() == 0.9) {
+                    report.setLatencyP90Ms(millis);
+                } else if (value.percentile() == 0.99) {
+                    report.setLatencyP99Ms(millis);
+                } else if (value.percentile() == 0.999) {
+                    report.setLatencyP999Ms(millis);
+                }
+            }
+            return report;
+        }
+    }
+}
@@ -1,39 +1,98 @@
 package com.vibe.fundsmith.service;
 
+import com.vibe.fundsmith.config.ClusterConfig;
+import com.vibe.fundsmith.config.LiveTradeFlushConfig;
 import com.vibe.fundsmith.dto.DemoConfigDto;
 import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.LiveTradeSubmissionResultDto;
 import com.vibe.fundsmith.dto.TradeImportDto;
+import com.vibe.fundsmith.event.ImportConsolidatedEvent;
+import com.vibe.fundsmith.event.ImportStatusChangedEvent;
+import com.vibe.fundsmith.event.LiveTradesPersistedEvent;
+import com.vibe.fundsmith.event.MxmlGeneratedEvent;
+import com.vibe.fundsmith.event.TradesBookedEvent;
 import com.vibe.fundsmith.model.Trade;
 import com.vibe.fundsmith.model.TradeImport;
 import com.vibe.fundsmith.repository.TradeImportRepository;
 import com.vibe.fundsmith.repository.TradeRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LiveTradeService {
     
+    // A failed flush puts its trades back; the next attempt waits at least this long
+    private static final long FLUSH_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_QUARANTINED_TRADES = 1000;
+    private static final int MAX_CURRENCY_PAIR_LENGTH = 20; // trades.currency_pair
+    private static final int MAX_TEXT_LENGTH = 255; // trades.trade_id, counterparty and book
+    private static final BigDecimal MAX_PRICE = BigDecimal.TEN.pow(9); // trades.price is NUMERIC(15, 6)
+    
     private final TradeRepository tradeRepository;
     private final TradeImportRepository tradeImportRepository;
     private final TradeImportService tradeImportService;
     private final TaskScheduler taskScheduler;
+    private final LiveTradeWriteAheadLog writeAheadLog;
+    private final LiveTradeFlushConfig flushConfig;
+    private final LiveTradeMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final PipelineExecutors pipelineExecutors;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterConfig clusterConfig;
+    private final LoadGenerator loadGenerator;
+    private final LiveTradeRecorder recorder;
+    private final LiveTradeStreamService streamService;
     
-    private final Queue<LiveTradeDto> pendingTrades = new ConcurrentLinkedQueue<>();
+    // A deque so that a failed flush can put its trades back at the head
+    private final Deque<PendingTrade> pendingTrades = new ConcurrentLinkedDeque<>();
+    // ConcurrentLinkedDeque.size() is O(n), so the count is tracked separately
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // Guards the hand-off between the write-ahead log and the pending queue, so trades
+    // reach the queue in the same order they were logged
+    private final ReentrantLock pendingLock = new ReentrantLock();
     private final AtomicLong tradeIdCounter = new AtomicLong(1);
+    private final AtomicLong flushSequence = new AtomicLong(1);
+    
+    // Adaptive flush state: at most one scheduled flush, and up to maxConcurrentFlushes running
+    // so that one flush's database I/O overlaps the next one's drain
+    private final ReentrantLock flushScheduleLock = new ReentrantLock();
+    private final AtomicInteger flushesInFlight = new AtomicInteger();
+    private volatile boolean autoFlushEnabled;
+    private ScheduledFuture<?> scheduledFlush;
+    private long scheduledFlushAtNanos;
+    private String scheduledFlushTrigger;
+    // nanoTime before which no flush is scheduled after a failure; 0 when the last flush succeeded
+    private volatile long flushRetryAtNanos;
+    
+    // Drained trades that can never be booked, newest last; their log records are released
+    private final Queue<LiveTradeDto> quarantinedTrades = new ConcurrentLinkedQueue<>();
     
     private DemoConfigDto demoConfig = DemoConfigDto.builder()
             .enabled(false)
@@ -45,10 +104,28 @@ public class LiveTradeService {
             .murexPushIntervalSeconds(30)
             .build();
     
-    private ScheduledFuture<?> demoTradeTask;
-    private ScheduledFuture<?> groupingTask;
-    private ScheduledFuture<?> mxmlTask;
-    private ScheduledFuture<?> murexTask;
+    private ScheduledFuture<?> mxmlSweepTask;
+    private ScheduledFuture<?> murexSweepTask;
+    private volatile boolean autoMxmlEnabled;
+    private volatile boolean autoMurexEnabled;
+    
+    @PostConstruct
+    void recoverPendingTrades() {
+        metrics.bindPendingCount(pendingCount);
+        
+        List<LiveTradeWriteAheadLog.RecoveredTrade> recovered = writeAheadLog.recover();
+        if (!recovered.isEmpty()) {
+            long now = System.nanoTime();
+            List<LiveTradeDto> recoveredTrades = new ArrayList<>(recovered.size());
+            for (LiveTradeWriteAheadLog.RecoveredTrade recoveredTrade : recovered) {
+                pendingTrades.offer(new PendingTrade(recoveredTrade.trade(), recoveredTrade.segmentId(), now));
+                recoveredTrades.add(recoveredTrade.trade());
+            }
+            pendingCount.addAndGet(recovered.size());
+            streamService.onAccepted(recoveredTrades);
+            log.info("Recovered {} pending live trades from the write-ahead log", recovered.size());
+        }
+    }
     
     public DemoConfigDto getDemoConfig() {
         return demoConfig;
@@ -65,10 +142,10 @@ public class LiveTradeService {
             startDemoMode();
             startGroupingTask();
             if (config.isAutoMxmlEnabled()) {
-                startMxmlTask();
+                startAutoMxml();
             }
             if (config.isAutoMurexEnabled()) {
-                startMurexTask();
+                startAutoMurex();
             }
         }
         
@@ -79,8 +156,183 @@ public class LiveTradeService {
         return this.demoConfig;
     }
     
+    /**
+     * Validates a live trade and enqueues it.
+     *
+     * @throws IllegalArgumentException if the trade could not be flushed, before anything is
+     *         written to the write-ahead log
+     * @throws IllegalStateException if the trade could not be written to the write-ahead log
+     */
     @Transactional
     public LiveTradeDto submitLiveTrade(LiveTradeDto tradeDto) {
+        String error = validateLiveTrade(tradeDto);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        applyDefaults(tradeDto);
+        if (enqueue(List.of(tradeDto)) == 0) {
+            throw new IllegalStateException("Live trade could not be written to the write-ahead log");
+        }
+        log.debug("Live trade submitted: {}", tradeDto.getTradeId());
+        
+        return tradeDto;
+    }
+    
+    /**
+     * Validates a batch of live trades and enqueues the valid ones with a single hand-off
+     * into the pending buffer. Results are returned in submission order; a valid trade is
+     * reported as not accepted only if it could not be written to the write-ahead log.
+     */
+    public List<LiveTradeSubmissionResultDto> submitLiveTrades(List<LiveTradeDto> tradeDtos) {
+        List<LiveTradeSubmissionResultDto> results = new ArrayList<>(tradeDtos.size());
+        List<LiveTradeDto> accepted = new ArrayList<>(tradeDtos.size());
+        List<LiveTradeSubmissionResultDto> acceptedResults = new ArrayList<>(tradeDtos.size());
+        
+        for (int i = 0; i < tradeDtos.size(); i++) {
+            LiveTradeDto tradeDto = tradeDtos.get(i);
+            String error = validateLiveTrade(tradeDto);
+            if (error == null) {
+                applyDefaults(tradeDto);
+                accepted.add(tradeDto);
+            }
+            LiveTradeSubmissionResultDto result = LiveTradeSubmissionResultDto.builder()
+                    .index(i)
+                    .tradeId(tradeDto != null ? tradeDto.getTradeId() : null)
+                    .accepted(error == null)
+                    .error(error)
+                    .build();
+            results.add(result);
+            if (error == null) {
+                acceptedResults.add(result);
+            }
+        }
+        
+        int enqueued = accepted.isEmpty() ? 0 : enqueue(accepted);
+        for (LiveTradeSubmissionResultDto result : acceptedResults.subList(enqueued, acceptedResults.size())) {
+            result.setAccepted(false);
+            result.setError("Could not be written to the write-ahead log");
+        }
+        
+        log.debug("Live trade batch submitted: {} accepted, {} rejected", 
+                enqueued, tradeDtos.size() - enqueued);
+        
+        return results;
+    }
+    
+    /**
+     * Logs validated trades and hands them to the pending buffer, in order, and returns how many
+     * were enqueued. Validation keeps every field within the log's encoding, but the log can
+     * still fail part-way, e.g. on an I/O error rolling a segment; the trades logged before the
+     * failure are then enqueued and counted, the rest not, and the count tells the caller which.
+     */
+    private int enqueue(List<LiveTradeDto> tradeDtos) {
+        int enqueued = 0;
+        int pendingAfter;
+        pendingLock.lock();
+        try {
+            long acceptedAtNanos = System.nanoTime();
+            try {
+                for (LiveTradeDto tradeDto : tradeDtos) {
+                    long walSegmentId = writeAheadLog.append(tradeDto);
+                    pendingTrades.offer(new PendingTrade(tradeDto, walSegmentId, acceptedAtNanos));
+                    enqueued++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Write-ahead log append failed after {} of {} live trades: {}",
+                        enqueued, tradeDtos.size(), e.getMessage(), e);
+            }
+            if (enqueued == 0) {
+                return 0;
+            }
+            List<LiveTradeDto> logged = enqueued == tradeDtos.size() ? tradeDtos : tradeDtos.subList(0, enqueued);
+            recorder.record(logged, acceptedAtNanos);
+            streamService.onAccepted(logged);
+            pendingAfter = pendingCount.addAndGet(enqueued);
+        } finally {
+            pendingLock.unlock();
+        }
+        
+        if (autoFlushEnabled) {
+            if (pendingAfter >= flushConfig.getBatchSize()) {
+                requestFlush(System.nanoTime(), "size");
+            } else if (pendingAfter == enqueued) {
+                // First trade(s) into an empty buffer start the age clock
+                requestFlush(System.nanoTime() + maxFlushDelayNanos(), "age");
+            }
+        }
+        return enqueued;
+    }
+    
+    private List<PendingTrade> drainPending(int maxTrades) {
+        pendingLock.lock();
+        try {
+            writeAheadLog.seal();
+            List<PendingTrade> drained = new ArrayList<>(Math.min(maxTrades, pendingCount.get()));
+            PendingTrade pendingTrade;
+            while (drained.size() < maxTrades && (pendingTrade = pendingTrades.poll()) != null) {
+                drained.add(pendingTrade);
+            }
+            pendingCount.addAndGet(-drained.size());
+            streamService.onDrained(drained.size());
+            return drained;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+    
+    /**
+     * Returns a description of the first problem that would stop the trade from being flushed,
+     * or null if the trade is valid.
+     */
+    String validateLiveTrade(LiveTradeDto tradeDto) {
+        if (tradeDto == null) {
+            return "Trade is missing";
+        }
+        if (tradeDto.getTradeId() != null && tradeDto.getTradeId().length() > MAX_TEXT_LENGTH) {
+            return "tradeId must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (isBlank(tradeDto.getCurrencyPair())) {
+            return "currencyPair is required";
+        }
+        if (tradeDto.getCurrencyPair().length() > MAX_CURRENCY_PAIR_LENGTH) {
+            return "currencyPair must be at most " + MAX_CURRENCY_PAIR_LENGTH + " characters";
+        }
+        if (tradeDto.getSide() == null
+                || !(tradeDto.getSide().equalsIgnoreCase("BUY") || tradeDto.getSide().equalsIgnoreCase("SELL"))) {
+            return "side must be BUY or SELL";
+        }
+        if (isBlank(tradeDto.getCounterparty())) {
+            return "counterparty is required";
+        }
+        if (tradeDto.getCounterparty().length() > MAX_TEXT_LENGTH) {
+            return "counterparty must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (isBlank(tradeDto.getBook())) {
+            return "book is required";
+        }
+        if (tradeDto.getBook().length() > MAX_TEXT_LENGTH) {
+            return "book must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (tradeDto.getQuantity() == null || tradeDto.getQuantity() <= 0) {
+            return "quantity must be positive";
+        }
+        if (tradeDto.getPrice() == null || tradeDto.getPrice().signum() <= 0) {
+            return "price must be positive";
+        }
+        if (tradeDto.getPrice().compareTo(MAX_PRICE) >= 0) {
+            return "price must be below " + MAX_PRICE.toPlainString();
+        }
+        if (!LiveTradeBinaryCodec.canEncode(tradeDto.getPrice())) {
+            return "price has too many decimal places";
+        }
+        return null;
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+    
+    private void applyDefaults(LiveTradeDto tradeDto) {
         // Set timestamp if not provided
         if (tradeDto.getTimestamp() == null) {
             tradeDto.setTimestamp(LocalDateTime.now(ZoneOffset.UTC));
@@ -88,48 +340,130 @@ public class LiveTradeService {
         
         // Generate trade ID if not provided
         if (tradeDto.getTradeId() == null || tradeDto.getTradeId().isEmpty()) {
-            tradeDto.setTradeId("LIVE-" + tradeIdCounter.getAndIncrement());
+            tradeDto.setTradeId("LIVE-" + clusterConfig.getNodeId() + "-" + tradeIdCounter.getAndIncrement());
         }
-        
-        pendingTrades.offer(tradeDto);
-        log.debug("Live trade submitted: {}", tradeDto.getTradeId());
-        
-        return tradeDto;
     }
     
-    @Transactional
     public TradeImportDto processPendingTrades() {
-        if (pendingTrades.isEmpty()) {
+        return flush("manual");
+    }
+    
+    /**
+     * Drains up to one batch of pending trades, consolidates them in memory and persists the
+     * result in a single short, write-only transaction. The returned DTO is built from the
+     * objects just written rather than read back from the database.
+     *
+     * Trades that fail validation, such as ones recovered from an older log, are quarantined
+     * rather than failing the batch. If the database rejects the batch's data, the trades it
+     * rejects are isolated and quarantined and the rest booked (see {@link #bookIsolating}). If
+     * the batch fails to commit for another reason, its trades are put back at the head of the
+     * pending buffer for the next flush and the exception is rethrown.
+     */
+    private TradeImportDto flush(String trigger) {
+        long startedAtNanos = System.nanoTime();
+        List<PendingTrade> drained = quarantineInvalid(drainPending(maxFlushBatchSize()));
+        if (drained.isEmpty()) {
             log.debug("No pending trades to process");
             return null;
         }
+        metrics.recordFlushTriggered(trigger);
         
-        List<LiveTradeDto> tradesToProcess = new ArrayList<>();
-        LiveTradeDto trade;
-        while ((trade = pendingTrades.poll()) != null) {
-            tradesToProcess.add(trade);
-        }
+        // The queue may already hold the next batch; let it drain while this one is written
+        scheduleFollowUpFlush();
         
-        if (tradesToProcess.isEmpty()) {
-            return null;
+        AtomicBoolean committed = new AtomicBoolean();
+        TradeImportDto result;
+        try {
+            result = book(drained, committed, startedAtNanos);
+        } catch (DataIntegrityViolationException e) {
+            if (committed.get()) {
+                throw e;
+            }
+            log.warn("Database rejected a flush of {} live trades; isolating the trades it rejects: {}",
+                    drained.size(), e.getMostSpecificCause().getMessage());
+            result = bookIsolating(drained, startedAtNanos);
+        } catch (RuntimeException e) {
+            if (!committed.get()) {
+                flushFailed(drained);
+            }
+            throw e;
         }
-        
-        // Create new trade import for the grouped trades
+        flushRetryAtNanos = 0;
+        return result;
+    }
+    
+    /**
+     * Books a batch whose data the database rejected in halves, then halves of the halves that
+     * are rejected again, down to single trades, which are quarantined. A trade that can never be
+     * booked thus costs a few extra imports rather than blocking every flush behind it. Returns
+     * the result of the last part booked, or null if none was; if a part fails for any other
+     * reason, it and the parts not yet booked are put back and the exception is rethrown.
+     */
+    private TradeImportDto bookIsolating(List<PendingTrade> rejected, long startedAtNanos) {
+        Deque<List<PendingTrade>> parts = new ArrayDeque<>();
+        split(rejected, parts);
+        TradeImportDto result = null;
+        while (!parts.isEmpty()) {
+            List<PendingTrade> part = parts.pollFirst();
+            AtomicBoolean committed = new AtomicBoolean();
+            try {
+                result = book(part, committed, startedAtNanos);
+            } catch (RuntimeException e) {
+                if (committed.get() || !(e instanceof DataIntegrityViolationException)) {
+                    if (!committed.get()) {
+                        parts.addFirst(part);
+                    }
+                    List<PendingTrade> unbooked = new ArrayList<>();
+                    parts.forEach(unbooked::addAll);
+                    flushFailed(unbooked);
+                    throw e;
+                }
+                if (part.size() == 1) {
+                    quarantine(part, ((DataIntegrityViolationException) e).getMostSpecificCause().getMessage());
+                } else {
+                    split(part, parts);
+                }
+            }
+        }
+        return result;
+    }
+    
+    private static void split(List<PendingTrade> trades, Deque<List<PendingTrade>> parts) {
+        int half = trades.size() / 2;
+        if (half == 0) {
+            parts.addFirst(trades);
+            return;
+        }
+        parts.addFirst(new ArrayList<>(trades.subList(half, trades.size())));
+        parts.addFirst(new ArrayList<>(trades.subList(0, half)));
+    }
+    
+    private void flushFailed(List<PendingTrade> unbooked) {
+        if (unbooked.isEmpty()) {
+            return;
+        }
+        requeue(unbooked);
+        flushRetryAtNanos = System.nanoTime() + FLUSH_RETRY_DELAY_NANOS;
+        metrics.recordFlushFailed(unbooked.size());
+        log.warn("Flush of {} live trades failed; they are pending again", unbooked.size());
+    }
+    
+    private TradeImportDto book(List<PendingTrade> drained, AtomicBoolean committed, long startedAtNanos) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
         TradeImport tradeImport = TradeImport.builder()
-                .importName("LIVE-" + LocalDateTime.now(ZoneOffset.UTC).toString().replace(":", "-"))
+                .importName("LIVE-" + now.toString().replace(":", "-") + "-" + clusterConfig.getNodeId()
+                        + "-" + flushSequence.getAndIncrement())
                 .status(TradeImport.ImportStatus.CONSOLIDATED)
                 .consolidationCriteria(TradeImport.ConsolidationCriteria.CURRENCY_PAIR)
-                .originalTradeCount(tradesToProcess.size())
-                .currentTradeCount(0) // Will be set after consolidation
-                .createdAt(LocalDateTime.now(ZoneOffset.UTC))
-                .consolidatedAt(LocalDateTime.now(ZoneOffset.UTC))
+                .originalTradeCount(drained.size())
+                .createdAt(now)
+                .consolidatedAt(now)
                 .build();
         
-        tradeImport = tradeImportRepository.save(tradeImport);
-        
         // Convert live trades to Trade entities
-        List<Trade> trades = new ArrayList<>();
-        for (LiveTradeDto liveTradeDto : tradesToProcess) {
+        List<Trade> trades = new ArrayList<>(drained.size());
+        for (PendingTrade pendingTrade : drained) {
+            LiveTradeDto liveTradeDto = pendingTrade.trade();
             Trade tradeEntity = Trade.builder()
                     .tradeId(liveTradeDto.getTradeId())
                     .currencyPair(liveTradeDto.getCurrencyPair())
@@ -145,9 +479,93 @@ public class LiveTradeService {
             trades.add(tradeEntity);
         }
         
-        tradeRepository.saveAll(trades);
+        List<Trade> consolidatedTrades = consolidateByCurrencyPair(trades, tradeImport, now);
+        tradeImport.setCurrentTradeCount(consolidatedTrades.size());
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            tradeImportRepository.save(tradeImport);
+            tradeRepository.saveAll(trades);
+            tradeRepository.saveAll(consolidatedTrades);
+            eventPublisher.publishEvent(new TradesBookedEvent(tradeImport.getId(), trades));
+            eventPublisher.publishEvent(new ImportConsolidatedEvent(tradeImport.getId()));
+            eventPublisher.publishEvent(new ImportStatusChangedEvent(tradeImport.getId(),
+                    TradeImport.ImportStatus.CONSOLIDATED.name()));
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // A failure after this point, e.g. in an after-commit listener, must not requeue
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        committed.set(true);
+                    }
+                });
+            }
+        });
+        committed.set(true);
+        
+        log.info("Processed {} live trades into {} consolidated trades in import {}", 
+                trades.size(), consolidatedTrades.size(), tradeImport.getImportName());
+        
+        onFlushCommitted(drained, startedAtNanos);
         
-        // Consolidate the trades by currency pair
+        return tradeImportService.toDto(tradeImport, consolidatedTrades);
+    }
+    
+    /**
+     * Moves drained trades that could never be booked to the quarantine and releases their
+     * write-ahead log records, so that they neither fail the batch nor come back on restart.
+     */
+    private List<PendingTrade> quarantineInvalid(List<PendingTrade> drained) {
+        List<PendingTrade> valid = new ArrayList<>(drained.size());
+        for (PendingTrade pendingTrade : drained) {
+            String error = validateLiveTrade(pendingTrade.trade());
+            if (error == null) {
+                valid.add(pendingTrade);
+            } else {
+                quarantine(List.of(pendingTrade), error);
+            }
+        }
+        return valid;
+    }
+    
+    private void quarantine(List<PendingTrade> trades, String reason) {
+        Map<Long, Integer> quarantinedPerSegment = new HashMap<>();
+        for (PendingTrade pendingTrade : trades) {
+            log.error("Quarantined live trade {}: {}", pendingTrade.trade().getTradeId(), reason);
+            quarantinedTrades.offer(pendingTrade.trade());
+            quarantinedPerSegment.merge(pendingTrade.walSegmentId(), 1, Integer::sum);
+        }
+        for (int i = quarantinedTrades.size() - MAX_QUARANTINED_TRADES; i > 0; i--) {
+            quarantinedTrades.poll();
+        }
+        metrics.recordQuarantined(trades.size());
+        writeAheadLog.markFlushed(quarantinedPerSegment);
+    }
+    
+    /**
+     * Puts the trades of a failed flush back at the head of the pending buffer in their original
+     * order. Their write-ahead log records were never released, so they stay durable meanwhile.
+     */
+    private void requeue(List<PendingTrade> trades) {
+        pendingLock.lock();
+        try {
+            for (int i = trades.size() - 1; i >= 0; i--) {
+                pendingTrades.offerFirst(trades.get(i));
+            }
+            pendingCount.addAndGet(trades.size());
+            streamService.onRequeued(trades.size());
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+    
+    /**
+     * Trades set aside by flushes because they could not be booked, oldest first.
+     */
+    public List<LiveTradeDto> getQuarantinedTrades() {
+        return new ArrayList<>(quarantinedTrades);
+    }
+    
+    private List<Trade> consolidateByCurrencyPair(List<Trade> trades, TradeImport tradeImport, LocalDateTime now) {
         Map<String, List<Trade>> groupedByCurrency = new HashMap<>();
         for (Trade tradeItem : trades) {
             groupedByCurrency.computeIfAbsent(tradeItem.getCurrencyPair(), k -> new ArrayList<>()).add(tradeItem);
@@ -182,112 +600,192 @@ public class LiveTradeService {
                         .price(avgPrice)
                         .tradeImport(tradeImport)
                         .isOriginal(false)
-                        .createdAt(LocalDateTime.now(ZoneOffset.UTC))
+                        .createdAt(now)
                         .build();
                 consolidatedTrades.add(consolidatedTrade);
             }
         }
-        
-        tradeRepository.saveAll(consolidatedTrades);
-        
-        // Update trade import
-        tradeImport.setCurrentTradeCount(consolidatedTrades.size());
-        tradeImportRepository.save(tradeImport);
-        
-        log.info("Processed {} live trades into {} consolidated trades in import {}", 
-                tradesToProcess.size(), consolidatedTrades.size(), tradeImport.getImportName());
-        
-        return tradeImportService.getImportById(tradeImport.getId());
+        return consolidatedTrades;
     }
     
-    public int getPendingTradeCount() {
-        return pendingTrades.size();
+    private void onFlushCommitted(List<PendingTrade> flushed, long startedAtNanos) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    completeFlush(flushed, startedAtNanos);
+                }
+            });
+        } else {
+            // Called without a surrounding transaction (scheduler): every save above has already committed
+            completeFlush(flushed, startedAtNanos);
+        }
     }
     
-    public List<LiveTradeDto> getPendingTrades() {
-        return new ArrayList<>(pendingTrades);
+    private void completeFlush(List<PendingTrade> flushed, long startedAtNanos) {
+        long persistedAtNanos = System.nanoTime();
+        metrics.recordFlush(flushed.size(), persistedAtNanos - startedAtNanos);
+        Map<Long, Integer> flushedPerSegment = new HashMap<>();
+        List<LiveTradeDto> persistedTrades = new ArrayList<>(flushed.size());
+        for (PendingTrade pendingTrade : flushed) {
+            flushedPerSegment.merge(pendingTrade.walSegmentId(), 1, Integer::sum);
+            metrics.recordPersisted(pendingTrade.acceptedAtNanos(), persistedAtNanos);
+            persistedTrades.add(pendingTrade.trade());
+        }
+        writeAheadLog.markFlushed(flushedPerSegment);
+        eventPublisher.publishEvent(new LiveTradesPersistedEvent(persistedTrades, persistedAtNanos));
     }
     
-    private void startDemoMode() {
-        if (demoTradeTask != null) {
-            demoTradeTask.cancel(false);
+    /**
+     * Schedules a flush for the given deadline unless one is already due sooner or the maximum
+     * number of flushes is running; a running flush re-evaluates the policy when it finishes.
+     */
+    private void requestFlush(long deadlineNanos, String trigger) {
+        if (flushesInFlight.get() >= maxConcurrentFlushes()) {
+            return;
+        }
+        flushScheduleLock.lock();
+        try {
+            if (!autoFlushEnabled || (scheduledFlush != null && scheduledFlushAtNanos <= deadlineNanos)) {
+                return;
+            }
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+            long delayNanos = Math.max(0, deadlineNanos - System.nanoTime());
+            scheduledFlushAtNanos = deadlineNanos;
+            scheduledFlushTrigger = trigger;
+            scheduledFlush = taskScheduler.schedule(
+                    () -> pipelineExecutors.flush().execute(this::runScheduledFlush),
+                    Instant.now().plusNanos(delayNanos));
+        } finally {
+            flushScheduleLock.unlock();
         }
-        
-        long intervalMs = (long) (1000.0 / demoConfig.getTradesPerSecond());
-        
-        demoTradeTask = taskScheduler.scheduleWithFixedDelay(
-                this::generateDemoTrade,
-                intervalMs
-        );
-        
-        log.info("Started demo mode with {} trades per second", demoConfig.getTradesPerSecond());
     }
     
-    private void startGroupingTask() {
-        if (groupingTask != null) {
-            groupingTask.cancel(false);
+    private void runScheduledFlush() {
+        String trigger;
+        flushScheduleLock.lock();
+        try {
+            scheduledFlush = null;
+            trigger = scheduledFlushTrigger;
+        } finally {
+            flushScheduleLock.unlock();
         }
         
-        groupingTask = taskScheduler.scheduleWithFixedDelay(
-                this::processPendingTrades,
-                demoConfig.getGroupingIntervalSeconds() * 1000L
-        );
-        
-        log.info("Started grouping task with {} second intervals", demoConfig.getGroupingIntervalSeconds());
+        if (flushesInFlight.incrementAndGet() > maxConcurrentFlushes()) {
+            // A running flush reschedules when it finishes
+            flushesInFlight.decrementAndGet();
+            return;
+        }
+        try {
+            flush(trigger);
+        } catch (Exception e) {
+            log.error("Failed to flush pending live trades: {}", e.getMessage(), e);
+        } finally {
+            flushesInFlight.decrementAndGet();
+            scheduleFollowUpFlush();
+        }
     }
     
-    private void stopAllTasks() {
-        if (demoTradeTask != null) {
-            demoTradeTask.cancel(false);
-            demoTradeTask = null;
+    private void scheduleFollowUpFlush() {
+        if (!autoFlushEnabled) {
+            return;
         }
-        if (groupingTask != null) {
-            groupingTask.cancel(false);
-            groupingTask = null;
+        PendingTrade oldest = pendingTrades.peek();
+        if (oldest == null) {
+            return;
         }
-        if (mxmlTask != null) {
-            mxmlTask.cancel(false);
-            mxmlTask = null;
+        long retryAtNanos = flushRetryAtNanos;
+        boolean full = pendingCount.get() >= flushConfig.getBatchSize();
+        long deadlineNanos = full ? System.nanoTime() : oldest.acceptedAtNanos() + maxFlushDelayNanos();
+        if (retryAtNanos != 0 && retryAtNanos - deadlineNanos > 0) {
+            deadlineNanos = retryAtNanos; // back off after a failed flush
         }
-        if (murexTask != null) {
-            murexTask.cancel(false);
-            murexTask = null;
+        requestFlush(deadlineNanos, full ? "size" : "age");
+    }
+    
+    private long maxFlushDelayNanos() {
+        long maxDelayMs = flushConfig.getMaxDelayMs() > 0
+                ? flushConfig.getMaxDelayMs()
+                : demoConfig.getGroupingIntervalSeconds() * 1000L;
+        return TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+    }
+    
+    private int maxFlushBatchSize() {
+        return Math.max(flushConfig.getBatchSize(), flushConfig.getMaxBatchSize());
+    }
+    
+    private int maxConcurrentFlushes() {
+        return Math.max(1, flushConfig.getMaxConcurrentFlushes());
+    }
+    
+    public boolean isAutoFlushEnabled() {
+        return autoFlushEnabled;
+    }
+    
+    public int getPendingTradeCount() {
+        return pendingCount.get();
+    }
+    
+    public List<LiveTradeDto> getPendingTrades() {
+        List<LiveTradeDto> trades = new ArrayList<>();
+        for (PendingTrade pendingTrade : pendingTrades) {
+            trades.add(pendingTrade.trade());
         }
+        return trades;
     }
     
-    private void generateDemoTrade() {
-        String[] currencyPairs = {"EUR/USD", "GBP/USD", "USD/JPY", "AUD/USD", "USD/CHF"};
-        String[] counterparties = {"BANK_A", "BANK_B", "FUND_C", "CORP_D"};
-        String[] books = {"TRADING", "HEDGE", "CLIENT"};
-        Trade.TradeSide[] sides = {Trade.TradeSide.BUY, Trade.TradeSide.SELL};
-        
-        Random random = new Random();
+    private void startDemoMode() {
+        loadGenerator.start(demoConfig.getTradesPerSecond(), this::submitLiveTrades);
         
-        LiveTradeDto demoTrade = LiveTradeDto.builder()
-                .tradeId("DEMO-" + tradeIdCounter.getAndIncrement())
-                .currencyPair(currencyPairs[random.nextInt(currencyPairs.length)])
-                .side(sides[random.nextInt(sides.length)].name())
-                .counterparty(counterparties[random.nextInt(counterparties.length)])
-                .book(books[random.nextInt(books.length)])
-                .quantity((long) (10000 + random.nextInt(90000))) // 10k to 100k
-                .price(BigDecimal.valueOf(1.0 + random.nextDouble() * 0.5).setScale(6, RoundingMode.HALF_UP))
-                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
-                .build();
+        log.info("Started demo mode with {} trades per second", demoConfig.getTradesPerSecond());
+    }
+    
+    private void startGroupingTask() {
+        autoFlushEnabled = true;
+        scheduleFollowUpFlush();
         
-        submitLiveTrade(demoTrade);
+        log.info("Started adaptive grouping: flush at {} pending trades or after {} ms, at most {} trades per flush",
+                flushConfig.getBatchSize(), TimeUnit.NANOSECONDS.toMillis(maxFlushDelayNanos()),
+                maxFlushBatchSize());
     }
     
-    private void startMxmlTask() {
-        if (mxmlTask != null) {
-            mxmlTask.cancel(false);
+    private void stopAllTasks() {
+        loadGenerator.stop();
+        autoFlushEnabled = false;
+        flushScheduleLock.lock();
+        try {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+        } finally {
+            flushScheduleLock.unlock();
         }
-        
-        mxmlTask = taskScheduler.scheduleWithFixedDelay(
-                this::autoGenerateMxml,
-                demoConfig.getMxmlGenerationIntervalSeconds() * 1000L
+        autoMxmlEnabled = false;
+        autoMurexEnabled = false;
+        if (mxmlSweepTask != null) {
+            mxmlSweepTask.cancel(false);
+            mxmlSweepTask = null;
+        }
+        if (murexSweepTask != null) {
+            murexSweepTask.cancel(false);
+            murexSweepTask = null;
+        }
+    }
+    
+    private void startAutoMxml() {
+        autoMxmlEnabled = true;
+        // New imports arrive as events. The sweep claims whatever is left over: imports consolidated
+        // while auto generation was off, or whose lease expired because a node died mid-way
+        mxmlSweepTask = taskScheduler.scheduleWithFixedDelay(
+                () -> pipelineExecutors.mxml().execute(this::autoGenerateMxml),
+                Math.max(1, demoConfig.getMxmlGenerationIntervalSeconds() * 1000L)
         );
         
-        log.info("Started auto MXML generation with {} second intervals", demoConfig.getMxmlGenerationIntervalSeconds());
+        log.info("Started event-driven MXML generation with a {} second reclaim sweep",
+                demoConfig.getMxmlGenerationIntervalSeconds());
     }
     
     private void autoGenerateMxml() {
@@ -301,17 +799,15 @@ public class LiveTradeService {
         }
     }
     
-    private void startMurexTask() {
-        if (murexTask != null) {
-            murexTask.cancel(false);
-        }
-        
-        murexTask = taskScheduler.scheduleWithFixedDelay(
-                this::autoProcessMurex,
-                demoConfig.getMurexPushIntervalSeconds() * 1000L
+    private void startAutoMurex() {
+        autoMurexEnabled = true;
+        murexSweepTask = taskScheduler.scheduleWithFixedDelay(
+                () -> pipelineExecutors.murex().execute(this::autoProcessMurex),
+                Math.max(1, demoConfig.getMurexPushIntervalSeconds() * 1000L)
         );
         
-        log.info("Started auto Murex push with {} second intervals", demoConfig.getMurexPushIntervalSeconds());
+        log.info("Started event-driven Murex push with a {} second reclaim sweep",
+                demoConfig.getMurexPushIntervalSeconds());
     }
     
     private void autoProcessMurex() {
@@ -324,4 +820,47 @@ public class LiveTradeService {
             log.error("Failed to auto-push to Murex: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Generates MXML for a freshly consolidated import once its transaction has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImportConsolidated(ImportConsolidatedEvent event) {
+        if (!autoMxmlEnabled) {
+            return;
+        }
+        pipelineExecutors.mxml().execute(() -> {
+            try {
+                if (!tradeImportService.claimImport(event.importId(), TradeImport.ImportStatus.CONSOLIDATED)) {
+                    return; // Another node got there first
+                }
+                tradeImportService.generateMXML(event.importId());
+            } catch (Exception e) {
+                log.error("Failed to auto-generate MXML for import {}: {}", event.importId(), e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Pushes an import to Murex once its MXML generation has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMxmlGenerated(MxmlGeneratedEvent event) {
+        if (!autoMurexEnabled) {
+            return;
+        }
+        pipelineExecutors.murex().execute(() -> {
+            try {
+                if (!tradeImportService.claimImport(event.importId(), TradeImport.ImportStatus.MXML_GENERATED)) {
+                    return;
+                }
+                tradeImportService.pushToMurex(event.importId());
+            } catch (Exception e) {
+                log.error("Failed to auto-push import {} to Murex: {}", event.importId(), e.getMessage());
+            }
+        });
+    }
+    
+    private record PendingTrade(LiveTradeDto trade, long walSegmentId, long acceptedAtNanos) {
+    }
+}
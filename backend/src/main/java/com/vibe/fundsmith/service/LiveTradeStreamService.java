@@ -0,0 +1,305 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.LiveTradeStreamConfig;
+import com.vibe.fundsmith.dto.ImportStatusDto;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.LiveTradeStreamDeltaDto;
+import com.vibe.fundsmith.event.ImportStatusChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes live trade and import status changes to UI clients as server-sent events, so that they
+ * no longer poll the pending trades and import endpoints.
+ *
+ * Changes are buffered per client and sent as one coalesced {@code delta} event at most every
+ * {@code coalesce-interval-ms}: accepted trades are appended, trades taken by a flush are reduced
+ * to a count and import changes to the latest status per import. A client whose buffer passes
+ * {@code max-buffered-trades}, because it reads slower than trades arrive, is resynced with a
+ * bounded snapshot of the most recent pending trades instead. Sends run on the {@code stream}
+ * pipeline executor, one at a time per client, so a slow client only delays itself.
+ *
+ * The stream mirrors the pending buffer of the backend node serving it: {@link LiveTradeService}
+ * reports accepted and drained trades under its buffer lock, so each delta's trades and pending
+ * count are consistent with each other.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveTradeStreamService {
+
+    private final LiveTradeStreamConfig config;
+    private final PipelineExecutors pipelineExecutors;
+    private final TaskScheduler taskScheduler;
+
+    // Guards the recent trades, the pending count and every subscriber's buffer
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<LiveTradeDto> recentTrades = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private int pendingCount;
+
+    private ScheduledFuture<?> dispatchTask;
+
+    @PostConstruct
+    void start() {
+        dispatchTask = taskScheduler.scheduleAtFixedRate(this::dispatch,
+                Duration.ofMillis(Math.max(10, config.getCoalesceIntervalMs())));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (dispatchTask != null) {
+            dispatchTask.cancel(false);
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * Registers a client; its first delta is a resync. Returns null when the subscriber limit is
+     * reached.
+     */
+    public SseEmitter subscribe() {
+        // No timeout: heartbeats find connections the client has dropped
+        return subscribe(new SseEmitter(0L));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= config.getMaxSubscribers()) {
+            log.warn("Rejecting live trade stream subscriber: {} already connected", subscribers.size());
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Live trade stream subscriber connected, {} in total", subscribers.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Called by {@link LiveTradeService} with trades entering the pending buffer, in buffer order.
+     */
+    void onAccepted(List<LiveTradeDto> trades) {
+        lock.lock();
+        try {
+            pendingCount += trades.size();
+            int snapshotSize = config.getSnapshotSize();
+            for (int i = Math.max(0, trades.size() - snapshotSize); i < trades.size(); i++) {
+                recentTrades.addLast(trades.get(i));
+            }
+            while (recentTrades.size() > snapshotSize) {
+                recentTrades.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.resync) {
+                    continue; // the snapshot will include them
+                }
+                if (subscriber.acceptedTrades.size() + trades.size() > config.getMaxBufferedTrades()) {
+                    subscriber.markResync();
+                } else {
+                    subscriber.acceptedTrades.addAll(trades);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called by {@link LiveTradeService} when a flush takes the oldest {@code count} trades from
+     * the pending buffer.
+     */
+    void onDrained(int count) {
+        if (count == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            pendingCount -= count;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.flushedCount += count;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Trades from a failed flush are pending again. Clients have already counted them as
+     * flushed, so every subscriber is resynchronised from a fresh snapshot.
+     */
+    void onRequeued(int count) {
+        if (count == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            pendingCount += count;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.markResync();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImportStatusChanged(ImportStatusChangedEvent event) {
+        lock.lock();
+        try {
+            for (Subscriber subscriber : subscribers) {
+                if (event.importId() == null) {
+                    subscriber.importStatuses.clear();
+                }
+                // Re-inserted so that statuses are sent in the order of their latest change
+                subscriber.importStatuses.remove(event.importId());
+                subscriber.importStatuses.put(event.importId(), event.status());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs every coalesce interval: hands each subscriber with changes, or due a heartbeat, to the
+     * stream executor. A subscriber whose previous send is still running, or whose task the
+     * saturated executor dropped, keeps accumulating and is retried on the next tick.
+     */
+    void dispatch() {
+        long heartbeatDueNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(config.getHeartbeatIntervalMs());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sending.get()) {
+                continue;
+            }
+            boolean changed;
+            lock.lock();
+            try {
+                changed = subscriber.hasChanges();
+            } finally {
+                lock.unlock();
+            }
+            if (changed || subscriber.lastSentNanos - heartbeatDueNanos < 0) {
+                pipelineExecutors.stream().execute(() -> send(subscriber));
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LiveTradeStreamDeltaDto delta = takeDelta(subscriber);
+            if (delta != null) {
+                subscriber.emitter.send(SseEmitter.event().name("delta").data(delta, MediaType.APPLICATION_JSON));
+            } else {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            subscriber.lastSentNanos = System.nanoTime();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping live trade stream subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private LiveTradeStreamDeltaDto takeDelta(Subscriber subscriber) {
+        lock.lock();
+        try {
+            if (!subscriber.hasChanges()) {
+                return null;
+            }
+            List<LiveTradeDto> acceptedTrades;
+            if (subscriber.resync) {
+                // The pending buffer's tail: at most the snapshot size and never more than is pending
+                int size = Math.min(recentTrades.size(), Math.max(0, pendingCount));
+                acceptedTrades = new ArrayList<>(size);
+                Iterator<LiveTradeDto> newestFirst = recentTrades.descendingIterator();
+                for (int i = 0; i < size; i++) {
+                    acceptedTrades.add(newestFirst.next());
+                }
+                Collections.reverse(acceptedTrades);
+            } else {
+                acceptedTrades = new ArrayList<>(subscriber.acceptedTrades);
+            }
+            List<ImportStatusDto> importStatuses = new ArrayList<>(subscriber.importStatuses.size());
+            subscriber.importStatuses.forEach((importId, status) -> importStatuses.add(ImportStatusDto.builder()
+                    .importId(importId)
+                    .status(status)
+                    .build()));
+
+            LiveTradeStreamDeltaDto delta = LiveTradeStreamDeltaDto.builder()
+                    .resync(subscriber.resync)
+                    .acceptedTrades(acceptedTrades)
+                    .flushedCount(subscriber.resync ? 0 : subscriber.flushedCount)
+                    .pendingCount(pendingCount)
+                    .importStatuses(importStatuses)
+                    .build();
+            subscriber.clear();
+            return delta;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A connected client and the changes not yet sent to it; guarded by the service lock except
+     * for the send bookkeeping.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayDeque<LiveTradeDto> acceptedTrades = new ArrayDeque<>();
+        // A null key means every import was cleared
+        private final Map<Long, String> importStatuses = new LinkedHashMap<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private long flushedCount;
+        private boolean resync = true;
+        private volatile long lastSentNanos = System.nanoTime();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private boolean hasChanges() {
+            return resync || flushedCount > 0 || !acceptedTrades.isEmpty() || !importStatuses.isEmpty();
+        }
+
+        private void markResync() {
+            resync = true;
+            acceptedTrades.clear();
+            flushedCount = 0;
+        }
+
+        private void clear() {
+            resync = false;
+            acceptedTrades.clear();
+            importStatuses.clear();
+            flushedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.LiveTradeTcpConfig;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.LiveTradeSubmissionResultDto;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Non-blocking TCP listener that ingests live trades in a compact binary form.
+ *
+ * Each inbound frame is [int length][{@link LiveTradeBinaryCodec} payload]. Clients may pipeline
+ * any number of frames; the server answers every frame, in order, with a 9-byte ack
+ * [long sequence][byte status], where sequence counts frames on the connection starting at 1.
+ * All complete frames from one socket read are handed to
+ * {@link LiveTradeService#submitLiveTrades(List)} together, i.e. the same pending-trade path
+ * as the REST endpoints.
+ */
+@Component
+@ConditionalOnProperty(prefix = "live-trades.tcp", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class LiveTradeTcpServer {
+
+    public static final int FRAME_HEADER_BYTES = 4;
+    public static final int ACK_BYTES = 9;
+    public static final byte ACK_ACCEPTED = 0;
+    public static final byte ACK_REJECTED = 1;
+    public static final byte ACK_MALFORMED = 2;
+
+    private static final int INITIAL_OUTBOUND_BYTES = 16 * 1024;
+
+    private final LiveTradeTcpConfig config;
+    private final LiveTradeService liveTradeService;
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread ioThread;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(config.getBindAddress(), config.getPort()));
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        ioThread = new Thread(this::run, "live-trade-tcp");
+        ioThread.setDaemon(true);
+        ioThread.start();
+
+        log.info("Live trade TCP ingestion listening on {}:{}", config.getBindAddress(), getLocalPort());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        ioThread.join(5000);
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    public int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                log.error("Live trade TCP selector failed: {}", e.getMessage());
+                return;
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read(key);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write(key);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Closing live trade TCP connection: {}", e.getMessage());
+                    closeQuietly(key);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection(config.getMaxFrameBytes()));
+            log.debug("Accepted live trade TCP connection from {}", channel.getRemoteAddress());
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        if (channel.read(connection.inbound) < 0) {
+            closeQuietly(key);
+            return;
+        }
+
+        ByteBuffer inbound = connection.inbound.flip();
+        List<LiveTradeDto> decoded = new ArrayList<>();
+        List<Byte> statuses = new ArrayList<>();
+        while (inbound.remaining() >= FRAME_HEADER_BYTES) {
+            int start = inbound.position();
+            int length = inbound.getInt(start);
+            if (length <= 0 || length > config.getMaxFrameBytes()) {
+                throw new IOException("Invalid frame length " + length);
+            }
+            if (inbound.remaining() < FRAME_HEADER_BYTES + length) {
+                break;
+            }
+
+            ByteBuffer payload = inbound.slice(start + FRAME_HEADER_BYTES, length);
+            inbound.position(start + FRAME_HEADER_BYTES + length);
+            try {
+                LiveTradeDto trade = LiveTradeBinaryCodec.decode(payload);
+                if (payload.hasRemaining()) {
+                    throw new IllegalArgumentException("Trailing bytes in frame");
+                }
+                decoded.add(trade);
+                statuses.add(null); // Filled in from the submission result
+            } catch (RuntimeException e) {
+                statuses.add(ACK_MALFORMED);
+            }
+        }
+        inbound.compact();
+
+        if (statuses.isEmpty()) {
+            return;
+        }
+
+        List<LiveTradeSubmissionResultDto> results = decoded.isEmpty()
+                ? List.of() : liveTradeService.submitLiveTrades(decoded);
+
+        ByteBuffer outbound = connection.reserveOutbound(statuses.size() * ACK_BYTES);
+        int resultIndex = 0;
+        for (Byte status : statuses) {
+            if (status == null) {
+                status = results.get(resultIndex++).isAccepted() ? ACK_ACCEPTED : ACK_REJECTED;
+            }
+            outbound.putLong(++connection.sequence);
+            outbound.put(status);
+        }
+        write(key);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        ByteBuffer outbound = connection.outbound.flip();
+        channel.write(outbound);
+        boolean drained = !outbound.hasRemaining();
+        outbound.compact();
+
+        // Stop reading while acks are backed up so a fast producer can't grow the buffer unbounded
+        key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+    }
+
+    private void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.debug("Error closing live trade TCP connection: {}", e.getMessage());
+        }
+    }
+
+    private static final class Connection {
+        private final ByteBuffer inbound;
+        private ByteBuffer outbound = ByteBuffer.allocate(INITIAL_OUTBOUND_BYTES);
+        private long sequence;
+
+        private Connection(int maxFrameBytes) {
+            this.inbound = ByteBuffer.allocate(FRAME_HEADER_BYTES + maxFrameBytes);
+        }
+
+        private ByteBuffer reserveOutbound(int bytes) {
+            if (outbound.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(outbound.capacity() * 2, outbound.position() + bytes));
+                larger.put(outbound.flip());
+                outbound = larger;
+            }
+            return outbound;
+        }
+    }
+}
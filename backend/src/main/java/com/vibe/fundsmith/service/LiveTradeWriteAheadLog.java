@@ -0,0 +1,356 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.LiveTradeWalConfig;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped log of live trades that have been accepted but not yet flushed.
+ *
+ * Appends are plain writes into the mapped segment; a background thread forces dirty segments
+ * to disk every {@code fsyncIntervalMs}, so many submissions share one fsync (group commit).
+ * Each append reports the segment it landed in. Once a flush commits, the caller hands those
+ * segment ids to {@link #markFlushed(Map)}; a sealed segment is deleted as soon as every trade
+ * in it has been flushed, so a flush may drain only part of a segment. Segments still on disk
+ * at startup are read back by {@link #recover()}.
+ *
+ * Record layout: [int length][int crc32][payload], where the payload is {@link LiveTradeBinaryCodec}
+ * output. The length is written last, so a torn record reads as end-of-segment.
+ */
+@Component
+@Slf4j
+public class LiveTradeWriteAheadLog {
+
+    private static final int SEGMENT_MAGIC = 0x4C54574C; // "LTWL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int SEGMENT_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final LiveTradeWalConfig config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32 crc = new CRC32();
+    // Trades per segment that have been appended but not yet flushed
+    private final Map<Long, Integer> unflushedCounts = new HashMap<>();
+    private final Set<Segment> dirtySegments = new LinkedHashSet<>();
+    private final List<RecoveredTrade> recoveredTrades = new ArrayList<>();
+
+    private Path directory;
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private Segment activeSegment;
+    private long nextSegmentId = 1;
+    private ScheduledExecutorService syncExecutor;
+
+    public LiveTradeWriteAheadLog(LiveTradeWalConfig config) {
+        this.config = config;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!config.isEnabled()) {
+            log.info("Live trade write-ahead log disabled");
+            return;
+        }
+
+        directory = Paths.get(config.getDirectory());
+        Files.createDirectories(directory);
+
+        for (Path path : listSegments()) {
+            long segmentId = parseSegmentId(path);
+            nextSegmentId = Math.max(nextSegmentId, segmentId + 1);
+
+            List<LiveTradeDto> trades = readSegment(path);
+            if (trades.isEmpty()) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+            for (LiveTradeDto trade : trades) {
+                recoveredTrades.add(new RecoveredTrade(trade, segmentId));
+            }
+            unflushedCounts.put(segmentId, trades.size());
+        }
+
+        long interval = Math.max(1, config.getFsyncIntervalMs());
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-trade-wal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::syncDirtySegments, interval, interval, TimeUnit.MILLISECONDS);
+
+        log.info("Live trade write-ahead log opened at {} ({} trades recovered from {} segments)",
+                directory.toAbsolutePath(), recoveredTrades.size(), unflushedCounts.size());
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Returns the trades found on disk at startup. Subsequent calls return an empty list.
+     */
+    public List<RecoveredTrade> recover() {
+        lock.lock();
+        try {
+            List<RecoveredTrade> trades = new ArrayList<>(recoveredTrades);
+            recoveredTrades.clear();
+            return trades;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the trade to the active segment and returns that segment's id, or 0 when the log
+     * is disabled.
+     */
+    public long append(LiveTradeDto trade) {
+        if (!config.isEnabled()) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            int length = encodeToScratch(trade);
+            crc.reset();
+            crc.update(scratch.array(), 0, length);
+
+            MappedByteBuffer buffer = segmentWithRoomFor(RECORD_HEADER_BYTES + length).buffer;
+            int start = buffer.position();
+            buffer.putInt(start + 4, (int) crc.getValue());
+            buffer.put(start + RECORD_HEADER_BYTES, scratch.array(), 0, length);
+            buffer.putInt(start, length);
+            buffer.position(start + RECORD_HEADER_BYTES + length);
+
+            if (!activeSegment.dirty) {
+                activeSegment.dirty = true;
+                dirtySegments.add(activeSegment);
+            }
+            unflushedCounts.merge(activeSegment.id, 1, Integer::sum);
+            return activeSegment.id;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the active segment so that it can be deleted once all of its trades are flushed.
+     * Called whenever pending trades are drained for a flush.
+     */
+    public void seal() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (activeSegment != null) {
+                long segmentId = activeSegment.id;
+                activeSegment = null;
+                deleteIfFlushed(segmentId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that the given number of trades from each segment have been durably persisted,
+     * and deletes sealed segments that no longer hold unflushed trades.
+     */
+    public void markFlushed(Map<Long, Integer> flushedPerSegment) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            for (Map.Entry<Long, Integer> entry : flushedPerSegment.entrySet()) {
+                unflushedCounts.computeIfPresent(entry.getKey(), (id, count) -> count - entry.getValue());
+                if (activeSegment == null || activeSegment.id != entry.getKey()) {
+                    deleteIfFlushed(entry.getKey());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deleteIfFlushed(long segmentId) {
+        Integer unflushed = unflushedCounts.get(segmentId);
+        if (unflushed != null && unflushed > 0) {
+            return;
+        }
+        unflushedCounts.remove(segmentId);
+        try {
+            Files.deleteIfExists(directory.resolve(segmentFileName(segmentId)));
+        } catch (IOException e) {
+            log.warn("Failed to delete write-ahead log segment {}: {}", segmentId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (syncExecutor == null) {
+            return;
+        }
+        syncExecutor.shutdown();
+        syncDirtySegments();
+    }
+
+    private int encodeToScratch(LiveTradeDto trade) {
+        while (true) {
+            try {
+                scratch.clear();
+                LiveTradeBinaryCodec.encode(trade, scratch);
+                return scratch.position();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private Segment segmentWithRoomFor(int recordBytes) {
+        if (recordBytes > config.getSegmentSizeBytes() - SEGMENT_HEADER_BYTES) {
+            throw new IllegalArgumentException("Trade record of " + recordBytes + " bytes exceeds segment size");
+        }
+        if (activeSegment != null && activeSegment.buffer.remaining() < recordBytes) {
+            long segmentId = activeSegment.id;
+            activeSegment = null;
+            deleteIfFlushed(segmentId);
+        }
+        if (activeSegment == null) {
+            activeSegment = createSegment(nextSegmentId++);
+        }
+        return activeSegment;
+    }
+
+    private Segment createSegment(long segmentId) {
+        Path path = directory.resolve(segmentFileName(segmentId));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, config.getSegmentSizeBytes());
+            buffer.putInt(SEGMENT_MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            return new Segment(segmentId, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create write-ahead log segment " + path, e);
+        }
+    }
+
+    private void syncDirtySegments() {
+        List<Segment> toSync;
+        lock.lock();
+        try {
+            if (dirtySegments.isEmpty()) {
+                return;
+            }
+            toSync = new ArrayList<>(dirtySegments);
+            dirtySegments.clear();
+            for (Segment segment : toSync) {
+                segment.dirty = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Segment segment : toSync) {
+            try {
+                segment.buffer.force();
+            } catch (Exception e) {
+                log.error("Failed to sync write-ahead log segment {}: {}", segment.id, e.getMessage());
+            }
+        }
+    }
+
+    private List<LiveTradeDto> readSegment(Path path) throws IOException {
+        List<LiveTradeDto> trades = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < SEGMENT_HEADER_BYTES) {
+                return trades;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != SEGMENT_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.warn("Skipping unrecognised write-ahead log segment {}", path);
+                return trades;
+            }
+
+            CRC32 checksum = new CRC32();
+            while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+                int length = buffer.getInt();
+                int expectedCrc = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                checksum.reset();
+                checksum.update(payload.duplicate());
+                if ((int) checksum.getValue() != expectedCrc) {
+                    log.warn("Checksum mismatch in write-ahead log segment {}, ignoring the remainder", path);
+                    break;
+                }
+                trades.add(LiveTradeBinaryCodec.decode(payload));
+                buffer.position(buffer.position() + length);
+            }
+        }
+        return trades;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(LiveTradeWriteAheadLog::parseSegmentId))
+                    .toList();
+        }
+    }
+
+    private static long parseSegmentId(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static String segmentFileName(long segmentId) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX);
+    }
+
+    public record RecoveredTrade(LiveTradeDto trade, long segmentId) {
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final MappedByteBuffer buffer;
+        private boolean dirty;
+
+        private Segment(long id, MappedByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.ClusterConfig;
+import com.vibe.fundsmith.config.DemoConfig;
+import com.vibe.fundsmith.config.LoadGeneratorConfig;
+import com.vibe.fundsmith.config.PipelineExecutorConfig;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Demo trade load generator: several producers on the demo pipeline executor, each emitting
+ * batches of trades into a sink at its share of the target rate.
+ *
+ * Trades are drawn from the {@link DemoConfig} model: an ISIN, a price within
+ * {@code maxPriceJitter} of its base price, and a quantity between the configured bounds in
+ * {@code quantityStep} increments. The (instrument, counterparty, book) key is drawn from a Zipf
+ * distribution with exponent {@code keySkew}, so the number of distinct keys per flush, and
+ * hence the consolidation ratio, can be tuned. Producer {@code n} is seeded from
+ * {@code seed} and {@code n}, so for a given configuration each producer's trade stream is
+ * reproducible; only the interleaving between producers and the timestamps vary between runs.
+ */
+@Component
+@Slf4j
+public class LoadGenerator {
+
+    // Upper bound on the time covered by one batch, so low rates are not bursty
+    private static final long MAX_BATCH_SPAN_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_BACKLOG_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int PRICE_SCALE = 6;
+
+    private final LoadGeneratorConfig config;
+    private final DemoConfig demoConfig;
+    private final PipelineExecutors pipelineExecutors;
+    private final int maxProducers;
+    private final String nodeId;
+
+    private final AtomicLong generatedCount = new AtomicLong();
+    private Run currentRun;
+
+    public LoadGenerator(LoadGeneratorConfig config, DemoConfig demoConfig, PipelineExecutors pipelineExecutors,
+                         PipelineExecutorConfig executorConfig, ClusterConfig clusterConfig) {
+        this.config = config;
+        this.demoConfig = demoConfig;
+        this.pipelineExecutors = pipelineExecutors;
+        this.maxProducers = executorConfig.getDemo().getMaxSize();
+        this.nodeId = clusterConfig.getNodeId();
+    }
+
+    /**
+     * Starts producing trades into {@code sink} at {@code tradesPerSecond} in total, replacing
+     * any run in progress. A rate of zero or less means as fast as the sink accepts them.
+     */
+    public synchronized void start(double tradesPerSecond, Consumer<List<LiveTradeDto>> sink) {
+        stop();
+
+        int producers = Math.max(1, config.getProducerThreads());
+        if (producers > maxProducers) {
+            log.warn("Load generator wants {} producers but the demo executor has {} threads; using {}",
+                    producers, maxProducers, maxProducers);
+            producers = maxProducers;
+        }
+
+        KeySpace keySpace = keySpace();
+        double perProducerRate = tradesPerSecond / producers;
+        int batchSize = batchSize(perProducerRate);
+        long nanosPerBatch = perProducerRate > 0
+                ? (long) (batchSize * TimeUnit.SECONDS.toNanos(1) / perProducerRate)
+                : 0;
+
+        Run run = new Run();
+        for (int i = 0; i < producers; i++) {
+            Producer producer = new Producer(config.getSeed(), i, keySpace, nodeId);
+            pipelineExecutors.demo().execute(() -> produce(run, producer, batchSize, nanosPerBatch, sink));
+        }
+        currentRun = run;
+
+        log.info("Started load generator: {} producers, {} trades per second, batches of {}, {} keys (skew {})",
+                producers, tradesPerSecond > 0 ? tradesPerSecond : "unlimited", batchSize,
+                keySpace.size(), config.getKeySkew());
+    }
+
+    public synchronized void stop() {
+        if (currentRun == null) {
+            return;
+        }
+        currentRun.active = false;
+        currentRun.threads.forEach(LockSupport::unpark);
+        currentRun = null;
+    }
+
+    public synchronized boolean isRunning() {
+        return currentRun != null;
+    }
+
+    public long getGeneratedCount() {
+        return generatedCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stop();
+    }
+
+    /**
+     * Builds the trade stream of one producer, independent of any run. Exposed for tests and
+     * tooling that need the exact sequence a seed produces.
+     */
+    Producer producer(int index) {
+        return new Producer(config.getSeed(), index, keySpace(), nodeId);
+    }
+
+    private void produce(Run run, Producer producer, int batchSize, long nanosPerBatch,
+                         Consumer<List<LiveTradeDto>> sink) {
+        run.threads.add(Thread.currentThread());
+        long nextBatchAt = System.nanoTime();
+        try {
+            while (run.active) {
+                sink.accept(producer.nextBatch(batchSize, LocalDateTime.now(ZoneOffset.UTC)));
+                generatedCount.addAndGet(batchSize);
+
+                if (nanosPerBatch == 0) {
+                    continue;
+                }
+                nextBatchAt += nanosPerBatch;
+                long waitNanos = nextBatchAt - System.nanoTime();
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                } else if (-waitNanos > MAX_BACKLOG_NANOS) {
+                    // The sink can't keep up; don't try to make up for lost time in one burst
+                    nextBatchAt = System.nanoTime();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Load generator producer {} stopped: {}", producer.index, e.getMessage());
+        } finally {
+            run.threads.remove(Thread.currentThread());
+        }
+    }
+
+    private int batchSize(double perProducerRate) {
+        int configured = Math.max(1, config.getBatchSize());
+        if (perProducerRate <= 0) {
+            return configured;
+        }
+        long perSpan = (long) (perProducerRate * MAX_BATCH_SPAN_NANOS / TimeUnit.SECONDS.toNanos(1));
+        return (int) Math.max(1, Math.min(configured, perSpan));
+    }
+
+    private KeySpace keySpace() {
+        List<String> isins = demoConfig.getIsins();
+        if (isins == null || isins.isEmpty()) {
+            throw new RuntimeException("Load generator needs at least one ISIN in demo.isins");
+        }
+        double[] basePrices = new double[isins.size()];
+        for (int i = 0; i < isins.size(); i++) {
+            BigDecimal basePrice = demoConfig.getBasePrices() != null
+                    ? demoConfig.getBasePrices().get(isins.get(i)) : null;
+            if (basePrice == null) {
+                throw new RuntimeException("No base price configured for ISIN " + isins.get(i));
+            }
+            basePrices[i] = basePrice.doubleValue();
+        }
+
+        long quantitySteps = Math.max(0, (demoConfig.getMaxQuantity() - demoConfig.getMinQuantity())
+                / Math.max(1, demoConfig.getQuantityStep()));
+        return new KeySpace(isins.toArray(String[]::new), basePrices,
+                config.getCounterparties().toArray(String[]::new), config.getBooks().toArray(String[]::new),
+                config.getKeySkew(), demoConfig.getMaxPriceJitter(),
+                demoConfig.getMinQuantity(), Math.max(1, demoConfig.getQuantityStep()), (int) quantitySteps + 1);
+    }
+
+    private static final class Run {
+        private volatile boolean active = true;
+        private final ConcurrentLinkedQueue<Thread> threads = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Immutable, shared description of what can be generated. Keys are ranked
+     * instrument-major, so with a positive skew the first ISIN is the hottest.
+     */
+    static final class KeySpace {
+        private final String[] isins;
+        private final double[] basePrices;
+        private final String[] counterparties;
+        private final String[] books;
+        private final double[] cumulativeWeights;
+        private final double maxPriceJitter;
+        private final long minQuantity;
+        private final long quantityStep;
+        private final int quantityChoices;
+
+        KeySpace(String[] isins, double[] basePrices, String[] counterparties, String[] books, double skew,
+                 double maxPriceJitter, long minQuantity, long quantityStep, int quantityChoices) {
+            this.isins = isins;
+            this.basePrices = basePrices;
+            this.counterparties = counterparties;
+            this.books = books;
+            this.maxPriceJitter = maxPriceJitter;
+            this.minQuantity = minQuantity;
+            this.quantityStep = quantityStep;
+            this.quantityChoices = quantityChoices;
+
+            int keys = isins.length * counterparties.length * books.length;
+            cumulativeWeights = new double[keys];
+            double total = 0;
+            for (int rank = 0; rank < keys; rank++) {
+                total += 1.0 / Math.pow(rank + 1, skew);
+                cumulativeWeights[rank] = total;
+            }
+            for (int rank = 0; rank < keys; rank++) {
+                cumulativeWeights[rank] /= total;
+            }
+        }
+
+        int size() {
+            return cumulativeWeights.length;
+        }
+
+        int sampleKey(double uniform) {
+            int index = Arrays.binarySearch(cumulativeWeights, uniform);
+            int key = index >= 0 ? index : -index - 1;
+            return Math.min(key, cumulativeWeights.length - 1);
+        }
+    }
+
+    /**
+     * One producer's deterministic trade stream.
+     */
+    static final class Producer {
+        private final int index;
+        private final KeySpace keySpace;
+        private final SplittableRandom random;
+        private final String tradeIdPrefix;
+        private long sequence;
+
+        Producer(long seed, int index, KeySpace keySpace, String nodeId) {
+            this.index = index;
+            this.keySpace = keySpace;
+            // Spread producer seeds with the golden-ratio increment SplittableRandom itself uses
+            this.random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+            this.tradeIdPrefix = "DEMO-" + nodeId + "-" + index + "-";
+        }
+
+        List<LiveTradeDto> nextBatch(int size, LocalDateTime timestamp) {
+            List<LiveTradeDto> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                batch.add(next(timestamp));
+            }
+            return batch;
+        }
+
+        LiveTradeDto next(LocalDateTime timestamp) {
+            int key = keySpace.sampleKey(random.nextDouble());
+            int perInstrument = keySpace.counterparties.length * keySpace.books.length;
+            int instrument = key / perInstrument;
+            int counterparty = (key % perInstrument) / keySpace.books.length;
+            int book = key % keySpace.books.length;
+
+            double jitter = keySpace.maxPriceJitter * (2 * random.nextDouble() - 1);
+            long priceMicros = Math.round(keySpace.basePrices[instrument] * (1 + jitter) * 1_000_000);
+            long quantity = keySpace.minQuantity + keySpace.quantityStep * random.nextInt(keySpace.quantityChoices);
+
+            return LiveTradeDto.builder()
+                    .tradeId(tradeIdPrefix + sequence++)
+                    .currencyPair(keySpace.isins[instrument])
+                    .side(random.nextBoolean() ? "BUY" : "SELL")
+                    .counterparty(keySpace.counterparties[counterparty])
+                    .book(keySpace.books[book])
+                    .quantity(quantity)
+                    .price(BigDecimal.valueOf(priceMicros, PRICE_SCALE))
+                    .timestamp(timestamp)
+                    .build();
+        }
+    }
+}
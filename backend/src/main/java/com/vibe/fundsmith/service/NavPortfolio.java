@@ -0,0 +1,116 @@
+package com.vibe.fundsmith.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The market value of each position in one portfolio and their running total. The first
+ * valuation visits every position; after that only the positions reported changed, and those in
+ * instruments whose price moved, since the previous valuation are revalued, and the total is
+ * adjusted by the difference.
+ */
+final class NavPortfolio {
+
+    private final String book; // null: every book
+    private final Set<PositionState.Key> changed = ConcurrentHashMap.newKeySet();
+    private final Set<String> repriced = ConcurrentHashMap.newKeySet();
+
+    // Guards the components, their index by instrument, the total and the built flag
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<PositionState.Key, BigDecimal> marketValues = new HashMap<>();
+    private final Map<String, Set<PositionState.Key>> keysByInstrument = new HashMap<>();
+    private BigDecimal grossValue = BigDecimal.ZERO;
+    private boolean built;
+
+    NavPortfolio(String book) {
+        this.book = book;
+    }
+
+    /**
+     * Notes positions that changed; cheap, as it is called while positions are being updated.
+     */
+    void onChanged(Collection<PositionState.Key> keys) {
+        for (PositionState.Key key : keys) {
+            if (book == null || book.equals(key.book())) {
+                changed.add(key);
+            }
+        }
+    }
+
+    /**
+     * Notes that an instrument's price moved; cheap, as it is called on the price update thread.
+     */
+    void onPriceChanged(String instrument) {
+        repriced.add(instrument);
+    }
+
+    /**
+     * Values the portfolio. {@code positions} visits every position in a book (or all books for
+     * null), {@code lookup} finds one, and {@code marketValue} values one.
+     */
+    Valuation value(BiConsumer<String, BiConsumer<PositionState.Key, PositionState>> positions,
+                    Function<PositionState.Key, PositionState> lookup,
+                    BiFunction<PositionState.Key, PositionState, BigDecimal> marketValue) {
+        lock.lock();
+        try {
+            int revalued = 0;
+            if (!built) {
+                // Changes reported during the scan are revalued next time; revaluing is idempotent
+                changed.clear();
+                repriced.clear();
+                positions.accept(book, (key, state) -> revalue(key, state, marketValue));
+                revalued = marketValues.size();
+                built = true;
+            } else {
+                Set<PositionState.Key> keys = new HashSet<>();
+                for (String instrument : repriced) {
+                    repriced.remove(instrument);
+                    keys.addAll(keysByInstrument.getOrDefault(instrument, Set.of()));
+                }
+                for (PositionState.Key key : changed) {
+                    changed.remove(key);
+                    keys.add(key);
+                }
+                for (PositionState.Key key : keys) {
+                    revalue(key, lookup.apply(key), marketValue);
+                }
+                revalued = keys.size();
+            }
+            return new Valuation(grossValue, marketValues.size(), revalued);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void revalue(PositionState.Key key, PositionState state,
+                         BiFunction<PositionState.Key, PositionState, BigDecimal> marketValue) {
+        BigDecimal previous;
+        if (state != null) {
+            BigDecimal value = marketValue.apply(key, state);
+            previous = marketValues.put(key, value);
+            grossValue = grossValue.add(value);
+            keysByInstrument.computeIfAbsent(key.currencyPair(), instrument -> new HashSet<>()).add(key);
+        } else {
+            previous = marketValues.remove(key);
+            Set<PositionState.Key> keys = keysByInstrument.get(key.currencyPair());
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByInstrument.remove(key.currencyPair());
+            }
+        }
+        if (previous != null) {
+            grossValue = grossValue.subtract(previous);
+        }
+    }
+
+    record Valuation(BigDecimal grossValue, int components, int revalued) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.NavConfig;
+import com.vibe.fundsmith.dto.NavCalculationRequest;
+import com.vibe.fundsmith.dto.NavSnapshotDto;
+import com.vibe.fundsmith.model.NavSnapshot;
+import com.vibe.fundsmith.repository.NavSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Net asset value per portfolio (a trade book, or {@link #ALL_BOOKS} for the whole fund), valued
+ * from the in-memory positions. Each portfolio keeps its components between calculations, so an
+ * intraday recalculation revalues only the positions that changed since the previous one.
+ *
+ * Positions are marked at the instrument's latest price in the {@link PriceCache}, or at their
+ * own cost when it has none; a price move revalues the positions in that instrument on the next
+ * calculation. The fee accrual is one day of the annual fee rate on the gross value.
+ *
+ * Only the current positions and prices are held, so a NAV can be calculated for today only; past
+ * dates are served from the snapshot history. A portfolio must be a book with positions or NAV
+ * history, which bounds the portfolios kept by the books that exist.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NavService {
+
+    public static final String ALL_BOOKS = "ALL";
+
+    private static final int MONEY_SCALE = 2;
+    private static final int PER_SHARE_SCALE = 6;
+    private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
+    private final NavConfig config;
+    private final PriceCache priceCache;
+    private final PositionService positionService;
+    private final NavSnapshotRepository navSnapshotRepository;
+
+    private final Map<String, NavPortfolio> portfolios = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        positionService.addChangeListener(keys -> portfolios.values().forEach(portfolio -> portfolio.onChanged(keys)));
+        priceCache.subscribe(id -> {
+            String instrument = priceCache.instrument(id);
+            portfolios.values().forEach(portfolio -> portfolio.onPriceChanged(instrument));
+        });
+    }
+
+    /**
+     * Values the portfolio now and persists the result as a snapshot for today.
+     *
+     * @throws IllegalArgumentException if {@code asOfDate} is not today or the portfolio is unknown
+     */
+    @Transactional
+    public NavSnapshotDto calculate(NavCalculationRequest request) {
+        String portfolioId = portfolioId(request.getPortfolioId());
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDate calculationDate = request.getAsOfDate() != null ? request.getAsOfDate() : now.toLocalDate();
+        if (calculationDate.isAfter(now.toLocalDate())) {
+            throw new IllegalArgumentException("asOfDate is in the future: " + calculationDate);
+        }
+        if (calculationDate.isBefore(now.toLocalDate())) {
+            throw new IllegalArgumentException("asOfDate is in the past, see the NAV history: " + calculationDate);
+        }
+        if (!isKnown(portfolioId)) {
+            throw new IllegalArgumentException("Unknown portfolio: " + portfolioId);
+        }
+
+        long startNanos = System.nanoTime();
+        NavPortfolio portfolio = portfolios.computeIfAbsent(portfolioId,
+                id -> new NavPortfolio(ALL_BOOKS.equals(id) ? null : id));
+        NavPortfolio.Valuation valuation = portfolio.value(positionService::forEachPosition,
+                positionService::getPosition, this::marketValue);
+        long valuationNanos = System.nanoTime() - startNanos;
+
+        BigDecimal grossValue = valuation.grossValue().setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+        BigDecimal feeAccrual = grossValue.signum() > 0
+                ? grossValue.multiply(config.getFeeRate()).divide(DAYS_PER_YEAR, MONEY_SCALE, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO.setScale(MONEY_SCALE);
+        BigDecimal netValue = grossValue.subtract(feeAccrual);
+        long sharesOutstanding = config.getDefault().getSharesOutstanding();
+
+        NavSnapshot snapshot = navSnapshotRepository.save(NavSnapshot.builder()
+                .portfolioId(portfolioId)
+                .calculationDate(calculationDate)
+                .grossValue(grossValue)
+                .feeAccrual(feeAccrual)
+                .netValue(netValue)
+                .navPerShare(netValue.divide(BigDecimal.valueOf(sharesOutstanding), PER_SHARE_SCALE, RoundingMode.HALF_UP))
+                .sharesOutstanding(sharesOutstanding)
+                .currency(config.getDefault().getCurrency())
+                .componentsCount(valuation.components())
+                .calculatedAt(now)
+                .build());
+
+        log.info("Calculated NAV {} for portfolio {} on {}: revalued {} of {} positions in {} us",
+                netValue, portfolioId, calculationDate, valuation.revalued(), valuation.components(),
+                valuationNanos / 1000);
+        return toDto(snapshot);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<NavSnapshotDto> getLatest(String portfolioId) {
+        return navSnapshotRepository.findFirstByPortfolioIdOrderByCalculationDateDescIdDesc(portfolioId(portfolioId))
+                .map(this::toDto);
+    }
+
+    /**
+     * Snapshots between two dates (inclusive, either optional), newest first. The next page
+     * starts after {@code beforeId}, the last snapshot of the previous one.
+     */
+    @Transactional(readOnly = true)
+    public List<NavSnapshotDto> getHistory(String portfolioId, LocalDate startDate, LocalDate endDate,
+                                           Long beforeId, int limit) {
+        String id = portfolioId(portfolioId);
+        LocalDate start = startDate != null ? startDate : EARLIEST_DATE;
+        LocalDate end = endDate != null ? endDate : LATEST_DATE;
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, config.getMaxHistoryLimit())));
+
+        List<NavSnapshot> snapshots;
+        if (beforeId == null) {
+            snapshots = navSnapshotRepository.findHistory(id, start, end, page);
+        } else {
+            NavSnapshot before = navSnapshotRepository.findById(beforeId)
+                    .orElseThrow(() -> new RuntimeException("NAV snapshot not found: " + beforeId));
+            snapshots = navSnapshotRepository.findHistoryBefore(id, start, end, before.getCalculationDate(),
+                    before.getId(), page);
+        }
+        return snapshots.stream().map(this::toDto).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<NavSnapshotDto> getById(Long id) {
+        return navSnapshotRepository.findById(id).map(this::toDto);
+    }
+
+    private boolean isKnown(String portfolioId) {
+        return ALL_BOOKS.equals(portfolioId)
+                || portfolios.containsKey(portfolioId)
+                || positionService.hasBook(portfolioId)
+                || navSnapshotRepository.existsByPortfolioId(portfolioId);
+    }
+
+    private BigDecimal marketValue(PositionState.Key key, PositionState state) {
+        long priceMicros = priceCache.priceMicros(priceCache.idOf(key.currencyPair()));
+        if (priceMicros == PriceCache.NO_PRICE) {
+            // No mark: valued at cost
+            return state.netCost();
+        }
+        return BigDecimal.valueOf(priceMicros, PriceCache.PRICE_SCALE).multiply(BigDecimal.valueOf(state.quantity()));
+    }
+
+    private static String portfolioId(String portfolioId) {
+        return portfolioId == null || portfolioId.isBlank() ? ALL_BOOKS : portfolioId;
+    }
+
+    private NavSnapshotDto toDto(NavSnapshot snapshot) {
+        return NavSnapshotDto.builder()
+                .id(snapshot.getId())
+                .portfolioId(snapshot.getPortfolioId())
+                .grossValue(snapshot.getGrossValue())
+                .feeAccrual(snapshot.getFeeAccrual())
+                .netValue(snapshot.getNetValue())
+                .navValue(snapshot.getNetValue())
+                .navPerShare(snapshot.getNavPerShare())
+                .sharesOutstanding(snapshot.getSharesOutstanding())
+                .currency(snapshot.getCurrency())
+                .componentsCount(snapshot.getComponentsCount())
+                .calculationDate(snapshot.getCalculationDate())
+                .asOfDate(snapshot.getCalculationDate())
+                .calculatedAt(snapshot.getCalculatedAt())
+                .createdAt(snapshot.getCreatedAt())
+                .build();
+    }
+}
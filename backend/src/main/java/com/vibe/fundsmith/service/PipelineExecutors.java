@@ -0,0 +1,131 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.PipelineExecutorConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One bounded executor per live pipeline stage (demo generation, flush, MXML generation, Murex push,
+ * live stream writes).
+ *
+ * Each executor is instrumented with Micrometer's {@link ExecutorServiceMetrics}, tagged
+ * {@code name=pipeline.<stage>}: {@code executor.active}, {@code executor.queued},
+ * {@code executor.pool.size}, {@code executor.queue.remaining}, {@code executor.completed},
+ * plus the {@code executor.idle} (time queued) and {@code executor} (run time) timers.
+ * Rejections are counted in {@code pipeline.executor.rejected}.
+ */
+@Component
+@Slf4j
+public class PipelineExecutors {
+
+    private final MeterRegistry registry;
+    private final boolean virtualThreads;
+    private final List<ExecutorService> executors = new ArrayList<>();
+
+    private final ExecutorService demo;
+    private final ExecutorService flush;
+    private final ExecutorService mxml;
+    private final ExecutorService murex;
+    private final ExecutorService stream;
+
+    public PipelineExecutors(PipelineExecutorConfig config, MeterRegistry registry, Environment environment) {
+        this.registry = registry;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+        this.demo = create("demo", config.getDemo());
+        this.flush = create("flush", config.getFlush());
+        this.mxml = create("mxml", config.getMxml());
+        this.murex = create("murex", config.getMurex());
+        this.stream = create("stream", config.getStream());
+    }
+
+    public Executor demo() {
+        return demo;
+    }
+
+    public Executor flush() {
+        return flush;
+    }
+
+    public Executor mxml() {
+        return mxml;
+    }
+
+    public Executor murex() {
+        return murex;
+    }
+
+    public Executor stream() {
+        return stream;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService executor : executors) {
+            executor.shutdown();
+        }
+        for (ExecutorService executor : executors) {
+            try {
+                if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private ExecutorService create(String stage, PipelineExecutorConfig.Stage settings) {
+        int coreSize = Math.max(1, settings.getCoreSize());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                coreSize,
+                Math.max(coreSize, settings.getMaxSize()),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())),
+                threadFactory(stage),
+                rejectionHandler(stage, settings.getRejectionPolicy()));
+
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(registry, executor, "pipeline." + stage);
+        executors.add(monitored);
+        log.info("Pipeline stage '{}' executor: {}-{} threads, queue {}, on rejection {}",
+                stage, executor.getCorePoolSize(), executor.getMaximumPoolSize(),
+                settings.getQueueCapacity(), settings.getRejectionPolicy());
+        return monitored;
+    }
+
+    private ThreadFactory threadFactory(String stage) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name("pipeline-" + stage + "-", 1).factory();
+        }
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pipeline-" + stage + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private RejectedExecutionHandler rejectionHandler(String stage, PipelineExecutorConfig.RejectionPolicy policy) {
+        RejectedExecutionHandler delegate = switch (policy) {
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+        };
+        return (runnable, executor) -> {
+            registry.counter("pipeline.executor.rejected", "stage", stage, "policy", policy.name()).increment();
+            log.debug("Pipeline stage '{}' saturated, applying {}", stage, policy);
+            delegate.rejectedExecution(runnable, executor);
+        };
+    }
+}
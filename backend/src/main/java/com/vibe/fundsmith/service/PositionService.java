@@ -0,0 +1,281 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.PositionConfig;
+import com.vibe.fundsmith.dto.PositionDto;
+import com.vibe.fundsmith.event.ImportStatusChangedEvent;
+import com.vibe.fundsmith.event.TradesBookedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Real-time positions per book and instrument, kept in memory so that a read costs the number of
+ * positions returned rather than the number of trades behind them. Each read marks the positions
+ * at the latest prices in the {@link PriceCache}.
+ *
+ * Trades are added as their import or live flush commits. Every snapshot interval the node folds
+ * newly committed imports into the positions table (see {@link PositionSnapshotService}) and
+ * reloads from it plus the unfolded tail, which picks up other nodes' trades and deletions; the
+ * same reload rebuilds the positions on startup. A reload reads without blocking bookings: those
+ * that commit meanwhile are applied to the current positions and again to the reloaded ones,
+ * unless the reload already counted their import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PositionService {
+
+    // Recently folded imports a reload reports as counted; far longer than a commit takes to reach its listener
+    private static final Duration MIN_COUNTED_WINDOW = Duration.ofMinutes(1);
+
+    private final PositionConfig config;
+    private final PositionSnapshotService snapshotService;
+    private final PriceCache priceCache;
+    private final TaskScheduler taskScheduler;
+
+    // Serializes in-memory updates and the swap at the end of a reload; reads go to the current maps without it
+    private final ReentrantLock updateLock = new ReentrantLock();
+    // Serializes reloads, which read the database without the update lock
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Map<String, Map<String, PositionState>> books = new ConcurrentHashMap<>();
+    private Set<Long> countedImportIds = new HashSet<>();
+    // Bookings applied while a reload reads, to be applied again to its result; null when none is reading
+    private List<TradesBookedEvent> bookedDuringReload;
+    private final List<Consumer<Collection<PositionState.Key>>> changeListeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledFuture<?> snapshotTask;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to load positions, retrying on the next snapshot: {}", e.getMessage(), e);
+        }
+        snapshotTask = taskScheduler.scheduleAtFixedRate(this::snapshot,
+                Duration.ofMillis(Math.max(100, config.getSnapshotIntervalMs())));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (snapshotTask != null) {
+            snapshotTask.cancel(false);
+        }
+    }
+
+    /**
+     * Positions in {@code book}, or in every book when it is null or blank, by book and instrument.
+     */
+    public List<PositionDto> getPositions(String book) {
+        Map<String, Map<String, PositionState>> current = books;
+        List<PositionDto> positions = new ArrayList<>();
+        if (book == null || book.isBlank()) {
+            current.forEach((name, instruments) -> addPositions(name, instruments, positions));
+        } else {
+            addPositions(book, current.getOrDefault(book, Map.of()), positions);
+        }
+        positions.sort(Comparator.comparing(PositionDto::getPortfolioId).thenComparing(PositionDto::getCurrencyPair));
+        return positions;
+    }
+
+    boolean hasBook(String book) {
+        return books.containsKey(book);
+    }
+
+    PositionState getPosition(PositionState.Key key) {
+        Map<String, PositionState> instruments = books.get(key.book());
+        return instruments != null ? instruments.get(key.currencyPair()) : null;
+    }
+
+    /**
+     * Visits the positions in {@code book}, or in every book when it is null.
+     */
+    void forEachPosition(String book, BiConsumer<PositionState.Key, PositionState> visitor) {
+        books.forEach((name, instruments) -> {
+            if (book == null || book.equals(name)) {
+                instruments.forEach((currencyPair, state) -> visitor.accept(new PositionState.Key(name, currencyPair), state));
+            }
+        });
+    }
+
+    /**
+     * Registers {@code listener} for the keys of positions that change. It is called with the
+     * update lock held, so it should only note them.
+     */
+    void addChangeListener(Consumer<Collection<PositionState.Key>> listener) {
+        changeListeners.add(listener);
+    }
+
+    private void addPositions(String book, Map<String, PositionState> instruments, List<PositionDto> positions) {
+        instruments.forEach((currencyPair, state) -> {
+            BigDecimal markPrice = priceCache.price(currencyPair);
+            BigDecimal marketValue = markPrice != null ? markPrice.multiply(BigDecimal.valueOf(state.quantity())) : null;
+            positions.add(PositionDto.builder()
+                    .portfolioId(book)
+                    .currencyPair(currencyPair)
+                    .quantity(state.quantity())
+                    .netCost(state.netCost())
+                    .averagePrice(state.averagePrice())
+                    .markPrice(markPrice)
+                    .marketValue(marketValue)
+                    .unrealizedPnl(marketValue != null ? marketValue.subtract(state.netCost()) : null)
+                    .tradeCount(state.tradeCount())
+                    .lastUpdated(state.lastTradeAt())
+                    .build());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradesBooked(TradesBookedEvent event) {
+        Map<PositionState.Key, PositionState> changes = PositionState.ofTrades(event.trades());
+        updateLock.lock();
+        try {
+            if (!countedImportIds.add(event.importId())) {
+                return; // a reload read this import from the database
+            }
+            apply(books, changes);
+            if (bookedDuringReload != null) {
+                bookedDuringReload.add(event);
+            }
+            notifyChanged(changes.keySet());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Deleted imports were taken out of the positions table in their own transaction, so the
+     * positions are reloaded from it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImportStatusChanged(ImportStatusChangedEvent event) {
+        if (ImportStatusChangedEvent.DELETED.equals(event.status())) {
+            reload();
+        }
+    }
+
+    /**
+     * Runs every snapshot interval: folds newly committed imports into the positions table until
+     * none are left, then reloads.
+     */
+    void snapshot() {
+        try {
+            int folded;
+            do {
+                folded = snapshotService.fold(config.getFoldBatchSize());
+            } while (folded == config.getFoldBatchSize());
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to snapshot positions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces the in-memory positions with the database's. Reads without the update lock, so
+     * bookings keep being applied meanwhile; they are recorded and, unless the reload counted
+     * their import, applied again to the loaded positions before these replace the current ones.
+     */
+    void reload() {
+        Duration window = Duration.ofMillis(config.getSnapshotIntervalMs() * 10);
+        if (window.compareTo(MIN_COUNTED_WINDOW) < 0) {
+            window = MIN_COUNTED_WINDOW;
+        }
+        reloadLock.lock();
+        try {
+            updateLock.lock();
+            try {
+                bookedDuringReload = new ArrayList<>();
+            } finally {
+                updateLock.unlock();
+            }
+
+            Map<String, Map<String, PositionState>> loaded = new ConcurrentHashMap<>();
+            PositionSnapshotService.Snapshot snapshot;
+            try {
+                snapshot = snapshotService.load(LocalDateTime.now(ZoneOffset.UTC).minus(window));
+                snapshot.positions().forEach((key, state) -> loaded
+                        .computeIfAbsent(key.book(), name -> new ConcurrentHashMap<>())
+                        .put(key.currencyPair(), state));
+            } catch (RuntimeException e) {
+                updateLock.lock();
+                try {
+                    bookedDuringReload = null;
+                } finally {
+                    updateLock.unlock();
+                }
+                throw e;
+            }
+
+            updateLock.lock();
+            try {
+                Set<Long> counted = snapshot.countedImportIds();
+                for (TradesBookedEvent event : bookedDuringReload) {
+                    if (counted.add(event.importId())) {
+                        apply(loaded, PositionState.ofTrades(event.trades()));
+                    }
+                }
+                bookedDuringReload = null;
+
+                Set<PositionState.Key> changed = new HashSet<>();
+                forEachPosition(null, (key, state) -> {
+                    Map<String, PositionState> instruments = loaded.get(key.book());
+                    if (instruments == null || !instruments.containsKey(key.currencyPair())) {
+                        changed.add(key);
+                    }
+                });
+                loaded.forEach((book, instruments) -> instruments.forEach((currencyPair, state) -> {
+                    PositionState.Key key = new PositionState.Key(book, currencyPair);
+                    if (!state.equals(getPosition(key))) {
+                        changed.add(key);
+                    }
+                }));
+                books = loaded;
+                countedImportIds = counted;
+                notifyChanged(changed);
+            } finally {
+                updateLock.unlock();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static void apply(Map<String, Map<String, PositionState>> books,
+                              Map<PositionState.Key, PositionState> changes) {
+        changes.forEach((key, change) -> books
+                .computeIfAbsent(key.book(), name -> new ConcurrentHashMap<>())
+                .merge(key.currencyPair(), change, PositionState::plus));
+    }
+
+    private void notifyChanged(Collection<PositionState.Key> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        for (Consumer<Collection<PositionState.Key>> listener : changeListeners) {
+            listener.accept(keys);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.event.ImportDeletingEvent;
+import com.vibe.fundsmith.model.Position;
+import com.vibe.fundsmith.repository.PositionRepository;
+import com.vibe.fundsmith.repository.TradeImportRepository;
+import com.vibe.fundsmith.repository.TradeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The database side of {@link PositionService}. The positions table holds the sum of every
+ * import marked folded; imports are folded a batch at a time, in the transaction that marks them,
+ * so that each is counted exactly once however many nodes fold concurrently. Deleting a folded
+ * import takes its trades back out in the deleting transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PositionSnapshotService {
+
+    private final PositionRepository positionRepository;
+    private final TradeImportRepository tradeImportRepository;
+    private final TradeRepository tradeRepository;
+
+    /**
+     * Adds up to {@code batchSize} unfolded imports to the positions table, skipping those another
+     * node is folding or deleting, and returns how many were folded.
+     */
+    @Transactional
+    public int fold(int batchSize) {
+        List<Long> importIds = tradeImportRepository.findUnfoldedIdsForUpdate(batchSize);
+        if (importIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        applyToTable(PositionState.ofTotals(tradeRepository.sumOriginalTrades(importIds)), now);
+        tradeImportRepository.markPositionsFolded(importIds, now);
+        log.debug("Folded {} imports into positions", importIds.size());
+        return importIds.size();
+    }
+
+    /**
+     * Reads the positions table and the unfolded tail as of one point in time. {@code foldedSince}
+     * bounds the recently folded imports reported as already counted, for trades whose booking
+     * is applied in memory after the snapshot was read. Runs in its own transaction, as it is also
+     * called after another one commits.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Snapshot load(LocalDateTime foldedSince) {
+        Map<PositionState.Key, PositionState> positions = new HashMap<>();
+        for (Position position : positionRepository.findAll()) {
+            positions.put(new PositionState.Key(position.getBook(), position.getCurrencyPair()),
+                    new PositionState(position.getNetQuantity(), position.getNetCost(), position.getTradeCount(),
+                            position.getLastTradeAt()));
+        }
+        PositionState.ofTotals(tradeRepository.sumUnfoldedOriginalTrades())
+                .forEach((key, change) -> positions.merge(key, change, PositionState::plus));
+        positions.values().removeIf(PositionState::isEmpty);
+        Set<Long> countedImportIds = new HashSet<>(tradeImportRepository.findIdsUnfoldedOrFoldedSince(foldedSince));
+        return new Snapshot(positions, countedImportIds);
+    }
+
+    /**
+     * Takes a folded import's trades out of the positions table before they are deleted, or
+     * empties the table when every import is cleared. Locks the import rows first, so that a fold
+     * in progress either completes before this reads them or skips them.
+     */
+    @EventListener
+    public void onImportDeleting(ImportDeletingEvent event) {
+        if (event.importId() == null) {
+            tradeImportRepository.lockAllIds();
+            positionRepository.deleteAllInBatch();
+            return;
+        }
+        List<Boolean> folded = tradeImportRepository.lockPositionsFolded(event.importId());
+        if (folded.isEmpty() || !Boolean.TRUE.equals(folded.get(0))) {
+            return;
+        }
+        Map<PositionState.Key, PositionState> removed = new HashMap<>();
+        PositionState.ofTotals(tradeRepository.sumOriginalTrades(List.of(event.importId())))
+                .forEach((key, change) -> removed.put(key, change.negate()));
+        applyToTable(removed, LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    private void applyToTable(Map<PositionState.Key, PositionState> changes, LocalDateTime now) {
+        for (Map.Entry<PositionState.Key, PositionState> entry : changes.entrySet()) {
+            PositionState.Key key = entry.getKey();
+            Position position = positionRepository.findByBookAndCurrencyPair(key.book(), key.currencyPair())
+                    .orElse(null);
+            PositionState current = position != null
+                    ? new PositionState(position.getNetQuantity(), position.getNetCost(), position.getTradeCount(),
+                            position.getLastTradeAt())
+                    : PositionState.EMPTY;
+            PositionState updated = current.plus(entry.getValue());
+            if (updated.isEmpty()) {
+                if (position != null) {
+                    positionRepository.delete(position);
+                }
+                continue;
+            }
+            if (position == null) {
+                position = Position.builder().book(key.book()).currencyPair(key.currencyPair()).build();
+            }
+            position.setNetQuantity(updated.quantity());
+            position.setNetCost(updated.netCost());
+            position.setTradeCount(updated.tradeCount());
+            position.setLastTradeAt(updated.lastTradeAt());
+            position.setUpdatedAt(now);
+            positionRepository.save(position);
+        }
+    }
+
+    /**
+     * Positions as of one point in time, and the imports whose trades they already include
+     * beyond the older folded ones.
+     */
+    record Snapshot(Map<PositionState.Key, PositionState> positions, Set<Long> countedImportIds) {
+    }
+}
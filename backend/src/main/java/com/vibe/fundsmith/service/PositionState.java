@@ -0,0 +1,90 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.model.Trade;
+import com.vibe.fundsmith.repository.TradeRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable net holding, or a change to one: signed quantity and cost, the number of trades
+ * behind it and the latest of their times. Holdings and changes add up the same way whether they
+ * come from trades in memory or from totals summed by the database.
+ */
+record PositionState(long quantity, BigDecimal netCost, long tradeCount, LocalDateTime lastTradeAt) {
+
+    // Prices are stored with six decimals; trades in memory are rounded the same way
+    private static final int PRICE_SCALE = 6;
+
+    static final PositionState EMPTY = new PositionState(0, BigDecimal.ZERO, 0, null);
+
+    record Key(String book, String currencyPair) {
+    }
+
+    PositionState plus(PositionState other) {
+        return new PositionState(quantity + other.quantity, netCost.add(other.netCost),
+                tradeCount + other.tradeCount, latest(lastTradeAt, other.lastTradeAt));
+    }
+
+    /**
+     * The change that takes this one back out; the latest trade time is left as it was.
+     */
+    PositionState negate() {
+        return new PositionState(-quantity, netCost.negate(), -tradeCount, null);
+    }
+
+    boolean isEmpty() {
+        return tradeCount == 0;
+    }
+
+    BigDecimal averagePrice() {
+        return quantity == 0 ? null
+                : netCost.divide(BigDecimal.valueOf(quantity), PRICE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    static Map<Key, PositionState> ofTrades(List<Trade> trades) {
+        Map<Key, PositionState> changes = new HashMap<>();
+        for (Trade trade : trades) {
+            if (!Boolean.TRUE.equals(trade.getIsOriginal())) {
+                continue;
+            }
+            long quantity = trade.getQuantity() != null ? trade.getQuantity() : 0;
+            BigDecimal notional = trade.getPrice() != null
+                    ? trade.getPrice().setScale(PRICE_SCALE, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(quantity))
+                    : BigDecimal.ZERO;
+            changes.merge(new Key(trade.getBook(), trade.getCurrencyPair()),
+                    signed(trade.getSide(), quantity, notional, 1, trade.getCreatedAt()), PositionState::plus);
+        }
+        return changes;
+    }
+
+    static Map<Key, PositionState> ofTotals(List<TradeRepository.OriginalTradeTotals> totals) {
+        Map<Key, PositionState> changes = new HashMap<>();
+        for (TradeRepository.OriginalTradeTotals total : totals) {
+            long quantity = total.getQuantity() != null ? total.getQuantity() : 0;
+            BigDecimal notional = total.getNotional() != null ? total.getNotional() : BigDecimal.ZERO;
+            changes.merge(new Key(total.getBook(), total.getCurrencyPair()),
+                    signed(total.getSide(), quantity, notional, total.getTradeCount(), total.getLastTradeAt()),
+                    PositionState::plus);
+        }
+        return changes;
+    }
+
+    private static PositionState signed(Trade.TradeSide side, long quantity, BigDecimal notional, long trades,
+                                        LocalDateTime lastTradeAt) {
+        return side == Trade.TradeSide.SELL
+                ? new PositionState(-quantity, notional.negate(), trades, lastTradeAt)
+                : new PositionState(quantity, notional, trades, lastTradeAt);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
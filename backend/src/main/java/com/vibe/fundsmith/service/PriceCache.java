@@ -0,0 +1,146 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.DemoConfig;
+import com.vibe.fundsmith.dto.PriceDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * The latest price of each instrument in {@code demo.isins}. Instruments are numbered once, at
+ * startup, and prices are kept as micros in an array indexed by that number, so a read is a
+ * map lookup in an immutable map plus one volatile array read: no locks, no allocation beyond
+ * the returned value, and never blocked by a writer.
+ *
+ * Each update notifies the subscribers with the instrument's number; they are called on the
+ * updating thread and should only note the change.
+ */
+@Service
+@Slf4j
+public class PriceCache {
+
+    static final int PRICE_SCALE = 6;
+    static final long NO_PRICE = Long.MIN_VALUE;
+
+    private final String[] instruments;
+    private final Map<String, Integer> ids;
+    private final long[] basePriceMicros;
+    private final AtomicLongArray priceMicros;
+    private final AtomicLongArray updatedAtMillis;
+    private final List<IntConsumer> subscribers = new CopyOnWriteArrayList<>();
+
+    public PriceCache(DemoConfig demoConfig) {
+        List<String> isins = demoConfig.getIsins() != null ? demoConfig.getIsins() : List.of();
+        Map<String, BigDecimal> basePrices = demoConfig.getBasePrices() != null ? demoConfig.getBasePrices() : Map.of();
+
+        List<String> priced = new ArrayList<>();
+        for (String isin : isins) {
+            if (basePrices.get(isin) == null) {
+                log.warn("No base price configured for ISIN {}; it is not priced", isin);
+            } else if (!priced.contains(isin)) {
+                priced.add(isin);
+            }
+        }
+
+        instruments = priced.toArray(String[]::new);
+        basePriceMicros = new long[instruments.length];
+        priceMicros = new AtomicLongArray(instruments.length);
+        updatedAtMillis = new AtomicLongArray(instruments.length);
+        Map<String, Integer> idsByInstrument = new HashMap<>();
+        long now = System.currentTimeMillis();
+        for (int id = 0; id < instruments.length; id++) {
+            idsByInstrument.put(instruments[id], id);
+            basePriceMicros[id] = toMicros(basePrices.get(instruments[id]));
+            priceMicros.set(id, basePriceMicros[id]);
+            updatedAtMillis.set(id, now);
+        }
+        ids = Map.copyOf(idsByInstrument);
+    }
+
+    public int size() {
+        return instruments.length;
+    }
+
+    /**
+     * The instrument's number, or -1 if it is not priced.
+     */
+    public int idOf(String instrument) {
+        Integer id = instrument != null ? ids.get(instrument) : null;
+        return id != null ? id : -1;
+    }
+
+    public String instrument(int id) {
+        return instruments[id];
+    }
+
+    long basePriceMicros(int id) {
+        return basePriceMicros[id];
+    }
+
+    /**
+     * The latest price in micros, or {@link #NO_PRICE} for an unknown instrument.
+     */
+    public long priceMicros(int id) {
+        return id >= 0 && id < instruments.length ? priceMicros.get(id) : NO_PRICE;
+    }
+
+    /**
+     * The latest price, or null if the instrument is not priced.
+     */
+    public BigDecimal price(String instrument) {
+        long micros = priceMicros(idOf(instrument));
+        return micros != NO_PRICE ? BigDecimal.valueOf(micros, PRICE_SCALE) : null;
+    }
+
+    public List<PriceDto> getPrices() {
+        List<PriceDto> prices = new ArrayList<>(instruments.length);
+        for (int id = 0; id < instruments.length; id++) {
+            prices.add(toDto(id));
+        }
+        return prices;
+    }
+
+    public PriceDto getPrice(String instrument) {
+        int id = idOf(instrument);
+        return id >= 0 ? toDto(id) : null;
+    }
+
+    /**
+     * Sets an instrument's price and notifies the subscribers if it changed.
+     */
+    public void update(int id, long newPriceMicros, long atMillis) {
+        long previous = priceMicros.getAndSet(id, newPriceMicros);
+        updatedAtMillis.set(id, atMillis);
+        if (previous != newPriceMicros) {
+            for (IntConsumer subscriber : subscribers) {
+                subscriber.accept(id);
+            }
+        }
+    }
+
+    public void subscribe(IntConsumer subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private PriceDto toDto(int id) {
+        return PriceDto.builder()
+                .instrument(instruments[id])
+                .price(BigDecimal.valueOf(priceMicros.get(id), PRICE_SCALE))
+                .updatedAt(Instant.ofEpochMilli(updatedAtMillis.get(id)))
+                .build();
+    }
+
+    private static long toMicros(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,62 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.DemoConfig;
+import com.vibe.fundsmith.config.PricingConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Stands in for a market data feed: at {@code pricing.ticks-per-second} moves every instrument in
+ * the {@link PriceCache} to its base price jittered by up to {@code demo.max-price-jitter}, the
+ * same spread the load generator prices trades with.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceTickGenerator {
+
+    private final PricingConfig config;
+    private final DemoConfig demoConfig;
+    private final PriceCache priceCache;
+    private final TaskScheduler taskScheduler;
+
+    // Only the scheduler thread ticks, one round at a time
+    private SplittableRandom random;
+    private ScheduledFuture<?> tickTask;
+
+    @PostConstruct
+    void start() {
+        if (!config.isTicksEnabled() || config.getTicksPerSecond() <= 0 || priceCache.size() == 0) {
+            return;
+        }
+        random = new SplittableRandom(config.getSeed());
+        long intervalNanos = Math.max(1_000_000L, (long) (1_000_000_000L / config.getTicksPerSecond()));
+        tickTask = taskScheduler.scheduleAtFixedRate(this::tick, Duration.ofNanos(intervalNanos));
+        log.info("Generating price ticks for {} instruments at {} per second", priceCache.size(),
+                config.getTicksPerSecond());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (tickTask != null) {
+            tickTask.cancel(false);
+        }
+    }
+
+    void tick() {
+        long now = System.currentTimeMillis();
+        double maxJitter = demoConfig.getMaxPriceJitter();
+        for (int id = 0; id < priceCache.size(); id++) {
+            double jitter = maxJitter * (2 * random.nextDouble() - 1);
+            priceCache.update(id, Math.round(priceCache.basePriceMicros(id) * (1 + jitter)), now);
+        }
+    }
+}
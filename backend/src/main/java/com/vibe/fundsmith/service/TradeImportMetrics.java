@@ -0,0 +1,119 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.model.TradeImport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Micrometer meters for the batch import pipeline: CSV parsing, journal generation,
+ * consolidation, MXML generation and the Murex push. Timers publish histogram buckets so that percentiles can be aggregated
+ * across backend nodes by Prometheus.
+ */
+@Component
+public class TradeImportMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter rowsParsed;
+    private final Timer parse;
+    private final Counter mxmlFiles;
+    private final Counter mxmlBytes;
+    private final Timer mxmlGeneration;
+    private final Counter journals;
+    private final Timer journalGeneration;
+
+    public TradeImportMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.rowsParsed = Counter.builder("trade.import.csv.rows")
+                .description("CSV rows parsed into trades")
+                .baseUnit("rows")
+                .register(registry);
+        this.parse = Timer.builder("trade.import.csv.parse")
+                .description("Time to parse an uploaded CSV file")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.mxmlFiles = Counter.builder("trade.import.mxml.files")
+                .description("MXML files generated")
+                .baseUnit("files")
+                .register(registry);
+        this.mxmlBytes = Counter.builder("trade.import.mxml.bytes")
+                .description("MXML content written")
+                .baseUnit("bytes")
+                .register(registry);
+        this.mxmlGeneration = Timer.builder("trade.import.mxml.generation")
+                .description("Time to generate and save the MXML files of an import")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.journals = Counter.builder("trade.journals.written")
+                .description("Trade-date and settlement-date journals written")
+                .baseUnit("journals")
+                .register(registry);
+        this.journalGeneration = Timer.builder("trade.journals.generation")
+                .description("Time added to a booking transaction to derive and write its journals")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordParsed(int rows, long elapsedNanos) {
+        rowsParsed.increment(rows);
+        parse.record(Duration.ofNanos(elapsedNanos));
+    }
+
+    /**
+     * Counts a CSV row that could not be parsed; {@code reason} is {@code columns} for rows with
+     * too few columns and {@code value} for unparseable fields.
+     */
+    public void recordParseError(String reason) {
+        registry.counter("trade.import.csv.parse.errors", "reason", reason).increment();
+    }
+
+    public void recordConsolidation(TradeImport.ConsolidationCriteria criteria, int inputTrades, int outputTrades,
+                                    long elapsedNanos) {
+        String tag = criteria.name();
+        Timer.builder("trade.import.consolidation")
+                .description("Time to consolidate an import's trades")
+                .tag("criteria", tag)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Duration.ofNanos(elapsedNanos));
+        DistributionSummary.builder("trade.import.consolidation.input")
+                .description("Original trades per consolidation")
+                .baseUnit("trades")
+                .tag("criteria", tag)
+                .register(registry)
+                .record(inputTrades);
+        DistributionSummary.builder("trade.import.consolidation.output")
+                .description("Consolidated trades per consolidation")
+                .baseUnit("trades")
+                .tag("criteria", tag)
+                .register(registry)
+                .record(outputTrades);
+    }
+
+    public void recordJournals(int written, long elapsedNanos) {
+        journals.increment(written);
+        journalGeneration.record(Duration.ofNanos(elapsedNanos));
+    }
+
+    public void recordMxmlGenerated(int files, long bytes, long elapsedNanos) {
+        mxmlFiles.increment(files);
+        mxmlBytes.increment(bytes);
+        mxmlGeneration.record(Duration.ofNanos(elapsedNanos));
+    }
+
+    /**
+     * Records a push to Murex; {@code outcome} is {@code success} or {@code failure}.
+     */
+    public void recordPush(String outcome, long elapsedNanos) {
+        Timer.builder("trade.import.push")
+                .description("Time to push an import to Murex")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Duration.ofNanos(elapsedNanos));
+    }
+}
@@ -1,6 +1,12 @@
 package com.vibe.fundsmith.service;
 
+import com.vibe.fundsmith.config.ClusterConfig;
 import com.vibe.fundsmith.dto.*;
+import com.vibe.fundsmith.event.ImportConsolidatedEvent;
+import com.vibe.fundsmith.event.ImportDeletingEvent;
+import com.vibe.fundsmith.event.ImportStatusChangedEvent;
+import com.vibe.fundsmith.event.MxmlGeneratedEvent;
+import com.vibe.fundsmith.event.TradesBookedEvent;
 import com.vibe.fundsmith.model.MXMLFile;
 import com.vibe.fundsmith.model.Trade;
 import com.vibe.fundsmith.model.TradeImport;
@@ -9,15 +15,22 @@ import com.vibe.fundsmith.repository.TradeImportRepository;
 import com.vibe.fundsmith.repository.TradeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,13 +41,27 @@ public class TradeImportService {
     private final TradeImportRepository tradeImportRepository;
     private final TradeRepository tradeRepository;
     private final MXMLFileRepository mxmlFileRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterConfig clusterConfig;
+    private final TradeImportMetrics metrics;
+    private final TradeImportTracing tracing;
+    
+    private static final DateTimeFormatter IMPORT_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH:mm:ss.SSS");
+    private final AtomicLong importSequence = new AtomicLong(1);
     
     @Transactional
     public TradeImportDto importFromCsv(MultipartFile file) {
         try {
-            List<Trade> trades = parseCsvFile(file);
+            List<Trade> trades = tracing.inSpan("import.parse-csv", span -> {
+                span.tag("bytes", file.getSize());
+                List<Trade> parsed = parseCsv(file.getInputStream());
+                span.tag("trades", parsed.size());
+                return parsed;
+            });
             
             TradeImport tradeImport = TradeImport.builder()
+                    .importName(newImportName())
                     .status(TradeImport.ImportStatus.IMPORTED)
                     .originalTradeCount(trades.size())
                     .currentTradeCount(trades.size())
@@ -46,10 +73,17 @@ public class TradeImportService {
             for (Trade trade : trades) {
                 trade.setTradeImport(tradeImport);
             }
-            tradeRepository.saveAll(trades);
+            tracing.inSpan("import.save-trades", span -> {
+                span.tag("trades", trades.size());
+                return tradeRepository.saveAll(trades);
+            });
             
             log.info("Imported {} trades in import {}", trades.size(), tradeImport.getImportName());
             
+            eventPublisher.publishEvent(new TradesBookedEvent(tradeImport.getId(), trades));
+            eventPublisher.publishEvent(new ImportStatusChangedEvent(tradeImport.getId(),
+                    TradeImport.ImportStatus.IMPORTED.name()));
+            
             return mapToDto(tradeImport, true);
             
         } catch (Exception e) {
@@ -58,10 +92,13 @@ public class TradeImportService {
         }
     }
     
-    private List<Trade> parseCsvFile(MultipartFile file) throws Exception {
+    // The parsing, consolidation, MXML and ZIP helpers are package-private so that the
+    // backend-benchmarks module can measure them without a database
+    List<Trade> parseCsv(InputStream input) throws IOException {
+        long startNanos = System.nanoTime();
         List<Trade> trades = new ArrayList<>();
         
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
             String line;
             boolean isFirstLine = true;
             
@@ -72,33 +109,43 @@ public class TradeImportService {
                 }
                 
                 String[] parts = line.split(",");
-                if (parts.length >= 8) {
-                    Trade trade = Trade.builder()
-                            .tradeId(parts[0].trim())
-                            .currencyPair(parts[1].trim())
-                            .side(Trade.TradeSide.valueOf(parts[2].trim().toUpperCase()))
-                            .quantity(Long.parseLong(parts[3].trim()))
-                            .price(new java.math.BigDecimal(parts[4].trim()))
-                            .counterparty(parts[6].trim())
-                            .book(parts[7].trim())
-                            .build();
-                    trades.add(trade);
-                } else if (parts.length >= 6) {
-                    // Fallback for old CSV format without counterparty/book
-                    Trade trade = Trade.builder()
-                            .tradeId(parts[0].trim())
-                            .currencyPair(parts[1].trim())
-                            .side(Trade.TradeSide.valueOf(parts[2].trim().toUpperCase()))
-                            .quantity(Long.parseLong(parts[3].trim()))
-                            .price(new java.math.BigDecimal(parts[4].trim()))
-                            .counterparty("DEFAULT_CP")
-                            .book("DEFAULT_BOOK")
-                            .build();
-                    trades.add(trade);
+                try {
+                    if (parts.length >= 8) {
+                        Trade trade = Trade.builder()
+                                .tradeId(parts[0].trim())
+                                .currencyPair(parts[1].trim())
+                                .side(Trade.TradeSide.valueOf(parts[2].trim().toUpperCase()))
+                                .quantity(Long.parseLong(parts[3].trim()))
+                                .price(new java.math.BigDecimal(parts[4].trim()))
+                                .counterparty(parts[6].trim())
+                                .book(parts[7].trim())
+                                .build();
+                        trades.add(trade);
+                    } else if (parts.length >= 6) {
+                        // Fallback for old CSV format without counterparty/book
+                        Trade trade = Trade.builder()
+                                .tradeId(parts[0].trim())
+                                .currencyPair(parts[1].trim())
+                                .side(Trade.TradeSide.valueOf(parts[2].trim().toUpperCase()))
+                                .quantity(Long.parseLong(parts[3].trim()))
+                                .price(new java.math.BigDecimal(parts[4].trim()))
+                                .counterparty("DEFAULT_CP")
+                                .book("DEFAULT_BOOK")
+                                .build();
+                        trades.add(trade);
+                    } else if (!line.isBlank()) {
+                        // Skipped, as before, but counted
+                        metrics.recordParseError("columns");
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Unparseable side, quantity or price still fails the whole import
+                    metrics.recordParseError("value");
+                    throw e;
                 }
             }
         }
         
+        metrics.recordParsed(trades.size(), System.nanoTime() - startNanos);
         return trades;
     }
     
@@ -143,7 +190,14 @@ public class TradeImportService {
                 
 
         
-        List<Trade> consolidatedTrades = consolidateTrades(existingTrades, criteria);
+        long consolidationStartNanos = System.nanoTime();
+        List<Trade> consolidatedTrades = tracing.inSpan("import.consolidate", span -> {
+            span.tag("criteria", criteria.name());
+            span.tag("trades", existingTrades.size());
+            return consolidateTrades(existingTrades, criteria);
+        });
+        metrics.recordConsolidation(criteria, existingTrades.size(), consolidatedTrades.size(),
+                System.nanoTime() - consolidationStartNanos);
         
 
         
@@ -152,7 +206,10 @@ public class TradeImportService {
             trade.setTradeImport(tradeImport);
             trade.setIsOriginal(false); // Mark as consolidated
         }
-        tradeRepository.saveAll(consolidatedTrades);
+        tracing.inSpan("import.save-trades", span -> {
+            span.tag("trades", consolidatedTrades.size());
+            return tradeRepository.saveAll(consolidatedTrades);
+        });
         
         tradeImport.setStatus(TradeImport.ImportStatus.CONSOLIDATED);
         tradeImport.setConsolidationCriteria(criteria);
@@ -164,10 +221,13 @@ public class TradeImportService {
         log.info("Consolidated import {} by {} from {} to {} trades", 
                 importId, criteria, existingTrades.size(), consolidatedTrades.size());
         
+        eventPublisher.publishEvent(new ImportConsolidatedEvent(importId));
+        eventPublisher.publishEvent(new ImportStatusChangedEvent(importId, TradeImport.ImportStatus.CONSOLIDATED.name()));
+        
         return mapToDto(tradeImport, true);
     }
     
-    private List<Trade> consolidateTrades(List<Trade> trades, TradeImport.ConsolidationCriteria criteria) {
+    List<Trade> consolidateTrades(List<Trade> trades, TradeImport.ConsolidationCriteria criteria) {
         Map<String, List<Trade>> grouped = new HashMap<>();
         
         for (Trade trade : trades) {
@@ -247,7 +307,7 @@ public class TradeImportService {
         return consolidated;
     }
     
-    private String getGroupingKey(Trade trade, TradeImport.ConsolidationCriteria criteria) {
+    String getGroupingKey(Trade trade, TradeImport.ConsolidationCriteria criteria) {
         return switch (criteria) {
             case CURRENCY_PAIR -> trade.getCurrencyPair();
             case COUNTERPARTY -> trade.getCounterparty();
@@ -272,38 +332,53 @@ public class TradeImportService {
             throw new RuntimeException("MXML already generated for this import");
         }
         
+        checkNotLeasedElsewhere(tradeImport);
+        
         List<Trade> trades = tradeRepository.findByTradeImportId(importId)
                 .stream()
                 .filter(trade -> !trade.getIsOriginal()) // Only consolidated trades
                 .collect(Collectors.toList());
         
         // Generate MXML files (one per trade for simplicity)
-        for (Trade trade : trades) {
-            String mxmlContent = generateMXMLContent(trade);
-            String filename = String.format("trade_%s_%s.mxml", 
-                    tradeImport.getImportName(), trade.getTradeId());
-            
-            MXMLFile mxmlFile = MXMLFile.builder()
-                    .filename(filename)
-                    .content(mxmlContent)
-                    .tradeImport(tradeImport)
-                    .build();
-            
-            mxmlFileRepository.save(mxmlFile);
-        }
+        long generationStartNanos = System.nanoTime();
+        long mxmlBytes = tracing.inSpan("import.generate-mxml", span -> {
+            long bytes = 0;
+            for (Trade trade : trades) {
+                String mxmlContent = generateMXMLContent(trade);
+                bytes += mxmlContent.length(); // MXML content is ASCII
+                String filename = String.format("trade_%s_%s.mxml", 
+                        tradeImport.getImportName(), trade.getTradeId());
+                
+                MXMLFile mxmlFile = MXMLFile.builder()
+                        .filename(filename)
+                        .content(mxmlContent)
+                        .tradeImport(tradeImport)
+                        .build();
+                
+                mxmlFileRepository.save(mxmlFile);
+            }
+            span.tag("files", trades.size());
+            span.tag("bytes", bytes);
+            return bytes;
+        });
+        metrics.recordMxmlGenerated(trades.size(), mxmlBytes, System.nanoTime() - generationStartNanos);
         
         tradeImport.setMxmlGenerated(true);
         tradeImport.setStatus(TradeImport.ImportStatus.MXML_GENERATED);
         tradeImport.setMxmlGeneratedAt(LocalDateTime.now(ZoneOffset.UTC));
+        releaseLease(tradeImport);
         
         tradeImportRepository.save(tradeImport);
         
         log.info("Generated {} MXML files for import {}", trades.size(), importId);
         
+        eventPublisher.publishEvent(new MxmlGeneratedEvent(importId));
+        eventPublisher.publishEvent(new ImportStatusChangedEvent(importId, TradeImport.ImportStatus.MXML_GENERATED.name()));
+        
         return mapToDto(tradeImport, true);
     }
     
-    private String generateMXMLContent(Trade trade) {
+    String generateMXMLContent(Trade trade) {
         return String.format("""
                 <?xml version="1.0" encoding="UTF-8"?>
                 <MurexTrade>
@@ -329,6 +404,18 @@ public class TradeImportService {
     
     @Transactional
     public TradeImportDto pushToMurex(Long importId) {
+        long startNanos = System.nanoTime();
+        boolean pushed = false;
+        try {
+            TradeImportDto result = doPushToMurex(importId);
+            pushed = true;
+            return result;
+        } finally {
+            metrics.recordPush(pushed ? "success" : "failure", System.nanoTime() - startNanos);
+        }
+    }
+    
+    private TradeImportDto doPushToMurex(Long importId) {
         TradeImport tradeImport = tradeImportRepository.findById(importId)
                 .orElseThrow(() -> new RuntimeException("Import not found"));
         
@@ -340,15 +427,20 @@ public class TradeImportService {
             throw new RuntimeException("Already pushed to Murex");
         }
         
+        checkNotLeasedElsewhere(tradeImport);
+        
         // Dummy implementation - just mark as pushed
         log.info("Pushing import {} to Murex (dummy implementation)", importId);
         
         tradeImport.setPushedToMurex(true);
         tradeImport.setStatus(TradeImport.ImportStatus.PUSHED_TO_MUREX);
         tradeImport.setPushedToMurexAt(LocalDateTime.now(ZoneOffset.UTC));
+        releaseLease(tradeImport);
         
         tradeImportRepository.save(tradeImport);
         
+        eventPublisher.publishEvent(new ImportStatusChangedEvent(importId, TradeImport.ImportStatus.PUSHED_TO_MUREX.name()));
+        
         return mapToDto(tradeImport, true);
     }
     
@@ -376,9 +468,20 @@ public class TradeImportService {
             throw new RuntimeException("No MXML files found for import: " + importId);
         }
         
+        try {
+            return tracing.inSpan("import.zip-mxml", span -> {
+                span.tag("files", mxmlFiles.size());
+                return zipMxmlFiles(mxmlFiles);
+            });
+        } catch (Exception e) {
+            log.error("Failed to create ZIP file for import {}", importId, e);
+            throw new RuntimeException("Failed to create ZIP file: " + e.getMessage(), e);
+        }
+    }
+    
+    byte[] zipMxmlFiles(List<MXMLFile> mxmlFiles) throws IOException {
         try (java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
              java.util.zip.ZipOutputStream zos = new java.util.zip.ZipOutputStream(baos)) {
-            
             for (MXMLFile file : mxmlFiles) {
                 String filename = file.getFilename();
                 if (filename == null || filename.trim().isEmpty()) {
@@ -409,10 +512,6 @@ public class TradeImportService {
             
             zos.finish();
             return baos.toByteArray();
-            
-        } catch (Exception e) {
-            log.error("Failed to create ZIP file for import {}", importId, e);
-            throw new RuntimeException("Failed to create ZIP file: " + e.getMessage(), e);
         }
     }
     
@@ -420,6 +519,8 @@ public class TradeImportService {
     public void clearAllImports() {
         log.info("Clearing all trade imports");
         
+        eventPublisher.publishEvent(ImportDeletingEvent.all());
+        
         // Delete all MXML files first (due to foreign key constraints)
         mxmlFileRepository.deleteAll();
         
@@ -430,6 +531,8 @@ public class TradeImportService {
         tradeImportRepository.deleteAll();
         
         log.info("Successfully cleared all trade imports");
+        
+        eventPublisher.publishEvent(ImportStatusChangedEvent.allCleared());
     }
     
     @Transactional(readOnly = true)
@@ -465,6 +568,8 @@ public class TradeImportService {
         
         log.info("Deleting import {} with status {}", importId, tradeImport.getStatus());
         
+        eventPublisher.publishEvent(new ImportDeletingEvent(importId));
+        
         // Delete associated MXML files first
         mxmlFileRepository.deleteByTradeImportId(importId);
         
@@ -475,6 +580,8 @@ public class TradeImportService {
         tradeImportRepository.deleteById(importId);
         
         log.info("Successfully deleted import {}", importId);
+        
+        eventPublisher.publishEvent(new ImportStatusChangedEvent(importId, ImportStatusChangedEvent.DELETED));
     }
     
     private TradeImportDto mapToDto(TradeImport tradeImport, boolean includeTrades) {
@@ -495,6 +602,21 @@ public class TradeImportService {
                     .collect(Collectors.toList());
         }
         
+        return buildDto(tradeImport, tradeDtos, mxmlDtos);
+    }
+    
+    /**
+     * Maps an import whose trades the caller already holds, e.g. one that was just written,
+     * without reading anything back from the database.
+     */
+    public TradeImportDto toDto(TradeImport tradeImport, List<Trade> trades) {
+        List<TradeDto> tradeDtos = trades.stream()
+                .map(this::mapTradeToDto)
+                .collect(Collectors.toList());
+        return buildDto(tradeImport, tradeDtos, new ArrayList<>());
+    }
+    
+    private TradeImportDto buildDto(TradeImport tradeImport, List<TradeDto> tradeDtos, List<MXMLFileDto> mxmlDtos) {
         return TradeImportDto.builder()
                 .id(tradeImport.getId())
                 .importName(tradeImport.getImportName())
@@ -537,112 +659,135 @@ public class TradeImportService {
                 .build();
     }
     
-    @Transactional
     public void clearAllConsolidatedImports() {
-        List<TradeImport> consolidatedImports = tradeImportRepository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .filter(ti -> ti.getStatus() == TradeImport.ImportStatus.CONSOLIDATED)
-                .collect(Collectors.toList());
-        
-        log.info("Clearing {} consolidated imports", consolidatedImports.size());
+        log.info("Clearing {} consolidated imports", tradeImportRepository.countByStatus(TradeImport.ImportStatus.CONSOLIDATED));
         
-        for (TradeImport tradeImport : consolidatedImports) {
-            // Delete associated trades
-            List<Trade> trades = tradeRepository.findByTradeImportId(tradeImport.getId());
-            tradeRepository.deleteAll(trades);
-            
-            // Delete the import
-            tradeImportRepository.delete(tradeImport);
-        }
+        List<Long> deleted = forEachImportInStatus(TradeImport.ImportStatus.CONSOLIDATED, "delete consolidated import",
+                importId -> {
+                    deleteImport(importId);
+                    return importId;
+                });
         
-        log.info("Cleared all consolidated imports successfully");
+        log.info("Cleared {} consolidated imports", deleted.size());
     }
     
-    @Transactional
     public List<TradeImportDto> generateMXMLForAllConsolidated() {
-        List<TradeImport> consolidatedImports = tradeImportRepository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .filter(ti -> ti.getStatus() == TradeImport.ImportStatus.CONSOLIDATED)
-                .collect(Collectors.toList());
-        
-        log.info("Generating MXML for {} consolidated imports", consolidatedImports.size());
-        
-        List<TradeImportDto> results = new ArrayList<>();
+        log.info("Generating MXML for {} consolidated imports", tradeImportRepository.countByStatus(TradeImport.ImportStatus.CONSOLIDATED));
         
-        for (TradeImport tradeImport : consolidatedImports) {
-            try {
-                TradeImportDto result = generateMXML(tradeImport.getId());
-                results.add(result);
-            } catch (Exception e) {
-                log.error("Failed to generate MXML for import {}: {}", tradeImport.getId(), e.getMessage());
-            }
-        }
+        List<TradeImportDto> results = forEachImportInStatus(TradeImport.ImportStatus.CONSOLIDATED, "generate MXML for import",
+                this::generateMXML);
         
-        log.info("Generated MXML for {} out of {} consolidated imports", results.size(), consolidatedImports.size());
+        log.info("Generated MXML for {} consolidated imports", results.size());
         return results;
     }
     
-    @Transactional
     public List<TradeImportDto> pushAllToMurex() {
-        List<TradeImport> mxmlImports = tradeImportRepository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .filter(ti -> ti.getStatus() == TradeImport.ImportStatus.MXML_GENERATED)
-                .collect(Collectors.toList());
+        log.info("Pushing {} MXML imports to Murex", tradeImportRepository.countByStatus(TradeImport.ImportStatus.MXML_GENERATED));
         
-        log.info("Pushing {} MXML imports to Murex", mxmlImports.size());
+        List<TradeImportDto> results = forEachImportInStatus(TradeImport.ImportStatus.MXML_GENERATED, "push to Murex import",
+                this::pushToMurex);
         
-        List<TradeImportDto> results = new ArrayList<>();
-        
-        for (TradeImport tradeImport : mxmlImports) {
-            try {
-                TradeImportDto result = pushToMurex(tradeImport.getId());
-                results.add(result);
-            } catch (Exception e) {
-                log.error("Failed to push import {} to Murex: {}", tradeImport.getId(), e.getMessage());
-            }
-        }
-        
-        log.info("Pushed {} out of {} MXML imports to Murex", results.size(), mxmlImports.size());
+        log.info("Pushed {} MXML imports to Murex", results.size());
         return results;
     }
     
-    @Transactional
     public void clearAllMXMLImports() {
-        List<TradeImport> mxmlImports = tradeImportRepository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .filter(ti -> ti.getStatus() == TradeImport.ImportStatus.MXML_GENERATED)
-                .collect(Collectors.toList());
-        
-        log.info("Clearing {} MXML imports", mxmlImports.size());
+        log.info("Clearing {} MXML imports", tradeImportRepository.countByStatus(TradeImport.ImportStatus.MXML_GENERATED));
         
-        for (TradeImport tradeImport : mxmlImports) {
-            try {
-                deleteImport(tradeImport.getId());
-            } catch (Exception e) {
-                log.error("Failed to delete MXML import {}: {}", tradeImport.getId(), e.getMessage());
-            }
-        }
+        List<Long> deleted = forEachImportInStatus(TradeImport.ImportStatus.MXML_GENERATED, "delete MXML import",
+                importId -> {
+                    deleteImport(importId);
+                    return importId;
+                });
         
-        log.info("Cleared all MXML imports");
+        log.info("Cleared {} MXML imports", deleted.size());
     }
     
-    @Transactional
     public void clearAllMurexImports() {
-        List<TradeImport> murexImports = tradeImportRepository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .filter(ti -> ti.getStatus() == TradeImport.ImportStatus.PUSHED_TO_MUREX)
-                .collect(Collectors.toList());
+        log.info("Clearing {} Murex imports", tradeImportRepository.countByStatus(TradeImport.ImportStatus.PUSHED_TO_MUREX));
         
-        log.info("Clearing {} Murex imports", murexImports.size());
+        List<Long> deleted = forEachImportInStatus(TradeImport.ImportStatus.PUSHED_TO_MUREX, "delete Murex import",
+                importId -> {
+                    deleteImport(importId);
+                    return importId;
+                });
         
-        for (TradeImport tradeImport : murexImports) {
-            try {
-                deleteImport(tradeImport.getId());
-            } catch (Exception e) {
-                log.error("Failed to delete Murex import {}: {}", tradeImport.getId(), e.getMessage());
+        log.info("Cleared {} Murex imports", deleted.size());
+    }
+    
+    /**
+     * Applies {@code work} to every import in {@code status} that this node can claim. Imports are
+     * leased a batch at a time, skipping those another node holds, and each runs in its own
+     * transaction, so a failure is logged and skipped without rolling back the rest. A failed
+     * import keeps its lease and is retried, by any node, once the lease expires.
+     */
+    private <T> List<T> forEachImportInStatus(TradeImport.ImportStatus status, String action, Function<Long, T> work) {
+        List<T> results = new ArrayList<>();
+        List<Long> claimed;
+        do {
+            claimed = claimImports(status, clusterConfig.getClaimBatchSize());
+            for (Long importId : claimed) {
+                try {
+                    T result = transactionTemplate.execute(txStatus -> work.apply(importId));
+                    if (result != null) {
+                        results.add(result);
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to {} {}: {}", action, importId, e.getMessage());
+                }
+            }
+        } while (!claimed.isEmpty());
+        return results;
+    }
+    
+    /**
+     * Leases up to {@code limit} imports in the given status to this node and returns their ids.
+     */
+    public List<Long> claimImports(TradeImport.ImportStatus status, int limit) {
+        List<Long> claimed = transactionTemplate.execute(txStatus -> {
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            List<Long> ids = tradeImportRepository.findClaimableIds(status.name(), now, limit);
+            if (!ids.isEmpty()) {
+                tradeImportRepository.lease(ids, clusterConfig.getNodeId(), now.plusSeconds(clusterConfig.getLeaseSeconds()));
             }
+            return ids;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+    
+    /**
+     * Leases one import to this node if it is still in the given status and no other node holds it.
+     */
+    public boolean claimImport(Long importId, TradeImport.ImportStatus status) {
+        Integer updated = transactionTemplate.execute(txStatus -> {
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            return tradeImportRepository.claim(importId, status, clusterConfig.getNodeId(),
+                    now.plusSeconds(clusterConfig.getLeaseSeconds()), now);
+        });
+        return updated != null && updated == 1;
+    }
+    
+    private void checkNotLeasedElsewhere(TradeImport tradeImport) {
+        if (tradeImport.getLeaseOwner() != null
+                && !tradeImport.getLeaseOwner().equals(clusterConfig.getNodeId())
+                && tradeImport.getLeaseExpiresAt() != null
+                && tradeImport.getLeaseExpiresAt().isAfter(LocalDateTime.now(ZoneOffset.UTC))) {
+            throw new RuntimeException("Import is being processed by node " + tradeImport.getLeaseOwner());
         }
-        
-        log.info("Cleared all Murex imports");
+    }
+    
+    private void releaseLease(TradeImport tradeImport) {
+        tradeImport.setLeaseOwner(null);
+        tradeImport.setLeaseExpiresAt(null);
+    }
+    
+    /**
+     * Millisecond resolution, the node id and a per-node sequence, so that concurrent uploads on
+     * one node or several do not collide on the unique name. Callers set the name; the entity
+     * does not generate one.
+     */
+    private String newImportName() {
+        return LocalDateTime.now(ZoneOffset.UTC).format(IMPORT_NAME_FORMAT)
+                + "-" + clusterConfig.getNodeId() + "-" + importSequence.getAndIncrement();
     }
 }
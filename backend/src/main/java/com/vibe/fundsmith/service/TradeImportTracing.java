@@ -0,0 +1,46 @@
+package com.vibe.fundsmith.service;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spans around the stages of the batch import pipeline, as children of the request's span, so
+ * that a slow upload or consolidation shows where the time went. A no-op when tracing is off.
+ */
+@Component
+public class TradeImportTracing {
+
+    private final Tracer tracer;
+
+    @Autowired
+    public TradeImportTracing(ObjectProvider<Tracer> tracer) {
+        this(tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    public TradeImportTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Runs {@code stage} in a new span named {@code name}, which it can tag.
+     */
+    <T, E extends Exception> T inSpan(String name, Stage<T, E> stage) throws E {
+        Span span = tracer.nextSpan().name(name).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return stage.run(span);
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    @FunctionalInterface
+    interface Stage<T, E extends Exception> {
+        T run(Span span) throws E;
+    }
+}
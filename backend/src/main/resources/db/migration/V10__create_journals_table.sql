@@ -0,0 +1,27 @@
+-- Double-entry journals derived from original trades by JournalService: one row per journal, the
+-- debit and credit lines being the two account codes and their shared amount
+CREATE TABLE journals (
+    id BIGSERIAL PRIMARY KEY,
+    trade_id BIGINT NOT NULL,
+    import_id BIGINT NOT NULL,
+    journal_type SMALLINT NOT NULL,
+    debit_account SMALLINT NOT NULL,
+    credit_account SMALLINT NOT NULL,
+    amount NUMERIC(28, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    value_date DATE NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (trade_id) REFERENCES trades(id) ON DELETE CASCADE
+);
+
+-- A trade's journals, optionally of one type
+CREATE INDEX idx_journals_trade_id_type ON journals(trade_id, journal_type);
+
+-- Journals of one type, newest first, paged by id
+CREATE INDEX idx_journals_type_id ON journals(journal_type, id DESC);
+
+-- Removes an import's journals before its trades
+CREATE INDEX idx_journals_import_id ON journals(import_id);
+
+-- Journals are looked up by the trade id users see, which is not unique across imports
+CREATE INDEX idx_trades_trade_id ON trades(trade_id);
@@ -0,0 +1,4 @@
+-- Checking the foreign key locked each journal's trade row (FOR KEY SHARE) in the booking
+-- transaction, which made journals cost more than the trades themselves. Journals are only written
+-- for trades booked in the same transaction and are deleted with their import ahead of its trades.
+ALTER TABLE journals DROP CONSTRAINT IF EXISTS journals_trade_id_fkey;
@@ -0,0 +1,6 @@
+-- Work leases, so that several backend nodes can claim imports without processing one twice
+ALTER TABLE trade_imports ADD COLUMN lease_owner VARCHAR(64);
+ALTER TABLE trade_imports ADD COLUMN lease_expires_at TIMESTAMP;
+
+-- Claims walk one status in id order
+CREATE INDEX idx_trade_imports_status_id ON trade_imports(status, id);
@@ -0,0 +1,2 @@
+-- Demo and load-generated trades carry 12-character ISINs in currency_pair
+ALTER TABLE trades ALTER COLUMN currency_pair TYPE VARCHAR(20);
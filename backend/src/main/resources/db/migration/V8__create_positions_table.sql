@@ -0,0 +1,19 @@
+-- Net holding per book and instrument, folded in from original trades by PositionSnapshotService
+CREATE TABLE positions (
+    id BIGSERIAL PRIMARY KEY,
+    book VARCHAR(255) NOT NULL,
+    currency_pair VARCHAR(20) NOT NULL,
+    net_quantity BIGINT NOT NULL,
+    net_cost NUMERIC(28, 6) NOT NULL,
+    trade_count BIGINT NOT NULL,
+    last_trade_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL,
+    CONSTRAINT uk_positions_book_currency_pair UNIQUE (book, currency_pair)
+);
+
+-- Set once an import's original trades are in the positions table; existing imports are folded on startup
+ALTER TABLE trade_imports ADD COLUMN positions_folded_at TIMESTAMP;
+
+-- Finds the unfolded tail, and the recently folded imports a position reload has already counted
+CREATE INDEX idx_trade_imports_positions_folded_at ON trade_imports(positions_folded_at);
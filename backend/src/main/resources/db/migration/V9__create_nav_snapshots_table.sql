@@ -0,0 +1,17 @@
+CREATE TABLE nav_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    portfolio_id VARCHAR(255) NOT NULL,
+    calculation_date DATE NOT NULL,
+    gross_value NUMERIC(28, 2) NOT NULL,
+    fee_accrual NUMERIC(28, 2) NOT NULL,
+    net_value NUMERIC(28, 2) NOT NULL,
+    nav_per_share NUMERIC(28, 6) NOT NULL,
+    shares_outstanding BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    components_count INTEGER NOT NULL,
+    calculated_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- History pages walk one portfolio newest first, keyed by (calculation_date, id)
+CREATE INDEX idx_nav_snapshots_portfolio_date_id ON nav_snapshots(portfolio_id, calculation_date DESC, id DESC);
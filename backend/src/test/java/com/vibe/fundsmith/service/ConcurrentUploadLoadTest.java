@@ -0,0 +1,172 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.FundSmithApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares concurrent CSV upload throughput and p99 latency with Tomcat on platform threads
+ * versus virtual threads. Each client trickles its upload in slowly, the way a large file over
+ * a slow link does, so platform-thread mode runs out of request threads.
+ *
+ * Opt-in, because it takes tens of seconds: {@code mvn test -Dtest=ConcurrentUploadLoadTest -Dloadtest=true}
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ConcurrentUploadLoadTest {
+
+    private static final int CONCURRENT_UPLOADS = 200;
+    private static final int ROWS_PER_UPLOAD = 200;
+    private static final int PLATFORM_MAX_THREADS = 20;
+    private static final int CHUNK_BYTES = 2048;
+    private static final long CHUNK_DELAY_MS = 50;
+    private static final String BOUNDARY = "----upload-load-test";
+
+    @Test
+    void testPlatformVersusVirtualThreadUploads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("Concurrent CSV uploads (%d clients, Tomcat max threads %d on platform):%n",
+                CONCURRENT_UPLOADS, PLATFORM_MAX_THREADS);
+        System.out.printf("  platform: %.1f uploads/s, p99 %d ms%n", platform.throughput(), platform.p99Ms());
+        System.out.printf("  virtual:  %.1f uploads/s, p99 %d ms%n", virtual.throughput(), virtual.p99Ms());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FundSmithApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + PLATFORM_MAX_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:upload-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=20")
+                .run();
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/imports/upload");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            // Warm up
+            assertEquals(200, upload(client, uri, "WARMUP", 0).statusCode());
+
+            List<Long> latenciesMs = Collections.synchronizedList(new ArrayList<>());
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Integer>> statuses = new ArrayList<>();
+                for (int i = 0; i < CONCURRENT_UPLOADS; i++) {
+                    String prefix = "LT" + (virtualThreads ? "V" : "P") + i;
+                    statuses.add(clients.submit(() -> {
+                        long requestStart = System.nanoTime();
+                        int status = upload(client, uri, prefix, CHUNK_DELAY_MS).statusCode();
+                        latenciesMs.add((System.nanoTime() - requestStart) / 1_000_000);
+                        return status;
+                    }));
+                }
+                for (Future<Integer> status : statuses) {
+                    assertEquals(200, status.get());
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            List<Long> sorted = new ArrayList<>(latenciesMs);
+            Collections.sort(sorted);
+            long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+            return new Result(CONCURRENT_UPLOADS / seconds, p99);
+        } finally {
+            context.close();
+        }
+    }
+
+    private HttpResponse<String> upload(HttpClient client, URI uri, String prefix, long chunkDelayMs)
+            throws IOException, InterruptedException {
+        byte[] body = multipartBody(prefix);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new SlowInputStream(body, chunkDelayMs)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private byte[] multipartBody(String prefix) {
+        StringBuilder csv = new StringBuilder("trade_id,currency_pair,side,quantity,price,trade_date,counterparty,book\n");
+        for (int i = 0; i < ROWS_PER_UPLOAD; i++) {
+            csv.append(prefix).append('-').append(i)
+                    .append(i % 2 == 0 ? ",EUR/USD,BUY," : ",GBP/USD,SELL,")
+                    .append(1_000 + i).append(",1.0850,2024-11-18,BANK_A,FX_SPOT_DESK\n");
+        }
+        return ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + prefix + ".csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + csv
+                + "\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Result(double throughput, long p99Ms) {
+    }
+
+    /**
+     * Hands out the body a chunk at a time with a pause in between.
+     */
+    private static final class SlowInputStream extends InputStream {
+        private final InputStream delegate;
+        private final long chunkDelayMs;
+        private int chunkRemaining = CHUNK_BYTES;
+
+        private SlowInputStream(byte[] body, long chunkDelayMs) {
+            this.delegate = new ByteArrayInputStream(body);
+            this.chunkDelayMs = chunkDelayMs;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (chunkRemaining == 0) {
+                pause();
+                chunkRemaining = CHUNK_BYTES;
+            }
+            int read = delegate.read(buffer, offset, Math.min(length, chunkRemaining));
+            if (read > 0) {
+                chunkRemaining -= read;
+            }
+            return read;
+        }
+
+        private void pause() throws IOException {
+            if (chunkDelayMs <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(chunkDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while pacing upload", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.JournalDto;
+import com.vibe.fundsmith.dto.JournalLineDto;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.TradeImportDto;
+import com.vibe.fundsmith.repository.JournalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Journals written with imports and live flushes, their queries and deletion. Their overhead on
+ * the import path is measured by JournalOverheadBenchmark in backend-benchmarks.
+ */
+@SpringBootTest(properties = {"positions.snapshot-interval-ms=3600000", "pricing.ticks-enabled=false"})
+@ActiveProfiles("test")
+class JournalServiceTest {
+
+    private static final String CSV_HEADER = "TradeId,CurrencyPair,Side,Quantity,Price,TradeDate,Counterparty,Book\n";
+
+    @Autowired
+    private JournalService journalService;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private TradeImportService tradeImportService;
+
+    @Autowired
+    private LiveTradeService liveTradeService;
+
+    @BeforeEach
+    void setUp() {
+        tradeImportService.clearAllImports();
+    }
+
+    @Test
+    void testImportWritesBalancedTradeAndSettlementJournals() {
+        upload("T1,GBP/JPY,BUY,1000,190.250000,2024-03-01,CP1,TRADING\n"
+                + "T2,US0378331005,SELL,10,175.505000,2024-03-01,CP1,TRADING\n");
+
+        List<JournalDto> buy = journalService.getJournals("T1", null, null, 10);
+        assertEquals(2, buy.size());
+        JournalDto tradeDate = journal(buy, "TRADE_DATE");
+        assertLines(tradeDate, "Securities - GBP/JPY", "Trades Payable", "190250.00");
+        assertEquals("JPY", tradeDate.getCurrency());
+        JournalDto settlement = journal(buy, "SETTLEMENT_DATE");
+        assertLines(settlement, "Trades Payable", "Cash", "190250.00");
+        assertEquals("JPY", settlement.getCurrency());
+        assertEquals(JournalService.addBusinessDays(tradeDate.getValueDate(), 2), settlement.getValueDate());
+
+        List<JournalDto> sell = journalService.getJournals("T2", "TRADE_DATE", null, 10);
+        assertEquals(1, sell.size());
+        assertLines(sell.get(0), "Trades Receivable", "Securities - US0378331005", "1755.05");
+        assertLines(journalService.getJournals("T2", "SETTLEMENT_DATE", null, 10).get(0),
+                "Cash", "Trades Receivable", "1755.05");
+
+        assertEquals(2, journalService.getJournals(null, "SETTLEMENT_DATE", null, 10).size());
+        assertEquals(tradeDate, journalService.getById(tradeDate.getId()).orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> journalService.getJournals("T1", "ACCRUAL", null, 10));
+    }
+
+    @Test
+    void testLiveFlushJournalsOriginalTradesOnly() {
+        liveTradeService.submitLiveTrade(liveTrade("BUY", 300, "1.100000"));
+        liveTradeService.submitLiveTrade(liveTrade("SELL", 200, "1.200000"));
+        liveTradeService.processPendingTrades();
+
+        // The flush also saves a consolidated trade; it gets no journals
+        assertEquals(4, journalRepository.count());
+        assertTrue(journalService.getJournals(null, null, null, 10).stream()
+                .allMatch(j -> j.getTotalDebits().equals(j.getTotalCredits()) && j.getCurrency().equals("GBP")));
+    }
+
+    @Test
+    void testQueriesPageAndDeletionRemovesJournals() {
+        TradeImportDto first = upload("T1,EUR/USD,BUY,100,1.000000,2024-03-01,CP1,TRADING\n");
+        upload("T1,EUR/USD,SELL,50,1.000000,2024-03-01,CP1,TRADING\n"); // the same trade id in another import
+
+        List<JournalDto> page = journalService.getJournals("T1", null, null, 3);
+        assertEquals(3, page.size());
+        List<JournalDto> next = journalService.getJournals("T1", null, page.get(2).getId(), 3);
+        assertEquals(1, next.size());
+        assertTrue(next.get(0).getId() < page.get(2).getId());
+
+        tradeImportService.deleteImport(first.getId());
+        assertEquals(2, journalRepository.count());
+        tradeImportService.clearAllImports();
+        assertEquals(0, journalRepository.count());
+    }
+
+    @Test
+    void testCurrencyIsTheQuoteCurrencyOfAPair() {
+        assertEquals("JPY", journalService.currency("GBP/JPY"));
+        assertEquals("USD", journalService.currency("EURUSD"));
+        assertEquals("CHF", journalService.currency("USD/CHF"));
+        assertEquals("USD", journalService.currency("US0378331005")); // an ISIN, in the default currency
+        assertEquals("USD", journalService.currency("eur/gbp"));
+    }
+
+    @Test
+    void testSettlementSkipsWeekends() {
+        assertEquals(LocalDate.of(2024, 3, 5), JournalService.addBusinessDays(LocalDate.of(2024, 3, 1), 2)); // Fri to Tue
+        assertEquals(LocalDate.of(2024, 3, 6), JournalService.addBusinessDays(LocalDate.of(2024, 3, 4), 2));
+        assertEquals(LocalDate.of(2024, 3, 2), JournalService.addBusinessDays(LocalDate.of(2024, 3, 2), 0));
+    }
+
+    private static JournalDto journal(List<JournalDto> journals, String type) {
+        return journals.stream()
+                .filter(j -> j.getType().equals(type))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + type + " journal"));
+    }
+
+    private static void assertLines(JournalDto journal, String debitAccount, String creditAccount, String amount) {
+        BigDecimal expected = new BigDecimal(amount);
+        List<JournalLineDto> lines = journal.getLines();
+        assertEquals(2, lines.size());
+        assertEquals(debitAccount, lines.get(0).getAccount());
+        assertEquals(expected, lines.get(0).getDebit());
+        assertEquals(0, lines.get(0).getCredit().signum());
+        assertEquals(creditAccount, lines.get(1).getAccount());
+        assertEquals(expected, lines.get(1).getCredit());
+        assertEquals(0, lines.get(1).getDebit().signum());
+        assertEquals(expected, journal.getTotalDebits());
+        assertEquals(journal.getTotalDebits(), journal.getTotalCredits());
+    }
+
+    private TradeImportDto upload(String rows) {
+        return tradeImportService.importFromCsv(new MockMultipartFile("file", "trades.csv", "text/csv",
+                (CSV_HEADER + rows).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static LiveTradeDto liveTrade(String side, long quantity, String price) {
+        LiveTradeDto trade = new LiveTradeDto();
+        trade.setCurrencyPair("EUR/GBP");
+        trade.setSide(side);
+        trade.setCounterparty("CP1");
+        trade.setBook("TRADING");
+        trade.setQuantity(quantity);
+        trade.setPrice(new BigDecimal(price));
+        return trade;
+    }
+}
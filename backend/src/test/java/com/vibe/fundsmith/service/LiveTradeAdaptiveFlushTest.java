@@ -0,0 +1,318 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.ClusterConfig;
+import com.vibe.fundsmith.config.LiveTradeFlushConfig;
+import com.vibe.fundsmith.config.PipelineExecutorConfig;
+import com.vibe.fundsmith.dto.DemoConfigDto;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.LiveTradeSubmissionResultDto;
+import com.vibe.fundsmith.model.Trade;
+import com.vibe.fundsmith.model.TradeImport;
+import com.vibe.fundsmith.repository.TradeImportRepository;
+import com.vibe.fundsmith.repository.TradeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the size- and time-triggered live trade flush policy, overlapping flushes, failed
+ * flushes and trades that can never be booked.
+ */
+class LiveTradeAdaptiveFlushTest {
+
+    private TradeRepository tradeRepository;
+    private TradeImportRepository tradeImportRepository;
+    private TradeImportService tradeImportService;
+    private ThreadPoolTaskScheduler taskScheduler;
+    private LiveTradeFlushConfig flushConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private PipelineExecutors pipelineExecutors;
+    private LiveTradeWriteAheadLog writeAheadLog;
+    private LiveTradeService liveTradeService;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository = mock(TradeRepository.class);
+        tradeImportService = mock(TradeImportService.class);
+        tradeImportRepository = mock(TradeImportRepository.class);
+        when(tradeImportRepository.save(any(TradeImport.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        taskScheduler = new ThreadPoolTaskScheduler() {
+            @Override
+            public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+                // Keep the reclaim sweeps out of the way; only one-shot flushes run promptly
+                return super.scheduleWithFixedDelay(task, Instant.now().plus(Duration.ofDays(1)), delay);
+            }
+        };
+        taskScheduler.setPoolSize(2);
+        taskScheduler.initialize();
+
+        flushConfig = new LiveTradeFlushConfig();
+        flushConfig.setBatchSize(50);
+        flushConfig.setMaxDelayMs(200);
+        flushConfig.setMaxBatchSize(80);
+
+        meterRegistry = new SimpleMeterRegistry();
+        writeAheadLog = mock(LiveTradeWriteAheadLog.class);
+        pipelineExecutors = new PipelineExecutors(new PipelineExecutorConfig(), meterRegistry, new MockEnvironment());
+        liveTradeService = new LiveTradeService(
+                tradeRepository,
+                tradeImportRepository,
+                tradeImportService,
+                taskScheduler,
+                writeAheadLog,
+                flushConfig,
+                new LiveTradeMetrics(meterRegistry),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                pipelineExecutors,
+                mock(ApplicationEventPublisher.class),
+                new ClusterConfig(),
+                mock(LoadGenerator.class), // trades are submitted by the tests only
+                mock(LiveTradeRecorder.class),
+                mock(LiveTradeStreamService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        liveTradeService.updateDemoConfig(DemoConfigDto.builder().enabled(false).build());
+        taskScheduler.shutdown();
+        pipelineExecutors.shutdown();
+    }
+
+    @Test
+    void testFlushRunsAsSoonAsBatchSizeIsReached() throws Exception {
+        enableGrouping(60); // age trigger far in the future
+
+        liveTradeService.submitLiveTrades(trades(49));
+        Thread.sleep(100);
+        assertEquals(49, liveTradeService.getPendingTradeCount(), "Below batch size nothing should flush");
+
+        liveTradeService.submitLiveTrades(trades(1));
+        awaitPersisted(50);
+
+        assertEquals(1.0, meterRegistry.counter("live.trades.flush.triggers", "trigger", "size").count());
+        assertEquals(50.0, meterRegistry.summary("live.trades.flush.size").totalAmount());
+    }
+
+    @Test
+    void testFlushRunsWhenOldestTradeReachesMaxDelay() throws Exception {
+        enableGrouping(60);
+
+        long start = System.nanoTime();
+        liveTradeService.submitLiveTrades(trades(3));
+        awaitPersisted(3);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs >= 150, "Flushed too early: " + elapsedMs + " ms");
+        assertEquals(1.0, meterRegistry.counter("live.trades.flush.triggers", "trigger", "age").count());
+        assertEquals(3, meterRegistry.timer("live.trades.submit.to.persist").count());
+    }
+
+    @Test
+    void testBurstIsSplitIntoCappedFlushes() throws Exception {
+        enableGrouping(60);
+
+        liveTradeService.submitLiveTrades(trades(300));
+        awaitPersisted(300);
+
+        // 300 trades at no more than 80 per flush
+        assertTrue(meterRegistry.summary("live.trades.flush.size").count() >= 4);
+        assertEquals(80.0, meterRegistry.summary("live.trades.flush.size").max());
+        assertEquals(300.0, meterRegistry.summary("live.trades.flush.size").totalAmount());
+    }
+
+    @Test
+    void testNextFlushDrainsWhileEarlierFlushIsWriting() throws Exception {
+        CountDownLatch secondImportSaved = new CountDownLatch(2);
+        when(tradeImportRepository.save(any(TradeImport.class))).thenAnswer(invocation -> {
+            secondImportSaved.countDown();
+            return invocation.getArgument(0);
+        });
+        AtomicInteger saveAllCalls = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        when(tradeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (saveAllCalls.incrementAndGet() == 1) {
+                // Hold the first flush inside its write until the second one has drained and started writing
+                overlapped.set(secondImportSaved.await(5, TimeUnit.SECONDS));
+            }
+            return invocation.getArgument(0);
+        });
+        enableGrouping(60);
+
+        liveTradeService.submitLiveTrades(trades(80));
+        liveTradeService.submitLiveTrades(trades(60));
+        awaitPersisted(140);
+
+        assertTrue(overlapped.get(), "Second flush should not wait for the first one's I/O");
+    }
+
+    @Test
+    void testManualFlushResultIsBuiltWithoutReloading() {
+        liveTradeService.submitLiveTrades(trades(6));
+
+        liveTradeService.processPendingTrades();
+
+        verify(tradeImportService).toDto(any(TradeImport.class), argThat(consolidated -> consolidated.size() == 4));
+        verify(tradeImportService, never()).getImportById(any());
+        verify(tradeRepository, never()).findByTradeImportId(any());
+        assertEquals(0, liveTradeService.getPendingTradeCount());
+    }
+
+    @Test
+    void testFailedFlushPutsTradesBackForTheNextOne() {
+        AtomicInteger saveAllCalls = new AtomicInteger();
+        when(tradeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (saveAllCalls.incrementAndGet() == 1) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            return invocation.getArgument(0);
+        });
+        liveTradeService.submitLiveTrades(trades(6));
+        List<String> tradeIds = tradeIds(liveTradeService.getPendingTrades());
+
+        assertThrows(IllegalStateException.class, () -> liveTradeService.processPendingTrades());
+        assertEquals(6, liveTradeService.getPendingTradeCount());
+        assertEquals(tradeIds, tradeIds(liveTradeService.getPendingTrades()), "Trades are back in their order");
+        assertEquals(6.0, meterRegistry.counter("live.trades.flush.failed").count());
+        verify(writeAheadLog, never()).markFlushed(any());
+
+        liveTradeService.processPendingTrades();
+
+        assertEquals(0, liveTradeService.getPendingTradeCount());
+        assertEquals(6, persistedCount());
+        verify(tradeImportService).toDto(any(TradeImport.class), anyList());
+    }
+
+    @Test
+    void testUnbookableTradeIsQuarantinedWithoutFailingTheBatch() {
+        List<LiveTradeDto> submitted = trades(5);
+        liveTradeService.submitLiveTrades(submitted);
+        submitted.get(2).setSide(null); // e.g. recovered from a log written before validation
+
+        liveTradeService.processPendingTrades();
+
+        assertEquals(4, persistedCount());
+        assertEquals(0, liveTradeService.getPendingTradeCount());
+        assertEquals(List.of(submitted.get(2)), liveTradeService.getQuarantinedTrades());
+        assertEquals(1.0, meterRegistry.counter("live.trades.quarantined").count());
+        verify(writeAheadLog, times(2)).markFlushed(anyMap()); // the quarantined record, then the flush
+    }
+
+    @Test
+    void testOverlongFieldsAreRejectedAndTheOtherTradesBooked() {
+        List<LiveTradeDto> submitted = trades(4);
+        submitted.get(1).setTradeId("T".repeat(300));
+        submitted.get(2).setBook("B".repeat(256));
+
+        List<LiveTradeSubmissionResultDto> results = liveTradeService.submitLiveTrades(submitted);
+        liveTradeService.processPendingTrades();
+
+        assertEquals(List.of(true, false, false, true), results.stream().map(LiveTradeSubmissionResultDto::isAccepted).toList());
+        assertEquals("tradeId must be at most 255 characters", results.get(1).getError());
+        assertEquals("book must be at most 255 characters", results.get(2).getError());
+        assertEquals(2, persistedCount());
+        assertEquals(0, liveTradeService.getPendingTradeCount());
+    }
+
+    @Test
+    void testTradeTheDatabaseRejectsIsQuarantinedAndTheRestBooked() {
+        when(tradeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Trade> trades = invocation.getArgument(0);
+            if (trades.stream().anyMatch(trade -> "POISON".equals(trade.getTradeId()))) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+            return trades;
+        });
+        List<LiveTradeDto> submitted = trades(7);
+        submitted.get(4).setTradeId("POISON");
+        liveTradeService.submitLiveTrades(submitted);
+
+        liveTradeService.processPendingTrades();
+
+        assertEquals(6, persistedCount());
+        assertEquals(0, liveTradeService.getPendingTradeCount());
+        assertEquals(List.of(submitted.get(4)), liveTradeService.getQuarantinedTrades());
+        assertEquals(0.0, meterRegistry.counter("live.trades.flush.failed").count(), "Nothing is put back to fail again");
+
+        liveTradeService.submitLiveTrades(trades(3));
+        liveTradeService.processPendingTrades();
+        assertEquals(9, persistedCount());
+    }
+
+    @Test
+    void testNothingFlushesWhileGroupingIsDisabled() throws Exception {
+        liveTradeService.submitLiveTrades(trades(100));
+        Thread.sleep(300);
+
+        assertEquals(100, liveTradeService.getPendingTradeCount());
+        verify(tradeImportRepository, never()).save(any());
+    }
+
+    private void enableGrouping(int groupingIntervalSeconds) {
+        liveTradeService.updateDemoConfig(DemoConfigDto.builder()
+                .enabled(true)
+                .tradesPerSecond(1)
+                .groupingIntervalSeconds(groupingIntervalSeconds)
+                .build());
+    }
+
+    /**
+     * Waits until the given number of trades have been recorded as persisted, i.e. until the
+     * after-commit bookkeeping of the last flush has run.
+     */
+    private void awaitPersisted(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (persistedCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, persistedCount());
+        assertEquals(0, liveTradeService.getPendingTradeCount());
+    }
+
+    private long persistedCount() {
+        return meterRegistry.timer("live.trades.submit.to.persist").count();
+    }
+
+    private static List<String> tradeIds(List<LiveTradeDto> trades) {
+        return trades.stream().map(LiveTradeDto::getTradeId).toList();
+    }
+
+    private List<LiveTradeDto> trades(int count) {
+        List<LiveTradeDto> trades = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            trades.add(LiveTradeDto.builder()
+                    .currencyPair(i % 2 == 0 ? "EUR/USD" : "USD/JPY")
+                    .side(i % 3 == 0 ? "SELL" : "BUY")
+                    .counterparty("BANK_A")
+                    .book("TRADING")
+                    .quantity(1_000L)
+                    .price(new BigDecimal("1.100000"))
+                    .build());
+        }
+        return trades;
+    }
+}
@@ -0,0 +1,207 @@
+package com.vibe.fundsmith.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vibe.fundsmith.config.ClusterConfig;
+import com.vibe.fundsmith.controller.LiveTradeController;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.LiveTradeSubmissionResultDto;
+import com.vibe.fundsmith.repository.TradeImportRepository;
+import com.vibe.fundsmith.repository.TradeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for batch live trade submission: validation, single hand-off into the pending
+ * buffer and the JSON array / NDJSON endpoints.
+ */
+@ExtendWith(MockitoExtension.class)
+class LiveTradeBatchSubmissionTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private TradeImportRepository tradeImportRepository;
+
+    @Mock
+    private TradeImportService tradeImportService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private LiveTradeWriteAheadLog writeAheadLog;
+    
+    @Mock
+    private LiveTradeRecorder recorder;
+
+    @Mock
+    private LiveTradeStreamService streamService;
+
+    @Spy
+    private ClusterConfig clusterConfig = new ClusterConfig();
+
+    @InjectMocks
+    private LiveTradeService liveTradeService;
+
+    @Test
+    void testValidTradesAreEnqueuedAndInvalidOnesRejected() {
+        List<LiveTradeDto> batch = new ArrayList<>();
+        batch.add(trade("EUR/USD", "BUY", 10_000L, "1.0850"));
+        batch.add(trade("GBP/USD", "HOLD", 10_000L, "1.2650"));
+        batch.add(trade("USD/JPY", "sell", 0L, "151.20"));
+        batch.add(trade("AUD/USD", "sell", 5_000L, "0.6520"));
+
+        List<LiveTradeSubmissionResultDto> results = liveTradeService.submitLiveTrades(batch);
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isAccepted());
+        assertEquals("side must be BUY or SELL", results.get(1).getError());
+        assertEquals("quantity must be positive", results.get(2).getError());
+        assertTrue(results.get(3).isAccepted());
+
+        assertEquals(2, liveTradeService.getPendingTradeCount());
+        assertNotNull(results.get(0).getTradeId(), "Accepted trades should be assigned an id");
+        assertNotNull(liveTradeService.getPendingTrades().get(0).getTimestamp());
+        verify(writeAheadLog, times(2)).append(any(LiveTradeDto.class));
+    }
+
+    @Test
+    void testInvalidSingleTradeIsRejectedBeforeTheWriteAheadLog() throws Exception {
+        IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class,
+                () -> liveTradeService.submitLiveTrade(trade("EUR/USD", null, 1_000L, "1.0850")));
+        assertEquals("side must be BUY or SELL", rejected.getMessage());
+
+        mockMvc().perform(post("/api/live-trades/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"tradeId":"OMS-1","currencyPair":"EUR/USD","side":"BUY","counterparty":"BANK_A","book":"TRADING","price":1.0850}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.accepted").value(false))
+                .andExpect(jsonPath("$.tradeId").value("OMS-1"))
+                .andExpect(jsonPath("$.error").value("quantity must be positive"));
+
+        assertEquals(0, liveTradeService.getPendingTradeCount());
+        verify(writeAheadLog, never()).append(any(LiveTradeDto.class));
+    }
+
+    @Test
+    void testLogFailurePartWayEnqueuesAndReportsOnlyTheLoggedTrades() {
+        when(writeAheadLog.append(any(LiveTradeDto.class)))
+                .thenReturn(1L, 1L)
+                .thenThrow(new UncheckedIOException(new IOException("No space left on device")));
+        List<LiveTradeDto> batch = List.of(
+                trade("EUR/USD", "BUY", 1_000L, "1.0850"),
+                trade("GBP/USD", "BUY", 1_000L, "1.2650"),
+                trade("USD/JPY", "SELL", 1_000L, "151.20"),
+                trade("AUD/USD", "SELL", 1_000L, "0.6520"));
+
+        List<LiveTradeSubmissionResultDto> results = liveTradeService.submitLiveTrades(batch);
+
+        assertEquals(List.of(true, true, false, false),
+                results.stream().map(LiveTradeSubmissionResultDto::isAccepted).toList());
+        assertEquals("Could not be written to the write-ahead log", results.get(2).getError());
+        assertEquals(2, liveTradeService.getPendingTradeCount());
+        verify(recorder).record(eq(batch.subList(0, 2)), anyLong());
+        verify(streamService).onAccepted(batch.subList(0, 2));
+
+        assertThrows(IllegalStateException.class,
+                () -> liveTradeService.submitLiveTrade(trade("EUR/USD", "BUY", 1_000L, "1.0850")));
+        assertEquals(2, liveTradeService.getPendingTradeCount());
+    }
+
+    @Test
+    void testPricesTheLogOrTradesTableCannotHoldAreRejected() {
+        assertEquals("price must be below 1000000000",
+                liveTradeService.validateLiveTrade(trade("EUR/USD", "BUY", 1_000L, "1000000000")));
+        assertEquals("price has too many decimal places",
+                liveTradeService.validateLiveTrade(trade("EUR/USD", "BUY", 1_000L, "1E-128")));
+        assertNull(liveTradeService.validateLiveTrade(trade("EUR/USD", "BUY", 1_000L, "999999999.999999")));
+    }
+
+    @Test
+    void testJsonArrayEndpoint() throws Exception {
+        MockMvc mockMvc = mockMvc();
+
+        mockMvc.perform(post("/api/live-trades/submit-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"currencyPair":"EUR/USD","side":"BUY","counterparty":"BANK_A","book":"TRADING","quantity":1000,"price":1.0850},
+                                  {"currencyPair":"EUR/USD","side":"SELL","counterparty":"BANK_A","book":"TRADING","quantity":1000}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.acceptedCount").value(1))
+                .andExpect(jsonPath("$.rejectedCount").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("price must be positive"));
+
+        assertEquals(1, liveTradeService.getPendingTradeCount());
+    }
+
+    @Test
+    void testNdjsonStreamEndpoint() throws Exception {
+        MockMvc mockMvc = mockMvc();
+
+        StringBuilder body = new StringBuilder();
+        int tradeCount = 2_500; // spans several stream chunks
+        for (int i = 0; i < tradeCount; i++) {
+            body.append("{\"tradeId\":\"OMS-").append(i)
+                    .append("\",\"currencyPair\":\"EUR/USD\",\"side\":\"BUY\",\"counterparty\":\"BANK_A\",")
+                    .append("\"book\":\"TRADING\",\"quantity\":1000,\"price\":1.0850}\n");
+            if (i == 10) {
+                body.append("{not json}\n");
+            }
+        }
+
+        mockMvc.perform(post("/api/live-trades/submit-batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.acceptedCount").value(tradeCount))
+                .andExpect(jsonPath("$.rejectedCount").value(1))
+                .andExpect(jsonPath("$.results[11].accepted").value(false))
+                .andExpect(jsonPath("$.results[12].tradeId").value("OMS-11"));
+
+        assertEquals(tradeCount, liveTradeService.getPendingTradeCount());
+    }
+
+    private MockMvc mockMvc() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return MockMvcBuilders.standaloneSetup(new LiveTradeController(liveTradeService, streamService, objectMapper)).build();
+    }
+
+    private LiveTradeDto trade(String currencyPair, String side, Long quantity, String price) {
+        return LiveTradeDto.builder()
+                .currencyPair(currencyPair)
+                .side(side)
+                .counterparty("BANK_A")
+                .book("TRADING")
+                .quantity(quantity)
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round trips through the binary live trade encoding, including the limits of its price fields.
+ */
+class LiveTradeBinaryCodecTest {
+
+    @Test
+    void testTradeRoundTrips() {
+        LiveTradeDto trade = trade(new BigDecimal("1.085000"));
+        trade.setTimestamp(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_789));
+
+        assertEquals(trade, roundTrip(trade));
+        assertEquals(LiveTradeDto.builder().build(), roundTrip(LiveTradeDto.builder().build()));
+    }
+
+    @Test
+    void testPricesAtTheFieldLimitsRoundTrip() {
+        BigInteger largest = BigInteger.ONE.shiftLeft(255 * 8 - 1).subtract(BigInteger.ONE); // 255 bytes
+        for (BigDecimal price : new BigDecimal[] {
+                new BigDecimal(BigInteger.ONE, Byte.MAX_VALUE),
+                new BigDecimal(BigInteger.ONE, Byte.MIN_VALUE),
+                new BigDecimal(largest, 6),
+                new BigDecimal(largest.negate(), 6)}) {
+            assertTrue(LiveTradeBinaryCodec.canEncode(price));
+            assertEquals(price, roundTrip(trade(price)).getPrice());
+        }
+    }
+
+    @Test
+    void testPricesBeyondTheFieldLimitsAreRejected() {
+        BigInteger tooLong = BigInteger.ONE.shiftLeft(255 * 8 - 1); // 256 bytes with its sign bit
+        for (BigDecimal price : new BigDecimal[] {
+                new BigDecimal(BigInteger.ONE, Byte.MAX_VALUE + 1),
+                new BigDecimal(BigInteger.ONE, Byte.MIN_VALUE - 1),
+                new BigDecimal(tooLong, 6)}) {
+            assertFalse(LiveTradeBinaryCodec.canEncode(price));
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            assertThrows(IllegalArgumentException.class, () -> LiveTradeBinaryCodec.encode(trade(price), buffer));
+            assertEquals(0, buffer.position(), "Nothing is written for a rejected trade");
+        }
+    }
+
+    private static LiveTradeDto roundTrip(LiveTradeDto trade) {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        LiveTradeBinaryCodec.encode(trade, buffer);
+        buffer.flip();
+        LiveTradeDto decoded = LiveTradeBinaryCodec.decode(buffer);
+        assertFalse(buffer.hasRemaining());
+        return decoded;
+    }
+
+    private static LiveTradeDto trade(BigDecimal price) {
+        return LiveTradeDto.builder()
+                .tradeId("OMS-1")
+                .currencyPair("EUR/USD")
+                .side("BUY")
+                .counterparty("BANK_A")
+                .book("TRADING")
+                .quantity(1_000L)
+                .price(price)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loopback comparison of the REST and binary TCP ingestion paths for live trades.
+ * Both paths must land every trade in the same pending buffer; throughput is printed
+ * rather than asserted so the test stays stable on slow build machines.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"live-trades.tcp.enabled=true", "live-trades.tcp.port=0"})
+@ActiveProfiles("test")
+class LiveTradeIngestionBenchmarkTest {
+
+    private static final int REST_TRADES = 300;
+    private static final int TCP_TRADES = 20_000;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private LiveTradeTcpServer tcpServer;
+
+    @Autowired
+    private LiveTradeService liveTradeService;
+
+    @Test
+    void testRestVersusTcpIngestionThroughput() throws Exception {
+        int pendingBefore = liveTradeService.getPendingTradeCount();
+
+        // Warm up both paths
+        restTemplate.postForEntity("/api/live-trades/submit", trade(0), LiveTradeDto.class);
+        try (LiveTradeTcpLoadClient client = new LiveTradeTcpLoadClient("localhost", tcpServer.getLocalPort())) {
+            client.sendAll(trades(100));
+        }
+
+        long restStart = System.nanoTime();
+        for (int i = 0; i < REST_TRADES; i++) {
+            ResponseEntity<LiveTradeDto> response =
+                    restTemplate.postForEntity("/api/live-trades/submit", trade(i), LiveTradeDto.class);
+            assertTrue(response.getStatusCode().is2xxSuccessful());
+        }
+        double restSeconds = (System.nanoTime() - restStart) / 1e9;
+
+        List<LiveTradeDto> tcpTrades = trades(TCP_TRADES);
+        byte[] statuses;
+        long tcpStart = System.nanoTime();
+        try (LiveTradeTcpLoadClient client = new LiveTradeTcpLoadClient("localhost", tcpServer.getLocalPort())) {
+            statuses = client.sendAll(tcpTrades);
+        }
+        double tcpSeconds = (System.nanoTime() - tcpStart) / 1e9;
+
+        for (byte status : statuses) {
+            assertEquals(LiveTradeTcpServer.ACK_ACCEPTED, status);
+        }
+        assertEquals(pendingBefore + 1 + 100 + REST_TRADES + TCP_TRADES, liveTradeService.getPendingTradeCount());
+
+        System.out.printf("Live trade ingestion (loopback):%n");
+        System.out.printf("  REST: %d trades in %.3f s = %.0f trades/s%n", REST_TRADES, restSeconds, REST_TRADES / restSeconds);
+        System.out.printf("  TCP:  %d trades in %.3f s = %.0f trades/s%n", TCP_TRADES, tcpSeconds, TCP_TRADES / tcpSeconds);
+    }
+
+    @Test
+    void testInvalidTradeIsRejectedInOrder() throws Exception {
+        List<LiveTradeDto> batch = trades(3);
+        batch.get(1).setSide("HOLD");
+
+        try (LiveTradeTcpLoadClient client = new LiveTradeTcpLoadClient("localhost", tcpServer.getLocalPort())) {
+            byte[] statuses = client.sendAll(batch);
+            assertArrayEquals(new byte[]{
+                    LiveTradeTcpServer.ACK_ACCEPTED, LiveTradeTcpServer.ACK_REJECTED, LiveTradeTcpServer.ACK_ACCEPTED
+            }, statuses);
+        }
+    }
+
+    private List<LiveTradeDto> trades(int count) {
+        List<LiveTradeDto> trades = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            trades.add(trade(i));
+        }
+        return trades;
+    }
+
+    private LiveTradeDto trade(int i) {
+        return LiveTradeDto.builder()
+                .currencyPair(i % 2 == 0 ? "EUR/USD" : "GBP/USD")
+                .side(i % 3 == 0 ? "SELL" : "BUY")
+                .counterparty("BANK_A")
+                .book("TRADING")
+                .quantity(10_000L + i)
+                .price(new BigDecimal("1.085000"))
+                .build();
+    }
+}
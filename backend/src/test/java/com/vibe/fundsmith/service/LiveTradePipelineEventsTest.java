@@ -0,0 +1,92 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.DemoConfigDto;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.TradeImportDto;
+import com.vibe.fundsmith.model.TradeImport;
+import com.vibe.fundsmith.repository.TradeImportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the event-driven chain live flush -> MXML generation -> Murex push.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LiveTradePipelineEventsTest {
+
+    @Autowired
+    private LiveTradeService liveTradeService;
+
+    @Autowired
+    private TradeImportRepository tradeImportRepository;
+
+    @AfterEach
+    void tearDown() {
+        liveTradeService.updateDemoConfig(DemoConfigDto.builder().enabled(false).build());
+    }
+
+    @Test
+    void testFlushedImportIsPushedToMurexWithoutPolling() throws Exception {
+        liveTradeService.updateDemoConfig(DemoConfigDto.builder()
+                .enabled(true)
+                .tradesPerSecond(0.001)
+                .groupingIntervalSeconds(3600)
+                .autoMxmlEnabled(true)
+                .mxmlGenerationIntervalSeconds(3600) // polling would never get there in time
+                .autoMurexEnabled(true)
+                .murexPushIntervalSeconds(3600)
+                .build());
+
+        liveTradeService.submitLiveTrade(trade("EUR/USD", "BUY"));
+        liveTradeService.submitLiveTrade(trade("GBP/USD", "SELL"));
+
+        long start = System.nanoTime();
+        TradeImportDto flushed = liveTradeService.processPendingTrades();
+        TradeImport.ImportStatus status = awaitStatus(flushed.getId(), TradeImport.ImportStatus.PUSHED_TO_MUREX);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(TradeImport.ImportStatus.PUSHED_TO_MUREX, status);
+        assertTrue(elapsedMs < 2000, "Flush to Murex took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void testImportStaysConsolidatedWhenAutoMxmlIsOff() throws Exception {
+        liveTradeService.submitLiveTrade(trade("EUR/USD", "BUY"));
+
+        TradeImportDto flushed = liveTradeService.processPendingTrades();
+        Thread.sleep(300);
+
+        assertEquals(TradeImport.ImportStatus.CONSOLIDATED,
+                tradeImportRepository.findById(flushed.getId()).orElseThrow().getStatus());
+    }
+
+    private TradeImport.ImportStatus awaitStatus(Long importId, TradeImport.ImportStatus expected)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        TradeImport.ImportStatus status;
+        while ((status = tradeImportRepository.findById(importId).orElseThrow().getStatus()) != expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return status;
+    }
+
+    private LiveTradeDto trade(String currencyPair, String side) {
+        return LiveTradeDto.builder()
+                .currencyPair(currencyPair)
+                .side(side)
+                .counterparty("BANK_A")
+                .book("TRADING")
+                .quantity(10_000L)
+                .price(new BigDecimal("1.250000"))
+                .build();
+    }
+}
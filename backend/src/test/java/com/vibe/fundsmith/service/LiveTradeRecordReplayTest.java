@@ -0,0 +1,141 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.RecordingDto;
+import com.vibe.fundsmith.dto.ReplayReportDto;
+import com.vibe.fundsmith.repository.TradeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for recording the accepted live trade stream and replaying it against H2.
+ */
+@SpringBootTest(properties = "live-trades.recording.directory=" + LiveTradeRecordReplayTest.DIRECTORY)
+@ActiveProfiles("test")
+class LiveTradeRecordReplayTest {
+
+    static final String DIRECTORY = "target/test-recordings";
+
+    @Autowired
+    private LiveTradeService liveTradeService;
+
+    @Autowired
+    private LiveTradeRecorder recorder;
+
+    @Autowired
+    private LiveTradeReplayer replayer;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private TradeImportService tradeImportService;
+
+    @BeforeEach
+    void setUp() {
+        FileSystemUtils.deleteRecursively(Path.of(DIRECTORY).toFile());
+        tradeImportService.clearAllImports();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (recorder.isRecording()) {
+            recorder.stop();
+        }
+        liveTradeService.processPendingTrades();
+        tradeImportService.clearAllImports();
+    }
+
+    @Test
+    void testRecordingKeepsTradesAndInterArrivalTimes() throws Exception {
+        recorder.start("round-trip");
+        liveTradeService.submitLiveTrades(trades("A", 3));
+        Thread.sleep(50);
+        liveTradeService.submitLiveTrade(trades("B", 1).get(0));
+        RecordingDto summary = recorder.stop();
+
+        assertEquals(4, summary.getTradeCount());
+        assertFalse(summary.isActive());
+        assertEquals(List.of(summary), recorder.listRecordings());
+
+        List<LiveTradeRecorder.RecordedTrade> recorded = new ArrayList<>();
+        try (LiveTradeRecorder.Reader reader = recorder.open("round-trip")) {
+            LiveTradeRecorder.RecordedTrade trade;
+            while ((trade = reader.next()) != null) {
+                recorded.add(trade);
+            }
+        }
+
+        List<LiveTradeDto> submitted = liveTradeService.getPendingTrades();
+        assertEquals(submitted, recorded.stream().map(LiveTradeRecorder.RecordedTrade::trade).toList());
+        // One batch shares an arrival time; the next one arrives at least 50 ms later
+        assertEquals(recorded.get(0).offsetNanos(), recorded.get(2).offsetNanos());
+        assertTrue(recorded.get(3).offsetNanos() - recorded.get(2).offsetNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void testReplayHonoursSpeedAndReportsLatency() throws Exception {
+        recorder.start("paced");
+        for (int i = 0; i < 3; i++) {
+            liveTradeService.submitLiveTrades(trades("P" + i, 100));
+            Thread.sleep(100);
+        }
+        recorder.stop();
+        liveTradeService.processPendingTrades();
+        long persistedBefore = tradeRepository.count();
+
+        ReplayReportDto recordedPace = replayer.replay("paced", 1).get(30, TimeUnit.SECONDS);
+        ReplayReportDto fullSpeed = replayer.replay("paced", 0).get(30, TimeUnit.SECONDS);
+
+        for (ReplayReportDto report : List.of(recordedPace, fullSpeed)) {
+            assertEquals("COMPLETED", report.getStatus());
+            assertEquals(300, report.getTradeCount());
+            assertEquals(300, report.getSentCount());
+            assertEquals(300, report.getPersistedCount());
+            assertTrue(report.getLatencyP99Ms() > 0);
+            assertTrue(report.getLatencyMaxMs() >= report.getLatencyP50Ms());
+        }
+        assertTrue(recordedPace.getDurationMs() >= 190, "1x replay should take the recorded ~200 ms: " + recordedPace);
+        assertTrue(fullSpeed.getDurationMs() < recordedPace.getDurationMs());
+        assertEquals(fullSpeed, replayer.getReport());
+
+        // Replayed trades are persisted like any other live trades
+        assertTrue(tradeRepository.count() > persistedBefore);
+        System.out.printf("Replay 1x: %s%nReplay max: %s%n", recordedPace, fullSpeed);
+    }
+
+    @Test
+    void testInvalidRecordingNamesAreRejected() {
+        assertThrows(RuntimeException.class, () -> recorder.start("../escape"));
+        assertThrows(RuntimeException.class, () -> replayer.replay("missing", 1));
+    }
+
+    private List<LiveTradeDto> trades(String prefix, int count) {
+        List<LiveTradeDto> trades = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            trades.add(LiveTradeDto.builder()
+                    .tradeId("REC-" + prefix + "-" + i)
+                    .currencyPair(i % 2 == 0 ? "EUR/USD" : "GBP/USD")
+                    .side(i % 3 == 0 ? "SELL" : "BUY")
+                    .counterparty("BANK_A")
+                    .book("TRADING")
+                    .quantity(1_000L + i)
+                    .price(new BigDecimal("1.085000"))
+                    .build());
+        }
+        return trades;
+    }
+}
@@ -1,5 +1,6 @@
 package com.vibe.fundsmith.service;
 
+import com.vibe.fundsmith.config.ClusterConfig;
 import com.vibe.fundsmith.dto.DemoConfigDto;
 import com.vibe.fundsmith.dto.LiveTradeDto;
 import com.vibe.fundsmith.model.TradeImport;
@@ -8,19 +9,24 @@ import com.vibe.fundsmith.repository.TradeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -42,6 +48,21 @@ class LiveTradeServiceDemoGeneratorTest {
     @Mock
     private TaskScheduler taskScheduler;
     
+    @Mock
+    private LiveTradeWriteAheadLog writeAheadLog;
+    
+    @Mock
+    private LiveTradeRecorder recorder;
+
+    @Mock
+    private LiveTradeStreamService streamService;
+    
+    @Mock
+    private LoadGenerator loadGenerator;
+    
+    @Spy
+    private ClusterConfig clusterConfig = new ClusterConfig();
+
     @InjectMocks
     private LiveTradeService liveTradeService;
 
@@ -58,32 +79,27 @@ class LiveTradeServiceDemoGeneratorTest {
     }
 
     @Test
-    void testDemoTradeGenerationDistribution() throws Exception {
-        // Generate multiple demo trades to test distribution
-        List<LiveTradeDto> generatedTrades = new ArrayList<>();
-        
-        // Use reflection to access the private generateDemoTrade method
-        Method generateMethod = LiveTradeService.class.getDeclaredMethod("generateDemoTrade");
-        generateMethod.setAccessible(true);
-        
-        // Generate 100 trades to get good statistical distribution
-        for (int i = 0; i < 100; i++) {
-            generateMethod.invoke(liveTradeService);
-        }
-        
-        // Capture the trades that would have been submitted
-        // Note: In a real scenario, you'd need to mock the submitLiveTrade method
-        // For now, we'll test the generation logic with a different approach
-        
-        // Test the variety of generated values directly
-        String[] expectedCurrencyPairs = {"EUR/USD", "GBP/USD", "USD/JPY", "AUD/USD", "USD/CHF"};
-        String[] expectedCounterparties = {"BANK_A", "BANK_B", "FUND_C", "CORP_D"};
-        String[] expectedBooks = {"TRADING", "HEDGE", "CLIENT"};
-        
-        // Verify we have the expected arrays (this tests our understanding of the generator)
-        assertTrue(expectedCurrencyPairs.length >= 3, "Should have at least 3 currency pairs for meaningful consolidation");
-        assertTrue(expectedCounterparties.length >= 3, "Should have at least 3 counterparties for meaningful consolidation");
-        assertTrue(expectedBooks.length >= 3, "Should have at least 3 books for meaningful consolidation");
+    void testDemoModeDrivesTheLoadGenerator() throws Exception {
+        // Use reflection to access the private startDemoMode method
+        Method startMethod = LiveTradeService.class.getDeclaredMethod("startDemoMode");
+        startMethod.setAccessible(true);
+        startMethod.invoke(liveTradeService);
+        
+        // Generated batches go through the same validation and hand-off as submitted ones
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<List<LiveTradeDto>>> sink = ArgumentCaptor.forClass(Consumer.class);
+        verify(loadGenerator).start(eq(2.0), sink.capture());
+        
+        sink.getValue().accept(List.of(LiveTradeDto.builder()
+            .tradeId("DEMO-node-1-0-0")
+            .currencyPair("US0378331005")
+            .side("BUY")
+            .counterparty("BANK_A")
+            .book("TRADING")
+            .quantity(100L)
+            .price(new BigDecimal("175.500000"))
+            .build()));
+        assertEquals(1, liveTradeService.getPendingTradeCount());
     }
 
     @Test
@@ -0,0 +1,177 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.LiveTradeStreamConfig;
+import com.vibe.fundsmith.dto.ImportStatusDto;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.LiveTradeStreamDeltaDto;
+import com.vibe.fundsmith.event.ImportStatusChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the live trade event stream: resync snapshots, coalesced deltas, per-client buffer
+ * bounds and removal of clients that can no longer be written to.
+ */
+class LiveTradeStreamServiceTest {
+
+    private LiveTradeStreamConfig config;
+    private LiveTradeStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        config = new LiveTradeStreamConfig();
+        config.setSnapshotSize(5);
+        config.setMaxBufferedTrades(10);
+
+        PipelineExecutors pipelineExecutors = mock(PipelineExecutors.class);
+        when(pipelineExecutors.stream()).thenReturn(Runnable::run); // send on the dispatching thread
+        streamService = new LiveTradeStreamService(config, pipelineExecutors, mock(TaskScheduler.class));
+    }
+
+    @Test
+    void testFirstDeltaIsABoundedSnapshotOfThePendingTail() {
+        streamService.onAccepted(trades(0, 8));
+        streamService.onDrained(2);
+        RecordingEmitter client = subscribe();
+
+        streamService.dispatch();
+
+        LiveTradeStreamDeltaDto delta = client.lastDelta();
+        assertTrue(delta.isResync());
+        assertEquals(6, delta.getPendingCount());
+        assertEquals(List.of("T3", "T4", "T5", "T6", "T7"), tradeIds(delta));
+    }
+
+    @Test
+    void testChangesAreCoalescedIntoOneDeltaPerInterval() {
+        RecordingEmitter client = subscribe();
+        streamService.dispatch();
+
+        streamService.onAccepted(trades(0, 3));
+        streamService.onAccepted(trades(3, 2));
+        streamService.onDrained(4);
+        streamService.dispatch();
+
+        assertEquals(2, client.deltas.size());
+        LiveTradeStreamDeltaDto delta = client.lastDelta();
+        assertFalse(delta.isResync());
+        assertEquals(List.of("T0", "T1", "T2", "T3", "T4"), tradeIds(delta));
+        assertEquals(4, delta.getFlushedCount());
+        assertEquals(1, delta.getPendingCount());
+
+        streamService.dispatch();
+        assertEquals(2, client.deltas.size(), "Nothing changed, so nothing should be sent");
+    }
+
+    @Test
+    void testClientThatFallsBehindIsResyncedInsteadOfBufferingWithoutBound() {
+        RecordingEmitter client = subscribe();
+        streamService.dispatch();
+
+        streamService.onAccepted(trades(0, 6));
+        streamService.onAccepted(trades(6, 6)); // past the 10 trade buffer
+        streamService.onDrained(3);
+        streamService.dispatch();
+
+        LiveTradeStreamDeltaDto delta = client.lastDelta();
+        assertTrue(delta.isResync());
+        assertEquals(0, delta.getFlushedCount());
+        assertEquals(9, delta.getPendingCount());
+        assertEquals(List.of("T7", "T8", "T9", "T10", "T11"), tradeIds(delta));
+    }
+
+    @Test
+    void testImportStatusesAreCollapsedToTheLatestPerImport() {
+        RecordingEmitter client = subscribe();
+        streamService.dispatch();
+
+        streamService.onImportStatusChanged(new ImportStatusChangedEvent(1L, "IMPORTED"));
+        streamService.onImportStatusChanged(new ImportStatusChangedEvent(2L, "IMPORTED"));
+        streamService.onImportStatusChanged(new ImportStatusChangedEvent(1L, "CONSOLIDATED"));
+        streamService.dispatch();
+
+        assertEquals(List.of(new ImportStatusDto(2L, "IMPORTED"), new ImportStatusDto(1L, "CONSOLIDATED")),
+                client.lastDelta().getImportStatuses());
+
+        streamService.onImportStatusChanged(new ImportStatusChangedEvent(3L, "IMPORTED"));
+        streamService.onImportStatusChanged(ImportStatusChangedEvent.allCleared());
+        streamService.dispatch();
+
+        assertEquals(List.of(new ImportStatusDto(null, ImportStatusChangedEvent.DELETED)),
+                client.lastDelta().getImportStatuses());
+    }
+
+    @Test
+    void testClientsThatCannotBeWrittenToAreDroppedAndTheLimitIsEnforced() {
+        config.setMaxSubscribers(2);
+        RecordingEmitter healthy = subscribe();
+        RecordingEmitter broken = subscribe();
+        broken.failing = true;
+        assertNull(streamService.subscribe(new RecordingEmitter()));
+
+        streamService.dispatch();
+
+        assertEquals(1, healthy.deltas.size());
+        assertEquals(1, streamService.getSubscriberCount());
+        assertNotNull(subscribe(), "The dropped client's slot should be free again");
+    }
+
+    private RecordingEmitter subscribe() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        assertSame(emitter, streamService.subscribe(emitter));
+        return emitter;
+    }
+
+    private static List<LiveTradeDto> trades(int from, int count) {
+        return IntStream.range(from, from + count)
+                .mapToObj(i -> LiveTradeDto.builder()
+                        .tradeId("T" + i)
+                        .currencyPair("EUR/USD")
+                        .side("BUY")
+                        .counterparty("BANK_A")
+                        .book("TRADING")
+                        .quantity(1_000L)
+                        .price(new BigDecimal("1.085000"))
+                        .build())
+                .toList();
+    }
+
+    private static List<String> tradeIds(LiveTradeStreamDeltaDto delta) {
+        return delta.getAcceptedTrades().stream().map(LiveTradeDto::getTradeId).toList();
+    }
+
+    /**
+     * Captures the deltas written to it instead of writing to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<LiveTradeStreamDeltaDto> deltas = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .map(part -> part.getData())
+                    .filter(LiveTradeStreamDeltaDto.class::isInstance)
+                    .forEach(data -> deltas.add((LiveTradeStreamDeltaDto) data));
+        }
+
+        private LiveTradeStreamDeltaDto lastDelta() {
+            return deltas.get(deltas.size() - 1);
+        }
+    }
+}
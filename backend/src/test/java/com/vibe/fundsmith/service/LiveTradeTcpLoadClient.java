@@ -0,0 +1,87 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.LiveTradeDto;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loopback load-test client for {@link LiveTradeTcpServer}: writes frames back to back
+ * while a second thread collects the pipelined acks.
+ */
+class LiveTradeTcpLoadClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+
+    LiveTradeTcpLoadClient(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+    }
+
+    /**
+     * Sends every trade without waiting for acks and returns the ack status of each, in order.
+     */
+    byte[] sendAll(List<LiveTradeDto> trades) throws Exception {
+        byte[] statuses = new byte[trades.size()];
+        CompletableFuture<Void> acks = CompletableFuture.runAsync(() -> readAcks(statuses));
+
+        ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+        for (LiveTradeDto trade : trades) {
+            if (out.remaining() < 1024) {
+                drain(out);
+            }
+            int start = out.position();
+            out.position(start + LiveTradeTcpServer.FRAME_HEADER_BYTES);
+            try {
+                LiveTradeBinaryCodec.encode(trade, out);
+            } catch (BufferOverflowException e) {
+                throw new IllegalArgumentException("Trade too large for the load client buffer", e);
+            }
+            out.putInt(start, out.position() - start - LiveTradeTcpServer.FRAME_HEADER_BYTES);
+        }
+        drain(out);
+
+        acks.get();
+        return statuses;
+    }
+
+    private void drain(ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private void readAcks(byte[] statuses) {
+        ByteBuffer in = ByteBuffer.allocate(LiveTradeTcpServer.ACK_BYTES * 1024);
+        int received = 0;
+        try {
+            while (received < statuses.length) {
+                if (channel.read(in) < 0) {
+                    throw new IOException("Connection closed after " + received + " acks");
+                }
+                in.flip();
+                while (in.remaining() >= LiveTradeTcpServer.ACK_BYTES) {
+                    long sequence = in.getLong();
+                    if (sequence != received + 1) {
+                        throw new IllegalStateException("Out of order ack " + sequence + ", expected " + (received + 1));
+                    }
+                    statuses[received++] = in.get();
+                }
+                in.compact();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
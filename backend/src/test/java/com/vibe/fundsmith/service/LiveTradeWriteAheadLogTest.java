@@ -0,0 +1,184 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.LiveTradeWalConfig;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the live trade write-ahead log: replay after restart, release after flush,
+ * segment roll-over and torn-write handling.
+ */
+class LiveTradeWriteAheadLogTest {
+
+    @TempDir
+    Path walDirectory;
+
+    private LiveTradeWalConfig config;
+    private LiveTradeWriteAheadLog wal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new LiveTradeWalConfig();
+        config.setEnabled(true);
+        config.setDirectory(walDirectory.toString());
+        config.setSegmentSizeBytes(64 * 1024);
+        wal = new LiveTradeWriteAheadLog(config);
+        wal.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wal.close();
+    }
+
+    @Test
+    void testUnflushedTradesAreRecoveredAfterRestart() throws Exception {
+        wal.append(trade("LIVE-1", "EUR/USD", "BUY"));
+        wal.append(trade("LIVE-2", "GBP/USD", "SELL"));
+
+        LiveTradeWriteAheadLog restarted = reopen();
+        List<LiveTradeDto> recovered = recoveredTrades(restarted);
+
+        assertEquals(2, recovered.size());
+        assertEquals(trade("LIVE-1", "EUR/USD", "BUY"), recovered.get(0));
+        assertEquals(trade("LIVE-2", "GBP/USD", "SELL"), recovered.get(1));
+        assertTrue(restarted.recover().isEmpty(), "Recovered trades should only be handed out once");
+        restarted.close();
+    }
+
+    @Test
+    void testFlushedSegmentsAreNotReplayed() throws Exception {
+        long firstSegment = wal.append(trade("LIVE-1", "EUR/USD", "BUY"));
+        wal.seal();
+        wal.append(trade("LIVE-2", "USD/JPY", "SELL"));
+
+        wal.markFlushed(Map.of(firstSegment, 1));
+
+        LiveTradeWriteAheadLog restarted = reopen();
+        List<LiveTradeWriteAheadLog.RecoveredTrade> recovered = restarted.recover();
+        assertEquals(1, recovered.size());
+        assertEquals("LIVE-2", recovered.get(0).trade().getTradeId());
+
+        // Recovered segments are released like any other once their trades are flushed
+        restarted.markFlushed(Map.of(recovered.get(0).segmentId(), 1));
+        restarted.close();
+
+        assertTrue(reopen().recover().isEmpty());
+    }
+
+    @Test
+    void testPartiallyFlushedSegmentIsKept() throws Exception {
+        long segment = wal.append(trade("LIVE-1", "EUR/USD", "BUY"));
+        wal.append(trade("LIVE-2", "EUR/USD", "SELL"));
+        wal.seal();
+
+        // A capped flush took only the first trade
+        wal.markFlushed(Map.of(segment, 1));
+        assertEquals(2, reopen().recover().size(), "Segment must survive until all of its trades are flushed");
+
+        wal.markFlushed(Map.of(segment, 1));
+        assertTrue(reopen().recover().isEmpty());
+    }
+
+    @Test
+    void testSegmentsRollOverWhenFull() throws Exception {
+        int tradeCount = 2_000; // well beyond one 64 KB segment
+        for (int i = 0; i < tradeCount; i++) {
+            wal.append(trade("LIVE-" + i, "AUD/USD", i % 2 == 0 ? "BUY" : "SELL"));
+        }
+
+        long segments;
+        try (Stream<Path> files = Files.list(walDirectory)) {
+            segments = files.count();
+        }
+        assertTrue(segments > 1, "Expected several segments but got " + segments);
+
+        LiveTradeWriteAheadLog restarted = reopen();
+        List<LiveTradeDto> recovered = recoveredTrades(restarted);
+        assertEquals(tradeCount, recovered.size());
+        assertEquals("LIVE-0", recovered.get(0).getTradeId());
+        assertEquals("LIVE-" + (tradeCount - 1), recovered.get(tradeCount - 1).getTradeId());
+        restarted.close();
+    }
+
+    @Test
+    void testTornRecordIsIgnoredOnRecovery() throws Exception {
+        wal.append(trade("LIVE-1", "EUR/USD", "BUY"));
+        wal.append(trade("LIVE-2", "EUR/USD", "SELL"));
+        wal.close();
+
+        // Corrupt the last byte of the second record's payload
+        Path segment;
+        try (Stream<Path> files = Files.list(walDirectory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long offset = 8; // segment header
+            file.seek(offset);
+            int firstLength = file.readInt();
+            offset += 8 + firstLength;
+            file.seek(offset);
+            int secondLength = file.readInt();
+            long lastByte = offset + 8 + secondLength - 1;
+            file.seek(lastByte);
+            int original = file.read();
+            file.seek(lastByte);
+            file.write(original ^ 0xFF);
+        }
+
+        List<LiveTradeDto> recovered = recoveredTrades(reopen());
+        assertEquals(1, recovered.size());
+        assertEquals("LIVE-1", recovered.get(0).getTradeId());
+    }
+
+    @Test
+    void testDisabledLogIsNoOp() throws Exception {
+        LiveTradeWalConfig disabled = new LiveTradeWalConfig();
+        disabled.setDirectory(walDirectory.resolve("disabled").toString());
+        LiveTradeWriteAheadLog noop = new LiveTradeWriteAheadLog(disabled);
+        noop.open();
+
+        assertEquals(0, noop.append(trade("LIVE-1", "EUR/USD", "BUY")));
+        noop.seal();
+
+        assertTrue(noop.recover().isEmpty());
+        assertFalse(Files.exists(walDirectory.resolve("disabled")));
+    }
+
+    private LiveTradeWriteAheadLog reopen() throws Exception {
+        LiveTradeWriteAheadLog reopened = new LiveTradeWriteAheadLog(config);
+        reopened.open();
+        return reopened;
+    }
+
+    private List<LiveTradeDto> recoveredTrades(LiveTradeWriteAheadLog log) {
+        return log.recover().stream().map(LiveTradeWriteAheadLog.RecoveredTrade::trade).toList();
+    }
+
+    private LiveTradeDto trade(String tradeId, String currencyPair, String side) {
+        return LiveTradeDto.builder()
+                .tradeId(tradeId)
+                .currencyPair(currencyPair)
+                .side(side)
+                .counterparty("BANK_A")
+                .book("TRADING")
+                .quantity(25_000L)
+                .price(new BigDecimal("1.085420"))
+                .timestamp(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000))
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.ClusterConfig;
+import com.vibe.fundsmith.config.DemoConfig;
+import com.vibe.fundsmith.config.LoadGeneratorConfig;
+import com.vibe.fundsmith.config.PipelineExecutorConfig;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the demo load generator: reproducibility, the DemoConfig price/quantity model,
+ * key skew and sustained multi-producer throughput.
+ */
+class LoadGeneratorTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 9, 30);
+
+    private DemoConfig demoConfig;
+    private LoadGeneratorConfig config;
+    private PipelineExecutorConfig executorConfig;
+    private PipelineExecutors pipelineExecutors;
+
+    @BeforeEach
+    void setUp() {
+        demoConfig = new DemoConfig();
+        demoConfig.setIsins(List.of("US0378331005", "US5949181045", "GB0002634946"));
+        demoConfig.setBasePrices(Map.of(
+                "US0378331005", new BigDecimal("175.50"),
+                "US5949181045", new BigDecimal("320.75"),
+                "GB0002634946", new BigDecimal("8.85")));
+
+        config = new LoadGeneratorConfig();
+        executorConfig = new PipelineExecutorConfig();
+        pipelineExecutors = new PipelineExecutors(executorConfig, new SimpleMeterRegistry(), new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipelineExecutors.shutdown();
+    }
+
+    @Test
+    void testSameSeedReproducesTheSameTrades() {
+        List<LiveTradeDto> first = generator().producer(0).nextBatch(1_000, TIMESTAMP);
+        List<LiveTradeDto> second = generator().producer(0).nextBatch(1_000, TIMESTAMP);
+        assertEquals(first, second);
+
+        List<LiveTradeDto> otherProducer = generator().producer(1).nextBatch(1_000, TIMESTAMP);
+        assertNotEquals(first.get(0).getTradeId(), otherProducer.get(0).getTradeId());
+        assertNotEquals(prices(first), prices(otherProducer));
+
+        config.setSeed(7);
+        assertNotEquals(prices(first), prices(generator().producer(0).nextBatch(1_000, TIMESTAMP)));
+    }
+
+    @Test
+    void testTradesFollowTheDemoPriceAndQuantityModel() {
+        for (LiveTradeDto trade : generator().producer(0).nextBatch(10_000, TIMESTAMP)) {
+            BigDecimal basePrice = demoConfig.getBasePrices().get(trade.getCurrencyPair());
+            assertNotNull(basePrice, "Unexpected instrument " + trade.getCurrencyPair());
+
+            double deviation = Math.abs(trade.getPrice().doubleValue() / basePrice.doubleValue() - 1);
+            assertTrue(deviation <= demoConfig.getMaxPriceJitter() + 1e-6, "Price outside jitter: " + trade);
+            assertTrue(trade.getQuantity() >= demoConfig.getMinQuantity());
+            assertTrue(trade.getQuantity() <= demoConfig.getMaxQuantity());
+            assertEquals(0, (trade.getQuantity() - demoConfig.getMinQuantity()) % demoConfig.getQuantityStep());
+            assertTrue(config.getCounterparties().contains(trade.getCounterparty()));
+            assertTrue(config.getBooks().contains(trade.getBook()));
+        }
+    }
+
+    @Test
+    void testKeySkewConcentratesTradesOnFewKeys() {
+        int keys = 3 * config.getCounterparties().size() * config.getBooks().size();
+
+        Map<String, Integer> uniform = keyCounts(generator().producer(0).nextBatch(36_000, TIMESTAMP));
+        assertEquals(keys, uniform.size());
+        assertTrue(maxShare(uniform) < 2.0 / keys, "Uniform keys should be roughly even: " + uniform);
+
+        config.setKeySkew(1.5);
+        Map<String, Integer> skewed = keyCounts(generator().producer(0).nextBatch(36_000, TIMESTAMP));
+        assertTrue(maxShare(skewed) > 0.3, "Hottest key should dominate: " + skewed);
+        assertEquals("US0378331005|BANK_A|TRADING", hottestKey(skewed));
+    }
+
+    @Test
+    void testProducersSustainHighRates() throws Exception {
+        LongAdder received = new LongAdder();
+        Set<String> producerPrefixes = ConcurrentHashMap.newKeySet();
+        LoadGenerator generator = generator();
+
+        generator.start(0, batch -> {
+            received.add(batch.size());
+            String id = batch.get(0).getTradeId();
+            producerPrefixes.add(id.substring(0, id.lastIndexOf('-')));
+        });
+        Thread.sleep(1_000);
+        generator.stop();
+
+        assertFalse(generator.isRunning());
+        assertEquals(config.getProducerThreads(), producerPrefixes.size());
+        assertTrue(received.sum() > 100_000, "Generated only " + received.sum() + " trades in one second");
+        System.out.printf("Load generator: %,d trades/s across %d producers%n",
+                received.sum(), producerPrefixes.size());
+    }
+
+    @Test
+    void testTargetRateIsRespected() throws Exception {
+        LongAdder received = new LongAdder();
+        LoadGenerator generator = generator();
+
+        generator.start(5_000, batch -> received.add(batch.size()));
+        Thread.sleep(1_000);
+        generator.stop();
+
+        assertTrue(received.sum() > 3_000 && received.sum() < 7_000,
+                "Expected about 5000 trades but got " + received.sum());
+    }
+
+    @Test
+    void testProducersAreCappedByTheDemoExecutor() throws Exception {
+        config.setProducerThreads(executorConfig.getDemo().getMaxSize() + 4);
+        Set<String> producerPrefixes = ConcurrentHashMap.newKeySet();
+        LoadGenerator generator = generator();
+
+        generator.start(0, batch -> {
+            String id = batch.get(0).getTradeId();
+            producerPrefixes.add(id.substring(0, id.lastIndexOf('-')));
+        });
+        Thread.sleep(200);
+        generator.stop();
+
+        assertEquals(executorConfig.getDemo().getMaxSize(), producerPrefixes.size());
+    }
+
+    private LoadGenerator generator() {
+        return new LoadGenerator(config, demoConfig, pipelineExecutors, executorConfig, new ClusterConfig());
+    }
+
+    private Set<BigDecimal> prices(List<LiveTradeDto> trades) {
+        Set<BigDecimal> prices = new HashSet<>();
+        trades.forEach(trade -> prices.add(trade.getPrice()));
+        return prices;
+    }
+
+    private Map<String, Integer> keyCounts(List<LiveTradeDto> trades) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (LiveTradeDto trade : trades) {
+            counts.merge(trade.getCurrencyPair() + "|" + trade.getCounterparty() + "|" + trade.getBook(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private double maxShare(Map<String, Integer> counts) {
+        int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+        return (double) counts.values().stream().mapToInt(Integer::intValue).max().orElse(0) / total;
+    }
+
+    private String hottestKey(Map<String, Integer> counts) {
+        return counts.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey();
+    }
+}
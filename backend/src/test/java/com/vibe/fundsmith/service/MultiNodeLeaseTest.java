@@ -0,0 +1,184 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.FundSmithApplication;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.TradeImportDto;
+import com.vibe.fundsmith.model.Trade;
+import com.vibe.fundsmith.model.TradeImport;
+import com.vibe.fundsmith.repository.MXMLFileRepository;
+import com.vibe.fundsmith.repository.TradeImportRepository;
+import com.vibe.fundsmith.repository.TradeRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two backend nodes, as two in-process application contexts on one database, sharing the
+ * pipeline through import leases.
+ */
+class MultiNodeLeaseTest {
+
+    private static final long LEASE_SECONDS = 2;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        nodeA.getBean(TradeImportService.class).clearAllImports();
+    }
+
+    @Test
+    void testEachImportIsProcessedByExactlyOneNode() throws Exception {
+        int importCount = 60;
+        for (int i = 0; i < importCount; i++) {
+            saveConsolidatedImport("CLUSTER-" + i);
+        }
+
+        CyclicBarrier start = new CyclicBarrier(2);
+        CompletableFuture<List<TradeImportDto>> a = CompletableFuture.supplyAsync(() -> generateAll(nodeA, start));
+        CompletableFuture<List<TradeImportDto>> b = CompletableFuture.supplyAsync(() -> generateAll(nodeB, start));
+        int processedByA = a.get().size();
+        int processedByB = b.get().size();
+
+        assertEquals(importCount, processedByA + processedByB);
+        TradeImportRepository imports = nodeA.getBean(TradeImportRepository.class);
+        MXMLFileRepository mxmlFiles = nodeA.getBean(MXMLFileRepository.class);
+        assertEquals(importCount, imports.countByStatus(TradeImport.ImportStatus.MXML_GENERATED));
+        for (TradeImport tradeImport : imports.findAll()) {
+            assertEquals(2, mxmlFiles.findByTradeImportId(tradeImport.getId()).size(),
+                    "Import " + tradeImport.getImportName() + " was processed more than once");
+            assertNull(tradeImport.getLeaseOwner());
+        }
+        System.out.printf("MXML generation split: node-a %d, node-b %d%n", processedByA, processedByB);
+    }
+
+    @Test
+    void testLeaseOfDeadNodeIsReclaimedAfterExpiry() throws Exception {
+        Long importId = saveConsolidatedImport("CLUSTER-ORPHAN");
+        TradeImportService serviceA = nodeA.getBean(TradeImportService.class);
+        TradeImportService serviceB = nodeB.getBean(TradeImportService.class);
+
+        // node-a claims the import and then never finishes it
+        assertEquals(List.of(importId), serviceA.claimImports(TradeImport.ImportStatus.CONSOLIDATED, 10));
+
+        assertTrue(serviceB.claimImports(TradeImport.ImportStatus.CONSOLIDATED, 10).isEmpty());
+        assertFalse(serviceB.claimImport(importId, TradeImport.ImportStatus.CONSOLIDATED));
+        assertThrows(RuntimeException.class, () -> serviceB.generateMXML(importId));
+
+        Thread.sleep(LEASE_SECONDS * 1000 + 200);
+
+        assertTrue(serviceB.claimImport(importId, TradeImport.ImportStatus.CONSOLIDATED));
+        assertEquals("MXML_GENERATED", serviceB.generateMXML(importId).getStatus());
+    }
+
+    @Test
+    void testLiveTradesSpreadAcrossNodesAreNeitherLostNorDuplicated() {
+        LiveTradeService liveA = nodeA.getBean(LiveTradeService.class);
+        LiveTradeService liveB = nodeB.getBean(LiveTradeService.class);
+        for (int i = 0; i < 50; i++) {
+            liveA.submitLiveTrade(liveTrade());
+            liveB.submitLiveTrade(liveTrade());
+        }
+
+        liveA.processPendingTrades();
+        liveB.processPendingTrades();
+
+        List<Trade> originals = nodeA.getBean(TradeRepository.class).findAll().stream()
+                .filter(Trade::getIsOriginal)
+                .toList();
+        Set<String> tradeIds = new HashSet<>();
+        originals.forEach(trade -> tradeIds.add(trade.getTradeId()));
+        assertEquals(100, originals.size());
+        assertEquals(100, tradeIds.size(), "Generated trade ids must be unique across nodes");
+        assertEquals(2, nodeA.getBean(TradeImportRepository.class).count());
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(FundSmithApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Command-line arguments, so they win over application.yml
+                .run("--spring.datasource.url=jdbc:h2:mem:multi-node;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--cluster.node-id=" + nodeId,
+                        "--cluster.lease-seconds=" + LEASE_SECONDS,
+                        "--cluster.claim-batch-size=5");
+    }
+
+    private static List<TradeImportDto> generateAll(ConfigurableApplicationContext node, CyclicBarrier start) {
+        try {
+            start.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return node.getBean(TradeImportService.class).generateMXMLForAllConsolidated();
+    }
+
+    private Long saveConsolidatedImport(String name) {
+        TradeImport tradeImport = nodeA.getBean(TradeImportRepository.class).save(TradeImport.builder()
+                .importName(name)
+                .status(TradeImport.ImportStatus.CONSOLIDATED)
+                .originalTradeCount(2)
+                .currentTradeCount(2)
+                .createdAt(LocalDateTime.now(ZoneOffset.UTC))
+                .build());
+        nodeA.getBean(TradeRepository.class).saveAll(List.of(
+                consolidatedTrade(tradeImport, "EUR/USD"),
+                consolidatedTrade(tradeImport, "GBP/USD")));
+        return tradeImport.getId();
+    }
+
+    private Trade consolidatedTrade(TradeImport tradeImport, String currencyPair) {
+        return Trade.builder()
+                .tradeId("CONS-" + currencyPair + "-BUY")
+                .currencyPair(currencyPair)
+                .side(Trade.TradeSide.BUY)
+                .counterparty("CONSOLIDATED")
+                .book("TRADING")
+                .quantity(1_000L)
+                .price(new BigDecimal("1.100000"))
+                .tradeImport(tradeImport)
+                .isOriginal(false)
+                .createdAt(LocalDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+
+    private LiveTradeDto liveTrade() {
+        return LiveTradeDto.builder()
+                .currencyPair("EUR/USD")
+                .side("BUY")
+                .counterparty("BANK_A")
+                .book("TRADING")
+                .quantity(1_000L)
+                .price(new BigDecimal("1.085000"))
+                .build();
+    }
+}
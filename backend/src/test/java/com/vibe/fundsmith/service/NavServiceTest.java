@@ -0,0 +1,186 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.NavCalculationRequest;
+import com.vibe.fundsmith.dto.NavSnapshotDto;
+import com.vibe.fundsmith.model.NavSnapshot;
+import com.vibe.fundsmith.repository.NavSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NAV calculation from positions, incremental revaluation and keyset-paged history.
+ */
+@SpringBootTest(properties = {"positions.snapshot-interval-ms=3600000", "pricing.ticks-enabled=false"})
+@ActiveProfiles("test")
+class NavServiceTest {
+
+    private static final String CSV_HEADER = "TradeId,CurrencyPair,Side,Quantity,Price,TradeDate,Counterparty,Book\n";
+
+    @Autowired
+    private NavService navService;
+
+    @Autowired
+    private TradeImportService tradeImportService;
+
+    @Autowired
+    private NavSnapshotRepository navSnapshotRepository;
+
+    @BeforeEach
+    void setUp() {
+        tradeImportService.clearAllImports();
+        navSnapshotRepository.deleteAll();
+    }
+
+    @Test
+    void testNavMarksPositionsAndAccruesFees() {
+        // AAPL has a demo base price of 175.50; EURUSD has none and is valued at cost
+        upload("T1,US0378331005,BUY,1000,170.000000,2024-03-01,CP1,NAVBOOK\n"
+                + "T2,EURUSD,BUY,10000,1.100000,2024-03-01,CP1,NAVBOOK\n"
+                + "T3,EURUSD,SELL,2000,1.200000,2024-03-01,CP1,OTHER\n");
+
+        NavSnapshotDto nav = navService.calculate(request("NAVBOOK", null));
+
+        assertEquals(new BigDecimal("186500.00"), nav.getGrossValue()); // 1000 * 175.50 + 10000 * 1.10
+        assertEquals(new BigDecimal("2.55"), nav.getFeeAccrual()); // 186500 * 0.005 / 365
+        assertEquals(new BigDecimal("186497.45"), nav.getNetValue());
+        assertEquals(new BigDecimal("0.186497"), nav.getNavPerShare()); // over 1,000,000 shares
+        assertEquals(2, nav.getComponentsCount());
+        assertEquals("USD", nav.getCurrency());
+        assertEquals(LocalDate.now(ZoneOffset.UTC), nav.getCalculationDate());
+
+        NavSnapshotDto fund = navService.calculate(request(null, null));
+        assertEquals(NavService.ALL_BOOKS, fund.getPortfolioId());
+        assertEquals(new BigDecimal("184100.00"), fund.getGrossValue()); // less 2000 * 1.20 sold in OTHER
+        assertEquals(3, fund.getComponentsCount());
+    }
+
+    @Test
+    void testRecalculationFollowsPositionChanges() {
+        upload("T1,EURUSD,BUY,1000,1.000000,2024-03-01,CP1,NAVBOOK\n");
+        assertEquals(new BigDecimal("1000.00"), navService.calculate(request("NAVBOOK", null)).getGrossValue());
+
+        upload("T2,EURUSD,BUY,1000,2.000000,2024-03-01,CP1,NAVBOOK\n"
+                + "T3,GBPUSD,BUY,100,1.500000,2024-03-01,CP1,NAVBOOK\n");
+        NavSnapshotDto nav = navService.calculate(request("NAVBOOK", null));
+        assertEquals(new BigDecimal("3150.00"), nav.getGrossValue());
+        assertEquals(2, nav.getComponentsCount());
+
+        tradeImportService.clearAllImports();
+        nav = navService.calculate(request("NAVBOOK", null));
+        assertEquals(0, nav.getGrossValue().signum());
+        assertEquals(0, nav.getComponentsCount());
+    }
+
+    @Test
+    void testOnlyChangedPositionsAreRevalued() {
+        Map<PositionState.Key, PositionState> positions = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            positions.put(new PositionState.Key("B", "I" + i), state(100, "100"));
+        }
+        NavPortfolio portfolio = new NavPortfolio("B");
+
+        NavPortfolio.Valuation first = value(portfolio, positions);
+        assertEquals(1000, first.revalued());
+        assertEquals(0, new BigDecimal("100000").compareTo(first.grossValue()));
+
+        PositionState.Key changed = new PositionState.Key("B", "I7");
+        PositionState.Key removed = new PositionState.Key("B", "I8");
+        positions.put(changed, state(300, "600"));
+        positions.remove(removed);
+        portfolio.onChanged(Set.of(changed, removed, new PositionState.Key("OTHER", "I7")));
+
+        NavPortfolio.Valuation second = value(portfolio, positions);
+        assertEquals(2, second.revalued());
+        assertEquals(999, second.components());
+        assertEquals(0, new BigDecimal("100400").compareTo(second.grossValue()));
+        assertEquals(0, value(portfolio, positions).revalued());
+    }
+
+    @Test
+    void testOnlyTodaysNavOfAKnownPortfolioIsCalculated() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        assertThrows(IllegalArgumentException.class, () -> navService.calculate(request(null, today.minusDays(1))));
+        assertThrows(IllegalArgumentException.class, () -> navService.calculate(request(null, today.plusDays(2))));
+        assertEquals(today, navService.calculate(request(null, today)).getCalculationDate());
+
+        assertThrows(IllegalArgumentException.class, () -> navService.calculate(request("NOSUCHBOOK", null)));
+        upload("T1,EURUSD,BUY,1000,1.000000,2024-03-01,CP1,NAVBOOK\n");
+        assertEquals(new BigDecimal("1000.00"), navService.calculate(request("NAVBOOK", null)).getGrossValue());
+    }
+
+    @Test
+    void testHistoryPagesNewestFirstWithinDateRange() {
+        // Past NAVs cannot be calculated from today's positions, so the history is written directly
+        for (int day = 1; day <= 5; day++) {
+            saveSnapshot("NAVBOOK", LocalDate.of(2024, 3, day));
+        }
+        saveSnapshot("NAVBOOK", LocalDate.of(2024, 3, 3)); // recalculated later the same day
+        saveSnapshot("OTHER", LocalDate.of(2024, 3, 3));
+
+        LocalDate start = LocalDate.of(2024, 3, 2);
+        LocalDate end = LocalDate.of(2024, 3, 4);
+        List<NavSnapshotDto> first = navService.getHistory("NAVBOOK", start, end, null, 2);
+        assertEquals(List.of(LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 3)),
+                first.stream().map(NavSnapshotDto::getCalculationDate).toList());
+        List<NavSnapshotDto> second = navService.getHistory("NAVBOOK", start, end, first.get(1).getId(), 2);
+        assertEquals(List.of(LocalDate.of(2024, 3, 3), LocalDate.of(2024, 3, 2)),
+                second.stream().map(NavSnapshotDto::getCalculationDate).toList());
+        assertTrue(first.get(1).getId() > second.get(0).getId());
+        assertTrue(navService.getHistory("NAVBOOK", start, end, second.get(1).getId(), 2).isEmpty());
+
+        assertEquals(LocalDate.of(2024, 3, 5), navService.getLatest("NAVBOOK").orElseThrow().getCalculationDate());
+        assertTrue(navService.getLatest("NONE").isEmpty());
+    }
+
+    private static NavPortfolio.Valuation value(NavPortfolio portfolio, Map<PositionState.Key, PositionState> positions) {
+        return portfolio.value((book, visitor) -> positions.forEach(visitor), positions::get,
+                (key, state) -> state.netCost());
+    }
+
+    private static PositionState state(long quantity, String netCost) {
+        return new PositionState(quantity, new BigDecimal(netCost), 1, null);
+    }
+
+    private void saveSnapshot(String portfolioId, LocalDate calculationDate) {
+        navSnapshotRepository.save(NavSnapshot.builder()
+                .portfolioId(portfolioId)
+                .calculationDate(calculationDate)
+                .grossValue(BigDecimal.ZERO)
+                .feeAccrual(BigDecimal.ZERO)
+                .netValue(BigDecimal.ZERO)
+                .navPerShare(BigDecimal.ZERO)
+                .sharesOutstanding(1_000_000L)
+                .currency("USD")
+                .componentsCount(0)
+                .calculatedAt(LocalDateTime.now(ZoneOffset.UTC))
+                .build());
+    }
+
+    private static NavCalculationRequest request(String portfolioId, LocalDate asOfDate) {
+        NavCalculationRequest request = new NavCalculationRequest();
+        request.setPortfolioId(portfolioId);
+        request.setAsOfDate(asOfDate);
+        return request;
+    }
+
+    private void upload(String rows) {
+        tradeImportService.importFromCsv(new MockMultipartFile("file", "trades.csv", "text/csv",
+                (CSV_HEADER + rows).getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.PipelineExecutorConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-stage pipeline executors: isolation between stages, rejection policies
+ * and the published queue metrics.
+ */
+class PipelineExecutorsTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SimpleMeterRegistry registry;
+    private PipelineExecutors executors;
+
+    @BeforeEach
+    void setUp() {
+        PipelineExecutorConfig config = new PipelineExecutorConfig();
+        config.setMxml(new PipelineExecutorConfig.Stage(1, 1, 1, PipelineExecutorConfig.RejectionPolicy.ABORT));
+        config.setMurex(new PipelineExecutorConfig.Stage(1, 1, 1, PipelineExecutorConfig.RejectionPolicy.DISCARD));
+        registry = new SimpleMeterRegistry();
+        executors = new PipelineExecutors(config, registry, new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executors.shutdown();
+    }
+
+    @Test
+    void testSlowMurexPushDoesNotDelayFlush() throws Exception {
+        executors.murex().execute(this::block);
+
+        CountDownLatch flushed = new CountDownLatch(1);
+        executors.flush().execute(flushed::countDown);
+
+        assertTrue(flushed.await(1, TimeUnit.SECONDS), "Flush stage waited on the Murex stage");
+    }
+
+    @Test
+    void testSaturatedStageDiscardsAndCountsRejection() throws Exception {
+        AtomicInteger ran = new AtomicInteger();
+        executors.murex().execute(this::block);
+        executors.murex().execute(ran::incrementAndGet); // queued
+        executors.murex().execute(ran::incrementAndGet); // queue full: discarded
+
+        assertEquals(1.0, registry.counter("pipeline.executor.rejected", "stage", "murex", "policy", "DISCARD").count());
+        assertEquals(1.0, registry.get("executor.queued").tag("name", "pipeline.murex").gauge().value());
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ran.get() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        assertEquals(1, ran.get());
+    }
+
+    @Test
+    void testAbortPolicySurfacesOverload() {
+        executors.mxml().execute(this::block);
+        executors.mxml().execute(() -> { });
+
+        assertThrows(RejectedExecutionException.class, () -> executors.mxml().execute(() -> { }));
+    }
+
+    @Test
+    void testStageMetricsArePublished() {
+        for (String stage : new String[]{"demo", "flush", "mxml", "murex"}) {
+            String name = "pipeline." + stage;
+            assertNotNull(registry.find("executor.active").tag("name", name).gauge(), name);
+            assertNotNull(registry.find("executor.queued").tag("name", name).gauge(), name);
+            assertNotNull(registry.find("executor.idle").tag("name", name).timer(), name);
+        }
+    }
+
+    private void block() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
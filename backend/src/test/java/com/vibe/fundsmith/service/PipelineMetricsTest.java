@@ -0,0 +1,138 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.ConsolidationRequest;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.TradeImportDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that every stage of the import and live pipelines is metered and that the meters are
+ * scraped by Prometheus.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability // metrics export, and so the Prometheus endpoint, is off in tests by default
+@ActiveProfiles("test")
+class PipelineMetricsTest {
+
+    private static final String CSV = """
+            TradeId,CurrencyPair,Side,Quantity,Price,TradeDate,Counterparty,Book
+            T1,EUR/USD,BUY,1000,1.085000,2024-03-01,BANK_A,TRADING
+            T2,EUR/USD,SELL,400,1.086000,2024-03-01,BANK_A,TRADING
+            T3,GBP/USD,BUY,2000,1.265000,2024-03-01,BANK_B,HEDGE
+            too,short
+            """;
+
+    @Autowired
+    private TradeImportService tradeImportService;
+
+    @Autowired
+    private LiveTradeService liveTradeService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        tradeImportService.clearAllImports();
+    }
+
+    @Test
+    void testImportPipelineStagesAreMetered() {
+        double rowsBefore = counter("trade.import.csv.rows");
+        double columnErrorsBefore = registry.counter("trade.import.csv.parse.errors", "reason", "columns").count();
+        double filesBefore = counter("trade.import.mxml.files");
+        double bytesBefore = counter("trade.import.mxml.bytes");
+        double inputBefore = consolidationTotal("trade.import.consolidation.input");
+        double outputBefore = consolidationTotal("trade.import.consolidation.output");
+
+        TradeImportDto imported = tradeImportService.importFromCsv(new MockMultipartFile(
+                "file", "metrics.csv", "text/csv", CSV.getBytes(StandardCharsets.UTF_8)));
+        ConsolidationRequest request = new ConsolidationRequest();
+        request.setCriteria("CURRENCY_PAIR");
+        tradeImportService.consolidate(imported.getId(), request);
+        tradeImportService.generateMXML(imported.getId());
+        tradeImportService.pushToMurex(imported.getId());
+        assertThrows(RuntimeException.class, () -> tradeImportService.pushToMurex(imported.getId()));
+
+        assertEquals(3, counter("trade.import.csv.rows") - rowsBefore);
+        assertEquals(1, registry.counter("trade.import.csv.parse.errors", "reason", "columns").count() - columnErrorsBefore);
+        assertTrue(registry.get("trade.import.csv.parse").timer().count() > 0);
+
+        assertTrue(registry.get("trade.import.consolidation").tag("criteria", "CURRENCY_PAIR").timer().count() > 0);
+        assertEquals(3, consolidationTotal("trade.import.consolidation.input") - inputBefore);
+        assertEquals(2, consolidationTotal("trade.import.consolidation.output") - outputBefore);
+
+        assertEquals(2, counter("trade.import.mxml.files") - filesBefore);
+        assertTrue(counter("trade.import.mxml.bytes") - bytesBefore > 0);
+        assertTrue(registry.get("trade.import.push").tag("outcome", "success").timer().count() > 0);
+        assertTrue(registry.get("trade.import.push").tag("outcome", "failure").timer().count() > 0);
+    }
+
+    @Test
+    void testInvalidCsvValuesAreCountedAndStillFailTheImport() {
+        double valueErrorsBefore = registry.counter("trade.import.csv.parse.errors", "reason", "value").count();
+        String csv = "TradeId,CurrencyPair,Side,Quantity,Price,TradeDate,Counterparty,Book\n"
+                + "T1,EUR/USD,BUY,lots,1.085000,2024-03-01,BANK_A,TRADING\n";
+
+        assertThrows(RuntimeException.class, () -> tradeImportService.importFromCsv(new MockMultipartFile(
+                "file", "bad.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(1, registry.counter("trade.import.csv.parse.errors", "reason", "value").count() - valueErrorsBefore);
+    }
+
+    @Test
+    void testLiveFlushIsMeteredAndScrapedByPrometheus() throws Exception {
+        long flushesBefore = registry.get("live.trades.flush.duration").timer().count();
+        liveTradeService.submitLiveTrades(List.of(LiveTradeDto.builder()
+                .tradeId("METRICS-1")
+                .currencyPair("EUR/USD")
+                .side("BUY")
+                .counterparty("BANK_A")
+                .book("TRADING")
+                .quantity(1_000L)
+                .price(new BigDecimal("1.085000"))
+                .build()));
+        liveTradeService.processPendingTrades();
+
+        assertEquals(1, registry.get("live.trades.flush.duration").timer().count() - flushesBefore);
+        assertTrue(registry.get("live.trades.submit.to.persist").timer().count() > 0);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("live_trades_flush_duration_seconds_bucket")))
+                .andExpect(content().string(containsString("live_trades_pending")))
+                .andExpect(content().string(containsString("trade_import_csv_rows_total")));
+    }
+
+    private double counter(String name) {
+        return registry.get(name).counter().count();
+    }
+
+    private double consolidationTotal(String name) {
+        DistributionSummary summary = registry.find(name).tag("criteria", "CURRENCY_PAIR").summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+}
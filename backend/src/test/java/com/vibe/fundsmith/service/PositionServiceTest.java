@@ -0,0 +1,211 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.PositionConfig;
+import com.vibe.fundsmith.dto.LiveTradeDto;
+import com.vibe.fundsmith.dto.PositionDto;
+import com.vibe.fundsmith.dto.TradeImportDto;
+import com.vibe.fundsmith.event.TradesBookedEvent;
+import com.vibe.fundsmith.model.Trade;
+import com.vibe.fundsmith.repository.PositionRepository;
+import com.vibe.fundsmith.repository.TradeImportRepository;
+import com.vibe.fundsmith.repository.TradeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The position engine against H2: incremental updates from imports and live flushes, folding into
+ * the positions table, rebuilding from table plus tail, and deletions.
+ */
+@SpringBootTest(properties = {"positions.snapshot-interval-ms=3600000", "pricing.ticks-enabled=false"}) // snapshots and prices are driven by the tests
+@ActiveProfiles("test")
+class PositionServiceTest {
+
+    private static final String CSV_HEADER = "TradeId,CurrencyPair,Side,Quantity,Price,TradeDate,Counterparty,Book\n";
+
+    @Autowired
+    private PositionService positionService;
+
+    @Autowired
+    private TradeImportService tradeImportService;
+
+    @Autowired
+    private LiveTradeService liveTradeService;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private TradeImportRepository tradeImportRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private PriceCache priceCache;
+
+    @BeforeEach
+    void setUp() {
+        tradeImportService.clearAllImports();
+    }
+
+    @Test
+    void testImportIsReflectedBeforeAndAfterSnapshot() {
+        upload("T1,EURUSD,BUY,1000,1.100000,2024-03-01,CP1,TRADING\n"
+                + "T2,EURUSD,SELL,400,1.200000,2024-03-01,CP2,TRADING\n"
+                + "T3,GBPUSD,SELL,500,1.250000,2024-03-01,CP1,HEDGE\n");
+
+        assertPosition(positionService.getPositions("TRADING"), "EURUSD", 600, "620.000000", 2);
+        assertPosition(positionService.getPositions("HEDGE"), "GBPUSD", -500, "-625.000000", 1);
+        assertEquals(0, positionRepository.count(), "Nothing is folded before the snapshot");
+
+        positionService.snapshot();
+
+        assertEquals(2, positionRepository.count());
+        assertTrue(tradeImportRepository.findAll().stream().allMatch(i -> i.getPositionsFoldedAt() != null));
+        List<PositionDto> all = positionService.getPositions(null);
+        assertEquals(2, all.size());
+        assertEquals("HEDGE", all.get(0).getPortfolioId());
+        assertPosition(positionService.getPositions("TRADING"), "EURUSD", 600, "620.000000", 2);
+        assertEquals(new BigDecimal("1.033333"), positionService.getPositions("TRADING").get(0).getAveragePrice());
+    }
+
+    @Test
+    void testOnlyOriginalLiveTradesAreCounted() {
+        liveTradeService.submitLiveTrade(liveTrade("BUY", 300, "1.100000"));
+        liveTradeService.submitLiveTrade(liveTrade("BUY", 200, "1.200000"));
+        liveTradeService.processPendingTrades();
+
+        // The flush also saves consolidated trades in the LIVE_TRADES book; those are not positions
+        List<PositionDto> positions = positionService.getPositions(null);
+        assertEquals(1, positions.size());
+        assertPosition(positions, "EURUSD", 500, "570.000000", 2);
+
+        positionService.snapshot();
+        assertPosition(positionService.getPositions(null), "EURUSD", 500, "570.000000", 2);
+    }
+
+    @Test
+    void testReloadRebuildsFromTablePlusUnfoldedTail() {
+        upload("T1,EURUSD,BUY,1000,1.000000,2024-03-01,CP1,TRADING\n");
+        positionService.snapshot();
+        TradeImportDto tail = upload("T2,EURUSD,BUY,500,2.000000,2024-03-01,CP1,TRADING\n");
+
+        positionService.reload();
+
+        assertPosition(positionService.getPositions("TRADING"), "EURUSD", 1500, "2000.000000", 2);
+        assertEquals(1000L, positionRepository.findAll().get(0).getNetQuantity(), "The tail is not folded yet");
+
+        // A booking that reaches the engine after a reload counted its import is not applied twice
+        positionService.onTradesBooked(new TradesBookedEvent(tail.getId(), tradeRepository.findByTradeImportId(tail.getId())));
+        assertPosition(positionService.getPositions("TRADING"), "EURUSD", 1500, "2000.000000", 2);
+    }
+
+    @Test
+    void testBookingsDuringAReloadAreNotBlockedOrLost() {
+        PositionSnapshotService snapshotService = mock(PositionSnapshotService.class);
+        PositionService engine = new PositionService(new PositionConfig(), snapshotService, priceCache, null);
+        PositionState.Key key = new PositionState.Key("TRADING", "EURUSD");
+        when(snapshotService.load(any())).thenAnswer(invocation -> {
+            // Booked on another thread while the reload reads: neither may wait for it
+            CompletableFuture.runAsync(() -> {
+                engine.onTradesBooked(new TradesBookedEvent(2L, List.of(trade(200, "1.000000"))));
+                engine.onTradesBooked(new TradesBookedEvent(3L, List.of(trade(300, "1.000000"))));
+            }).get(5, TimeUnit.SECONDS);
+            assertPosition(engine.getPositions("TRADING"), "EURUSD", 500, "500.000000", 2);
+            // The read saw import 3 commit but not import 2
+            return new PositionSnapshotService.Snapshot(
+                    new HashMap<>(Map.of(key, new PositionState(1300, new BigDecimal("1300.000000"), 2, null))),
+                    new HashSet<>(Set.of(1L, 3L)));
+        });
+
+        engine.reload();
+
+        assertPosition(engine.getPositions("TRADING"), "EURUSD", 1500, "1500.000000", 3);
+        engine.onTradesBooked(new TradesBookedEvent(2L, List.of(trade(200, "1.000000"))));
+        assertPosition(engine.getPositions("TRADING"), "EURUSD", 1500, "1500.000000", 3);
+    }
+
+    @Test
+    void testDeletingImportsTakesTheirTradesOut() {
+        TradeImportDto folded = upload("T1,EURUSD,BUY,1000,1.000000,2024-03-01,CP1,TRADING\n");
+        positionService.snapshot();
+        TradeImportDto unfolded = upload("T2,EURUSD,BUY,500,2.000000,2024-03-01,CP1,TRADING\n"
+                + "T3,USDJPY,BUY,100,150.000000,2024-03-01,CP1,TRADING\n");
+
+        tradeImportService.deleteImport(folded.getId());
+        assertPosition(positionService.getPositions("TRADING"), "EURUSD", 500, "1000.000000", 1);
+        assertEquals(0, positionRepository.count());
+
+        tradeImportService.deleteImport(unfolded.getId());
+        assertTrue(positionService.getPositions(null).isEmpty());
+
+        upload("T4,EURUSD,SELL,100,1.000000,2024-03-01,CP1,TRADING\n");
+        positionService.snapshot();
+        tradeImportService.clearAllImports();
+        assertTrue(positionService.getPositions(null).isEmpty());
+        assertEquals(0, positionRepository.count());
+    }
+
+    private TradeImportDto upload(String rows) {
+        return tradeImportService.importFromCsv(new MockMultipartFile("file", "trades.csv", "text/csv",
+                (CSV_HEADER + rows).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Trade trade(long quantity, String price) {
+        return Trade.builder()
+                .tradeId("T" + quantity)
+                .currencyPair("EURUSD")
+                .side(Trade.TradeSide.BUY)
+                .counterparty("CP1")
+                .book("TRADING")
+                .quantity(quantity)
+                .price(new BigDecimal(price))
+                .isOriginal(true)
+                .createdAt(LocalDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+
+    private static void assertPosition(List<PositionDto> positions, String currencyPair, long quantity,
+                                       String netCost, long tradeCount) {
+        PositionDto position = positions.stream()
+                .filter(p -> p.getCurrencyPair().equals(currencyPair))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No position in " + currencyPair));
+        assertEquals(quantity, position.getQuantity());
+        assertEquals(0, new BigDecimal(netCost).compareTo(position.getNetCost()),
+                "Net cost " + position.getNetCost());
+        assertEquals(tradeCount, position.getTradeCount());
+    }
+
+    private static LiveTradeDto liveTrade(String side, long quantity, String price) {
+        LiveTradeDto trade = new LiveTradeDto();
+        trade.setCurrencyPair("EURUSD");
+        trade.setSide(side);
+        trade.setCounterparty("CP1");
+        trade.setBook("TRADING");
+        trade.setQuantity(quantity);
+        trade.setPrice(new BigDecimal(price));
+        return trade;
+    }
+}
@@ -0,0 +1,119 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.DemoConfig;
+import com.vibe.fundsmith.config.PricingConfig;
+import com.vibe.fundsmith.dto.NavCalculationRequest;
+import com.vibe.fundsmith.dto.NavSnapshotDto;
+import com.vibe.fundsmith.dto.PositionDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The price cache, generated ticks, and marking positions and NAV at the latest prices.
+ */
+@SpringBootTest(properties = {"positions.snapshot-interval-ms=3600000", "pricing.ticks-enabled=false"})
+@ActiveProfiles("test")
+class PriceCacheTest {
+
+    private static final String AAPL = "US0378331005";
+    private static final String CSV_HEADER = "TradeId,CurrencyPair,Side,Quantity,Price,TradeDate,Counterparty,Book\n";
+
+    @Autowired
+    private PriceCache priceCache;
+
+    @Autowired
+    private DemoConfig demoConfig;
+
+    @Autowired
+    private NavService navService;
+
+    @Autowired
+    private PositionService positionService;
+
+    @Autowired
+    private TradeImportService tradeImportService;
+
+    @BeforeEach
+    void setUp() {
+        tradeImportService.clearAllImports();
+    }
+
+    @AfterEach
+    void restoreBasePrices() {
+        for (int id = 0; id < priceCache.size(); id++) {
+            priceCache.update(id, priceCache.basePriceMicros(id), System.currentTimeMillis());
+        }
+    }
+
+    @Test
+    void testUpdatesNotifySubscribersOnlyWhenThePriceMoves() {
+        int id = priceCache.idOf(AAPL);
+        assertEquals(new BigDecimal("175.500000"), priceCache.price(AAPL));
+
+        List<Integer> notified = new ArrayList<>();
+        priceCache.subscribe(notified::add);
+        priceCache.update(id, 180_250_000L, 1_000L);
+        priceCache.update(id, 180_250_000L, 2_000L);
+
+        assertEquals(List.of(id), notified);
+        assertEquals(new BigDecimal("180.250000"), priceCache.getPrice(AAPL).getPrice());
+        assertEquals(2_000L, priceCache.getPrice(AAPL).getUpdatedAt().toEpochMilli());
+        assertEquals(-1, priceCache.idOf("EURUSD"));
+        assertNull(priceCache.price("EURUSD"));
+        assertNull(priceCache.getPrice("EURUSD"));
+        assertEquals(PriceCache.NO_PRICE, priceCache.priceMicros(-1));
+    }
+
+    @Test
+    void testTicksStayWithinTheJitter() {
+        PricingConfig config = new PricingConfig();
+        config.setTicksPerSecond(1000);
+        PriceTickGenerator generator = new PriceTickGenerator(config, demoConfig, priceCache, mock(TaskScheduler.class));
+        generator.start();
+
+        double maxJitter = demoConfig.getMaxPriceJitter();
+        for (int round = 0; round < 100; round++) {
+            generator.tick();
+            for (int id = 0; id < priceCache.size(); id++) {
+                long base = priceCache.basePriceMicros(id);
+                assertTrue(Math.abs(priceCache.priceMicros(id) - base) <= Math.ceil(base * maxJitter),
+                        priceCache.instrument(id) + " at " + priceCache.priceMicros(id));
+            }
+        }
+    }
+
+    @Test
+    void testPriceMovesRemarkPositionsAndNav() {
+        upload("T1,US0378331005,BUY,1000,170.000000,2024-03-01,CP1,PRICEBOOK\n");
+        NavCalculationRequest request = new NavCalculationRequest();
+        request.setPortfolioId("PRICEBOOK");
+        assertEquals(new BigDecimal("175500.00"), navService.calculate(request).getGrossValue());
+
+        priceCache.update(priceCache.idOf(AAPL), 180_000_000L, System.currentTimeMillis());
+
+        NavSnapshotDto nav = navService.calculate(request);
+        assertEquals(new BigDecimal("180000.00"), nav.getGrossValue());
+        PositionDto position = positionService.getPositions("PRICEBOOK").get(0);
+        assertEquals(0, new BigDecimal("180").compareTo(position.getMarkPrice()));
+        assertEquals(0, new BigDecimal("10000").compareTo(position.getUnrealizedPnl())); // 1000 * (180 - 170)
+    }
+
+    private void upload(String rows) {
+        tradeImportService.importFromCsv(new MockMultipartFile("file", "trades.csv", "text/csv",
+                (CSV_HEADER + rows).getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.vibe.fundsmith.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.vibe.fundsmith.dto.TradeImportDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the encodings the backend serves reads in: CBOR for clients that ask for it, JSON
+ * otherwise, and gzip with a weak ETag for large responses. Compression is done by the embedded
+ * server, so these go over a real connection, with a client that leaves the body as sent.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"positions.snapshot-interval-ms=3600000", "pricing.ticks-enabled=false"}) // no background folds on the shared database
+@ActiveProfiles("test")
+class ResponseEncodingTest {
+
+    private static final int TRADE_COUNT = 60; // well over server.compression.min-response-size
+
+    @Autowired
+    private TradeImportService tradeImportService;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    // Decimals kept as decimals, so that JSON and CBOR prices compare equal
+    private final ObjectMapper jsonMapper = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory())
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private Long importId;
+
+    @BeforeEach
+    void setUp() {
+        tradeImportService.clearAllImports();
+        StringBuilder csv = new StringBuilder("TradeId,CurrencyPair,Side,Quantity,Price,TradeDate,Counterparty,Book\n");
+        for (int i = 0; i < TRADE_COUNT; i++) {
+            csv.append("ENC-").append(i).append(",EUR/USD,BUY,1000,1.085000,2024-03-01,BANK_A,TRADING\n");
+        }
+        TradeImportDto imported = tradeImportService.importFromCsv(new MockMultipartFile(
+                "file", "encoding.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8)));
+        importId = imported.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tradeImportService.clearAllImports();
+    }
+
+    @Test
+    void testCborIsServedWhenAskedForAndDecodesToTheJson() throws Exception {
+        HttpResponse<byte[]> cbor = get("/api/imports/" + importId, "application/cbor", false);
+        HttpResponse<byte[]> json = get("/api/imports/" + importId, "application/json", false);
+
+        assertEquals(200, cbor.statusCode());
+        assertTrue(cbor.headers().firstValue("Content-Type").orElseThrow().startsWith("application/cbor"));
+        JsonNode fromCbor = cborMapper.readTree(cbor.body());
+        assertEquals(jsonMapper.readTree(json.body()), fromCbor);
+        assertEquals(TRADE_COUNT, fromCbor.get("trades").size());
+    }
+
+    @Test
+    void testAnyAcceptStillGetsJson() throws Exception {
+        HttpResponse<byte[]> response = get("/api/imports/" + importId, "*/*", false);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        assertEquals(importId.longValue(), jsonMapper.readTree(response.body()).get("id").asLong());
+    }
+
+    @Test
+    void testLargeResponseIsGzippedWithAWeakEtag() throws Exception {
+        HttpResponse<byte[]> response = get("/api/imports", "application/json", true);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            JsonNode imports = jsonMapper.readTree(body);
+            assertEquals(TRADE_COUNT, imports.get(0).get("trades").size());
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, boolean gzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept);
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return client.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -50,6 +50,9 @@ class TradeConsolidationEfficiencyTest {
     @Mock
     private TaskScheduler taskScheduler;
     
+    @Mock
+    private LiveTradeWriteAheadLog writeAheadLog;
+    
     @InjectMocks
     private LiveTradeService liveTradeService;
 
@@ -0,0 +1,95 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.dto.TradeImportDto;
+import com.vibe.fundsmith.model.TradeImport;
+import com.vibe.fundsmith.repository.TradeImportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the status-driven bulk operations: claiming imports by status
+ * and per-import transactions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TradeImportStatusBulkOperationsTest {
+
+    @Autowired
+    private TradeImportService tradeImportService;
+
+    @Autowired
+    private TradeImportRepository tradeImportRepository;
+
+    @BeforeEach
+    void setUp() {
+        tradeImportService.clearAllImports();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tradeImportService.clearAllImports();
+    }
+
+    @Test
+    void testClaimsTakeOldestUnleasedImportsOfTheStatus() {
+        List<Long> consolidated = List.of(
+                save("CLAIM-1", TradeImport.ImportStatus.CONSOLIDATED, false),
+                save("CLAIM-2", TradeImport.ImportStatus.CONSOLIDATED, false),
+                save("CLAIM-3", TradeImport.ImportStatus.CONSOLIDATED, false));
+        save("CLAIM-OTHER", TradeImport.ImportStatus.IMPORTED, false);
+
+        List<Long> firstClaim = tradeImportService.claimImports(TradeImport.ImportStatus.CONSOLIDATED, 2);
+        List<Long> secondClaim = tradeImportService.claimImports(TradeImport.ImportStatus.CONSOLIDATED, 2);
+
+        assertEquals(consolidated.subList(0, 2), firstClaim);
+        assertEquals(consolidated.subList(2, 3), secondClaim, "Leased imports must not be claimed again");
+        assertTrue(tradeImportService.claimImports(TradeImport.ImportStatus.CONSOLIDATED, 2).isEmpty());
+        // A node may renew its own lease
+        assertTrue(tradeImportService.claimImport(consolidated.get(0), TradeImport.ImportStatus.CONSOLIDATED));
+        assertEquals(3, tradeImportRepository.countByStatus(TradeImport.ImportStatus.CONSOLIDATED));
+    }
+
+    @Test
+    void testOneFailingImportDoesNotRollBackTheBatch() {
+        int importCount = 120; // spans two claim batches
+        for (int i = 0; i < importCount; i++) {
+            save("BULK-" + i, TradeImport.ImportStatus.CONSOLIDATED, false);
+        }
+        // Inconsistent row: generateMXML refuses it
+        Long broken = save("BULK-BROKEN", TradeImport.ImportStatus.CONSOLIDATED, true);
+
+        List<TradeImportDto> results = tradeImportService.generateMXMLForAllConsolidated();
+
+        assertEquals(importCount, results.size());
+        assertEquals(importCount, tradeImportRepository.countByStatus(TradeImport.ImportStatus.MXML_GENERATED));
+        assertEquals(TradeImport.ImportStatus.CONSOLIDATED,
+                tradeImportRepository.findById(broken).orElseThrow().getStatus());
+
+        assertEquals(importCount, tradeImportService.pushAllToMurex().size());
+        tradeImportService.clearAllMurexImports();
+
+        assertEquals(0, tradeImportRepository.countByStatus(TradeImport.ImportStatus.PUSHED_TO_MUREX));
+        assertEquals(1, tradeImportRepository.count());
+    }
+
+    private Long save(String name, TradeImport.ImportStatus status, boolean mxmlGenerated) {
+        return tradeImportRepository.save(TradeImport.builder()
+                .importName(name)
+                .status(status)
+                .originalTradeCount(0)
+                .currentTradeCount(0)
+                .mxmlGenerated(mxmlGenerated)
+                .createdAt(LocalDateTime.now(ZoneOffset.UTC))
+                .build()).getId();
+    }
+}
@@ -0,0 +1,45 @@
+package com.vibe.fundsmith.service;
+
+import com.vibe.fundsmith.config.VirtualThreadConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the JFR-based monitor notices a virtual thread blocking inside {@code synchronized}.
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void testPinnedVirtualThreadIsRecorded() throws Exception {
+        VirtualThreadConfig config = new VirtualThreadConfig();
+        config.setPinningThresholdMs(10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(config, registry);
+        monitor.start();
+        try {
+            Thread pinned = Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(100); // parks while holding a monitor, so the carrier stays pinned
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            pinned.join();
+
+            // JFR streams events roughly once a second
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (registry.timer("jvm.threads.virtual.pinned").count() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(registry.timer("jvm.threads.virtual.pinned").count() >= 1, "Pinning was not reported");
+        } finally {
+            monitor.stop();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import { LiveTradesGrid } from './components/LiveTradesGrid';
 import { Dashboard } from './components/Dashboard';
 import { DemoConfig } from './types/liveTrade';
 import { liveTradeService } from './services/liveTradeService';
+import { liveTradeStreamService } from './services/liveTradeStreamService';
 import { tradeImportService } from './services/tradeImportService';
 import { TradeImport } from './types/tradeImport';
 
@@ -23,7 +24,6 @@ function App() {
   const [activeTab, setActiveTab] = useState<'dashboard' | 'imports' | 'consolidated' | 'mxml' | 'murex'>('dashboard');
   const [importsSubTab, setImportsSubTab] = useState<'csv' | 'live'>('live');
   const [pendingTradeCount, setPendingTradeCount] = useState(0);
-  const [liveTradeRefreshTrigger, setLiveTradeRefreshTrigger] = useState(0);
   const [newImportIds, setNewImportIds] = useState<Set<number>>(new Set());
   const [newMxmlImportIds, setNewMxmlImportIds] = useState<Set<number>>(new Set());
   const [newMurexImportIds, setNewMurexImportIds] = useState<Set<number>>(new Set());
@@ -65,53 +65,14 @@ function App() {
     }
   };
 
-  // Poll for pending trade count
+  // Pending trades and import status changes are pushed by the server; imports are reloaded
+  // at most once per coalesced update instead of on a timer
   useEffect(() => {
-    if (activeTab === 'imports' && importsSubTab === 'live') {
-      const interval = setInterval(async () => {
-        try {
-          const count = await liveTradeService.getPendingTradeCount();
-          setPendingTradeCount(count);
-        } catch (error) {
-          console.error('Failed to get pending trade count:', error);
-        }
-      }, 1000);
-      return () => clearInterval(interval);
-    }
-  }, [activeTab, importsSubTab]);
-
-  // Auto-refresh consolidated tab every 3 seconds when active
-  useEffect(() => {
-    if (activeTab === 'consolidated') {
-      const interval = setInterval(() => {
-        loadImports();
-        // This will trigger the effect below to detect new imports
-      }, 3000);
-      return () => clearInterval(interval);
-    }
-  }, [activeTab]); // eslint-disable-line react-hooks/exhaustive-deps
-
-  // Auto-refresh MXML tab every 3 seconds when active
-  useEffect(() => {
-    if (activeTab === 'mxml') {
-      const interval = setInterval(() => {
-        loadImports();
-        // This will trigger the effect below to detect new MXML imports
-      }, 3000);
-      return () => clearInterval(interval);
-    }
-  }, [activeTab]); // eslint-disable-line react-hooks/exhaustive-deps
-
-  // Auto-refresh Murex tab every 3 seconds when active
-  useEffect(() => {
-    if (activeTab === 'murex') {
-      const interval = setInterval(() => {
-        loadImports();
-        // This will trigger the effect below to detect new Murex imports
-      }, 3000);
-      return () => clearInterval(interval);
-    }
-  }, [activeTab]); // eslint-disable-line react-hooks/exhaustive-deps
+    return liveTradeStreamService.subscribe({
+      onPendingTrades: (_trades, count) => setPendingTradeCount(count),
+      onImportsChanged: () => loadImports(),
+    });
+  }, []); // eslint-disable-line react-hooks/exhaustive-deps
 
   // Detect new consolidated imports and add flash effect
   useEffect(() => {
@@ -257,8 +218,6 @@ function App() {
         setActiveTab('consolidated');
         await loadImports();
         showToast(`Processed ${pendingTradeCount} live trades into consolidated import`, 'success');
-        setPendingTradeCount(0);
-        setLiveTradeRefreshTrigger(prev => prev + 1); // Trigger grid refresh
         
         // Add flash effect for the new import
         if (result.id) {
@@ -736,12 +695,9 @@ function App() {
           <Dashboard 
             imports={imports}
             demoConfig={demoConfig}
-            onRefresh={loadImports}
           />
         ) : activeTab === 'imports' && importsSubTab === 'live' ? (
-          <LiveTradesGrid
-            refreshTrigger={liveTradeRefreshTrigger}
-          />
+          <LiveTradesGrid />
         ) : (
           <>
             {filteredImports.length === 0 ? (
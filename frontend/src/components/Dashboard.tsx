@@ -1,12 +1,11 @@
 import React, { useState, useEffect } from 'react';
 import { TradeImport } from '../types/tradeImport';
 import { DemoConfig } from '../types/liveTrade';
-import { liveTradeService } from '../services/liveTradeService';
+import { liveTradeStreamService } from '../services/liveTradeStreamService';
 
 interface DashboardProps {
   imports: TradeImport[];
   demoConfig: DemoConfig;
-  onRefresh: () => void;
 }
 
 interface Stats {
@@ -24,7 +23,7 @@ interface ConsolidationMetrics {
   allTimeRate: number;
 }
 
-export const Dashboard: React.FC<DashboardProps> = ({ imports, demoConfig, onRefresh }) => {
+export const Dashboard: React.FC<DashboardProps> = ({ imports, demoConfig }) => {
   const [stats, setStats] = useState<Stats>({
     imported: 0,
     consolidated: 0,
@@ -39,8 +38,9 @@ export const Dashboard: React.FC<DashboardProps> = ({ imports, demoConfig, onRef
     allTimeRate: 0,
   });
   const [lastUpdate, setLastUpdate] = useState<Date>(new Date());
+  const [pendingTrades, setPendingTrades] = useState(0);
 
-  const calculateStats = async () => {
+  const calculateStats = () => {
     const imported = imports.filter(imp => imp.status === 'IMPORTED').length;
     const consolidated = imports.filter(imp => imp.status === 'CONSOLIDATED').length;
     const mxmlGenerated = imports.filter(imp => imp.status === 'MXML_GENERATED').length;
@@ -70,13 +70,6 @@ export const Dashboard: React.FC<DashboardProps> = ({ imports, demoConfig, onRef
     const last10Rate = calculateConsolidationRate(consolidatedImports.slice(0, 10));
     const allTimeRate = calculateConsolidationRate(consolidatedImports);
     
-    let pendingTrades = 0;
-    try {
-      pendingTrades = await liveTradeService.getPendingTradeCount();
-    } catch (error) {
-      console.error('Failed to get pending trades count:', error);
-    }
-
     setStats({
       imported,
       consolidated,
@@ -98,24 +91,14 @@ export const Dashboard: React.FC<DashboardProps> = ({ imports, demoConfig, onRef
   useEffect(() => {
     calculateStats();
   // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, [imports]);
+  }, [imports, pendingTrades]);
 
-  // Auto-refresh data - faster in demo mode, slower otherwise
+  // Pushed by the server; the imports are reloaded by App when their statuses change
   useEffect(() => {
-    const refreshInterval = demoConfig.enabled ? 1000 : 3000;
-    console.log('Dashboard: Setting up refresh interval:', refreshInterval + 'ms');
-    
-    const interval = setInterval(() => {
-      console.log('Dashboard: Refreshing data at', new Date().toLocaleTimeString());
-      onRefresh();
-      setLastUpdate(new Date());
-    }, refreshInterval);
-    
-    return () => {
-      console.log('Dashboard: Cleaning up refresh interval');
-      clearInterval(interval);
-    };
-  }, [demoConfig.enabled, onRefresh]);
+    return liveTradeStreamService.subscribe({
+      onPendingTrades: (_trades, count) => setPendingTrades(count),
+    });
+  }, []);
 
   const StatCard: React.FC<{
     title: string;
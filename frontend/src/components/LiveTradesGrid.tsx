@@ -1,71 +1,36 @@
 import React, { useState, useEffect } from 'react';
 import { LiveTrade } from '../types/liveTrade';
-import { liveTradeService } from '../services/liveTradeService';
+import { liveTradeStreamService } from '../services/liveTradeStreamService';
 
-interface LiveTradesGridProps {
-  refreshTrigger: number;
-}
-
-export const LiveTradesGrid: React.FC<LiveTradesGridProps> = ({ refreshTrigger }) => {
+export const LiveTradesGrid: React.FC = () => {
   const [pendingTrades, setPendingTrades] = useState<LiveTrade[]>([]);
-  const [isLoading, setIsLoading] = useState(false);
-  const [error, setError] = useState<string | null>(null);
-
-  const loadPendingTrades = async () => {
-    setIsLoading(true);
-    setError(null);
-    try {
-      const trades = await liveTradeService.getPendingTrades();
-      setPendingTrades(trades);
-    } catch (error) {
-      setError('Failed to load pending trades');
-      console.error('Failed to load pending trades:', error);
-    } finally {
-      setIsLoading(false);
-    }
-  };
-
-  useEffect(() => {
-    loadPendingTrades();
-  }, [refreshTrigger]);
+  const [pendingCount, setPendingCount] = useState(0);
+  const [isConnected, setIsConnected] = useState(false);
 
-  // Auto-refresh every 2 seconds
+  // Pushed by the server as trades are accepted and flushed
   useEffect(() => {
-    const interval = setInterval(loadPendingTrades, 2000);
-    return () => clearInterval(interval);
+    return liveTradeStreamService.subscribe({
+      onPendingTrades: (trades, count) => {
+        setPendingTrades(trades);
+        setPendingCount(count);
+      },
+      onConnectionChange: setIsConnected,
+    });
   }, []);
 
   const formatTimestamp = (timestamp: string) => {
     return new Date(timestamp).toLocaleTimeString();
   };
 
-  if (error) {
-    return (
-      <div className="bg-fd-darker rounded-lg border border-fd-border p-6">
-        <div className="text-center text-red-400">
-          <p>{error}</p>
-          <button 
-            onClick={loadPendingTrades}
-            className="btn btn-outline mt-2"
-          >
-            Retry
-          </button>
-        </div>
-      </div>
-    );
-  }
-
   return (
     <div className="bg-fd-darker rounded-lg border border-fd-border">
       <div className="p-4 border-b border-fd-border flex justify-between items-center">
         <h3 className="text-lg font-semibold text-fd-text">
-          Pending Live Trades ({pendingTrades.length})
+          Pending Live Trades ({pendingCount})
         </h3>
         <div className="flex items-center space-x-2">
-          {isLoading && (
-            <div className="w-4 h-4 bg-fd-green rounded-full animate-pulse"></div>
-          )}
-          <span className="text-xs text-fd-text-muted">Auto-refreshing</span>
+          <div className={`w-2 h-2 rounded-full ${isConnected ? 'bg-fd-green animate-pulse' : 'bg-red-400'}`}></div>
+          <span className="text-xs text-fd-text-muted">{isConnected ? 'Live' : 'Reconnecting...'}</span>
         </div>
       </div>
 
@@ -73,11 +38,16 @@ export const LiveTradesGrid: React.FC<LiveTradesGridProps> = ({ refreshTrigger }
         <div className="text-center text-fd-text-muted py-16">
           <p className="text-lg">No pending trades</p>
           <p className="text-sm mt-2">
-            {isLoading ? 'Loading...' : 'Enable demo mode or wait for live trades to appear here'}
+            {isConnected ? 'Enable demo mode or wait for live trades to appear here' : 'Connecting...'}
           </p>
         </div>
       ) : (
         <div className="overflow-x-auto">
+          {pendingCount > pendingTrades.length && (
+            <p className="px-4 pt-3 text-xs text-fd-text-muted">
+              Showing the latest {pendingTrades.length} of {pendingCount} pending trades
+            </p>
+          )}
           <table className="table">
             <thead className="table-header">
               <tr>
@@ -54,7 +54,7 @@ const NavPanel = forwardRef<NavPanelRef, {}>((props, ref: ForwardedRef<NavPanelR
   const refreshHistory = async () => {
     setError(null);
     try {
-      const h = await navService.getHistory('DEFAULT', 10);
+      const h = await navService.getHistory(undefined, 10);
       setHistory(h);
     } catch (e) {
       setError((e as Error).message);
@@ -71,7 +71,7 @@ const NavPanel = forwardRef<NavPanelRef, {}>((props, ref: ForwardedRef<NavPanelR
     setRunningCalc(true);
     setError(null);
     try {
-      const snapshot = await navService.calculate('DEFAULT');
+      const snapshot = await navService.calculate();
       // update UI with returned persisted snapshot
       setLatest(snapshot);
       // prepend to history (keep short)
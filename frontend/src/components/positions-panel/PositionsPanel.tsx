@@ -14,7 +14,7 @@ export interface PositionsPanelProps {
 }
 
 export const PositionsPanel = forwardRef<PositionsPanelRef, PositionsPanelProps>((props, ref) => {
-    const { portfolioId = 'DEFAULT' } = props;
+    const { portfolioId } = props;
     
     const [positions, setPositions] = useState<Position[]>([]);
     const [cashBalance, setCashBalance] = useState<CashBalance | null>(null);
@@ -123,16 +123,28 @@ export const PositionsPanel = forwardRef<PositionsPanelRef, PositionsPanelProps>
                 <table className={styles['positions-table']}>
                     <thead>
                         <tr>
-                            <th>ISIN</th>
+                            <th>Book</th>
+                            <th>Instrument</th>
                             <th>Quantity</th>
+                            <th>Avg Price</th>
+                            <th>Mark</th>
+                            <th>Unrealized P&amp;L</th>
                             <th>Updated At</th>
                         </tr>
                     </thead>
                     <tbody>
                         {positions.map((position) => (
-                            <tr key={position.isin}>
-                                <td>{position.isin}</td>
-                                <td>{formatNumber(position.quantity)}</td>
+                            <tr key={`${position.portfolioId}-${position.currencyPair}`}>
+                                <td>{position.portfolioId}</td>
+                                <td>{position.currencyPair}</td>
+                                <td className={position.quantity < 0 ? styles['negative'] : undefined}>
+                                    {formatNumber(position.quantity)}
+                                </td>
+                                <td>{position.averagePrice !== null ? formatNumber(position.averagePrice) : '-'}</td>
+                                <td>{position.markPrice !== null ? formatNumber(position.markPrice) : '-'}</td>
+                                <td className={position.unrealizedPnl !== null && position.unrealizedPnl < 0 ? styles['negative'] : undefined}>
+                                    {position.unrealizedPnl !== null ? formatNumber(position.unrealizedPnl) : '-'}
+                                </td>
                                 <td>{formatDateTime(position.lastUpdated)}</td>
                             </tr>
                         ))}
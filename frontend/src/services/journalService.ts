@@ -39,7 +39,7 @@ class JournalService {
       if (tradeId) queryParams.append('tradeId', tradeId);
       if (type) queryParams.append('type', type);
       
-      const response = await fetch(`${API_BASE_URL}/api/journals?${queryParams.toString()}`);
+      const response = await fetch(`${API_BASE_URL}/journals?${queryParams.toString()}`);
       
       if (!response.ok) {
         throw new Error(`Failed to fetch journals: ${response.statusText}`);
@@ -55,7 +55,7 @@ class JournalService {
   
   async fetchJournalById(journalId: string): Promise<Journal> {
     try {
-      const response = await fetch(`${API_BASE_URL}/api/journals/${journalId}`);
+      const response = await fetch(`${API_BASE_URL}/journals/${journalId}`);
       
       if (!response.ok) {
         throw new Error(`Failed to fetch journal: ${response.statusText}`);
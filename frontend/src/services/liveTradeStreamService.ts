@@ -0,0 +1,87 @@
+import { API_BASE_URL } from '../config/api';
+import { LiveTrade } from '../types/liveTrade';
+
+export interface ImportStatusChange {
+  importId: number | null; // null when every import was cleared
+  status: string;
+}
+
+// One coalesced server-sent event from /live-trades/stream
+interface LiveTradeStreamDelta {
+  resync: boolean;
+  acceptedTrades: LiveTrade[];
+  flushedCount: number;
+  pendingCount: number;
+  importStatuses: ImportStatusChange[];
+}
+
+export interface LiveTradeStreamHandlers {
+  onPendingTrades?: (trades: LiveTrade[], pendingCount: number) => void;
+  // Called with no changes on (re)connect, when the client may have missed some
+  onImportsChanged?: (changes: ImportStatusChange[]) => void;
+  onConnectionChange?: (connected: boolean) => void;
+}
+
+// Matches the backend's snapshot size; older pending trades are only counted
+const MAX_PENDING_TRADES = 500;
+
+const subscribers = new Set<LiveTradeStreamHandlers>();
+let source: EventSource | null = null;
+let pendingTrades: LiveTrade[] = [];
+let pendingCount = 0;
+let synced = false;
+
+const applyDelta = (delta: LiveTradeStreamDelta) => {
+  // The pending buffer is first in, first out: keep the newest trades still pending
+  const trades = delta.resync ? delta.acceptedTrades : pendingTrades.concat(delta.acceptedTrades);
+  const keep = Math.min(delta.pendingCount, MAX_PENDING_TRADES);
+  pendingTrades = trades.slice(Math.max(0, trades.length - keep));
+  pendingCount = delta.pendingCount;
+  synced = true;
+
+  subscribers.forEach(handlers => {
+    handlers.onPendingTrades?.(pendingTrades, pendingCount);
+    if (delta.resync) {
+      handlers.onImportsChanged?.([]);
+    } else if (delta.importStatuses.length > 0) {
+      handlers.onImportsChanged?.(delta.importStatuses);
+    }
+  });
+};
+
+const connect = () => {
+  // EventSource reconnects by itself; the server starts every connection with a resync
+  source = new EventSource(`${API_BASE_URL}/live-trades/stream`);
+  source.onopen = () => subscribers.forEach(handlers => handlers.onConnectionChange?.(true));
+  source.onerror = () => subscribers.forEach(handlers => handlers.onConnectionChange?.(false));
+  source.addEventListener('delta', event => {
+    try {
+      applyDelta(JSON.parse((event as MessageEvent).data));
+    } catch (error) {
+      console.error('Failed to apply live trade stream event:', error);
+    }
+  });
+};
+
+export const liveTradeStreamService = {
+  /**
+   * Shares one stream between all subscribers; returns the unsubscribe function.
+   */
+  subscribe(handlers: LiveTradeStreamHandlers): () => void {
+    subscribers.add(handlers);
+    if (!source) {
+      connect();
+    } else if (synced) {
+      handlers.onConnectionChange?.(source.readyState === EventSource.OPEN);
+      handlers.onPendingTrades?.(pendingTrades, pendingCount);
+    }
+    return () => {
+      subscribers.delete(handlers);
+      if (subscribers.size === 0 && source) {
+        source.close();
+        source = null;
+        synced = false;
+      }
+    };
+  },
+};
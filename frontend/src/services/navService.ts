@@ -5,9 +5,9 @@ class NavService {
   /**
    * Get the latest NAV snapshot for a portfolio
    */
-  async getLatest(portfolioId: string = 'DEFAULT'): Promise<NavSnapshot | null> {
+  async getLatest(portfolioId: string = 'ALL'): Promise<NavSnapshot | null> {
     try {
-      const response = await fetch(`${API_BASE_URL}/api/nav/latest?portfolioId=${portfolioId}`);
+      const response = await fetch(`${API_BASE_URL}/nav/latest?portfolioId=${encodeURIComponent(portfolioId)}`);
       
       if (response.status === 404) {
         // No NAV snapshot found yet
@@ -29,14 +29,17 @@ class NavService {
   /**
    * Get NAV history for a portfolio
    */
-  async getHistory(portfolioId: string = 'DEFAULT', limit: number = 10): Promise<NavSnapshot[]> {
+  async getHistory(portfolioId: string = 'ALL', limit: number = 10, params: NavHistoryParams = {}): Promise<NavSnapshot[]> {
     try {
       const queryParams = new URLSearchParams({
         portfolioId,
         limit: limit.toString()
       });
+      if (params.startDate) queryParams.set('startDate', params.startDate);
+      if (params.endDate) queryParams.set('endDate', params.endDate);
+      if (params.beforeId) queryParams.set('beforeId', params.beforeId);
       
-      const response = await fetch(`${API_BASE_URL}/api/nav/history?${queryParams.toString()}`);
+      const response = await fetch(`${API_BASE_URL}/nav/history?${queryParams.toString()}`);
       
       if (!response.ok) {
         throw new Error(`Failed to fetch NAV history: ${response.statusText}`);
@@ -53,14 +56,14 @@ class NavService {
   /**
    * Trigger a NAV calculation for a portfolio
    */
-  async calculate(portfolioId: string = 'DEFAULT', asOfDate?: string): Promise<NavSnapshot> {
+  async calculate(portfolioId: string = 'ALL', asOfDate?: string): Promise<NavSnapshot> {
     try {
       const request: NavCalculationRequest = {
         portfolioId,
         ...(asOfDate && { asOfDate })
       };
       
-      const response = await fetch(`${API_BASE_URL}/api/nav/calculate`, {
+      const response = await fetch(`${API_BASE_URL}/nav/calculate`, {
         method: 'POST',
         headers: {
           'Content-Type': 'application/json',
@@ -86,7 +89,7 @@ class NavService {
    */
   async getById(navId: string): Promise<NavSnapshot> {
     try {
-      const response = await fetch(`${API_BASE_URL}/api/nav/${navId}`);
+      const response = await fetch(`${API_BASE_URL}/nav/${navId}`);
       
       if (!response.ok) {
         throw new Error(`Failed to fetch NAV snapshot: ${response.statusText}`);
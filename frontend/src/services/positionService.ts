@@ -1,10 +1,16 @@
 import { API_BASE_URL } from '../config/api';
 
 export interface Position {
-  isin: string;
+  portfolioId: string;
+  currencyPair: string;
   quantity: number;
+  netCost: number;
+  averagePrice: number | null;
+  markPrice: number | null;
+  marketValue: number | null;
+  unrealizedPnl: number | null;
+  tradeCount: number;
   lastUpdated: string;
-  portfolioId?: string;
 }
 
 export interface PositionFetchParams {
@@ -13,10 +19,11 @@ export interface PositionFetchParams {
 
 class PositionService {
   async fetchPositions(params: PositionFetchParams = {}): Promise<Position[]> {
-    const { portfolioId = 'DEFAULT' } = params;
+    const { portfolioId } = params;
+    const query = portfolioId ? `?portfolioId=${encodeURIComponent(portfolioId)}` : '';
     
     try {
-      const response = await fetch(`${API_BASE_URL}/api/positions?portfolioId=${portfolioId}`);
+      const response = await fetch(`${API_BASE_URL}/positions${query}`);
       
       if (!response.ok) {
         throw new Error(`Failed to fetch positions: ${response.statusText}`);
@@ -12,6 +12,7 @@ export interface NavSnapshot {
   createdAt: string;
   asOfDate?: string;
   componentsCount?: number;
+  sharesOutstanding?: number;
 }
 
 export interface NavCalculationRequest {
@@ -24,4 +25,5 @@ export interface NavHistoryParams {
   limit?: number;
   startDate?: string;
   endDate?: string;
+  beforeId?: string; // id of the last snapshot of the previous page
 }
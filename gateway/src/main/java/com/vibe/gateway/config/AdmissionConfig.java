@@ -0,0 +1,33 @@
+package com.vibe.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings shared by the gateway's rate limiter and concurrency limits; the limits themselves are
+ * set per route.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.admission")
+public class AdmissionConfig {
+    // Proxies in front of the gateway that append to X-Forwarded-For; 0 keys clients by remote address
+    private int trustedProxies = 1;
+    private int maxTrackedClients = 10_000; // token buckets kept before the least recently used is dropped
+
+    // Getters and setters
+    public int getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(int trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public int getMaxTrackedClients() {
+        return maxTrackedClients;
+    }
+
+    public void setMaxTrackedClients(int maxTrackedClients) {
+        this.maxTrackedClients = maxTrackedClients;
+    }
+}
@@ -0,0 +1,53 @@
+package com.vibe.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the gateway's aggregated backend health check.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.health")
+public class HealthCheckConfig {
+    private String serviceId = "backend"; // discovery service whose instances are probed
+    // Tried in order; the next one only when an instance does not serve the previous one
+    private List<String> endpoints = new ArrayList<>(List.of("/actuator/health", "/api/health"));
+    private long timeoutMs = 1000; // per probe
+    private long cacheTtlMs = 2000;
+
+    // Getters and setters
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(String serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<String> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public long getCacheTtlMs() {
+        return cacheTtlMs;
+    }
+
+    public void setCacheTtlMs(long cacheTtlMs) {
+        this.cacheTtlMs = cacheTtlMs;
+    }
+}
@@ -0,0 +1,32 @@
+package com.vibe.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bounds of the response cache shared by the routes that use the {@code SingleFlightCache} filter;
+ * the TTL is set per route.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheConfig {
+    private int maxEntries = 1000;
+    private int maxBodyBytes = 4 * 1024 * 1024; // larger responses are passed through, not shared
+
+    // Getters and setters
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+}
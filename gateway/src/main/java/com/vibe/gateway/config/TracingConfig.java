@@ -0,0 +1,77 @@
+package com.vibe.gateway.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import brave.sampler.RateLimitingSampler;
+import brave.sampler.Sampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Trace sampling and span export. A trace is sampled with {@code management.tracing.sampling.probability}
+ * and then capped at {@code max-traces-per-second}, so that tracing stays cheap at full live trade
+ * rates. Sampled spans go to Zipkin with the {@code zipkin} profile, and to the {@code tracing.spans}
+ * logger with {@code log-spans}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "tracing")
+public class TracingConfig {
+    private int maxTracesPerSecond = 20; // 0: no cap
+    private boolean logSpans = false;
+
+    @Bean
+    public Sampler braveSampler(@Value("${management.tracing.sampling.probability:0.1}") float probability) {
+        Sampler probabilitySampler = Sampler.create(probability);
+        if (maxTracesPerSecond <= 0) {
+            return probabilitySampler;
+        }
+        Sampler rateLimit = RateLimitingSampler.create(maxTracesPerSecond);
+        return new Sampler() {
+            @Override
+            public boolean isSampled(long traceId) {
+                return probabilitySampler.isSampled(traceId) && rateLimit.isSampled(traceId);
+            }
+        };
+    }
+
+    /**
+     * Writes each finished span as one line of Zipkin JSON, for when no collector is running.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing", name = "log-spans", havingValue = "true")
+    public SpanHandler spanLogHandler() {
+        Logger spans = LoggerFactory.getLogger("tracing.spans");
+        return new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                if (cause == Cause.FINISHED) {
+                    spans.info("{}", span);
+                }
+                return true;
+            }
+        };
+    }
+
+    // Getters and setters
+    public int getMaxTracesPerSecond() {
+        return maxTracesPerSecond;
+    }
+
+    public void setMaxTracesPerSecond(int maxTracesPerSecond) {
+        this.maxTracesPerSecond = maxTracesPerSecond;
+    }
+
+    public boolean isLogSpans() {
+        return logSpans;
+    }
+
+    public void setLogSpans(boolean logSpans) {
+        this.logSpans = logSpans;
+    }
+}
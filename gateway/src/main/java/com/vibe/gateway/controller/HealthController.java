@@ -0,0 +1,66 @@
+package com.vibe.gateway.controller;
+
+import com.vibe.gateway.service.BackendHealthAggregator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller for gateway health endpoints
+ */
+@RestController
+@RequestMapping({"/api/health", "/health"}) // Support both paths
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Slf4j
+public class HealthController {
+
+    private final BackendHealthAggregator backendHealthAggregator;
+
+    @Value("${spring.application.name:gateway}")
+    private String applicationName;
+
+    /**
+     * Gateway status plus the aggregated backend status; never blocks the event loop, and backend
+     * probes are shared and cached by {@link BackendHealthAggregator}.
+     */
+    @GetMapping("/status")
+    public Mono<ResponseEntity<Map<String, Object>>> getStatus() {
+        log.debug("Gateway health status endpoint called");
+        return backendHealthAggregator.getBackendStatus().map(backendStatus -> {
+            Map<String, Object> response = new HashMap<>();
+
+            // Gateway's own status
+            response.put("status", "UP");
+            response.put("serviceName", applicationName);
+            response.put("timestamp", System.currentTimeMillis());
+            response.put("backendStatus", backendStatus);
+
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    @GetMapping("/ping")
+    public ResponseEntity<Map<String, String>> ping() {
+        log.debug("Gateway health ping endpoint called");
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "pong");
+        return ResponseEntity.ok(response);
+    }
+
+    // Root endpoint for simple health check
+    @GetMapping({"", "/"})
+    public ResponseEntity<Map<String, Object>> root() {
+        log.debug("Gateway health root endpoint called");
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "UP");
+        response.put("service", applicationName);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,132 @@
+package com.vibe.gateway.filter;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A fixed number of permits with a bounded, first in first out queue of requests waiting for one.
+ * Waiting is non-blocking: a queued request holds no thread, and is rejected when its wait runs out.
+ */
+class Bulkhead {
+
+    static final String QUEUE_FULL = "queue_full";
+    static final String QUEUE_TIMEOUT = "queue_timeout";
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private int active;
+
+    Bulkhead(int maxConcurrent, int maxQueued) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Completes once a permit is held, which the caller must then {@link #release()}; errors with a
+     * {@link RejectedException} when the queue is full or {@code maxWait} runs out first.
+     */
+    Mono<Void> acquire(Duration maxWait) {
+        return Mono.create(sink -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (active < maxConcurrent) {
+                    active++;
+                    waiter = null;
+                } else if (waiters.size() >= maxQueued) {
+                    sink.error(new RejectedException(QUEUE_FULL));
+                    return;
+                } else {
+                    waiter = new Waiter(sink);
+                    waiters.addLast(waiter);
+                }
+            }
+            if (waiter == null) {
+                sink.success();
+                return;
+            }
+            waiter.timeout = Schedulers.parallel().schedule(() -> {
+                if (waiter.claim()) {
+                    remove(waiter);
+                    sink.error(new RejectedException(QUEUE_TIMEOUT));
+                }
+            }, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            sink.onCancel(() -> {
+                if (waiter.claim()) {
+                    waiter.timeout.dispose();
+                    remove(waiter);
+                }
+            });
+        });
+    }
+
+    /**
+     * Hands the permit to the longest waiting request, if any.
+     */
+    void release() {
+        Waiter next;
+        synchronized (this) {
+            do {
+                next = waiters.pollFirst();
+            } while (next != null && !next.claim());
+            if (next == null) {
+                active--;
+                return;
+            }
+        }
+        if (next.timeout != null) {
+            next.timeout.dispose();
+        }
+        next.sink.success();
+    }
+
+    synchronized int active() {
+        return active;
+    }
+
+    synchronized int queued() {
+        return waiters.size();
+    }
+
+    private synchronized void remove(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Void> sink;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile Disposable timeout;
+
+        Waiter(MonoSink<Void> sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Exactly one of granting the permit, timing out and cancelling gets to complete the wait.
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    static class RejectedException extends RuntimeException {
+        private final String reason;
+
+        RejectedException(String reason) {
+            super("Request rejected: " + reason, null, false, false); // routine under overload: no stack trace
+            this.reason = reason;
+        }
+
+        String getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.vibe.gateway.filter;
+
+import com.vibe.gateway.config.AdmissionConfig;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Identifies the client a request is rate limited and concurrency limited as: its address, as
+ * seen by the outermost trusted proxy. Entries clients add to {@code X-Forwarded-For} themselves
+ * are ignored, so that a client cannot pose as many.
+ */
+@Component
+public class ClientKeyResolver implements KeyResolver {
+
+    static final String UNKNOWN_CLIENT = "unknown";
+
+    private final RemoteAddressResolver addressResolver;
+
+    public ClientKeyResolver(AdmissionConfig config) {
+        this.addressResolver = config.getTrustedProxies() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(config.getTrustedProxies())
+                : new RemoteAddressResolver() {
+                };
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        InetSocketAddress address = addressResolver.resolve(exchange);
+        if (address == null) {
+            return Mono.just(UNKNOWN_CLIENT);
+        }
+        return Mono.just(address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString());
+    }
+}
@@ -0,0 +1,175 @@
+package com.vibe.gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits the requests a route has in flight upstream, overall and per client (as identified by
+ * {@link ClientKeyResolver}). Requests over the route's limit wait in a bounded queue for up to
+ * {@code max-wait} instead of piling onto backend threads:
+ *
+ * <pre>
+ * filters:
+ *   - name: ConcurrencyLimit
+ *     args:
+ *       max-concurrent: 2
+ *       max-concurrent-per-client: 1
+ *       max-queued: 20
+ *       max-wait: 30s
+ * </pre>
+ *
+ * A client over its own limit gets a 429 straight away; a request that finds the queue full or
+ * waits too long gets a 503. Rejections are counted in {@code gateway.requests.rejected}, by route
+ * and reason, and time spent queued in {@code gateway.admission.wait}.
+ */
+@Component
+public class ConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+
+    static final String CLIENT_LIMIT = "client_concurrency";
+
+    private final ClientKeyResolver keyResolver;
+    private final MeterRegistry registry;
+
+    public ConcurrencyLimitGatewayFilterFactory(ClientKeyResolver keyResolver, MeterRegistry registry) {
+        super(Config.class);
+        this.keyResolver = keyResolver;
+        this.registry = registry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        Map<String, Integer> clients = new ConcurrentHashMap<>();
+        Bulkhead route = null;
+        Timer waitTimer = null;
+        if (config.getMaxConcurrent() > 0) {
+            route = new Bulkhead(config.getMaxConcurrent(), config.getMaxQueued());
+            waitTimer = Timer.builder("gateway.admission.wait")
+                    .description("Time a request waited for a concurrency limited route")
+                    .tag("route", routeId)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        Bulkhead routeLimit = route;
+        Timer routeWaitTimer = waitTimer;
+
+        return (exchange, chain) -> keyResolver.resolve(exchange).flatMap(client -> {
+            if (!tryAcquire(clients, client, config.getMaxConcurrentPerClient())) {
+                return reject(exchange, routeId, CLIENT_LIMIT, HttpStatus.TOO_MANY_REQUESTS);
+            }
+            Mono<Void> admitted = routeLimit != null
+                    ? admit(routeLimit, config, routeWaitTimer, exchange, chain)
+                    : chain.filter(exchange);
+            return admitted
+                    .onErrorResume(Bulkhead.RejectedException.class,
+                            e -> reject(exchange, routeId, e.getReason(), HttpStatus.SERVICE_UNAVAILABLE))
+                    .doFinally(signal -> release(clients, client, config.getMaxConcurrentPerClient()));
+        });
+    }
+
+    private Mono<Void> admit(Bulkhead route, Config config, Timer waitTimer, ServerWebExchange exchange,
+                             GatewayFilterChain chain) {
+        long startNanos = System.nanoTime();
+        return route.acquire(config.getMaxWait())
+                .then(Mono.defer(() -> {
+                    waitTimer.record(Duration.ofNanos(System.nanoTime() - startNanos));
+                    return chain.filter(exchange).doFinally(signal -> route.release());
+                }));
+    }
+
+    private static boolean tryAcquire(Map<String, Integer> clients, String client, int max) {
+        if (max <= 0) {
+            return true;
+        }
+        boolean[] acquired = {false};
+        clients.compute(client, (key, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= max) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private static void release(Map<String, Integer> clients, String client, int max) {
+        if (max > 0) {
+            clients.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, String reason, HttpStatus status) {
+        registry.counter("gateway.requests.rejected", "route", routeId, "reason", reason).increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        return response.setComplete();
+    }
+
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int maxConcurrent; // 0: no limit for the route as a whole
+        private int maxConcurrentPerClient; // 0: no limit per client
+        private int maxQueued; // requests waiting for the route, beyond maxConcurrent
+        private Duration maxWait = Duration.ZERO;
+
+        // Getters and setters
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxConcurrentPerClient() {
+            return maxConcurrentPerClient;
+        }
+
+        public void setMaxConcurrentPerClient(int maxConcurrentPerClient) {
+            this.maxConcurrentPerClient = maxConcurrentPerClient;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            this.maxQueued = maxQueued;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
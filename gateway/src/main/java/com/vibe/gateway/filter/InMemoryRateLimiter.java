@@ -0,0 +1,166 @@
+package com.vibe.gateway.filter;
+
+import com.vibe.gateway.config.AdmissionConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token bucket rate limiter for the built-in {@code RequestRateLimiter} filter, kept in memory
+ * rather than in Redis: each gateway instance limits the clients it sees. Configured per route
+ * like the Redis limiter, under {@code in-memory-rate-limiter}:
+ *
+ * <pre>
+ * filters:
+ *   - name: RequestRateLimiter
+ *     args:
+ *       in-memory-rate-limiter.replenish-rate: 50
+ *       in-memory-rate-limiter.burst-capacity: 100
+ * </pre>
+ *
+ * Denied requests get a {@code Retry-After} header and are counted in
+ * {@code gateway.requests.rejected} with reason {@code rate_limited}. At most
+ * {@code gateway.admission.max-tracked-clients} buckets are kept; past that the least recently
+ * used one is dropped, and that client starts again with a full bucket.
+ */
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+    // Same headers as the Redis rate limiter
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private final AdmissionConfig admissionConfig;
+    private final MeterRegistry registry;
+    // Access ordered, so the eldest entry is the least recently used bucket; guarded by itself
+    private final Map<String, TokenBucket> buckets;
+
+    public InMemoryRateLimiter(ConfigurationService configurationService, AdmissionConfig admissionConfig,
+                               MeterRegistry registry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.admissionConfig = admissionConfig;
+        this.registry = registry;
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > admissionConfig.getMaxTrackedClients();
+            }
+        };
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        return Mono.just(isAllowed(routeId, id, System.nanoTime()));
+    }
+
+    Response isAllowed(String routeId, String id, long nowNanos) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            throw new IllegalArgumentException("No Configuration found for route " + routeId);
+        }
+        TokenBucket bucket;
+        synchronized (buckets) {
+            bucket = buckets.computeIfAbsent(routeId + "|" + id, key -> new TokenBucket(config, nowNanos));
+        }
+        double remaining = bucket.tryConsume(config, nowNanos);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(REMAINING_HEADER, String.valueOf((long) Math.max(remaining, 0)));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        headers.put(REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+        boolean allowed = remaining >= 0;
+        if (!allowed) {
+            // Seconds until the bucket holds enough tokens again
+            long retryAfter = (long) Math.ceil(-remaining / config.getReplenishRate());
+            headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(retryAfter, 1)));
+            registry.counter("gateway.requests.rejected", "route", routeId, "reason", "rate_limited").increment();
+        }
+        return new Response(allowed, headers);
+    }
+
+    int trackedClients() {
+        synchronized (buckets) {
+            return buckets.size();
+        }
+    }
+
+    /**
+     * Refilled lazily, from the time elapsed since it was last used.
+     */
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAtNanos;
+        private double replenishRate;
+        private int burstCapacity;
+
+        TokenBucket(Config config, long nowNanos) {
+            this.tokens = config.getBurstCapacity();
+            this.refilledAtNanos = nowNanos;
+            this.replenishRate = config.getReplenishRate();
+            this.burstCapacity = config.getBurstCapacity();
+        }
+
+        /**
+         * Takes the requested tokens if there are enough; returns the tokens left, or minus the
+         * tokens missing when there are not.
+         */
+        synchronized double tryConsume(Config config, long nowNanos) {
+            replenishRate = config.getReplenishRate();
+            burstCapacity = config.getBurstCapacity();
+            refill(nowNanos);
+            if (tokens < config.getRequestedTokens()) {
+                return tokens - config.getRequestedTokens();
+            }
+            tokens -= config.getRequestedTokens();
+            return tokens;
+        }
+
+        private void refill(long nowNanos) {
+            double elapsedSeconds = (nowNanos - refilledAtNanos) / 1_000_000_000.0;
+            tokens = Math.min(burstCapacity, tokens + elapsedSeconds * replenishRate);
+            refilledAtNanos = nowNanos;
+        }
+    }
+
+    public static class Config {
+        private int replenishRate = 1; // tokens added per second
+        private int burstCapacity = 1; // tokens the bucket holds
+        private int requestedTokens = 1; // tokens each request takes
+
+        // Getters and setters
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public void setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+        }
+    }
+}
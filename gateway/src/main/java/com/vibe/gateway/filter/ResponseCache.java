@@ -0,0 +1,115 @@
+package com.vibe.gateway.filter;
+
+import com.vibe.gateway.config.ResponseCacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The responses cached by {@link SingleFlightCacheGatewayFilterFactory} and the GETs it currently
+ * has in flight upstream, keyed by path, query and negotiated representation.
+ *
+ * A write through the gateway evicts the cached reads of the resource it changes (the first two
+ * path segments, e.g. {@code /api/imports}) and bumps a generation, so that a read already in
+ * flight when the write happened is shared with its waiting requests but not cached.
+ */
+@Component
+public class ResponseCache {
+
+    private final ResponseCacheConfig config;
+    private final MeterRegistry registry;
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(ResponseCacheConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.registry = registry;
+    }
+
+    CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Makes {@code flight} the upstream call for {@code key}; returns the call already in flight
+     * instead if there is one.
+     */
+    Sinks.One<CachedResponse> join(String key, Sinks.One<CachedResponse> flight) {
+        return inFlight.putIfAbsent(key, flight);
+    }
+
+    void land(String key, Sinks.One<CachedResponse> flight) {
+        inFlight.remove(key, flight);
+    }
+
+    long generation() {
+        return generation.get();
+    }
+
+    void put(String key, CachedResponse response, long startedAtGeneration) {
+        if (generation.get() != startedAtGeneration) {
+            return; // a write may have changed the resource while this read was in flight
+        }
+        if (entries.size() >= config.getMaxEntries() && !entries.containsKey(key)) {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> !entry.isFresh(now));
+            if (entries.size() >= config.getMaxEntries()) {
+                return;
+            }
+        }
+        entries.put(key, response);
+    }
+
+    /**
+     * Evicts every cached read of the resource that {@code path} belongs to.
+     */
+    public void evict(String path) {
+        String resource = resourceOf(path);
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.startsWith(resource)
+                && (key.length() == resource.length() || "/?|".indexOf(key.charAt(resource.length())) >= 0));
+    }
+
+    int maxBodyBytes() {
+        return config.getMaxBodyBytes();
+    }
+
+    /**
+     * Counts a cached-route request by {@code result}: {@code hit}, {@code coalesced}, {@code miss},
+     * {@code revalidated} or {@code bypass}.
+     */
+    void record(String routeId, String result) {
+        registry.counter("gateway.response.cache", "route", routeId, "result", result).increment();
+    }
+
+    static String resourceOf(String path) {
+        int first = path.indexOf('/', 1);
+        if (first < 0) {
+            return path;
+        }
+        int second = path.indexOf('/', first + 1);
+        return second < 0 ? path : path.substring(0, second);
+    }
+
+    /**
+     * A cached 200 response: its body, the headers worth replaying and its validators.
+     */
+    record CachedResponse(byte[] body, HttpHeaders headers, String etag, Instant lastModified, long expiresAtNanos) {
+
+        boolean isFresh(long nowNanos) {
+            return nowNanos - expiresAtNanos < 0;
+        }
+
+        CachedResponse renew(Duration ttl) {
+            return new CachedResponse(body, headers, etag, lastModified, System.nanoTime() + ttl.toNanos());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.vibe.gateway.filter;
+
+import com.vibe.gateway.filter.ResponseCache.CachedResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Collapses concurrent identical GETs on a route into one upstream call (single flight) and, when
+ * the route sets a {@code ttl}, serves the response from {@link ResponseCache} until it expires:
+ *
+ * <pre>
+ * filters:
+ *   - name: SingleFlightCache
+ *     args:
+ *       ttl: 1s
+ * </pre>
+ *
+ * A stale entry is revalidated with its {@code ETag} / {@code Last-Modified}: a 304 from the
+ * backend renews it, anything else replaces it. Responses marked {@code no-store} or
+ * {@code private}, or setting cookies, are shared with the requests waiting on the same flight
+ * but not cached. Clients' own conditional requests are answered by the gateway. The
+ * {@code X-Cache} response header says how each request was served.
+ */
+@Component
+public class SingleFlightCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<SingleFlightCacheGatewayFilterFactory.Config> {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    // Upstream headers replayed with a cached body
+    private static final List<String> CACHED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY);
+
+    private final ResponseCache cache;
+
+    public SingleFlightCacheGatewayFilterFactory(ResponseCache cache) {
+        super(Config.class);
+        this.cache = cache;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Duration ttl = config.getTtl() != null ? config.getTtl() : Duration.ZERO;
+        // Must wrap the response before NettyWriteResponseFilter writes the upstream body to it
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, ttl),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Duration ttl) {
+        ServerHttpRequest request = exchange.getRequest();
+        String routeId = routeId(exchange);
+        if (request.getMethod() != HttpMethod.GET) {
+            cache.record(routeId, "bypass");
+            return chain.filter(exchange);
+        }
+
+        String key = key(request);
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            cache.record(routeId, "hit");
+            return writeCached(request.getHeaders(), exchange.getResponse(), cached, "HIT");
+        }
+
+        Sinks.One<CachedResponse> flight = Sinks.one();
+        Sinks.One<CachedResponse> leader = cache.join(key, flight);
+        if (leader != null) {
+            cache.record(routeId, "coalesced");
+            // An empty flight (error, uncacheable or oversized response) leaves each request to call upstream itself
+            return leader.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> shared.isPresent()
+                            ? writeCached(request.getHeaders(), exchange.getResponse(), shared.get(), "COALESCED")
+                            : chain.filter(exchange));
+        }
+
+        CachedResponse stale = cached;
+        long generation = cache.generation();
+        // Mutating the request's headers also changes the original's, so keep the client's validators
+        HttpHeaders clientHeaders = new HttpHeaders();
+        clientHeaders.putAll(request.getHeaders());
+        ServerHttpRequest upstreamRequest = request.mutate().headers(headers -> {
+            // The response is shared, so fetch the full body; client validators are checked here
+            headers.remove(HttpHeaders.IF_NONE_MATCH);
+            headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+            if (stale != null && stale.etag() != null) {
+                headers.setIfNoneMatch(stale.etag());
+            } else if (stale != null && stale.lastModified() != null) {
+                headers.setIfModifiedSince(stale.lastModified());
+            }
+        }).build();
+
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return DataBufferUtils.join(Flux.from(body), cache.maxBodyBytes())
+                        .map(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            return bytes;
+                        })
+                        .defaultIfEmpty(new byte[0])
+                        .flatMap(bytes -> complete(clientHeaders, getDelegate(), bytes, stale, ttl, key, generation,
+                                flight, routeId));
+            }
+        };
+
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(response).build())
+                .doFinally(signal -> {
+                    flight.tryEmitEmpty(); // no-op once the response was shared
+                    cache.land(key, flight);
+                });
+    }
+
+    /**
+     * Shares and caches the upstream response, then writes it to the leading request's client.
+     */
+    private Mono<Void> complete(HttpHeaders clientHeaders, ServerHttpResponse response, byte[] body,
+                                CachedResponse stale, Duration ttl, String key, long generation,
+                                Sinks.One<CachedResponse> flight, String routeId) {
+        HttpStatusCode status = response.getStatusCode();
+        HttpHeaders upstreamHeaders = response.getHeaders();
+
+        CachedResponse shared = null;
+        String result = "miss";
+        if (status != null && status.value() == HttpStatus.NOT_MODIFIED.value() && stale != null) {
+            shared = stale.renew(ttl);
+            result = "revalidated";
+        } else if (status != null && status.value() == HttpStatus.OK.value()) {
+            shared = new CachedResponse(body, replayedHeaders(upstreamHeaders), upstreamHeaders.getETag(),
+                    lastModified(upstreamHeaders), System.nanoTime() + ttl.toNanos());
+        }
+        cache.record(routeId, result);
+
+        if (shared == null) {
+            flight.tryEmitEmpty();
+            response.getHeaders().setContentLength(body.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }
+        if (!ttl.isZero() && isCacheable(upstreamHeaders)) {
+            cache.put(key, shared, generation);
+        }
+        flight.tryEmitValue(shared);
+        return writeCached(clientHeaders, response, shared, result.toUpperCase());
+    }
+
+    private Mono<Void> writeCached(HttpHeaders requestHeaders, ServerHttpResponse response, CachedResponse cached,
+                                   String result) {
+        HttpHeaders headers = response.getHeaders();
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.putAll(cached.headers());
+        headers.set(CACHE_HEADER, result);
+        if (notModified(requestHeaders, cached)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean notModified(HttpHeaders requestHeaders, CachedResponse cached) {
+        if (cached.etag() != null && !requestHeaders.getIfNoneMatch().isEmpty()) {
+            return requestHeaders.getIfNoneMatch().stream()
+                    .anyMatch(tag -> tag.equals("*") || stripWeak(tag).equals(stripWeak(cached.etag())));
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return cached.lastModified() != null && ifModifiedSince >= 0
+                && cached.lastModified().toEpochMilli() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean isCacheable(HttpHeaders headers) {
+        String cacheControl = String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase();
+        return !cacheControl.contains("no-store") && !cacheControl.contains("private")
+                && !headers.containsKey(HttpHeaders.SET_COOKIE);
+    }
+
+    private static HttpHeaders replayedHeaders(HttpHeaders upstream) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : CACHED_HEADERS) {
+            List<String> values = upstream.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private static Instant lastModified(HttpHeaders headers) {
+        long lastModified = headers.getLastModified();
+        return lastModified >= 0 ? Instant.ofEpochMilli(lastModified) : null;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Identical requests: same path and query, asking for the same representation.
+     */
+    private static String key(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        String query = request.getURI().getRawQuery();
+        return request.getPath().value() + (query != null ? "?" + query : "")
+                + "|" + String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT))
+                + "|" + String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ZERO; // zero: coalesce concurrent requests only
+
+        // Getters and setters
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.vibe.gateway.service;
+
+import com.vibe.gateway.config.HealthCheckConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Aggregated health of the backend instances the gateway routes to. Every instance is probed
+ * concurrently with a non-blocking {@link WebClient} and a per-probe timeout, and the aggregate is
+ * cached for {@code gateway.health.cache-ttl-ms}: concurrent status requests share one round of
+ * probes and requests within the TTL are answered from the cache.
+ *
+ * Probe latencies are recorded in the {@code gateway.health.probe} timer, tagged by instance and
+ * outcome, with histogram buckets for Prometheus.
+ */
+@Service
+@Slf4j
+public class BackendHealthAggregator {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {
+    };
+
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final WebClient webClient;
+    private final HealthCheckConfig config;
+    private final MeterRegistry registry;
+    private final Mono<Map<String, Object>> cachedStatus;
+
+    public BackendHealthAggregator(ReactiveDiscoveryClient discoveryClient, WebClient.Builder webClientBuilder,
+                                   HealthCheckConfig config, MeterRegistry registry) {
+        this.discoveryClient = discoveryClient;
+        this.webClient = webClientBuilder.build();
+        this.config = config;
+        this.registry = registry;
+        Duration ttl = Duration.ofMillis(config.getCacheTtlMs());
+        this.cachedStatus = Mono.defer(this::probeAll)
+                .cache(status -> ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * The backend status, from the cache while it is fresh.
+     */
+    public Mono<Map<String, Object>> getBackendStatus() {
+        return cachedStatus;
+    }
+
+    private Mono<Map<String, Object>> probeAll() {
+        long startNanos = System.nanoTime();
+        return discoveryClient.getInstances(config.getServiceId())
+                .flatMap(this::probeInstance)
+                .collectList()
+                .map(results -> aggregate(results, startNanos));
+    }
+
+    private Mono<ProbeResult> probeInstance(ServiceInstance instance) {
+        return Flux.fromIterable(config.getEndpoints())
+                .concatMap(endpoint -> probe(instance, endpoint))
+                .next()
+                .defaultIfEmpty(new ProbeResult(instance.getUri(), null, "DOWN", 0, "No health endpoint found"));
+    }
+
+    /**
+     * Completes empty when the instance does not serve {@code endpoint}, so that the next one is tried.
+     */
+    private Mono<ProbeResult> probe(ServiceInstance instance, String endpoint) {
+        URI uri = instance.getUri().resolve(endpoint);
+        long startNanos = System.nanoTime();
+        return webClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                        return response.releaseBody().then(Mono.<String>empty());
+                    }
+                    HttpStatusCode statusCode = response.statusCode();
+                    // A DOWN actuator answers 503 with a status in the body
+                    return response.bodyToMono(JSON_OBJECT)
+                            .map(body -> body.containsKey("status") ? String.valueOf(body.get("status")) : statusOf(statusCode))
+                            .onErrorResume(e -> Mono.just(statusOf(statusCode)))
+                            .defaultIfEmpty(statusOf(statusCode));
+                })
+                .timeout(Duration.ofMillis(config.getTimeoutMs()))
+                .map(status -> new ProbeResult(instance.getUri(), endpoint, status, elapsedMs(startNanos), null))
+                .onErrorResume(e -> Mono.just(new ProbeResult(instance.getUri(), endpoint, "DOWN", elapsedMs(startNanos),
+                        failure(e))))
+                .doOnNext(result -> record(result, startNanos));
+    }
+
+    private void record(ProbeResult result, long startNanos) {
+        String outcome = result.error() == null ? result.status().toLowerCase(Locale.ROOT) : "error";
+        Timer.builder("gateway.health.probe")
+                .description("Latency of a backend health probe")
+                .tag("instance", result.uri().toString())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Duration.ofNanos(System.nanoTime() - startNanos));
+        if (result.error() != null) {
+            log.debug("Backend health probe of {} failed: {}", result.uri(), result.error());
+        }
+    }
+
+    private Map<String, Object> aggregate(List<ProbeResult> results, long startNanos) {
+        long up = results.stream().filter(result -> "UP".equals(result.status())).count();
+        Map<String, Object> backendStatus = new LinkedHashMap<>();
+        backendStatus.put("serviceName", config.getServiceId());
+        backendStatus.put("timestamp", System.currentTimeMillis());
+        backendStatus.put("status", up == 0 ? "DOWN" : up == results.size() ? "UP" : "DEGRADED");
+        backendStatus.put("responseTime", elapsedMs(startNanos));
+        if (results.isEmpty()) {
+            backendStatus.put("error", "No " + config.getServiceId() + " instances registered");
+        }
+
+        List<Map<String, Object>> instances = new ArrayList<>(results.size());
+        for (ProbeResult result : results) {
+            Map<String, Object> instance = new LinkedHashMap<>();
+            instance.put("uri", result.uri().toString());
+            instance.put("endpoint", result.endpoint());
+            instance.put("status", result.status());
+            instance.put("responseTime", result.responseTimeMs());
+            if (result.error() != null) {
+                instance.put("error", result.error());
+            }
+            instances.add(instance);
+        }
+        backendStatus.put("instances", instances);
+        return backendStatus;
+    }
+
+    private String failure(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "Timed out after " + config.getTimeoutMs() + " ms";
+        }
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private static String statusOf(HttpStatusCode statusCode) {
+        return statusCode.is2xxSuccessful() ? "UP" : "DOWN";
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+
+    private record ProbeResult(URI uri, String endpoint, String status, long responseTimeMs, String error) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.vibe.gateway.filter;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded admission queue behind the ConcurrencyLimit filter.
+ */
+class BulkheadTest {
+
+    private static final Duration LONG_WAIT = Duration.ofSeconds(30);
+
+    @Test
+    void testWaitingRequestIsAdmittedWhenAPermitIsReleased() {
+        Bulkhead bulkhead = new Bulkhead(1, 1);
+        bulkhead.acquire(LONG_WAIT).block();
+
+        AtomicBoolean admitted = new AtomicBoolean();
+        bulkhead.acquire(LONG_WAIT).subscribe(null, null, () -> admitted.set(true));
+        assertFalse(admitted.get());
+        assertEquals(1, bulkhead.queued());
+
+        bulkhead.release();
+
+        assertTrue(admitted.get());
+        assertEquals(1, bulkhead.active());
+        assertEquals(0, bulkhead.queued());
+    }
+
+    @Test
+    void testRequestIsRejectedWhenTheQueueIsFull() {
+        Bulkhead bulkhead = new Bulkhead(1, 1);
+        bulkhead.acquire(LONG_WAIT).block();
+        bulkhead.acquire(LONG_WAIT).subscribe();
+
+        Bulkhead.RejectedException rejected = assertThrows(Bulkhead.RejectedException.class,
+                () -> bulkhead.acquire(LONG_WAIT).block());
+
+        assertEquals(Bulkhead.QUEUE_FULL, rejected.getReason());
+    }
+
+    @Test
+    void testRequestIsRejectedWhenItsWaitRunsOut() {
+        Bulkhead bulkhead = new Bulkhead(1, 1);
+        bulkhead.acquire(LONG_WAIT).block();
+
+        Bulkhead.RejectedException rejected = assertThrows(Bulkhead.RejectedException.class,
+                () -> bulkhead.acquire(Duration.ofMillis(50)).block());
+
+        assertEquals(Bulkhead.QUEUE_TIMEOUT, rejected.getReason());
+        assertEquals(0, bulkhead.queued());
+        bulkhead.release();
+        assertEquals(0, bulkhead.active()); // the permit was not handed to the timed out request
+    }
+
+    @Test
+    void testCancelledWaitLeavesTheQueue() {
+        Bulkhead bulkhead = new Bulkhead(1, 2);
+        bulkhead.acquire(LONG_WAIT).block();
+        Disposable cancelled = bulkhead.acquire(LONG_WAIT).subscribe();
+        AtomicReference<String> next = new AtomicReference<>();
+        bulkhead.acquire(LONG_WAIT).then(Mono.just("admitted")).subscribe(next::set);
+
+        cancelled.dispose();
+        bulkhead.release();
+
+        assertEquals("admitted", next.get());
+        assertEquals(1, bulkhead.active());
+    }
+}
@@ -0,0 +1,105 @@
+package com.vibe.gateway.filter;
+
+import com.vibe.gateway.config.AdmissionConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.http.HttpHeaders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory token bucket rate limiter.
+ */
+class InMemoryRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdmissionConfig admissionConfig = new AdmissionConfig();
+    private InMemoryRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new InMemoryRateLimiter(null, admissionConfig, registry);
+        InMemoryRateLimiter.Config config = new InMemoryRateLimiter.Config();
+        config.setReplenishRate(2);
+        config.setBurstCapacity(3);
+        limiter.getConfig().put("submit", config);
+    }
+
+    @Test
+    void testBurstIsAllowedThenRejectedUntilRefilled() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.isAllowed("submit", "client", 0).isAllowed());
+        }
+        Response rejected = limiter.isAllowed("submit", "client", 0);
+
+        assertFalse(rejected.isAllowed());
+        assertEquals("0", rejected.getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+        assertEquals("1", rejected.getHeaders().get(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, registry.get("gateway.requests.rejected").tag("reason", "rate_limited").counter().count());
+
+        assertTrue(limiter.isAllowed("submit", "client", SECOND / 2).isAllowed()); // one token back
+        assertFalse(limiter.isAllowed("submit", "client", SECOND / 2).isAllowed());
+    }
+
+    @Test
+    void testClientsAndRoutesHaveSeparateBuckets() {
+        limiter.getConfig().put("consolidate", limiter.getConfig().get("submit"));
+        for (int i = 0; i < 3; i++) {
+            limiter.isAllowed("submit", "a", 0);
+        }
+
+        assertFalse(limiter.isAllowed("submit", "a", 0).isAllowed());
+        assertTrue(limiter.isAllowed("submit", "b", 0).isAllowed());
+        assertTrue(limiter.isAllowed("consolidate", "a", 0).isAllowed());
+    }
+
+    @Test
+    void testRefillIsCappedAtBurstCapacity() {
+        limiter.isAllowed("submit", "client", 0);
+
+        Response response = limiter.isAllowed("submit", "client", 60 * SECOND);
+
+        assertEquals("2", response.getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+    }
+
+    @Test
+    void testLeastRecentlyUsedBucketIsDroppedWhenTooManyClientsAreTracked() {
+        admissionConfig.setMaxTrackedClients(2);
+        limiter.isAllowed("submit", "a", 0);
+        limiter.isAllowed("submit", "b", 0);
+        limiter.isAllowed("submit", "a", 0);
+
+        // Neither bucket is full again yet; b is the least recently used and makes room for c
+        Response response = limiter.isAllowed("submit", "c", 0);
+
+        assertTrue(response.isAllowed());
+        assertEquals("2", response.getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+        assertEquals(2, limiter.trackedClients());
+        assertEquals("0", limiter.isAllowed("submit", "a", 0).getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+        assertEquals("2", limiter.isAllowed("submit", "b", 0).getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+        assertEquals(2, limiter.trackedClients());
+    }
+
+    @Test
+    void testFullBucketsAreDroppedWhenTooManyClientsAreTracked() {
+        admissionConfig.setMaxTrackedClients(2);
+        limiter.isAllowed("submit", "a", 0);
+        limiter.isAllowed("submit", "b", 0);
+
+        // By now a and b are full again; c starts with a full bucket
+        Response response = limiter.isAllowed("submit", "c", 10 * SECOND);
+
+        assertTrue(response.isAllowed());
+        assertEquals("2", response.getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+        assertEquals(2, limiter.trackedClients());
+    }
+
+    @Test
+    void testUnconfiguredRouteIsAnError() {
+        assertThrows(IllegalArgumentException.class, () -> limiter.isAllowed("other", "client", 0));
+    }
+}
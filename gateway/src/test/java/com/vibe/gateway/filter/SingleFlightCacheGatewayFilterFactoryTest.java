@@ -0,0 +1,175 @@
+package com.vibe.gateway.filter;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the SingleFlightCache filter on the hot read route, against a fake backend that tags
+ * {@code /api/imports} with a version ETag and answers matching conditional requests with 304.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SingleFlightCacheGatewayFilterFactoryTest {
+
+    private static final String HOT_READ = "/api/imports";
+
+    private static HttpServer backend;
+    private static final AtomicInteger version = new AtomicInteger(1);
+    private static final AtomicInteger reads = new AtomicInteger();
+    private static final AtomicInteger notModified = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ResponseCache cache;
+
+    private WebClient client;
+
+    @BeforeAll
+    static void startBackend() throws IOException {
+        backend = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        backend.createContext(HOT_READ, exchange -> {
+            if (exchange.getRequestMethod().equals("POST")) {
+                version.incrementAndGet();
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+                return;
+            }
+            reads.incrementAndGet();
+            sleep(300); // long enough for concurrent requests to overlap
+            String etag = "\"v" + version.get() + "\"";
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = ("[{\"version\":" + version.get() + "}]").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            exchange.close();
+        });
+        backend.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        backend.start();
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void backendInstance(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.backend[0].uri",
+                () -> "http://localhost:" + backend.getAddress().getPort());
+    }
+
+    @BeforeEach
+    void setUp() {
+        client = WebClient.create("http://localhost:" + port);
+        cache.evict(HOT_READ);
+        reads.set(0);
+        notModified.set(0);
+    }
+
+    @Test
+    void testConcurrentIdenticalGetsShareOneBackendCall() {
+        get(); // warm up the gateway's upstream connection pool, then start from an empty cache
+        cache.evict(HOT_READ);
+        reads.set(0);
+
+        List<ResponseEntity<String>> responses = Flux.range(0, 8)
+                .flatMap(i -> client.get().uri(HOT_READ).retrieve().toEntity(String.class))
+                .collectList()
+                .block();
+
+        assertEquals(1, reads.get());
+        String body = "[{\"version\":" + version.get() + "}]";
+        assertTrue(responses.stream().allMatch(response -> body.equals(response.getBody())));
+        assertEquals(1, responses.stream().filter(response -> "MISS".equals(cacheHeader(response))).count());
+    }
+
+    @Test
+    void testStaleEntryIsRevalidatedWithTheBackendEtag() throws Exception {
+        get();
+        assertEquals("HIT", cacheHeader(get()));
+        Thread.sleep(1_100); // past the route's 1s TTL
+
+        ResponseEntity<String> revalidated = get();
+
+        assertEquals("REVALIDATED", cacheHeader(revalidated));
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertEquals("[{\"version\":" + version.get() + "}]", revalidated.getBody());
+        assertEquals(2, reads.get());
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    void testWriteEvictsTheCachedResource() {
+        get();
+        client.post().uri(HOT_READ).retrieve().toBodilessEntity().block();
+
+        ResponseEntity<String> afterWrite = get();
+
+        assertEquals("MISS", cacheHeader(afterWrite));
+        assertEquals("[{\"version\":" + version.get() + "}]", afterWrite.getBody());
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void testClientConditionalRequestIsAnsweredFromTheCache() {
+        String etag = get().getHeaders().getETag();
+
+        ResponseEntity<String> conditional = client.get().uri(HOT_READ)
+                .ifNoneMatch(etag)
+                .retrieve()
+                .toEntity(String.class)
+                .block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getStatusCode());
+        assertEquals("HIT", cacheHeader(conditional));
+        assertEquals(1, reads.get());
+    }
+
+    private ResponseEntity<String> get() {
+        return client.get().uri(HOT_READ).retrieve().toEntity(String.class).block();
+    }
+
+    private static String cacheHeader(ResponseEntity<String> response) {
+        return response.getHeaders().getFirst(SingleFlightCacheGatewayFilterFactory.CACHE_HEADER);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.vibe.gateway.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.vibe.gateway.config.HealthCheckConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the aggregated backend health check: concurrent probes with timeouts, endpoint
+ * fallback, caching and the probe latency timer.
+ */
+class BackendHealthAggregatorTest {
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final List<ServiceInstance> instances = new ArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private HealthCheckConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new HealthCheckConfig();
+        config.setTimeoutMs(2_000); // generous: the first WebClient request also starts Netty
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void testInstancesAreProbedConcurrentlyWithFallbackAndTimeout() throws Exception {
+        backend("/actuator/health", 200, "{\"status\":\"UP\"}", 0);
+        backend("/api/health", 200, "{\"status\":\"UP\"}", 0); // no actuator: falls back
+        backend("/actuator/health", 200, "{\"status\":\"UP\"}", 10_000); // slower than the timeout
+
+        long startNanos = System.nanoTime();
+        Map<String, Object> status = aggregator().getBackendStatus().block();
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+
+        assertEquals("DEGRADED", status.get("status"));
+        List<Map<String, Object>> probed = instances(status);
+        assertEquals(3, probed.size());
+        assertEquals(2, probed.stream().filter(instance -> "UP".equals(instance.get("status"))).count());
+        assertTrue(probed.stream().anyMatch(instance -> "/api/health".equals(instance.get("endpoint"))));
+        assertTrue(probed.stream().anyMatch(instance -> "Timed out after 2000 ms".equals(instance.get("error"))));
+        assertTrue(elapsedMs < 6_000, "Probes should run concurrently, took " + elapsedMs + " ms");
+
+        assertEquals(3, registry.get("gateway.health.probe").timers().stream().mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void testStatusIsCachedForTheTtl() throws Exception {
+        config.setCacheTtlMs(60_000);
+        backend("/actuator/health", 503, "{\"status\":\"DOWN\"}", 0);
+        BackendHealthAggregator aggregator = aggregator();
+
+        Map<String, Object> first = aggregator.getBackendStatus().block();
+        Map<String, Object> second = aggregator.getBackendStatus().block();
+
+        assertEquals("DOWN", first.get("status"));
+        assertSame(first, second);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testFailedRoundsAreNotCached() throws Exception {
+        config.setCacheTtlMs(0);
+        backend("/actuator/health", 200, "{\"status\":\"UP\"}", 0);
+        BackendHealthAggregator aggregator = aggregator();
+
+        aggregator.getBackendStatus().block();
+        aggregator.getBackendStatus().block();
+
+        assertEquals(2, requests.get());
+    }
+
+    private BackendHealthAggregator aggregator() {
+        ReactiveDiscoveryClient discoveryClient = new ReactiveDiscoveryClient() {
+            @Override
+            public String description() {
+                return "test";
+            }
+
+            @Override
+            public Flux<ServiceInstance> getInstances(String serviceId) {
+                return Flux.fromIterable(instances);
+            }
+
+            @Override
+            public Flux<String> getServices() {
+                return Flux.just("backend");
+            }
+        };
+        return new BackendHealthAggregator(discoveryClient, WebClient.builder(), config, registry);
+    }
+
+    /**
+     * Starts a backend instance that serves {@code body} at {@code path} after {@code delayMs} and
+     * 404 everywhere else.
+     */
+    private void backend(String path, int status, String body, long delayMs) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            boolean found = exchange.getRequestURI().getPath().equals(path);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(found ? status : 404, found ? bytes.length : -1);
+            if (found) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        servers.add(server);
+        instances.add(new DefaultServiceInstance("backend-" + servers.size(), "backend", "localhost",
+                server.getAddress().getPort(), false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> instances(Map<String, Object> status) {
+        return (List<Map<String, Object>>) status.get("instances");
+    }
+}